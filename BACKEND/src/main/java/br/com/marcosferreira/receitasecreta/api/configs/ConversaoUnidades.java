@@ -0,0 +1,50 @@
+package br.com.marcosferreira.receitasecreta.api.configs;
+
+import br.com.marcosferreira.receitasecreta.api.enums.UnidadeMedida;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+public final class ConversaoUnidades {
+
+    // Construtor privado para prevenir instância
+    private ConversaoUnidades() {
+        throw new UnsupportedOperationException("Não é possível instanciar uma classe de utilidade.");
+    }
+
+    private enum Grandeza { MASSA, VOLUME, CONTAGEM }
+
+    /**
+     * Converte uma quantidade entre unidades da mesma grandeza. Massa tem base em gramas,
+     * volume em mililitros (xícara = 240 ml, colher de sopa = 15 ml) e unidade só converte
+     * para unidade.
+     *
+     * @return Quantidade na unidade de destino, ou null se as grandezas forem diferentes
+     */
+    public static BigDecimal converter(BigDecimal quantidade, UnidadeMedida origem, UnidadeMedida destino) {
+        if (origem == null || destino == null || grandeza(origem) != grandeza(destino)) {
+            return null;
+        }
+        if (origem == destino) {
+            return quantidade;
+        }
+        return quantidade.multiply(valorBase(origem)).divide(valorBase(destino), MathContext.DECIMAL64);
+    }
+
+    private static Grandeza grandeza(UnidadeMedida unidade) {
+        return switch (unidade) {
+            case KILO, GRAMA -> Grandeza.MASSA;
+            case LITRO, XICARA, COLHER -> Grandeza.VOLUME;
+            case UNIDADE -> Grandeza.CONTAGEM;
+        };
+    }
+
+    private static BigDecimal valorBase(UnidadeMedida unidade) {
+        return switch (unidade) {
+            case KILO, LITRO -> BigDecimal.valueOf(1000);
+            case XICARA -> BigDecimal.valueOf(240);
+            case COLHER -> BigDecimal.valueOf(15);
+            case GRAMA, UNIDADE -> BigDecimal.ONE;
+        };
+    }
+}
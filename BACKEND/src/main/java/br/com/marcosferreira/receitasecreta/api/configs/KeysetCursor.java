@@ -0,0 +1,111 @@
+package br.com.marcosferreira.receitasecreta.api.configs;
+
+import br.com.marcosferreira.receitasecreta.api.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de continuação da paginação por cursor (keyset).
+ *
+ * Guarda a ordenação usada, o valor da chave de ordenação do último item entregue e o
+ * UUID desse item como desempate. É trafegado como um token opaco (Base64 URL-safe);
+ * o cliente apenas devolve o {@code nextCursor} recebido na página anterior.
+ *
+ * @param ordem Ordenação a que o cursor pertence
+ * @param valor Valor da chave de ordenação do último item, em texto
+ * @param id Identificador do último item (desempate)
+ */
+public record KeysetCursor(String ordem, String valor, UUID id) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String SEPARADOR = ":";
+
+    /**
+     * Codifica o cursor no token opaco enviado ao cliente.
+     *
+     * @return Token Base64 URL-safe
+     */
+    public String encode() {
+        // O valor fica por último: é o único campo que pode conter o separador
+        String conteudo = ordem + SEPARADOR + id + SEPARADOR + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token recebido do cliente.
+     *
+     * @param token Token opaco; vazio ou nulo indica a primeira página
+     * @param ordem Ordenação solicitada, que deve ser a mesma do token
+     * @return Cursor, ou null para a primeira página
+     * @throws InvalidCursorException Se o token for malformado ou de outra ordenação
+     */
+    public static KeysetCursor decode(String token, String ordem) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8).split(SEPARADOR, 3);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+        if (partes.length != 3) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+        if (!partes[0].equals(ordem)) {
+            throw new InvalidCursorException("Cursor pertence a outra ordenação: " + partes[0]);
+        }
+        try {
+            return new KeysetCursor(partes[0], partes[2], UUID.fromString(partes[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Interpreta o valor da chave como data e hora (ordenação por data de criação).
+     *
+     * @return Data e hora do último item
+     * @throws InvalidCursorException Se o valor não for uma data e hora ISO
+     */
+    public LocalDateTime valorComoDataHora() {
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException ex) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Interpreta o valor da chave como UUID (ordenação por chave composta).
+     *
+     * @return UUID da coluna líder da chave do último item
+     * @throws InvalidCursorException Se o valor não for um UUID
+     */
+    public UUID valorComoUuid() {
+        try {
+            return UUID.fromString(valor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Normaliza o tamanho de página solicitado para o intervalo aceito.
+     *
+     * @param size Tamanho solicitado (opcional)
+     * @return Tamanho entre 1 e {@link #TAMANHO_MAXIMO}
+     */
+    public static int tamanhoPagina(Integer size) {
+        if (size == null || size < 1) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(size, TAMANHO_MAXIMO);
+    }
+}
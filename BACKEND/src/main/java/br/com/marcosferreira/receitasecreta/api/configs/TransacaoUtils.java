@@ -0,0 +1,29 @@
+package br.com.marcosferreira.receitasecreta.api.configs;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransacaoUtils {
+
+    // Construtor privado para prevenir instância
+    private TransacaoUtils() {
+        throw new UnsupportedOperationException("Não é possível instanciar uma classe de utilidade.");
+    }
+
+    /**
+     * Executa a ação após o commit da transação atual, ou imediatamente se não houver
+     * transação ativa. Usado para atualizar estruturas em memória só com dados confirmados.
+     */
+    public static void executarAposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
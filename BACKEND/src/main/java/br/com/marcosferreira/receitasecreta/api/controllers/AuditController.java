@@ -4,7 +4,11 @@ import br.com.marcosferreira.receitasecreta.api.dtos.response.UserAuditResponse;
 import br.com.marcosferreira.receitasecreta.api.dtos.response.PasswordChangeAuditResponse;
 import br.com.marcosferreira.receitasecreta.api.dtos.response.UserActivityResponse;
 import br.com.marcosferreira.receitasecreta.api.models.User;
+import br.com.marcosferreira.receitasecreta.api.repositories.AuditEventRepository;
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
+import br.com.marcosferreira.receitasecreta.api.security.PasswordHashingService;
+import br.com.marcosferreira.receitasecreta.api.services.AuditEventWriter;
+import br.com.marcosferreira.receitasecreta.api.services.AuditService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,6 +32,15 @@ public class AuditController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
     @GetMapping("/users/recent")
     public ResponseEntity<List<UserAuditResponse>> getRecentUsers(
             @RequestParam(defaultValue = "10") int limit) {
@@ -75,16 +89,14 @@ public class AuditController {
             return ResponseEntity.notFound().build();
         }
         
-        // Aqui você pode adicionar lógica para buscar mais detalhes de atividade
-        // como número de receitas criadas, produtos criados, etc.
-        
+        // Receitas e produtos criados pelo usuário, segundo os eventos de auditoria
         UserActivityResponse response = new UserActivityResponse(
                 user.getId(),
                 user.getLogin(),
                 user.getCreatedAt(),
                 user.getPasswordChangedAt(),
-                0L, // receitasCount - implementar consulta
-                0L  // produtosCount - implementar consulta
+                auditEventRepository.countByUserIdAndEventTypeAndAction(user.getId(), AuditService.RECEITA, "CREATE"),
+                auditEventRepository.countByUserIdAndEventTypeAndAction(user.getId(), AuditService.PRODUTO, "CREATE")
         );
         
         return ResponseEntity.ok(response);
@@ -107,4 +119,14 @@ public class AuditController {
             public final long passwordChangesLastWeek = passwordChangesLastWeekCount;
         });
     }
-}
\ No newline at end of file
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingMetrics() {
+        return ResponseEntity.ok(passwordHashingService.getStatistics());
+    }
+
+    @GetMapping("/writer")
+    public ResponseEntity<Map<String, Object>> getAuditWriterMetrics() {
+        return ResponseEntity.ok(auditEventWriter.getStatistics());
+    }
+}
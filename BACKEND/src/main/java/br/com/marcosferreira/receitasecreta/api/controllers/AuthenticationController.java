@@ -5,9 +5,11 @@ import br.com.marcosferreira.receitasecreta.api.dtos.ResetPasswordRequest;
 import br.com.marcosferreira.receitasecreta.api.dtos.TokenValidationResponse;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.UserAuthRequest;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.UserRequest;
+import br.com.marcosferreira.receitasecreta.api.exceptions.TooManyRequestsException;
 import br.com.marcosferreira.receitasecreta.api.services.AuthenticationService;
 import br.com.marcosferreira.receitasecreta.api.services.PasswordResetService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +32,8 @@ public class AuthenticationController {
     public ResponseEntity<Object> login(@RequestBody @Valid UserAuthRequest data) {
         try {
             return ResponseEntity.ok(authenticationService.login(data));
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("message", "Credenciais inválidas. Verifique seu login e senha."));
@@ -42,17 +46,36 @@ public class AuthenticationController {
         try {
             authenticationService.register(data);
             return ResponseEntity.ok().build();
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", e.getMessage()));
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Object> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", "Token não informado."));
+        }
+        try {
+            authenticationService.logout(authorization.substring(7));
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<Object> forgotPassword(@RequestBody @Valid ForgotPasswordRequest request) {
         try {
             passwordResetService.requestPasswordReset(request.email());
             return ResponseEntity.ok(Map.of("message", "Se o email existir, você receberá instruções para redefinir sua senha."));
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", e.getMessage()));
@@ -64,6 +87,8 @@ public class AuthenticationController {
         try {
             passwordResetService.resetPassword(request.token(), request.newPassword());
             return ResponseEntity.ok(Map.of("message", "Senha redefinida com sucesso!"));
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", e.getMessage()));
@@ -83,4 +108,11 @@ public class AuthenticationController {
             return ResponseEntity.ok(TokenValidationResponse.invalid("Erro ao validar token"));
         }
     }
-}
\ No newline at end of file
+
+    // Pool de hashing saturado ou limite de tentativas atingido: o cliente tenta de novo após o Retry-After
+    private ResponseEntity<Object> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
+    }
+}
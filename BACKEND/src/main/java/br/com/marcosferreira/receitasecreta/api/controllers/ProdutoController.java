@@ -1,8 +1,12 @@
 package br.com.marcosferreira.receitasecreta.api.controllers;
 
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ProdutoRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ProdutoSugestaoResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.OrdemCursor;
 import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
 import br.com.marcosferreira.receitasecreta.api.services.ProdutoService;
+import br.com.marcosferreira.receitasecreta.api.models.ProdutoModel;
 import br.com.marcosferreira.receitasecreta.api.validations.ProdutoValidator;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
@@ -16,6 +20,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -68,6 +73,24 @@ public class ProdutoController {
            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorMessage);
        }
     }
+
+
+    // Paginação por cursor (opt-in): ativada pela presença do parâmetro cursor, vazio na primeira página
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<ProdutoModel>> getAllPorCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "ordem", defaultValue = "RECENTES") OrdemCursor ordem) {
+        return ResponseEntity.status(HttpStatus.OK).body(produtoService.findAllPorCursor(cursor, size, ordem));
+    }
+    
+    // Sugestões para o seletor de ingredientes, servidas da memória a cada tecla digitada
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<ProdutoSugestaoResponse>> autocomplete(
+            @RequestParam(value = "q") String termo,
+            @RequestParam(value = "limite", required = false) Integer limite) {
+        return ResponseEntity.status(HttpStatus.OK).body(produtoService.autocomplete(termo, limite));
+    }
     
     @DeleteMapping("/{produtoId}")
     public ResponseEntity<Object> delete(@PathVariable(value = "produtoId") UUID produtoId) {
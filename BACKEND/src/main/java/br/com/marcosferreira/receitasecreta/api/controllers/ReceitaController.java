@@ -1,19 +1,34 @@
 package br.com.marcosferreira.receitasecreta.api.controllers;
 
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CustoReceitaResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaBuscaResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCardResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCompatibilidadeResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.RecalculoCustosResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.OrdemCursor;
 import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaDetalheService;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaDetalheService.DetalheSerializado;
 import br.com.marcosferreira.receitasecreta.api.services.ReceitaService;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Validated
@@ -25,8 +40,15 @@ public class ReceitaController {
 
     final ReceitaService receitaService;
 
-    public ReceitaController(ReceitaService receitaService) {
+    final ReceitaDetalheService receitaDetalheService;
+
+    final CustoReceitaService custoReceitaService;
+
+    public ReceitaController(ReceitaService receitaService, ReceitaDetalheService receitaDetalheService,
+                             CustoReceitaService custoReceitaService) {
         this.receitaService = receitaService;
+        this.receitaDetalheService = receitaDetalheService;
+        this.custoReceitaService = custoReceitaService;
     }
 
     @PostMapping
@@ -43,6 +65,20 @@ public class ReceitaController {
         ReceitaModel receita = receitaService.findByReceitaId(receitaId);
         return ResponseEntity.status(HttpStatus.OK).body(receita);
 
+    }
+    @GetMapping("/{receitaId}/detalhes")
+    public ResponseEntity<byte[]>getDetalhes(@PathVariable(value = "receitaId")UUID receitaId, WebRequest request){
+
+        DetalheSerializado detalhes = receitaDetalheService.buscarDetalhesSerializados(receitaId);
+        if (request.checkNotModified(detalhes.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(detalhes.getEtag()).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(detalhes.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(detalhes.getJson());
+
     }
     @PutMapping("/{receitaId}")
     public ResponseEntity<Object>update(@PathVariable(value = "receitaId") UUID receitaId,@RequestBody ReceitaRecordDto receitaRecordDto){
@@ -57,6 +93,48 @@ public class ReceitaController {
         return ResponseEntity.status(HttpStatus.OK).body(receitaService.findAll(pageable));
     }
 
+    // Paginação por cursor (opt-in): ativada pela presença do parâmetro cursor, vazio na primeira página
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<ReceitaModel>> getAllPorCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "ordem", defaultValue = "RECENTES") OrdemCursor ordem) {
+        return ResponseEntity.status(HttpStatus.OK).body(receitaService.findAllPorCursor(cursor, size, ordem));
+    }
+
+    @GetMapping("/cards")
+    public ResponseEntity<Page<ReceitaCardResponse>> getCards(Pageable pageable) {
+        return ResponseEntity.status(HttpStatus.OK).body(receitaService.findCards(pageable));
+    }
+
+    // Busca textual por nome, tags, notas e modo de preparo, ordenada pela relevância
+    @GetMapping("/busca")
+    public ResponseEntity<Page<ReceitaBuscaResponse>> buscar(@RequestParam(value = "q") String termo,
+                                                             Pageable pageable) {
+        return ResponseEntity.status(HttpStatus.OK).body(receitaService.buscar(termo, pageable));
+    }
+
+    // Receitas que podem ser feitas com os produtos informados, das mais completas para as menos completas
+    @GetMapping("/por-ingredientes")
+    public ResponseEntity<List<ReceitaCompatibilidadeResponse>> getPorIngredientes(
+            @RequestParam(value = "produtos") Set<UUID> produtoIds,
+            @RequestParam(value = "maxFaltantes", required = false) Integer maxFaltantes,
+            @RequestParam(value = "limite", required = false) Integer limite) {
+        return ResponseEntity.status(HttpStatus.OK).body(receitaService.findPorIngredientes(produtoIds, maxFaltantes, limite));
+    }
+
+    @GetMapping("/{receitaId}/custo")
+    public ResponseEntity<CustoReceitaResponse> getCusto(@PathVariable(value = "receitaId") UUID receitaId) {
+        return ResponseEntity.status(HttpStatus.OK).body(custoReceitaService.calcularCusto(receitaId));
+    }
+
+    // Recalcula o custo de todas as receitas, por exemplo após uma carga de preços feita fora da API
+    @PostMapping("/custos/recalcular")
+    public ResponseEntity<RecalculoCustosResponse> recalcularCustos() {
+        logger.debug("POST recalcularCustos");
+        return ResponseEntity.status(HttpStatus.OK).body(custoReceitaService.recalcularTodos());
+    }
+
     @DeleteMapping("/{receitaId}")
     public ResponseEntity<Object> delete(@PathVariable(value = "receitaId") UUID receitaId) {
         logger.debug("DELETE deleteReceita receitaId {}", receitaId);
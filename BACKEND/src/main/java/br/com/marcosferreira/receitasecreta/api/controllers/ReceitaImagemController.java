@@ -1,9 +1,14 @@
 package br.com.marcosferreira.receitasecreta.api.controllers;
 
 import br.com.marcosferreira.receitasecreta.api.dtos.*;
+import br.com.marcosferreira.receitasecreta.api.enums.StatusProcessamentoImagem;
 import br.com.marcosferreira.receitasecreta.api.services.ReceitaImagemService;
 import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
 import br.com.marcosferreira.receitasecreta.api.services.FileValidationService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageCacheService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageServingService;
+import br.com.marcosferreira.receitasecreta.api.services.EstatisticasArmazenamentoService;
+import br.com.marcosferreira.receitasecreta.api.services.ArquivosOrfaosService;
 
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,11 +22,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -29,8 +32,11 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -59,6 +65,18 @@ public class ReceitaImagemController {
     
     @Autowired
     private FileValidationService fileValidationService;
+    
+    @Autowired
+    private ImageServingService imageServingService;
+    
+    @Autowired
+    private ImageCacheService imageCacheService;
+    
+    @Autowired
+    private EstatisticasArmazenamentoService estatisticasArmazenamentoService;
+    
+    @Autowired
+    private ArquivosOrfaosService arquivosOrfaosService;
 
     /**
      * Faz upload de uma nova imagem para uma receita.
@@ -66,7 +84,9 @@ public class ReceitaImagemController {
     @PostMapping(value = "/{receitaId}/imagens", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload de imagem", description = "Faz upload de uma nova imagem para uma receita")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Imagem enviada com sucesso",
+        @ApiResponse(responseCode = "201", description = "Imagem enviada e pronta (conteúdo já processado anteriormente)",
+            content = @Content(schema = @Schema(implementation = ReceitaImagemResponseDto.class))),
+        @ApiResponse(responseCode = "202", description = "Imagem enviada; variantes em processamento (statusProcessamento PENDING)",
             content = @Content(schema = @Schema(implementation = ReceitaImagemResponseDto.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos ou arquivo inválido"),
         @ApiResponse(responseCode = "404", description = "Receita não encontrada"),
@@ -103,7 +123,11 @@ public class ReceitaImagemController {
             // Fazer upload
             ReceitaImagemResponseDto response = receitaImagemService.uploadImagem(uploadDto);
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            // 202 enquanto o pós-processamento não termina; o original já pode ser servido
+            HttpStatus status = response.getStatusProcessamento() == StatusProcessamentoImagem.PENDING
+                ? HttpStatus.ACCEPTED
+                : HttpStatus.CREATED;
+            return ResponseEntity.status(status).body(response);
             
         } catch (IllegalArgumentException ex) {
             logger.warn("Erro de validação no upload: {}", ex.getMessage());
@@ -115,6 +139,52 @@ public class ReceitaImagemController {
         }
     }
 
+    /**
+     * Faz upload de várias imagens para uma receita em uma única requisição.
+     */
+    @PostMapping(value = "/{receitaId}/imagens/lote", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload de imagens em lote", 
+               description = "Faz upload de várias imagens para uma receita, retornando o resultado de cada arquivo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Imagens enviadas e prontas",
+            content = @Content(schema = @Schema(implementation = ReceitaImagemLoteResponseDto.class))),
+        @ApiResponse(responseCode = "202", description = "Imagens enviadas; variantes em processamento",
+            content = @Content(schema = @Schema(implementation = ReceitaImagemLoteResponseDto.class))),
+        @ApiResponse(responseCode = "400", description = "Lote inválido ou nenhum arquivo aceito"),
+        @ApiResponse(responseCode = "413", description = "Requisição muito grande"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> uploadImagensEmLote(
+            @Parameter(description = "ID da receita", required = true)
+            @PathVariable UUID receitaId,
+            
+            @Parameter(description = "Arquivos de imagem, na ordem de exibição desejada", required = true)
+            @RequestParam("arquivos") List<MultipartFile> arquivos) {
+        
+        try {
+            logger.info("Upload em lote de {} imagens solicitado para receita ID: {}", 
+                arquivos.size(), receitaId);
+            
+            ReceitaImagemLoteResponseDto response = receitaImagemService.uploadImagensEmLote(receitaId, arquivos);
+            
+            if (response.getTotalSucesso() == 0) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            boolean pendente = response.getResultados().stream()
+                .anyMatch(resultado -> resultado.isSucesso() 
+                    && resultado.getImagem().getStatusProcessamento() == StatusProcessamentoImagem.PENDING);
+            return ResponseEntity.status(pendente ? HttpStatus.ACCEPTED : HttpStatus.CREATED).body(response);
+            
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Erro de validação no upload em lote: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(ex.getMessage()));
+        } catch (Exception ex) {
+            logger.error("Erro interno no upload de imagens em lote", ex);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Erro interno do servidor"));
+        }
+    }
+
     /**
      * Lista todas as imagens de uma receita.
      */
@@ -393,42 +463,37 @@ public class ReceitaImagemController {
      * Serve um arquivo de imagem.
      */
     @GetMapping("/imagens/arquivo/**")
-    @Operation(summary = "Servir arquivo de imagem", description = "Serve um arquivo de imagem")
+    @Operation(summary = "Servir arquivo de imagem", 
+               description = "Serve um arquivo de imagem com suporte a ETag, GET condicional e Range")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Arquivo servido com sucesso"),
-        @ApiResponse(responseCode = "404", description = "Arquivo não encontrado")
+        @ApiResponse(responseCode = "206", description = "Intervalo do arquivo servido com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Arquivo não modificado"),
+        @ApiResponse(responseCode = "404", description = "Arquivo não encontrado"),
+        @ApiResponse(responseCode = "416", description = "Intervalo solicitado inválido")
     })
-    public ResponseEntity<Resource> servirArquivo(HttpServletRequest request) {
+    public void servirArquivo(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @Parameter(description = "Largura desejada; serve a menor variante que a atenda")
+            @RequestParam(value = "w", required = false) Integer largura) throws IOException {
         try {
             // Extrair caminho do arquivo da URL
             String requestURL = request.getRequestURL().toString();
-            String caminhoArquivo = requestURL.substring(requestURL.indexOf("/arquivo/") + 9);
+            String caminhoSolicitado = requestURL.substring(requestURL.indexOf("/arquivo/") + 9);
+            String caminhoArquivo = receitaImagemService.resolverCaminhoArquivo(caminhoSolicitado, largura);
             
             logger.debug("Servindo arquivo de imagem: {}", caminhoArquivo);
             
-            // Carregar arquivo
-            Resource resource = fileStorageService.loadFileAsResource("", caminhoArquivo);
-            
-            // Determinar tipo de conteúdo
-            String contentType = null;
-            try {
-                contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-            } catch (Exception ex) {
-                logger.debug("Não foi possível determinar o tipo de arquivo.");
-            }
-            
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-            
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+            // Quando a variante solicitada ainda não existe, o original não pode ser cacheado como imutável
+            boolean conteudoDefinitivo = largura == null || !caminhoArquivo.equals(caminhoSolicitado);
+            imageServingService.serve(caminhoArquivo, conteudoDefinitivo, request, response);
                 
         } catch (Exception ex) {
             logger.warn("Arquivo não encontrado ou erro ao servir: {}", ex.getMessage());
-            return ResponseEntity.notFound().build();
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
         }
     }
 
@@ -444,6 +509,7 @@ public class ReceitaImagemController {
             config.put("maxFileSize", fileValidationService.getMaxFileSize());
             config.put("allowedExtensions", fileStorageService.getAllowedExtensionsArray());
             config.put("maxImagensPerReceita", receitaImagemService.getMaxImagensPerReceita());
+            config.put("largurasVariantes", receitaImagemService.getLargurasVariantes());
             
             return ResponseEntity.ok(config);
             
@@ -453,6 +519,42 @@ public class ReceitaImagemController {
         }
     }
 
+    /**
+     * Obtém os contadores do cache de imagens em memória.
+     */
+    @GetMapping("/imagens/cache/estatisticas")
+    @Operation(summary = "Estatísticas do cache", description = "Obtém acertos, ausências e ocupação do cache de imagens")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    public ResponseEntity<Map<String, Object>> obterEstatisticasCache() {
+        return ResponseEntity.ok(imageCacheService.getStatistics());
+    }
+
+    /**
+     * Obtém as estatísticas globais do armazenamento de imagens.
+     */
+    @GetMapping("/imagens/armazenamento/estatisticas")
+    @Operation(summary = "Estatísticas do armazenamento", 
+               description = "Obtém quantidade e bytes armazenados no total, por dia e por tipo MIME")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    public ResponseEntity<ArmazenamentoEstatisticasDto> obterEstatisticasArmazenamento() {
+        return ResponseEntity.ok(estatisticasArmazenamentoService.obterEstatisticas());
+    }
+
+    /**
+     * Obtém o resultado da última coleta de arquivos órfãos.
+     */
+    @GetMapping("/imagens/armazenamento/orfaos")
+    @Operation(summary = "Coleta de arquivos órfãos", 
+               description = "Obtém o resultado da última coleta de arquivos sem referência no banco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultado retornado com sucesso"),
+        @ApiResponse(responseCode = "204", description = "Coleta ainda não executada")
+    })
+    public ResponseEntity<ArquivosOrfaosService.ResultadoColeta> obterResultadoColetaOrfaos() {
+        ArquivosOrfaosService.ResultadoColeta resultado = arquivosOrfaosService.getUltimoResultado();
+        return resultado != null ? ResponseEntity.ok(resultado) : ResponseEntity.noContent().build();
+    }
+
     // Métodos privados de apoio
     
     private Map<String, Object> createErrorResponse(String message) {
@@ -2,6 +2,7 @@ package br.com.marcosferreira.receitasecreta.api.controllers;
 
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDeleteDto;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
 import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaIngredienteResponse;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
 import br.com.marcosferreira.receitasecreta.api.services.ReceitaIngredienteService;
@@ -62,6 +63,14 @@ public class ReceitaIngredienteController {
         return ResponseEntity.status(HttpStatus.OK).body(receitaIngredienteService.findAll(pageable));
     }
 
+    // Paginação por cursor (opt-in): ativada pela presença do parâmetro cursor, vazio na primeira página
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<ReceitaIngredienteModel>> getAllPorCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.status(HttpStatus.OK).body(receitaIngredienteService.findAllPorCursor(cursor, size));
+    }
+
     @GetMapping("/receita/{receitaId}")
     public ResponseEntity<List<ReceitaIngredienteModel>> getByReceitaId(@PathVariable UUID receitaId) {
         logger.debug("GET getByReceitaId receitaId received {}", receitaId);
@@ -0,0 +1,71 @@
+package br.com.marcosferreira.receitasecreta.api.dtos;
+
+import java.util.List;
+
+/**
+ * DTO para estatísticas globais do armazenamento de imagens.
+ *
+ * Totais de arquivos físicos (originais e variantes) por diretório diário e
+ * totais de imagens cadastradas por tipo MIME.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+public class ArmazenamentoEstatisticasDto {
+
+    private final long totalArquivos;
+    private final long totalBytes;
+    private final List<Item> porDia;
+    private final List<Item> porTipoMime;
+
+    public ArmazenamentoEstatisticasDto(long totalArquivos, long totalBytes, List<Item> porDia, List<Item> porTipoMime) {
+        this.totalArquivos = totalArquivos;
+        this.totalBytes = totalBytes;
+        this.porDia = porDia;
+        this.porTipoMime = porTipoMime;
+    }
+
+    public long getTotalArquivos() {
+        return totalArquivos;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public List<Item> getPorDia() {
+        return porDia;
+    }
+
+    public List<Item> getPorTipoMime() {
+        return porTipoMime;
+    }
+
+    /**
+     * Quantidade e bytes de uma chave (dia ou tipo MIME).
+     */
+    public static class Item {
+        private final String chave;
+        private final long quantidade;
+        private final long totalBytes;
+
+        public Item(String chave, long quantidade, long totalBytes) {
+            this.chave = chave;
+            this.quantidade = quantidade;
+            this.totalBytes = totalBytes;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        public long getQuantidade() {
+            return quantidade;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.marcosferreira.receitasecreta.api.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para resposta do upload de imagens em lote.
+ *
+ * Contém um resultado por arquivo enviado, na mesma ordem do envio.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+public class ReceitaImagemLoteResponseDto {
+
+    private final UUID receitaId;
+    private final List<ResultadoArquivo> resultados;
+
+    public ReceitaImagemLoteResponseDto(UUID receitaId, List<ResultadoArquivo> resultados) {
+        this.receitaId = receitaId;
+        this.resultados = resultados;
+    }
+
+    public UUID getReceitaId() {
+        return receitaId;
+    }
+
+    public List<ResultadoArquivo> getResultados() {
+        return resultados;
+    }
+
+    public int getTotalEnviados() {
+        return resultados.size();
+    }
+
+    public long getTotalSucesso() {
+        return resultados.stream().filter(ResultadoArquivo::isSucesso).count();
+    }
+
+    public long getTotalFalhas() {
+        return getTotalEnviados() - getTotalSucesso();
+    }
+
+    /**
+     * Resultado do processamento de um arquivo do lote.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ResultadoArquivo {
+        private final int indice;
+        private final String nomeOriginal;
+        private final boolean sucesso;
+        private final ReceitaImagemResponseDto imagem;
+        private final String erro;
+
+        private ResultadoArquivo(int indice, String nomeOriginal, boolean sucesso,
+                                 ReceitaImagemResponseDto imagem, String erro) {
+            this.indice = indice;
+            this.nomeOriginal = nomeOriginal;
+            this.sucesso = sucesso;
+            this.imagem = imagem;
+            this.erro = erro;
+        }
+
+        public static ResultadoArquivo sucesso(int indice, String nomeOriginal, ReceitaImagemResponseDto imagem) {
+            return new ResultadoArquivo(indice, nomeOriginal, true, imagem, null);
+        }
+
+        public static ResultadoArquivo falha(int indice, String nomeOriginal, String erro) {
+            return new ResultadoArquivo(indice, nomeOriginal, false, null, erro);
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public String getNomeOriginal() {
+            return nomeOriginal;
+        }
+
+        public boolean isSucesso() {
+            return sucesso;
+        }
+
+        public ReceitaImagemResponseDto getImagem() {
+            return imagem;
+        }
+
+        public String getErro() {
+            return erro;
+        }
+    }
+}
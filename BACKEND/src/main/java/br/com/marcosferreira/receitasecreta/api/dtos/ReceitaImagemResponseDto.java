@@ -1,5 +1,6 @@
 package br.com.marcosferreira.receitasecreta.api.dtos;
 
+import br.com.marcosferreira.receitasecreta.api.enums.StatusProcessamentoImagem;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -29,11 +30,13 @@ public class ReceitaImagemResponseDto {
     private String urlThumbnail;
     private String tipoMime;
     private Long tamanhoBytes;
+    private Long tamanhoOriginalBytes;
     private String tamanhoFormatado;
     private Integer largura;
     private Integer altura;
     private String resolucao;
     private Double proporcao;
+    private StatusProcessamentoImagem statusProcessamento;
     private Boolean ehPrincipal;
     private String descricao;
     private Integer ordemExibicao;
@@ -58,11 +61,13 @@ public class ReceitaImagemResponseDto {
         this.nomeOriginal = model.getNomeOriginal();
         this.tipoMime = model.getTipoMime();
         this.tamanhoBytes = model.getTamanhoBytes();
+        this.tamanhoOriginalBytes = model.getTamanhoOriginalBytes();
         this.tamanhoFormatado = model.getTamanhoFormatado();
         this.largura = model.getLargura();
         this.altura = model.getAltura();
         this.resolucao = model.getResolucao();
         this.proporcao = model.getProporcao();
+        this.statusProcessamento = model.getStatusProcessamento();
         this.ehPrincipal = model.getEhPrincipal();
         this.descricao = model.getDescricao();
         this.ordemExibicao = model.getOrdemExibicao();
@@ -157,6 +162,14 @@ public class ReceitaImagemResponseDto {
         this.tamanhoBytes = tamanhoBytes;
     }
 
+    public Long getTamanhoOriginalBytes() {
+        return tamanhoOriginalBytes;
+    }
+
+    public void setTamanhoOriginalBytes(Long tamanhoOriginalBytes) {
+        this.tamanhoOriginalBytes = tamanhoOriginalBytes;
+    }
+
     public String getTamanhoFormatado() {
         return tamanhoFormatado;
     }
@@ -197,6 +210,14 @@ public class ReceitaImagemResponseDto {
         this.proporcao = proporcao;
     }
 
+    public StatusProcessamentoImagem getStatusProcessamento() {
+        return statusProcessamento;
+    }
+
+    public void setStatusProcessamento(StatusProcessamentoImagem statusProcessamento) {
+        this.statusProcessamento = statusProcessamento;
+    }
+
     public Boolean getEhPrincipal() {
         return ehPrincipal;
     }
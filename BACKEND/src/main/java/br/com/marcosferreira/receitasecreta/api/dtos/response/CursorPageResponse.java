@@ -0,0 +1,31 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página da paginação por cursor: não calcula total de elementos nem de páginas.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+
+    /**
+     * Monta a página a partir de uma consulta que buscou um item além do tamanho da página;
+     * a existência desse item extra indica que há próxima página.
+     *
+     * @param linhas Itens buscados (até size + 1)
+     * @param size Tamanho da página
+     * @param cursorDe Gera o token de continuação a partir do último item entregue
+     * @return Página com o cursor da próxima, quando houver
+     */
+    public static <T> CursorPageResponse<T> of(List<T> linhas, int size, Function<T, String> cursorDe) {
+        boolean hasNext = linhas.size() > size;
+        List<T> content = hasNext ? List.copyOf(linhas.subList(0, size)) : List.copyOf(linhas);
+        String nextCursor = hasNext ? cursorDe.apply(content.get(content.size() - 1)) : null;
+        return new CursorPageResponse<>(content, size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+import br.com.marcosferreira.receitasecreta.api.enums.UnidadeMedida;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Custo de um ingrediente; nulo quando o produto não tem preço ou a unidade da receita
+ * não converte para a unidade do preço (por exemplo, gramas para litros).
+ */
+public record CustoIngredienteResponse(
+        UUID produtoId,
+        String nome,
+        Integer quantidade,
+        UnidadeMedida unidadeMedida,
+        BigDecimal custo
+) {
+}
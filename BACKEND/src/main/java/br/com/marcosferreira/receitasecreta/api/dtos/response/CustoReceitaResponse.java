@@ -0,0 +1,19 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custo de uma receita. O total soma só os ingredientes com custo calculado; completo indica
+ * se todos tiveram. O custo por porção usa o número do rendimento e é nulo se não houver.
+ */
+public record CustoReceitaResponse(
+        UUID receitaId,
+        BigDecimal custoTotal,
+        Integer porcoes,
+        BigDecimal custoPorPorcao,
+        boolean completo,
+        List<CustoIngredienteResponse> ingredientes
+) {
+}
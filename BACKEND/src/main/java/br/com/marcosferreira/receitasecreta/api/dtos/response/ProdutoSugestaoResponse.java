@@ -0,0 +1,10 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+import java.util.UUID;
+
+public record ProdutoSugestaoResponse(
+        UUID produtoId,
+        String nome,
+        int distancia
+) {
+}
@@ -0,0 +1,8 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+public record RecalculoCustosResponse(
+        int receitas,
+        int ingredientes,
+        long duracaoMs
+) {
+}
@@ -0,0 +1,17 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+import br.com.marcosferreira.receitasecreta.api.enums.CategoriaReceita;
+import br.com.marcosferreira.receitasecreta.api.enums.Dificuldade;
+
+import java.util.UUID;
+
+public record ReceitaCardResponse(
+        UUID receitaId,
+        String nomeReceita,
+        CategoriaReceita categoria,
+        Dificuldade dificuldade,
+        String tempoPreparo,
+        String urlImagemPrincipal,
+        String urlThumbnail
+) {
+}
@@ -0,0 +1,15 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+import br.com.marcosferreira.receitasecreta.api.enums.CategoriaReceita;
+
+import java.util.UUID;
+
+public record ReceitaCompatibilidadeResponse(
+        UUID receitaId,
+        String nomeReceita,
+        CategoriaReceita categoria,
+        int totalIngredientes,
+        int ingredientesEncontrados,
+        int ingredientesFaltantes
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.marcosferreira.receitasecreta.api.dtos.response;
+
+import br.com.marcosferreira.receitasecreta.api.dtos.ImagemEstatisticasDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.ReceitaImagemResponseDto;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+
+import java.util.List;
+
+/**
+ * Visão completa de uma receita para a página de detalhes: receita, ingredientes com o
+ * produto, imagens na ordem de exibição, imagem principal e estatísticas das imagens.
+ */
+public record ReceitaDetalheResponse(
+        ReceitaModel receita,
+        List<ReceitaIngredienteModel> ingredientes,
+        List<ReceitaImagemResponseDto> imagens,
+        ReceitaImagemResponseDto imagemPrincipal,
+        ImagemEstatisticasDto estatisticasImagens
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.marcosferreira.receitasecreta.api.enums;
+
+public enum EscopoEstatisticaArmazenamento {
+    TOTAL,
+    DIA,
+    RECEITA,
+    TIPO_MIME
+
+}
@@ -0,0 +1,6 @@
+package br.com.marcosferreira.receitasecreta.api.enums;
+
+public enum OrdemCursor {
+    RECENTES,
+    NOME
+}
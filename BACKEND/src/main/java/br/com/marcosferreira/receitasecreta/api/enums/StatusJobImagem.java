@@ -0,0 +1,9 @@
+package br.com.marcosferreira.receitasecreta.api.enums;
+
+public enum StatusJobImagem {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+
+}
@@ -0,0 +1,8 @@
+package br.com.marcosferreira.receitasecreta.api.enums;
+
+public enum StatusProcessamentoImagem {
+    PENDING,
+    READY,
+    FAILED
+
+}
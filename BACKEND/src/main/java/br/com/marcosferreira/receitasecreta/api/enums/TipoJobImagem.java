@@ -0,0 +1,7 @@
+package br.com.marcosferreira.receitasecreta.api.enums;
+
+public enum TipoJobImagem {
+    OTIMIZAR,
+    GERAR_VARIANTES
+
+}
@@ -6,6 +6,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -32,6 +33,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorRecordResponse);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorRecordResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        var errorRecordResponse = new ErrorRecordResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), null);
+        logger.warn("InvalidCursorException message: {} ", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorRecordResponse);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorRecordResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+        var errorRecordResponse = new ErrorRecordResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage(), null);
+        logger.warn("TooManyRequestsException message: {} ", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorRecordResponse);
+    }
+
     @ExceptionHandler(NoValidException.class)
     public ResponseEntity<ErrorRecordResponse> handleNoValidException(NoValidException ex) {
         var errorRecordResponse = new ErrorRecordResponse(
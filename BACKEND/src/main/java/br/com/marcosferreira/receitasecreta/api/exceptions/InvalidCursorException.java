@@ -0,0 +1,7 @@
+package br.com.marcosferreira.receitasecreta.api.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.marcosferreira.receitasecreta.api.exceptions;
+
+public class TooManyRequestsException extends RuntimeException{
+
+    // Sugestão de espera para o cliente, enviada no cabeçalho Retry-After
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,149 @@
+package br.com.marcosferreira.receitasecreta.api.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JPA para representar um arquivo físico de imagem.
+ *
+ * O armazenamento é endereçado por conteúdo: o SHA-256 identifica o arquivo e cada
+ * conteúdo é gravado uma única vez, sendo compartilhado pelas imagens das receitas
+ * por meio da contagem de referências.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Entity
+@Table(name = "arquivos_imagem",
+    uniqueConstraints = @UniqueConstraint(name = "uk_arquivos_imagem_caminho", columnNames = "caminho_arquivo"))
+public class ArquivoImagemModel {
+
+    @Id
+    @Size(min = 64, max = 64, message = "Hash deve ter 64 caracteres")
+    @Column(name = "hash_sha256", length = 64, updatable = false, nullable = false)
+    private String hashSha256;
+
+    @NotBlank(message = "Caminho do arquivo é obrigatório")
+    @Size(max = 500, message = "Caminho do arquivo deve ter no máximo 500 caracteres")
+    @Column(name = "caminho_arquivo", nullable = false, length = 500)
+    private String caminhoArquivo;
+
+    @NotBlank(message = "Tipo MIME é obrigatório")
+    @Column(name = "tipo_mime", nullable = false, length = 100)
+    private String tipoMime;
+
+    @NotNull(message = "Tamanho em bytes é obrigatório")
+    @Positive(message = "Tamanho deve ser positivo")
+    @Column(name = "tamanho_bytes", nullable = false)
+    private Long tamanhoBytes;
+
+    @Min(value = 0, message = "Referências não podem ser negativas")
+    @Column(name = "referencias", nullable = false)
+    private Integer referencias = 1;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Construtores
+    public ArquivoImagemModel() {}
+
+    public ArquivoImagemModel(String hashSha256, String caminhoArquivo, String tipoMime, Long tamanhoBytes) {
+        this.hashSha256 = hashSha256;
+        this.caminhoArquivo = caminhoArquivo;
+        this.tipoMime = tipoMime;
+        this.tamanhoBytes = tamanhoBytes;
+    }
+
+    // Getters e Setters
+    public String getHashSha256() {
+        return hashSha256;
+    }
+
+    public void setHashSha256(String hashSha256) {
+        this.hashSha256 = hashSha256;
+    }
+
+    public String getCaminhoArquivo() {
+        return caminhoArquivo;
+    }
+
+    public void setCaminhoArquivo(String caminhoArquivo) {
+        this.caminhoArquivo = caminhoArquivo;
+    }
+
+    public String getTipoMime() {
+        return tipoMime;
+    }
+
+    public void setTipoMime(String tipoMime) {
+        this.tipoMime = tipoMime;
+    }
+
+    public Long getTamanhoBytes() {
+        return tamanhoBytes;
+    }
+
+    public void setTamanhoBytes(Long tamanhoBytes) {
+        this.tamanhoBytes = tamanhoBytes;
+    }
+
+    public Integer getReferencias() {
+        return referencias;
+    }
+
+    public void setReferencias(Integer referencias) {
+        this.referencias = referencias;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Métodos equals, hashCode e toString
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        ArquivoImagemModel that = (ArquivoImagemModel) obj;
+        return hashSha256 != null && hashSha256.equals(that.hashSha256);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashSha256 != null ? hashSha256.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ArquivoImagemModel{" +
+                "hashSha256='" + hashSha256 + '\'' +
+                ", caminhoArquivo='" + caminhoArquivo + '\'' +
+                ", tipoMime='" + tipoMime + '\'' +
+                ", tamanhoBytes=" + tamanhoBytes +
+                ", referencias=" + referencias +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.marcosferreira.receitasecreta.api.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento de auditoria. As linhas são gravadas em lote pelo AuditEventWriter, via JDBC;
+ * a entidade é usada só nas consultas.
+ */
+@Entity
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_events_user", columnList = "user_id, event_type, action"),
+        @Index(name = "idx_audit_events_occurred_at", columnList = "occurred_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class AuditEventModel {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "event_type", nullable = false, length = 30)
+    private String eventType;
+
+    @Column(length = 50)
+    private String action;
+
+    private String resource;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    private String detail;
+}
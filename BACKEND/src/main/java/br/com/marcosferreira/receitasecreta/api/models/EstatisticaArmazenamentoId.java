@@ -0,0 +1,58 @@
+package br.com.marcosferreira.receitasecreta.api.models;
+
+import br.com.marcosferreira.receitasecreta.api.enums.EscopoEstatisticaArmazenamento;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class EstatisticaArmazenamentoId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "escopo", nullable = false, length = 20)
+    private EscopoEstatisticaArmazenamento escopo;
+
+    @Column(name = "chave", nullable = false, length = 100)
+    private String chave;
+
+    public EstatisticaArmazenamentoId() {}
+
+    public EstatisticaArmazenamentoId(EscopoEstatisticaArmazenamento escopo, String chave) {
+        this.escopo = escopo;
+        this.chave = chave;
+    }
+
+    public EscopoEstatisticaArmazenamento getEscopo() {
+        return escopo;
+    }
+
+    public void setEscopo(EscopoEstatisticaArmazenamento escopo) {
+        this.escopo = escopo;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    // hashCode e equals
+    @Override
+    public int hashCode() {
+        return Objects.hash(escopo, chave);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        EstatisticaArmazenamentoId that = (EstatisticaArmazenamentoId) obj;
+        return escopo == that.escopo && Objects.equals(chave, that.chave);
+    }
+}
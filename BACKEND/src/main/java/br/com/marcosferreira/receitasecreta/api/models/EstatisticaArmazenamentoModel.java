@@ -0,0 +1,76 @@
+package br.com.marcosferreira.receitasecreta.api.models;
+
+import br.com.marcosferreira.receitasecreta.api.enums.EscopoEstatisticaArmazenamento;
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JPA para os contadores de uso do armazenamento de imagens.
+ *
+ * Cada linha acumula quantidade e bytes de um escopo: total geral e diretório diário
+ * (arquivos físicos, incluindo variantes), receita e tipo MIME (imagens cadastradas).
+ * Os contadores são atualizados na mesma transação que grava ou exclui as imagens e
+ * recalculados periodicamente pela reconciliação.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Entity
+@Table(name = "armazenamento_estatisticas")
+public class EstatisticaArmazenamentoModel {
+
+    @EmbeddedId
+    private EstatisticaArmazenamentoId id;
+
+    @Column(name = "quantidade", nullable = false)
+    private Long quantidade = 0L;
+
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Construtores
+    public EstatisticaArmazenamentoModel() {}
+
+    public EstatisticaArmazenamentoModel(EscopoEstatisticaArmazenamento escopo, String chave,
+                                         long quantidade, long totalBytes) {
+        this.id = new EstatisticaArmazenamentoId(escopo, chave);
+        this.quantidade = quantidade;
+        this.totalBytes = totalBytes;
+    }
+
+    // Getters e Setters
+    public EstatisticaArmazenamentoId getId() {
+        return id;
+    }
+
+    public void setId(EstatisticaArmazenamentoId id) {
+        this.id = id;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(Long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.marcosferreira.receitasecreta.api.models;
+
+import br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem;
+import br.com.marcosferreira.receitasecreta.api.enums.TipoJobImagem;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade JPA para representar um job da fila de pós-processamento de imagens.
+ *
+ * A fila fica no próprio PostgreSQL: os workers reservam jobs pendentes com
+ * {@code FOR UPDATE SKIP LOCKED}, de modo que várias instâncias da aplicação
+ * podem consumir a mesma tabela sem processar o mesmo job duas vezes.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Entity
+@Table(name = "imagem_processamento_jobs", indexes = {
+    @Index(name = "idx_imagem_processamento_jobs_fila", columnList = "status, disponivel_em"),
+    @Index(name = "idx_imagem_processamento_jobs_imagem_id", columnList = "imagem_id")
+})
+public class ImagemProcessamentoJobModel {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "job_id", updatable = false, nullable = false)
+    private UUID jobId;
+
+    @NotNull(message = "Imagem é obrigatória")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "imagem_id", nullable = false, foreignKey = @ForeignKey(name = "fk_imagem_processamento_jobs_imagem"))
+    private ReceitaImagemModel imagem;
+
+    @NotNull(message = "Tipo é obrigatório")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 30)
+    private TipoJobImagem tipo;
+
+    @NotNull(message = "Status é obrigatório")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusJobImagem status = StatusJobImagem.PENDING;
+
+    @Column(name = "tentativas", nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(name = "disponivel_em", nullable = false)
+    private LocalDateTime disponivelEm;
+
+    @Column(name = "iniciado_em")
+    private LocalDateTime iniciadoEm;
+
+    @Column(name = "ultimo_erro", columnDefinition = "TEXT")
+    private String ultimoErro;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Construtores
+    public ImagemProcessamentoJobModel() {}
+
+    public ImagemProcessamentoJobModel(ReceitaImagemModel imagem, TipoJobImagem tipo) {
+        this.imagem = imagem;
+        this.tipo = tipo;
+        this.disponivelEm = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public ReceitaImagemModel getImagem() {
+        return imagem;
+    }
+
+    public void setImagem(ReceitaImagemModel imagem) {
+        this.imagem = imagem;
+    }
+
+    public TipoJobImagem getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoJobImagem tipo) {
+        this.tipo = tipo;
+    }
+
+    public StatusJobImagem getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusJobImagem status) {
+        this.status = status;
+    }
+
+    public Integer getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(Integer tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public LocalDateTime getDisponivelEm() {
+        return disponivelEm;
+    }
+
+    public void setDisponivelEm(LocalDateTime disponivelEm) {
+        this.disponivelEm = disponivelEm;
+    }
+
+    public LocalDateTime getIniciadoEm() {
+        return iniciadoEm;
+    }
+
+    public void setIniciadoEm(LocalDateTime iniciadoEm) {
+        this.iniciadoEm = iniciadoEm;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public void setUltimoErro(String ultimoErro) {
+        this.ultimoErro = ultimoErro;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImagemProcessamentoJobModel{" +
+                "jobId=" + jobId +
+                ", tipo=" + tipo +
+                ", status=" + status +
+                ", tentativas=" + tentativas +
+                '}';
+    }
+}
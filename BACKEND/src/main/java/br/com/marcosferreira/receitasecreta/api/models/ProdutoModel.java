@@ -14,7 +14,11 @@ import java.util.UUID;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
-@Table(name = "TB_PRODUTOS")
+@Table(name = "TB_PRODUTOS", indexes = {
+    // Índices da paginação por cursor (chave de ordenação + desempate)
+    @Index(name = "idx_produtos_created_at_keyset", columnList = "created_at, produtoId"),
+    @Index(name = "idx_produtos_nome_keyset", columnList = "nome, produtoId")
+})
 @EntityListeners(br.com.marcosferreira.receitasecreta.api.configs.AuditInterceptor.class)
 public class ProdutoModel implements Serializable {
 
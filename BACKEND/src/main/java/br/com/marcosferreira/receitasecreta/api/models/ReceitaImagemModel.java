@@ -1,7 +1,9 @@
 package br.com.marcosferreira.receitasecreta.api.models;
 
+import br.com.marcosferreira.receitasecreta.api.enums.StatusProcessamentoImagem;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
@@ -25,7 +27,9 @@ import java.util.UUID;
     @Index(name = "idx_receita_imagens_principal", columnList = "receita_id, eh_principal"),
     @Index(name = "idx_receita_imagens_ordem", columnList = "receita_id, ordem_exibicao"),
     @Index(name = "idx_receita_imagens_created_at", columnList = "created_at"),
-    @Index(name = "idx_receita_imagens_tipo_mime", columnList = "tipo_mime")
+    @Index(name = "idx_receita_imagens_tipo_mime", columnList = "tipo_mime"),
+    @Index(name = "idx_receita_imagens_hash_conteudo", columnList = "hash_conteudo"),
+    @Index(name = "idx_receita_imagens_status_processamento", columnList = "status_processamento")
 })
 public class ReceitaImagemModel {
 
@@ -64,6 +68,20 @@ public class ReceitaImagemModel {
     @Column(name = "tamanho_bytes", nullable = false)
     private Long tamanhoBytes;
 
+    @Positive(message = "Tamanho original deve ser positivo")
+    @Column(name = "tamanho_original_bytes")
+    private Long tamanhoOriginalBytes;
+
+    @Size(max = 64, message = "Hash do conteúdo deve ter no máximo 64 caracteres")
+    @Column(name = "hash_conteudo", length = 64)
+    private String hashConteudo;
+
+    @NotNull(message = "Status de processamento é obrigatório")
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'READY'")
+    @Column(name = "status_processamento", nullable = false, length = 20)
+    private StatusProcessamentoImagem statusProcessamento = StatusProcessamentoImagem.READY;
+
     @Positive(message = "Largura deve ser positiva")
     @Column(name = "largura")
     private Integer largura;
@@ -169,6 +187,30 @@ public class ReceitaImagemModel {
         this.tamanhoBytes = tamanhoBytes;
     }
 
+    public Long getTamanhoOriginalBytes() {
+        return tamanhoOriginalBytes;
+    }
+
+    public void setTamanhoOriginalBytes(Long tamanhoOriginalBytes) {
+        this.tamanhoOriginalBytes = tamanhoOriginalBytes;
+    }
+
+    public String getHashConteudo() {
+        return hashConteudo;
+    }
+
+    public void setHashConteudo(String hashConteudo) {
+        this.hashConteudo = hashConteudo;
+    }
+
+    public StatusProcessamentoImagem getStatusProcessamento() {
+        return statusProcessamento;
+    }
+
+    public void setStatusProcessamento(StatusProcessamentoImagem statusProcessamento) {
+        this.statusProcessamento = statusProcessamento;
+    }
+
     public Integer getLargura() {
         return largura;
     }
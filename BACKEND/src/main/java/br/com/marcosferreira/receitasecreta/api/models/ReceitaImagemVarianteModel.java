@@ -0,0 +1,185 @@
+package br.com.marcosferreira.receitasecreta.api.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade JPA para representar as variantes redimensionadas de uma imagem de receita.
+ *
+ * Cada variante corresponde a uma largura alvo (maior lado da imagem) gerada a partir
+ * do arquivo original e armazenada no mesmo diretório dele.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Entity
+@Table(name = "receita_imagem_variantes",
+    uniqueConstraints = @UniqueConstraint(name = "uk_receita_imagem_variantes_largura", columnNames = {"imagem_id", "largura_alvo"}),
+    indexes = @Index(name = "idx_receita_imagem_variantes_imagem_id", columnList = "imagem_id"))
+public class ReceitaImagemVarianteModel {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "variante_id", updatable = false, nullable = false)
+    private UUID varianteId;
+
+    @NotNull(message = "Imagem é obrigatória")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "imagem_id", nullable = false, foreignKey = @ForeignKey(name = "fk_receita_imagem_variantes_imagem"))
+    private ReceitaImagemModel imagem;
+
+    @NotNull(message = "Largura alvo é obrigatória")
+    @Positive(message = "Largura alvo deve ser positiva")
+    @Column(name = "largura_alvo", nullable = false)
+    private Integer larguraAlvo;
+
+    @NotBlank(message = "Caminho do arquivo é obrigatório")
+    @Size(max = 500, message = "Caminho do arquivo deve ter no máximo 500 caracteres")
+    @Column(name = "caminho_arquivo", nullable = false, length = 500)
+    private String caminhoArquivo;
+
+    @NotBlank(message = "Tipo MIME é obrigatório")
+    @Column(name = "tipo_mime", nullable = false, length = 100)
+    private String tipoMime;
+
+    @NotNull(message = "Tamanho em bytes é obrigatório")
+    @Positive(message = "Tamanho deve ser positivo")
+    @Column(name = "tamanho_bytes", nullable = false)
+    private Long tamanhoBytes;
+
+    @Positive(message = "Largura deve ser positiva")
+    @Column(name = "largura", nullable = false)
+    private Integer largura;
+
+    @Positive(message = "Altura deve ser positiva")
+    @Column(name = "altura", nullable = false)
+    private Integer altura;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Construtores
+    public ReceitaImagemVarianteModel() {}
+
+    public ReceitaImagemVarianteModel(ReceitaImagemModel imagem, Integer larguraAlvo, String caminhoArquivo,
+                                      String tipoMime, Long tamanhoBytes, Integer largura, Integer altura) {
+        this.imagem = imagem;
+        this.larguraAlvo = larguraAlvo;
+        this.caminhoArquivo = caminhoArquivo;
+        this.tipoMime = tipoMime;
+        this.tamanhoBytes = tamanhoBytes;
+        this.largura = largura;
+        this.altura = altura;
+    }
+
+    // Getters e Setters
+    public UUID getVarianteId() {
+        return varianteId;
+    }
+
+    public void setVarianteId(UUID varianteId) {
+        this.varianteId = varianteId;
+    }
+
+    public ReceitaImagemModel getImagem() {
+        return imagem;
+    }
+
+    public void setImagem(ReceitaImagemModel imagem) {
+        this.imagem = imagem;
+    }
+
+    public Integer getLarguraAlvo() {
+        return larguraAlvo;
+    }
+
+    public void setLarguraAlvo(Integer larguraAlvo) {
+        this.larguraAlvo = larguraAlvo;
+    }
+
+    public String getCaminhoArquivo() {
+        return caminhoArquivo;
+    }
+
+    public void setCaminhoArquivo(String caminhoArquivo) {
+        this.caminhoArquivo = caminhoArquivo;
+    }
+
+    public String getTipoMime() {
+        return tipoMime;
+    }
+
+    public void setTipoMime(String tipoMime) {
+        this.tipoMime = tipoMime;
+    }
+
+    public Long getTamanhoBytes() {
+        return tamanhoBytes;
+    }
+
+    public void setTamanhoBytes(Long tamanhoBytes) {
+        this.tamanhoBytes = tamanhoBytes;
+    }
+
+    public Integer getLargura() {
+        return largura;
+    }
+
+    public void setLargura(Integer largura) {
+        this.largura = largura;
+    }
+
+    public Integer getAltura() {
+        return altura;
+    }
+
+    public void setAltura(Integer altura) {
+        this.altura = altura;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // Métodos equals, hashCode e toString
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        ReceitaImagemVarianteModel that = (ReceitaImagemVarianteModel) obj;
+        return varianteId != null && varianteId.equals(that.varianteId);
+    }
+
+    @Override
+    public int hashCode() {
+        return varianteId != null ? varianteId.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ReceitaImagemVarianteModel{" +
+                "varianteId=" + varianteId +
+                ", larguraAlvo=" + larguraAlvo +
+                ", caminhoArquivo='" + caminhoArquivo + '\'' +
+                ", tipoMime='" + tipoMime + '\'' +
+                ", tamanhoBytes=" + tamanhoBytes +
+                ", largura=" + largura +
+                ", altura=" + altura +
+                '}';
+    }
+}
@@ -12,7 +12,11 @@ import java.util.UUID;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
-@Table(name = "TB_RECEITAS")
+@Table(name = "TB_RECEITAS", indexes = {
+    // Índices da paginação por cursor (chave de ordenação + desempate)
+    @Index(name = "idx_receitas_created_at_keyset", columnList = "created_at, receitaId"),
+    @Index(name = "idx_receitas_nome_keyset", columnList = "nomereceita, receitaId")
+})
 @EntityListeners(br.com.marcosferreira.receitasecreta.api.configs.AuditInterceptor.class)
 public class ReceitaModel implements Serializable {
 
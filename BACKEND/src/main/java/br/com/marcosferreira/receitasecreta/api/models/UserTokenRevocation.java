@@ -0,0 +1,28 @@
+package br.com.marcosferreira.receitasecreta.api.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "user_token_revocations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenRevocation {
+
+    @Id
+    private String userLogin;
+
+    // Tokens do usuário emitidos antes deste instante são recusados
+    @Column(nullable = false)
+    private Instant revokedBefore;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,13 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+/**
+ * Projeção com o arquivo atual de um conteúdo, lida da linha já bloqueada pelo UPDATE.
+ */
+public interface ArquivoConteudoProjection {
+
+    String getCaminhoArquivo();
+
+    String getTipoMime();
+
+    Long getTamanhoBytes();
+}
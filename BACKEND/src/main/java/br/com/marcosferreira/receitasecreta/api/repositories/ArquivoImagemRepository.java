@@ -0,0 +1,102 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.models.ArquivoImagemModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repositório para os arquivos físicos de imagens endereçados por conteúdo.
+ *
+ * As alterações na contagem de referências são feitas com UPDATE atômico no banco,
+ * para que uploads e exclusões concorrentes do mesmo conteúdo não percam incrementos.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Repository
+public interface ArquivoImagemRepository extends JpaRepository<ArquivoImagemModel, String> {
+
+    /**
+     * Registra o arquivo ou, se o conteúdo já estiver registrado, incrementa suas referências
+     * e aponta o registro para o arquivo recém-gravado.
+     *
+     * @param hash SHA-256 do conteúdo
+     * @param caminhoArquivo Caminho relativo do arquivo
+     * @param tipoMime Tipo MIME
+     * @param tamanhoBytes Tamanho em bytes
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO arquivos_imagem (hash_sha256, caminho_arquivo, tipo_mime, tamanho_bytes, referencias, created_at, updated_at) " +
+                   "VALUES (:hash, :caminhoArquivo, :tipoMime, :tamanhoBytes, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (hash_sha256) DO UPDATE SET referencias = arquivos_imagem.referencias + 1, " +
+                   "caminho_arquivo = EXCLUDED.caminho_arquivo, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void registrarOuIncrementar(@Param("hash") String hash,
+                                @Param("caminhoArquivo") String caminhoArquivo,
+                                @Param("tipoMime") String tipoMime,
+                                @Param("tamanhoBytes") Long tamanhoBytes);
+
+    /**
+     * Incrementa as referências de um arquivo já registrado e retorna o arquivo atual do
+     * conteúdo, lido da linha bloqueada pelo UPDATE: uma otimização concorrente que troque
+     * o arquivo é vista aqui, e não o caminho lido antes do bloqueio.
+     *
+     * @param hash SHA-256 do conteúdo
+     * @return Arquivo atual do conteúdo, ou vazio se o registro não existir mais
+     */
+    @Transactional
+    @Query(value = "UPDATE arquivos_imagem SET referencias = referencias + 1, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE hash_sha256 = :hash " +
+                   "RETURNING caminho_arquivo AS \"caminhoArquivo\", tipo_mime AS \"tipoMime\", tamanho_bytes AS \"tamanhoBytes\"",
+           nativeQuery = true)
+    Optional<ArquivoConteudoProjection> incrementarReferencias(@Param("hash") String hash);
+
+    /**
+     * Decrementa as referências de um arquivo.
+     *
+     * @param hash SHA-256 do conteúdo
+     * @return Quantidade de registros atualizados
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ArquivoImagemModel a SET a.referencias = a.referencias - 1, a.updatedAt = CURRENT_TIMESTAMP WHERE a.hashSha256 = :hash AND a.referencias > 0")
+    int decrementarReferencias(@Param("hash") String hash);
+
+    /**
+     * Remove o registro do arquivo caso não existam mais referências.
+     *
+     * @param hash SHA-256 do conteúdo
+     * @return 1 se o registro foi removido (o arquivo físico pode ser excluído), 0 caso contrário
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ArquivoImagemModel a WHERE a.hashSha256 = :hash AND a.referencias <= 0")
+    int excluirSemReferencias(@Param("hash") String hash);
+
+    /**
+     * Aponta o registro do conteúdo para uma nova versão do arquivo (ex: recomprimida), se
+     * ele ainda apontar para o arquivo a partir do qual a nova versão foi gerada.
+     *
+     * @param hash SHA-256 do conteúdo enviado
+     * @param caminhoAnterior Caminho relativo do arquivo que foi recomprimido
+     * @param caminhoArquivo Caminho relativo do novo arquivo
+     * @param tamanhoBytes Tamanho do novo arquivo
+     * @return Quantidade de registros atualizados (0 se o registro mudou ou foi removido)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ArquivoImagemModel a SET a.caminhoArquivo = :caminhoArquivo, a.tamanhoBytes = :tamanhoBytes, " +
+           "a.updatedAt = CURRENT_TIMESTAMP WHERE a.hashSha256 = :hash AND a.caminhoArquivo = :caminhoAnterior")
+    int atualizarArquivo(@Param("hash") String hash,
+                         @Param("caminhoAnterior") String caminhoAnterior,
+                         @Param("caminhoArquivo") String caminhoArquivo,
+                         @Param("tamanhoBytes") Long tamanhoBytes);
+}
@@ -0,0 +1,13 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.models.AuditEventModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEventModel, UUID> {
+
+    long countByUserIdAndEventTypeAndAction(String userId, String eventType, String action);
+}
@@ -0,0 +1,69 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.enums.EscopoEstatisticaArmazenamento;
+import br.com.marcosferreira.receitasecreta.api.models.EstatisticaArmazenamentoId;
+import br.com.marcosferreira.receitasecreta.api.models.EstatisticaArmazenamentoModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repositório dos contadores de uso do armazenamento de imagens.
+ *
+ * Os incrementos são feitos com um único UPSERT atômico, para que uploads e exclusões
+ * concorrentes não percam atualizações.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Repository
+public interface EstatisticaArmazenamentoRepository extends JpaRepository<EstatisticaArmazenamentoModel, EstatisticaArmazenamentoId> {
+
+    /**
+     * Soma os deltas ao contador, criando-o se ainda não existir. Os valores nunca ficam negativos.
+     *
+     * @param escopo Escopo do contador
+     * @param chave Chave dentro do escopo (dia, receita ou tipo MIME)
+     * @param quantidade Variação da quantidade
+     * @param bytes Variação do total de bytes
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO armazenamento_estatisticas (escopo, chave, quantidade, total_bytes, updated_at) " +
+                   "VALUES (:escopo, :chave, GREATEST(:quantidade, 0), GREATEST(:bytes, 0), CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (escopo, chave) DO UPDATE SET " +
+                   "quantidade = GREATEST(armazenamento_estatisticas.quantidade + :quantidade, 0), " +
+                   "total_bytes = GREATEST(armazenamento_estatisticas.total_bytes + :bytes, 0), " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void acumular(@Param("escopo") String escopo,
+                  @Param("chave") String chave,
+                  @Param("quantidade") long quantidade,
+                  @Param("bytes") long bytes);
+
+    /**
+     * Lista os contadores de um escopo.
+     *
+     * @param escopo Escopo desejado
+     * @return Contadores ordenados pela chave
+     */
+    @Query("SELECT e FROM EstatisticaArmazenamentoModel e WHERE e.id.escopo = :escopo ORDER BY e.id.chave ASC")
+    List<EstatisticaArmazenamentoModel> findByEscopo(@Param("escopo") EscopoEstatisticaArmazenamento escopo);
+
+    /**
+     * Remove todos os contadores de um escopo (usado pela reconciliação).
+     *
+     * @param escopo Escopo a ser removido
+     * @return Quantidade de contadores removidos
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EstatisticaArmazenamentoModel e WHERE e.id.escopo = :escopo")
+    int deleteByEscopo(@Param("escopo") EscopoEstatisticaArmazenamento escopo);
+}
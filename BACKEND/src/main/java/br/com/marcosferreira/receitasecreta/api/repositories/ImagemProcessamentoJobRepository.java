@@ -0,0 +1,124 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.models.ImagemProcessamentoJobModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório da fila de pós-processamento de imagens.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Repository
+public interface ImagemProcessamentoJobRepository extends JpaRepository<ImagemProcessamentoJobModel, UUID> {
+
+    /**
+     * Bloqueia os próximos jobs disponíveis, ignorando os já bloqueados por outra transação.
+     * Deve ser chamado dentro da mesma transação que marca os jobs como em execução.
+     *
+     * @param limite Quantidade máxima de jobs
+     * @return IDs dos jobs bloqueados, do mais antigo para o mais novo
+     */
+    @Query(value = "SELECT job_id FROM imagem_processamento_jobs " +
+                   "WHERE status = 'PENDING' AND disponivel_em <= CURRENT_TIMESTAMP " +
+                   "ORDER BY disponivel_em LIMIT :limite FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UUID> bloquearProximosPendentes(@Param("limite") int limite);
+
+    /**
+     * Marca os jobs como em execução e conta uma nova tentativa.
+     *
+     * @param jobIds IDs dos jobs
+     * @param agora Data de início
+     * @return Quantidade de jobs atualizados
+     */
+    @Modifying
+    @Query("UPDATE ImagemProcessamentoJobModel j SET j.status = br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem.RUNNING, " +
+           "j.tentativas = j.tentativas + 1, j.iniciadoEm = :agora, j.updatedAt = :agora WHERE j.jobId IN :jobIds")
+    int marcarEmExecucao(@Param("jobIds") Collection<UUID> jobIds, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Busca os jobs já com a imagem carregada, para uso fora da transação.
+     *
+     * @param jobIds IDs dos jobs
+     * @return Jobs encontrados
+     */
+    @Query("SELECT j FROM ImagemProcessamentoJobModel j JOIN FETCH j.imagem WHERE j.jobId IN :jobIds ORDER BY j.disponivelEm ASC")
+    List<ImagemProcessamentoJobModel> findAllComImagem(@Param("jobIds") Collection<UUID> jobIds);
+
+    /**
+     * Marca um job como concluído.
+     *
+     * @param jobId ID do job
+     * @return Quantidade de jobs atualizados (0 se a imagem foi excluída nesse meio tempo)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImagemProcessamentoJobModel j SET j.status = br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem.DONE, " +
+           "j.ultimoErro = NULL, j.updatedAt = CURRENT_TIMESTAMP WHERE j.jobId = :jobId")
+    int concluir(@Param("jobId") UUID jobId);
+
+    /**
+     * Devolve um job à fila para uma nova tentativa.
+     *
+     * @param jobId ID do job
+     * @param disponivelEm Data a partir da qual o job pode ser executado novamente
+     * @param erro Mensagem do erro da tentativa
+     * @return Quantidade de jobs atualizados
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImagemProcessamentoJobModel j SET j.status = br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem.PENDING, " +
+           "j.disponivelEm = :disponivelEm, j.ultimoErro = :erro, j.updatedAt = CURRENT_TIMESTAMP WHERE j.jobId = :jobId")
+    int reagendar(@Param("jobId") UUID jobId, @Param("disponivelEm") LocalDateTime disponivelEm, @Param("erro") String erro);
+
+    /**
+     * Marca um job como falho em definitivo.
+     *
+     * @param jobId ID do job
+     * @param erro Mensagem do último erro
+     * @return Quantidade de jobs atualizados
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImagemProcessamentoJobModel j SET j.status = br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem.FAILED, " +
+           "j.ultimoErro = :erro, j.updatedAt = CURRENT_TIMESTAMP WHERE j.jobId = :jobId")
+    int marcarFalha(@Param("jobId") UUID jobId, @Param("erro") String erro);
+
+    /**
+     * Devolve à fila os jobs em execução há mais tempo que o limite
+     * (ex: a instância que os reservou foi encerrada no meio do processamento).
+     *
+     * @param iniciadoAntesDe Limite de início da execução
+     * @return Quantidade de jobs recuperados
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImagemProcessamentoJobModel j SET j.status = br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem.PENDING, " +
+           "j.disponivelEm = CURRENT_TIMESTAMP, j.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE j.status = br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem.RUNNING AND j.iniciadoEm < :iniciadoAntesDe")
+    int recuperarTravados(@Param("iniciadoAntesDe") LocalDateTime iniciadoAntesDe);
+
+    /**
+     * Remove os jobs concluídos há mais tempo que o limite.
+     *
+     * @param atualizadoAntesDe Limite da última atualização
+     * @return Quantidade de jobs removidos
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImagemProcessamentoJobModel j WHERE j.status = br.com.marcosferreira.receitasecreta.api.enums.StatusJobImagem.DONE " +
+           "AND j.updatedAt < :atualizadoAntesDe")
+    int excluirConcluidos(@Param("atualizadoAntesDe") LocalDateTime atualizadoAntesDe);
+}
@@ -0,0 +1,26 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.enums.UnidadeMedida;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projeção de um ingrediente com o preço do produto, usada no cálculo de custo das receitas.
+ */
+public interface IngredienteCustoProjection {
+
+    UUID getReceitaId();
+
+    UUID getProdutoId();
+
+    String getNome();
+
+    Integer getQuantidade();
+
+    UnidadeMedida getUnidadeMedida();
+
+    BigDecimal getCustoPorUnidade();
+
+    UnidadeMedida getUnidadeProduto();
+}
@@ -0,0 +1,13 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import java.util.UUID;
+
+/**
+ * Projeção com o ID e o nome de um produto, usada na carga do autocomplete.
+ */
+public interface ProdutoNomeProjection {
+
+    UUID getProdutoId();
+
+    String getNome();
+}
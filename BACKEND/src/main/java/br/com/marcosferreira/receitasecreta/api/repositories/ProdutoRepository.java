@@ -1,9 +1,12 @@
 package br.com.marcosferreira.receitasecreta.api.repositories;
 
 import br.com.marcosferreira.receitasecreta.api.models.ProdutoModel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface ProdutoRepository extends JpaRepository<ProdutoModel, UUID> {
@@ -14,4 +17,27 @@ public interface ProdutoRepository extends JpaRepository<ProdutoModel, UUID> {
 
     @Query(value="select * from TB_PRODUTOS where LOWER(nome) = LOWER(:nome) LIMIT 1", nativeQuery = true)
     ProdutoModel findByNome(String nome);
+
+    // Carga do autocomplete em memória: só o ID e o nome
+    @Query("SELECT p.produtoId AS produtoId, p.nome AS nome FROM ProdutoModel p")
+    List<ProdutoNomeProjection> findAllNomes();
+
+    // Paginação por cursor: o Pageable só limita as linhas (retorno em List, sem COUNT).
+    // O predicado de busca começa pela coluna líder do índice para permitir o range scan.
+
+    @Query("SELECT p FROM ProdutoModel p ORDER BY p.createdAt DESC, p.produtoId DESC")
+    List<ProdutoModel> findRecentes(Pageable limite);
+
+    @Query("SELECT p FROM ProdutoModel p WHERE p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.produtoId < :produtoId) " +
+           "ORDER BY p.createdAt DESC, p.produtoId DESC")
+    List<ProdutoModel> findRecentesApos(LocalDateTime createdAt, UUID produtoId, Pageable limite);
+
+    @Query("SELECT p FROM ProdutoModel p ORDER BY p.nome ASC, p.produtoId ASC")
+    List<ProdutoModel> findPorNome(Pageable limite);
+
+    @Query("SELECT p FROM ProdutoModel p WHERE p.nome >= :nome " +
+           "AND (p.nome > :nome OR p.produtoId > :produtoId) " +
+           "ORDER BY p.nome ASC, p.produtoId ASC")
+    List<ProdutoModel> findPorNomeApos(String nome, UUID produtoId, Pageable limite);
 }
@@ -0,0 +1,31 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.enums.CategoriaReceita;
+import br.com.marcosferreira.receitasecreta.api.enums.Dificuldade;
+
+import java.util.UUID;
+
+/**
+ * Projeção de um resultado da busca textual de receitas.
+ *
+ * O nome destacado e o trecho trazem os termos encontrados entre &lt;mark&gt; e &lt;/mark&gt;;
+ * o texto vem da receita sem escape, então o cliente deve escapá-lo antes de aplicar o destaque.
+ */
+public interface ReceitaBuscaProjection {
+
+    UUID getReceitaId();
+
+    String getNomeReceita();
+
+    CategoriaReceita getCategoria();
+
+    Dificuldade getDificuldade();
+
+    String getTempoPreparo();
+
+    Float getRelevancia();
+
+    String getNomeDestacado();
+
+    String getTrecho();
+}
@@ -0,0 +1,29 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.enums.CategoriaReceita;
+import br.com.marcosferreira.receitasecreta.api.enums.Dificuldade;
+
+import java.util.UUID;
+
+/**
+ * Projeção com as colunas exibidas no card de uma receita na listagem.
+ *
+ * Não inclui os campos TEXT (modo de preparo, notas); o caminho e o tipo da imagem
+ * principal vêm da mesma consulta, por junção, e são nulos quando não há imagem principal.
+ */
+public interface ReceitaCardProjection {
+
+    UUID getReceitaId();
+
+    String getNomeReceita();
+
+    CategoriaReceita getCategoria();
+
+    Dificuldade getDificuldade();
+
+    String getTempoPreparo();
+
+    String getCaminhoImagemPrincipal();
+
+    String getTipoMimeImagemPrincipal();
+}
@@ -1,5 +1,6 @@
 package br.com.marcosferreira.receitasecreta.api.repositories;
 
+import br.com.marcosferreira.receitasecreta.api.enums.StatusProcessamentoImagem;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,6 +38,17 @@ public interface ReceitaImagemRepository extends JpaRepository<ReceitaImagemMode
     @Query("SELECT ri FROM ReceitaImagemModel ri WHERE ri.receita.receitaId = :receitaId ORDER BY ri.ordemExibicao ASC, ri.createdAt ASC")
     List<ReceitaImagemModel> findByReceitaIdOrderByOrdemExibicao(@Param("receitaId") UUID receitaId);
 
+    /**
+     * Busca todas as imagens de uma receita, na ordem de exibição, já com a receita e os
+     * usuários de auditoria carregados (uma única consulta para montar os DTOs).
+     * 
+     * @param receitaId ID da receita
+     * @return Lista de imagens ordenadas por ordem de exibição
+     */
+    @Query("SELECT ri FROM ReceitaImagemModel ri JOIN FETCH ri.receita LEFT JOIN FETCH ri.createdBy LEFT JOIN FETCH ri.updatedBy " +
+           "WHERE ri.receita.receitaId = :receitaId ORDER BY ri.ordemExibicao ASC, ri.createdAt ASC")
+    List<ReceitaImagemModel> findDetalhadasByReceitaId(@Param("receitaId") UUID receitaId);
+
     /**
      * Busca todas as imagens de uma receita específica com paginação.
      * 
@@ -125,6 +137,15 @@ public interface ReceitaImagemRepository extends JpaRepository<ReceitaImagemMode
      */
     Optional<ReceitaImagemModel> findByCaminhoArquivo(String caminhoArquivo);
 
+    /**
+     * Busca as imagens que compartilham o mesmo conteúdo.
+     * 
+     * @param hashConteudo SHA-256 do conteúdo
+     * @return Imagens com a receita carregada
+     */
+    @Query("SELECT ri FROM ReceitaImagemModel ri JOIN FETCH ri.receita WHERE ri.hashConteudo = :hashConteudo")
+    List<ReceitaImagemModel> findByHashConteudo(@Param("hashConteudo") String hashConteudo);
+
     /**
      * Remove todas as imagens principais de uma receita (usado antes de definir uma nova principal).
      * 
@@ -160,6 +181,18 @@ public interface ReceitaImagemRepository extends JpaRepository<ReceitaImagemMode
     @Query("UPDATE ReceitaImagemModel ri SET ri.ordemExibicao = :novaOrdem WHERE ri.imagemId = :imagemId")
     int updateOrdemExibicao(@Param("imagemId") UUID imagemId, @Param("novaOrdem") Integer novaOrdem);
 
+    /**
+     * Atualiza o status de pós-processamento de uma imagem.
+     * 
+     * @param imagemId ID da imagem
+     * @param status Novo status
+     * @return Número de registros atualizados
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReceitaImagemModel ri SET ri.statusProcessamento = :status WHERE ri.imagemId = :imagemId")
+    int updateStatusProcessamento(@Param("imagemId") UUID imagemId, @Param("status") StatusProcessamentoImagem status);
+
     /**
      * Atualiza a descrição de uma imagem.
      * 
@@ -227,6 +260,32 @@ public interface ReceitaImagemRepository extends JpaRepository<ReceitaImagemMode
     @Query("SELECT ri.tipoMime, COUNT(ri), COALESCE(SUM(ri.tamanhoBytes), 0) FROM ReceitaImagemModel ri GROUP BY ri.tipoMime ORDER BY COUNT(ri) DESC")
     List<Object[]> getEstatisticasPorTipoMime();
 
+    /**
+     * Busca quantidade e tamanho total das imagens de cada receita.
+     * 
+     * @return Lista de arrays com [receitaId, quantidade, tamanhoTotal]
+     */
+    @Query("SELECT ri.receita.receitaId, COUNT(ri), COALESCE(SUM(ri.tamanhoBytes), 0) FROM ReceitaImagemModel ri GROUP BY ri.receita.receitaId")
+    List<Object[]> getEstatisticasPorReceita();
+
+    /**
+     * Lista, em ordem binária, os caminhos de arquivos referenciados pelo banco (imagens,
+     * variantes e conteúdos armazenados) que começam com o prefixo informado.
+     * 
+     * A ordenação com collation "C" coincide com {@link String#compareTo}, permitindo
+     * comparar com a listagem do disco por intercalação, sem uma consulta por arquivo.
+     * 
+     * @param prefixo Prefixo do caminho relativo (ex: 2025/01/15/)
+     * @return Caminhos referenciados, sem repetição
+     */
+    @Query(value = "SELECT caminho FROM (" +
+                   "SELECT caminho_arquivo AS caminho FROM receita_imagens WHERE caminho_arquivo LIKE :prefixo || '%' " +
+                   "UNION SELECT caminho_arquivo FROM receita_imagem_variantes WHERE caminho_arquivo LIKE :prefixo || '%' " +
+                   "UNION SELECT caminho_arquivo FROM arquivos_imagem WHERE caminho_arquivo LIKE :prefixo || '%'" +
+                   ") referenciados ORDER BY caminho COLLATE \"C\"",
+           nativeQuery = true)
+    List<String> findCaminhosReferenciadosPorPrefixo(@Param("prefixo") String prefixo);
+
     /**
      * Busca as receitas com mais imagens.
      * 
@@ -244,14 +303,6 @@ public interface ReceitaImagemRepository extends JpaRepository<ReceitaImagemMode
      */
     boolean existsByNomeArquivo(String nomeArquivo);
 
-    /**
-     * Verifica se existe uma imagem com o caminho de arquivo especificado.
-     * 
-     * @param caminhoArquivo Caminho do arquivo
-     * @return true se existe, false caso contrário
-     */
-    boolean existsByCaminhoArquivo(String caminhoArquivo);
-
     /**
      * Busca a próxima ordem de exibição disponível para uma receita.
      * 
@@ -0,0 +1,52 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemVarianteModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório para as variantes redimensionadas das imagens das receitas.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Repository
+public interface ReceitaImagemVarianteRepository extends JpaRepository<ReceitaImagemVarianteModel, UUID> {
+
+    /**
+     * Busca as variantes de uma imagem ordenadas pela largura alvo.
+     *
+     * @param imagemId ID da imagem original
+     * @return Lista de variantes da menor para a maior
+     */
+    @Query("SELECT v FROM ReceitaImagemVarianteModel v WHERE v.imagem.imagemId = :imagemId ORDER BY v.larguraAlvo ASC")
+    List<ReceitaImagemVarianteModel> findByImagemIdOrderByLarguraAlvo(@Param("imagemId") UUID imagemId);
+
+    /**
+     * Busca as variantes a partir do caminho do arquivo original, usado ao servir
+     * arquivos com o seletor de largura.
+     *
+     * @param caminhoArquivo Caminho relativo do arquivo original
+     * @return Lista de variantes da menor para a maior
+     */
+    @Query("SELECT v FROM ReceitaImagemVarianteModel v WHERE v.imagem.caminhoArquivo = :caminhoArquivo ORDER BY v.larguraAlvo ASC")
+    List<ReceitaImagemVarianteModel> findByCaminhoArquivoOriginal(@Param("caminhoArquivo") String caminhoArquivo);
+
+    /**
+     * Remove todas as variantes de uma imagem.
+     *
+     * @param imagemId ID da imagem original
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ReceitaImagemVarianteModel v WHERE v.imagem.imagemId = :imagemId")
+    void deleteByImagemId(@Param("imagemId") UUID imagemId);
+}
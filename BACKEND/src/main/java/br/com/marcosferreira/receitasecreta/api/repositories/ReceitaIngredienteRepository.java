@@ -2,17 +2,58 @@ package br.com.marcosferreira.receitasecreta.api.repositories;
 
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteId;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
-public interface ReceitaIngredienteRepository extends JpaRepository<ReceitaIngredienteModel, ReceitaIngredienteId> {
+public interface ReceitaIngredienteRepository extends JpaRepository<ReceitaIngredienteModel, ReceitaIngredienteId>,
+        ReceitaIngredienteRepositoryCustom {
 
     @Query("SELECT ri FROM ReceitaIngredienteModel ri LEFT JOIN FETCH ri.produto WHERE ri.id.receitaId = :receitaId")
     List<ReceitaIngredienteModel> findByReceitaId(UUID receitaId);
 
+    // Operações em lote sobre os ingredientes de uma receita: uma consulta por lote, não por item
+    @Query("SELECT ri FROM ReceitaIngredienteModel ri LEFT JOIN FETCH ri.produto " +
+           "WHERE ri.id.receitaId = :receitaId AND ri.id.ingredienteId IN :produtoIds")
+    List<ReceitaIngredienteModel> findByReceitaIdAndProdutoIds(UUID receitaId, Collection<UUID> produtoIds);
+
+    @Modifying
+    @Query("DELETE FROM ReceitaIngredienteModel ri WHERE ri.id.receitaId = :receitaId AND ri.id.ingredienteId IN :produtoIds")
+    int deleteByReceitaIdAndProdutoIds(UUID receitaId, Collection<UUID> produtoIds);
+
+    // Cálculo de custo: ingrediente com o preço e a unidade do produto, sem carregar as entidades
+    @Query("SELECT ri.id.receitaId AS receitaId, p.produtoId AS produtoId, p.nome AS nome, " +
+           "ri.quantidade AS quantidade, ri.unidadeMedida AS unidadeMedida, " +
+           "p.custoporunidade AS custoPorUnidade, p.unidademedida AS unidadeProduto " +
+           "FROM ReceitaIngredienteModel ri JOIN ri.produto p WHERE ri.id.receitaId = :receitaId")
+    List<IngredienteCustoProjection> findParaCustoByReceitaId(UUID receitaId);
+
+    @Query("SELECT ri.id.receitaId AS receitaId, p.produtoId AS produtoId, p.nome AS nome, " +
+           "ri.quantidade AS quantidade, ri.unidadeMedida AS unidadeMedida, " +
+           "p.custoporunidade AS custoPorUnidade, p.unidademedida AS unidadeProduto " +
+           "FROM ReceitaIngredienteModel ri JOIN ri.produto p")
+    List<IngredienteCustoProjection> findAllParaCusto();
+
+    // Carga do índice de ingredientes em memória: só as chaves, sem produto
+    @Query("SELECT ri.id FROM ReceitaIngredienteModel ri")
+    List<ReceitaIngredienteId> findAllIds();
+
+    // Paginação por cursor na ordem da chave primária (receita_id, produto_id), sem COUNT
+    @Query("SELECT ri FROM ReceitaIngredienteModel ri LEFT JOIN FETCH ri.produto " +
+           "ORDER BY ri.id.receitaId ASC, ri.id.ingredienteId ASC")
+    List<ReceitaIngredienteModel> findPorChave(Pageable limite);
+
+    @Query("SELECT ri FROM ReceitaIngredienteModel ri LEFT JOIN FETCH ri.produto " +
+           "WHERE ri.id.receitaId >= :receitaId " +
+           "AND (ri.id.receitaId > :receitaId OR ri.id.ingredienteId > :produtoId) " +
+           "ORDER BY ri.id.receitaId ASC, ri.id.ingredienteId ASC")
+    List<ReceitaIngredienteModel> findPorChaveApos(UUID receitaId, UUID produtoId, Pageable limite);
+
 //    @Query(value="SELECT * FROM TB_RECEITA_INGREDIENTE WHERE receita_id = :receitaId and produto_id  = :produtoId "  , nativeQuery = true)
 //    ReceitaIngredienteModel findByIngredienteIdReceitaId(UUID receitaId, UUID produtoId);
 }
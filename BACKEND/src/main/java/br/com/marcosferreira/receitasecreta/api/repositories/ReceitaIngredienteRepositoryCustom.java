@@ -0,0 +1,16 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface ReceitaIngredienteRepositoryCustom {
+
+    // Inclusão do lote em um único INSERT de várias linhas; a chave já cadastrada (ex: requisição concorrente) é ignorada
+    Set<UUID> inserirSeAusentes(UUID receitaId, List<ReceitaIngredienteModel> ingredientes);
+
+    // Alteração do lote em um único UPDATE ... FROM (VALUES ...); ingredientes excluídos depois da consulta ficam de fora
+    Set<UUID> atualizarTodos(UUID receitaId, List<ReceitaIngredienteModel> ingredientes);
+}
@@ -0,0 +1,84 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Inclusão e alteração em lote dos ingredientes de uma receita, cada uma em um único comando.
+ *
+ * As duas operações são comandos nativos do PostgreSQL com RETURNING: os produtos retornados
+ * são os efetivamente gravados e os demais viram aviso no serviço, sem derrubar o lote.
+ * Lotes muito grandes são divididos para respeitar o limite de parâmetros por comando.
+ */
+public class ReceitaIngredienteRepositoryImpl implements ReceitaIngredienteRepositoryCustom {
+
+    private static final int LINHAS_POR_COMANDO = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReceitaIngredienteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<UUID> inserirSeAusentes(UUID receitaId, List<ReceitaIngredienteModel> ingredientes) {
+        Set<UUID> inseridos = new HashSet<>();
+        for (List<ReceitaIngredienteModel> lote : dividir(ingredientes)) {
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO tb_receita_ingrediente (receita_id, produto_id, quantidade, unidademedida) VALUES ");
+            List<Object> parametros = new ArrayList<>(lote.size() * 4);
+            for (ReceitaIngredienteModel ingrediente : lote) {
+                sql.append(parametros.isEmpty() ? "" : ", ").append("(?, ?, ?, ?)");
+                parametros.add(receitaId);
+                parametros.add(ingrediente.getProdutoId());
+                parametros.add(ingrediente.getQuantidade());
+                parametros.add(ingrediente.getUnidadeMedida().name());
+            }
+            sql.append(" ON CONFLICT (receita_id, produto_id) DO NOTHING RETURNING produto_id");
+            inseridos.addAll(jdbcTemplate.queryForList(sql.toString(), UUID.class, parametros.toArray()));
+        }
+        return inseridos;
+    }
+
+    @Override
+    public Set<UUID> atualizarTodos(UUID receitaId, List<ReceitaIngredienteModel> ingredientes) {
+        Set<UUID> alterados = new HashSet<>();
+        for (List<ReceitaIngredienteModel> lote : dividir(ingredientes)) {
+            StringBuilder sql = new StringBuilder(
+                    "UPDATE tb_receita_ingrediente ri SET quantidade = v.quantidade, unidademedida = v.unidademedida FROM (VALUES ");
+            List<Object> parametros = new ArrayList<>(lote.size() * 3 + 1);
+            for (ReceitaIngredienteModel ingrediente : lote) {
+                sql.append(parametros.isEmpty() ? "" : ", ")
+                   .append("(CAST(? AS uuid), CAST(? AS integer), CAST(? AS varchar))");
+                parametros.add(ingrediente.getProdutoId());
+                parametros.add(ingrediente.getQuantidade());
+                parametros.add(ingrediente.getUnidadeMedida().name());
+            }
+            sql.append(") AS v (produto_id, quantidade, unidademedida) ")
+               .append("WHERE ri.receita_id = ? AND ri.produto_id = v.produto_id RETURNING ri.produto_id");
+            parametros.add(receitaId);
+            alterados.addAll(jdbcTemplate.queryForList(sql.toString(), UUID.class, parametros.toArray()));
+        }
+        return alterados;
+    }
+
+    // Métodos privados de apoio
+
+    private List<List<ReceitaIngredienteModel>> dividir(List<ReceitaIngredienteModel> ingredientes) {
+        if (ingredientes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<ReceitaIngredienteModel>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < ingredientes.size(); inicio += LINHAS_POR_COMANDO) {
+            lotes.add(ingredientes.subList(inicio, Math.min(ingredientes.size(), inicio + LINHAS_POR_COMANDO)));
+        }
+        return lotes;
+    }
+}
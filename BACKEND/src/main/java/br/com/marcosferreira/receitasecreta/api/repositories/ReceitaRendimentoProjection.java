@@ -0,0 +1,13 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import java.util.UUID;
+
+/**
+ * Projeção com o rendimento de uma receita, usada no custo por porção.
+ */
+public interface ReceitaRendimentoProjection {
+
+    UUID getReceitaId();
+
+    String getRendimento();
+}
@@ -1,9 +1,13 @@
 package br.com.marcosferreira.receitasecreta.api.repositories;
 
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface ReceitaRepository extends JpaRepository<ReceitaModel, UUID> {
@@ -11,4 +15,52 @@ public interface ReceitaRepository extends JpaRepository<ReceitaModel, UUID> {
 
     @Query("SELECT r FROM ReceitaModel r WHERE r.receitaId = :receitaId")
     ReceitaModel findByReceitaId(UUID receitaId);
+
+    @Query("SELECT r.receitaId AS receitaId, r.rendimento AS rendimento FROM ReceitaModel r WHERE r.receitaId = :receitaId")
+    ReceitaRendimentoProjection findRendimentoByReceitaId(UUID receitaId);
+
+    @Query("SELECT r.receitaId AS receitaId, r.rendimento AS rendimento FROM ReceitaModel r")
+    List<ReceitaRendimentoProjection> findAllRendimentos();
+
+    @Query(value = "SELECT r.receitaId AS receitaId, r.nomeReceita AS nomeReceita, r.categoria AS categoria, " +
+                   "r.dificuldade AS dificuldade, r.tempoPreparo AS tempoPreparo, " +
+                   "ri.caminhoArquivo AS caminhoImagemPrincipal, ri.tipoMime AS tipoMimeImagemPrincipal " +
+                   "FROM ReceitaModel r LEFT JOIN ReceitaImagemModel ri ON ri.receita = r AND ri.ehPrincipal = true",
+           countQuery = "SELECT COUNT(r) FROM ReceitaModel r")
+    Page<ReceitaCardProjection> findCards(Pageable pageable);
+
+    // Busca textual na coluna gerada busca_documento (índice GIN, migração V15).
+    // O ts_headline é avaliado depois do LIMIT, só para as linhas da página.
+    @Query(value = "SELECT r.receita_id AS \"receitaId\", r.nomereceita AS \"nomeReceita\", r.categoria AS \"categoria\", " +
+                   "r.dificuldade AS \"dificuldade\", r.tempopreparo AS \"tempoPreparo\", " +
+                   "ts_rank_cd(r.busca_documento, q.consulta) AS \"relevancia\", " +
+                   "ts_headline('receitas_pt', r.nomereceita, q.consulta, " +
+                   "'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS \"nomeDestacado\", " +
+                   "ts_headline('receitas_pt', concat_ws(' ', r.tags, r.notas, r.modopreparo), q.consulta, " +
+                   "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=8') AS \"trecho\" " +
+                   "FROM tb_receitas r CROSS JOIN to_tsquery('receitas_pt', :consulta) AS q(consulta) " +
+                   "WHERE r.busca_documento @@ q.consulta " +
+                   "ORDER BY \"relevancia\" DESC, r.receita_id",
+           countQuery = "SELECT COUNT(*) FROM tb_receitas r WHERE r.busca_documento @@ to_tsquery('receitas_pt', :consulta)",
+           nativeQuery = true)
+    Page<ReceitaBuscaProjection> buscar(String consulta, Pageable pageable);
+
+    // Paginação por cursor: o Pageable só limita as linhas (retorno em List, sem COUNT).
+    // O predicado de busca começa pela coluna líder do índice para permitir o range scan.
+
+    @Query("SELECT r FROM ReceitaModel r ORDER BY r.createdAt DESC, r.receitaId DESC")
+    List<ReceitaModel> findRecentes(Pageable limite);
+
+    @Query("SELECT r FROM ReceitaModel r WHERE r.createdAt <= :createdAt " +
+           "AND (r.createdAt < :createdAt OR r.receitaId < :receitaId) " +
+           "ORDER BY r.createdAt DESC, r.receitaId DESC")
+    List<ReceitaModel> findRecentesApos(LocalDateTime createdAt, UUID receitaId, Pageable limite);
+
+    @Query("SELECT r FROM ReceitaModel r ORDER BY r.nomeReceita ASC, r.receitaId ASC")
+    List<ReceitaModel> findPorNome(Pageable limite);
+
+    @Query("SELECT r FROM ReceitaModel r WHERE r.nomeReceita >= :nomeReceita " +
+           "AND (r.nomeReceita > :nomeReceita OR r.receitaId > :receitaId) " +
+           "ORDER BY r.nomeReceita ASC, r.receitaId ASC")
+    List<ReceitaModel> findPorNomeApos(String nomeReceita, UUID receitaId, Pageable limite);
 }
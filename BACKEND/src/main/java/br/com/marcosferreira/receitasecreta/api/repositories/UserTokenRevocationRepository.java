@@ -0,0 +1,24 @@
+package br.com.marcosferreira.receitasecreta.api.repositories;
+
+import br.com.marcosferreira.receitasecreta.api.models.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, String> {
+
+    List<UserTokenRevocation> findByUpdatedAtAfter(Instant since);
+
+    // Marcas mais antigas que a validade de um token não recusam mais nenhum token
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.revokedBefore < :limit")
+    int deleteByRevokedBeforeBefore(@Param("limit") Instant limit);
+}
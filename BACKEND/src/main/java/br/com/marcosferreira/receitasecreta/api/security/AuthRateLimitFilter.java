@@ -0,0 +1,248 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Limite de tentativas nos endpoints de autenticação, antes de chegarem ao AuthenticationController.
+ *
+ * Todas as tentativas contam por IP; no login também contam pelo login informado, para que
+ * uma conta não seja atacada de vários IPs. A tentativa recusada nem chega ao BCrypt ou ao
+ * banco e recebe 429 com Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    // O corpo do login é pequeno; acima disso o login não é lido e só vale o limite por IP
+    private static final int MAX_BODY_INSPECTED = 8192;
+
+    private static final String MESSAGE = "Muitas tentativas. Tente novamente mais tarde.";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${api.security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.security.rate-limit.login.per-ip:20}")
+    private int loginPerIp;
+
+    @Value("${api.security.rate-limit.login.per-login:5}")
+    private int loginPerLogin;
+
+    @Value("${api.security.rate-limit.login.window-seconds:60}")
+    private long loginWindowSeconds;
+
+    @Value("${api.security.rate-limit.register.per-ip:10}")
+    private int registerPerIp;
+
+    @Value("${api.security.rate-limit.forgot-password.per-ip:5}")
+    private int forgotPasswordPerIp;
+
+    @Value("${api.security.rate-limit.reset-password.per-ip:10}")
+    private int resetPasswordPerIp;
+
+    @Value("${api.security.rate-limit.hourly-window-seconds:3600}")
+    private long hourlyWindowSeconds;
+
+    public AuthRateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String endpoint = endpoint(request);
+        String ip = request.getRemoteAddr();
+        long retryAfter = switch (endpoint) {
+            case "login" -> rateLimiter.tryAcquire("login:ip:" + ip, loginPerIp, Duration.ofSeconds(loginWindowSeconds));
+            case "register" -> rateLimiter.tryAcquire("register:ip:" + ip, registerPerIp, Duration.ofSeconds(hourlyWindowSeconds));
+            case "forgot-password" -> rateLimiter.tryAcquire("forgot-password:ip:" + ip, forgotPasswordPerIp,
+                    Duration.ofSeconds(hourlyWindowSeconds));
+            default -> rateLimiter.tryAcquire("reset-password:ip:" + ip, resetPasswordPerIp, Duration.ofSeconds(hourlyWindowSeconds));
+        };
+
+        if (retryAfter == 0 && "login".equals(endpoint)) {
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            request = cached;
+            String login = readField(cached.prefix(), "login");
+            if (login != null) {
+                retryAfter = rateLimiter.tryAcquire("login:user:" + login, loginPerLogin, Duration.ofSeconds(loginWindowSeconds));
+            }
+        }
+
+        if (retryAfter > 0) {
+            logger.warn("Limite de tentativas atingido em /auth/{} para o IP {}", endpoint, ip);
+            reject(response, retryAfter);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Métodos privados de apoio
+
+    private String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (path) {
+            case "/auth/login" -> "login";
+            case "/auth/register" -> "register";
+            case "/auth/forgot-password" -> "forgot-password";
+            case "/auth/reset-password" -> "reset-password";
+            default -> null;
+        };
+    }
+
+    private String readField(byte[] body, String field) {
+        if (body.length == 0 || body.length > MAX_BODY_INSPECTED) {
+            return null;
+        }
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            return value != null && value.isTextual() && !value.asText().isBlank()
+                    ? value.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException ex) {
+            // Corpo inválido: o controller responde com o erro de validação
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfter) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", MESSAGE));
+    }
+
+    /**
+     * Guarda o início do corpo para a leitura do login, devolvendo ao controller o corpo completo.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final ServletInputStream body;
+        private BufferedReader reader;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            ServletInputStream original = request.getInputStream();
+            this.prefix = original.readNBytes(MAX_BODY_INSPECTED + 1);
+            this.body = new PrefixedInputStream(prefix, original);
+        }
+
+        private byte[] prefix() {
+            return prefix;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+                reader = new BufferedReader(new InputStreamReader(body, charset));
+            }
+            return reader;
+        }
+    }
+
+    /**
+     * Entrega primeiro o início já lido do corpo e depois o restante do stream original, ao qual
+     * delega o estado e o {@link ReadListener} da leitura assíncrona.
+     */
+    private static final class PrefixedInputStream extends ServletInputStream {
+
+        private final byte[] prefix;
+        private final ServletInputStream original;
+        private int position;
+
+        private PrefixedInputStream(byte[] prefix, ServletInputStream original) {
+            this.prefix = prefix;
+            this.original = original;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position < prefix.length) {
+                return prefix[position++] & 0xFF;
+            }
+            return original.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position < prefix.length) {
+                int read = Math.min(length, prefix.length - position);
+                System.arraycopy(prefix, position, buffer, offset, read);
+                position += read;
+                return read;
+            }
+            return original.read(buffer, offset, length);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return position < prefix.length ? prefix.length - position : original.available();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= prefix.length && original.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return position < prefix.length || original.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            // O listener lê enquanto isReady() for verdadeiro, consumindo o início guardado antes do original
+            original.setReadListener(listener);
+        }
+    }
+}
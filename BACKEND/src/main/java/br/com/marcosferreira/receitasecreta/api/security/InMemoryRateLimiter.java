@@ -0,0 +1,113 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limitador em memória, válido para uma única instância.
+ *
+ * Os contadores ficam divididos em segmentos, cada um com o próprio lock: tentativas para
+ * chaves de segmentos diferentes não disputam o mesmo lock. As chaves sem tentativas nas duas
+ * últimas janelas são descartadas periodicamente.
+ */
+@Component
+@ConditionalOnProperty(name = "api.security.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Clock clock;
+
+    private final Segment[] segments = new Segment[STRIPES];
+
+    public InMemoryRateLimiter() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryRateLimiter(Clock clock) {
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, Duration window) {
+        long now = clock.millis();
+        long windowMs = window.toMillis();
+        long index = SlidingWindow.index(now, windowMs);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            Counter counter = segment.counters.computeIfAbsent(key, k -> new Counter(index, windowMs));
+            counter.advance(index);
+            if (!SlidingWindow.allows(counter.previous, counter.current, now, windowMs, limit)) {
+                return SlidingWindow.retryAfterSeconds(counter.previous, counter.current, now, windowMs, limit);
+            }
+            counter.current++;
+            return 0;
+        }
+    }
+
+    /**
+     * Descarta as chaves cujas tentativas já saíram da janela deslizante.
+     */
+    @Scheduled(initialDelayString = "${api.security.rate-limit.cleanup-ms:60000}",
+               fixedDelayString = "${api.security.rate-limit.cleanup-ms:60000}")
+    public void removeExpired() {
+        long now = clock.millis();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.counters.values().removeIf(counter -> SlidingWindow.index(now, counter.windowMs) > counter.index + 1);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.counters.size();
+            }
+        }
+        return size;
+    }
+
+    // Métodos privados de apoio
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Segment {
+        private final Map<String, Counter> counters = new HashMap<>();
+    }
+
+    private static final class Counter {
+        private final long windowMs;
+        private long index;
+        private long previous;
+        private long current;
+
+        private Counter(long index, long windowMs) {
+            this.index = index;
+            this.windowMs = windowMs;
+        }
+
+        private void advance(long newIndex) {
+            if (newIndex == index) {
+                return;
+            }
+            // A janela atual vira a anterior; se passou mais de uma janela, as duas estão vazias
+            previous = newIndex == index + 1 ? current : 0;
+            current = 0;
+            index = newIndex;
+        }
+    }
+}
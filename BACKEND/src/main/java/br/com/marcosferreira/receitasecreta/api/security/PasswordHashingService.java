@@ -0,0 +1,126 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+import br.com.marcosferreira.receitasecreta.api.exceptions.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executor dedicado às operações de BCrypt (login, cadastro e troca de senha).
+ *
+ * Cada hash consome dezenas de milissegundos de CPU; executado nas threads do Tomcat, um pico
+ * de logins ocupa todas elas e atrasa o restante da API. Aqui o hash roda em um pool fixo com
+ * fila limitada: com a fila cheia a requisição é recusada na hora com 429, em vez de esperar.
+ * A thread da requisição só aguarda o resultado, sem consumir CPU.
+ *
+ * Os contadores de latência, espera na fila e recusas são expostos em {@link #getStatistics()}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    @Value("${api.security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${api.security.password-hashing.queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor hashingExecutor;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalHashNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().name("password-hashing-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    /**
+     * Executa a operação no pool de hashing e aguarda o resultado.
+     *
+     * @throws TooManyRequestsException Se o pool e a fila estiverem ocupados
+     */
+    public <T> T execute(Supplier<T> operation) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return operation.get();
+                } finally {
+                    record(startedAt - enqueuedAt, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            logger.warn("Pool de hashing de senhas saturado: {} na fila", hashingExecutor.getQueue().size());
+            throw new TooManyRequestsException("Muitas requisições de autenticação. Tente novamente em instantes.",
+                    RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Erro no hashing de senha", ex.getCause());
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing de senha interrompido", ex);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        long total = completed.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("threads", hashingExecutor.getCorePoolSize());
+        statistics.put("activeThreads", hashingExecutor.getActiveCount());
+        statistics.put("queueDepth", hashingExecutor.getQueue().size());
+        statistics.put("queueCapacity", queueCapacity);
+        statistics.put("completed", total);
+        statistics.put("rejected", rejected.get());
+        statistics.put("averageHashMs", total == 0 ? 0.0 : totalHashNanos.get() / 1_000_000.0 / total);
+        statistics.put("maxHashMs", maxHashNanos.get() / 1_000_000.0);
+        statistics.put("averageQueueWaitMs", total == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / total);
+        return statistics;
+    }
+
+    private void record(long waitNanos, long hashNanos) {
+        completed.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        totalHashNanos.addAndGet(hashNanos);
+        maxHashNanos.accumulateAndGet(hashNanos, Math::max);
+    }
+}
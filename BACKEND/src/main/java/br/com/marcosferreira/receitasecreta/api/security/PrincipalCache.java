@@ -0,0 +1,109 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache dos usuários autenticados por token, para que o SecurityFilter não consulte o banco
+ * a cada requisição.
+ *
+ * A chave é o SHA-256 do token (o token em si não fica em memória) e a entrada só é gravada
+ * depois de o token ser verificado, expirando junto com ele. A troca de senha, de perfil ou a
+ * exclusão do usuário invalidam as entradas do login. O tamanho é limitado: com o cache cheio,
+ * as entradas expiradas são descartadas e, se ainda não houver espaço, o usuário não é guardado.
+ */
+@Component
+public class PrincipalCache {
+
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Incrementado a cada invalidação: um usuário lido do banco antes dela não entra no cache
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(@Value("${api.security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Geração atual, a ser lida antes de buscar o usuário no banco e repassada ao {@link #put}.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Retorna o usuário associado ao token, se estiver no cache e o token não tiver expirado.
+     */
+    public UserDetails get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.expiresAt().isAfter(Instant.now())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.user();
+    }
+
+    /**
+     * Guarda o usuário de um token já verificado até a expiração do token.
+     *
+     * @param generationRead Geração lida antes de buscar o usuário no banco
+     */
+    public void put(String token, UserDetails user, Instant expiresAt, long generationRead) {
+        if (expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            removeExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        String key = hash(token);
+        entries.put(key, new Entry(user, expiresAt));
+        // Uma invalidação concorrente pode ter ocorrido depois da leitura do banco
+        if (generation.get() != generationRead) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Remove todas as entradas de um usuário, após troca de senha, de perfil ou exclusão.
+     */
+    public void invalidateUser(String login) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.user().getUsername().equals(login));
+    }
+
+    public void removeExpired() {
+        Instant now = Instant.now();
+        entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    private record Entry(UserDetails user, Instant expiresAt) {
+    }
+}
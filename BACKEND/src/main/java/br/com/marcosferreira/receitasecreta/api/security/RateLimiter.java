@@ -0,0 +1,20 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+import java.time.Duration;
+
+/**
+ * Limite de tentativas por chave (IP, login ou email) em uma janela deslizante.
+ *
+ * A janela é aproximada por dois contadores de janelas fixas, a atual e a anterior, com a
+ * anterior pesando proporcionalmente ao trecho dela que ainda cai dentro da janela deslizante.
+ * O custo por chave é constante, sem guardar o horário de cada tentativa.
+ */
+public interface RateLimiter {
+
+    /**
+     * Registra uma tentativa para a chave, se ainda estiver dentro do limite.
+     *
+     * @return 0 se a tentativa foi aceita; senão, os segundos até a próxima tentativa ser aceita
+     */
+    long tryAcquire(String key, int limit, Duration window);
+}
@@ -0,0 +1,83 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Limitador no Redis, compartilhado entre as instâncias.
+ *
+ * Cada janela fixa é uma chave com o número da janela no nome e expira depois de duas janelas.
+ * A leitura dos dois contadores, a verificação e o incremento rodam em um único script, então
+ * tentativas simultâneas em instâncias diferentes não ultrapassam o limite. Se o Redis estiver
+ * indisponível a tentativa é aceita: a falha do limitador não deve derrubar o login.
+ */
+@Component
+@ConditionalOnProperty(name = "api.security.rate-limit.store", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    // KEYS: janela atual e anterior; ARGV: limite, tamanho da janela, trecho da anterior na janela
+    // deslizante e expiração, em ms (a mesma conta de SlidingWindow.allows).
+    // Retorna {aceita (1/0), contador anterior, contador atual}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local window = tonumber(ARGV[2])
+            if previous * tonumber(ARGV[3]) + (current + 1) * window > tonumber(ARGV[1]) * window then
+                return {0, previous, current}
+            end
+            current = redis.call('INCR', KEYS[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return {1, previous, current}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Clock clock;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, Clock.systemUTC());
+    }
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, Duration window) {
+        long now = clock.millis();
+        long windowMs = window.toMillis();
+        long index = SlidingWindow.index(now, windowMs);
+        List<?> result;
+        try {
+            result = redisTemplate.execute(SCRIPT,
+                    List.of(KEY_PREFIX + key + ":" + index, KEY_PREFIX + key + ":" + (index - 1)),
+                    String.valueOf(limit),
+                    String.valueOf(windowMs),
+                    String.valueOf(SlidingWindow.previousOverlap(now, windowMs)),
+                    String.valueOf(windowMs * 2));
+        } catch (RuntimeException ex) {
+            logger.warn("Redis indisponível para o limite de tentativas; tentativa aceita: {}", ex.getMessage());
+            return 0;
+        }
+        if (result == null || result.size() < 3 || ((Number) result.get(0)).longValue() == 1) {
+            return 0;
+        }
+        return SlidingWindow.retryAfterSeconds(((Number) result.get(1)).longValue(),
+                ((Number) result.get(2)).longValue(), now, windowMs, limit);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.marcosferreira.receitasecreta.api.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,11 +17,15 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfigurations {
 
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
     private final SecurityFilter securityFilter;
 
     public SecurityConfigurations(SecurityFilter securityFilter) {
@@ -46,8 +51,19 @@ public class SecurityConfigurations {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.bcrypt.strength:10}") int strength) {
+        // Hash gravado com outro custo (para mais ou para menos) é refeito no próximo login,
+        // pelo UserDetailsPasswordService, já que só então a senha em texto é conhecida
+        return new BCryptPasswordEncoder(strength) {
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                Matcher matcher = encodedPassword != null ? BCRYPT_HASH.matcher(encodedPassword) : null;
+                if (matcher == null || !matcher.matches()) {
+                    return false;
+                }
+                return Integer.parseInt(matcher.group(1)) != strength;
+            }
+        };
     }
 
     @Bean
@@ -2,6 +2,7 @@ package br.com.marcosferreira.receitasecreta.api.security;
 
 
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,11 +20,16 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
 
 
-    public SecurityFilter(TokenService tokenService, UserRepository userRepository) {
+    public SecurityFilter(TokenService tokenService, UserRepository userRepository, PrincipalCache principalCache,
+                          TokenRevocationService tokenRevocationService) {
         this.tokenService = tokenService;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -33,15 +39,11 @@ public class SecurityFilter extends OncePerRequestFilter {
         try {
             var token = recoverToken(request);
             if (token != null) {
-                String login = tokenService.validateToken(token).orElse(null);
+                UserDetails user = resolveUser(token);
 
-                if (login != null) {
-                    UserDetails user = userRepository.findByLogin(login);
-
-                    if (user != null) {
-                        var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
+                if (user != null) {
+                    var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
         } catch (Exception e) {
@@ -52,6 +54,30 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Token já visto: usuário vem do cache, sem verificar a assinatura de novo nem consultar o banco.
+    // Toda revogação remove do cache as entradas do usuário, então só tokens não revogados estão nele.
+    private UserDetails resolveUser(String token) {
+        UserDetails cached = principalCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        DecodedJWT decoded = tokenService.verifyToken(token).orElse(null);
+        if (decoded == null || decoded.getSubject() == null) {
+            return null;
+        }
+
+        long generation = principalCache.currentGeneration();
+        if (tokenRevocationService.isRevoked(decoded)) {
+            return null;
+        }
+        UserDetails user = userRepository.findByLogin(decoded.getSubject());
+        if (user != null) {
+            principalCache.put(token, user, decoded.getExpiresAtAsInstant(), generation);
+        }
+        return user;
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         return (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
@@ -0,0 +1,43 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+/**
+ * Cálculos da janela deslizante aproximada, comuns às implementações de {@link RateLimiter}.
+ *
+ * A janela anterior pesa a fração dela que ainda está dentro da janela deslizante. As contas
+ * são feitas em milissegundos inteiros, multiplicando os dois lados pelo tamanho da janela.
+ */
+final class SlidingWindow {
+
+    private SlidingWindow() {
+    }
+
+    static long index(long nowMs, long windowMs) {
+        return nowMs / windowMs;
+    }
+
+    /**
+     * Trecho da janela anterior ainda dentro da janela deslizante, em milissegundos.
+     */
+    static long previousOverlap(long nowMs, long windowMs) {
+        return windowMs - nowMs % windowMs;
+    }
+
+    static boolean allows(long previous, long current, long nowMs, long windowMs, int limit) {
+        return previous * previousOverlap(nowMs, windowMs) + (current + 1) * windowMs <= limit * windowMs;
+    }
+
+    /**
+     * Segundos até a estimativa da janela cair o suficiente para aceitar mais uma tentativa.
+     */
+    static long retryAfterSeconds(long previous, long current, long nowMs, long windowMs, int limit) {
+        long elapsed = nowMs % windowMs;
+        long waitMs;
+        if (current + 1 > limit) {
+            // Só na próxima janela, quando a atual passa a ser a anterior e vai perdendo peso
+            waitMs = (windowMs - elapsed) + windowMs - (limit - 1) * windowMs / current;
+        } else {
+            waitMs = windowMs - (limit - 1 - current) * windowMs / previous - elapsed;
+        }
+        return Math.max(1, (waitMs + 999) / 1000);
+    }
+}
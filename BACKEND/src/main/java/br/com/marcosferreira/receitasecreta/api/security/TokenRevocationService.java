@@ -0,0 +1,288 @@
+package br.com.marcosferreira.receitasecreta.api.security;
+
+import br.com.marcosferreira.receitasecreta.api.configs.TransacaoUtils;
+import br.com.marcosferreira.receitasecreta.api.models.RevokedToken;
+import br.com.marcosferreira.receitasecreta.api.models.UserTokenRevocation;
+import br.com.marcosferreira.receitasecreta.api.repositories.RevokedTokenRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.UserTokenRevocationRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Revogação dos JWTs, que de outra forma valem até expirar.
+ *
+ * Há duas formas de revogação, ambas gravadas no banco: o token individual, pelo jti (logout),
+ * e a marca "tokens emitidos antes de" por usuário (troca de senha). Em memória ficam as marcas
+ * por usuário e um filtro de Bloom com os jtis revogados: para quase todos os tokens a
+ * verificação é só a consulta ao filtro, sem acesso ao banco; a tabela é consultada apenas
+ * quando o filtro indica que o jti pode ter sido revogado.
+ *
+ * As instâncias convergem lendo periodicamente as revogações gravadas desde a última leitura.
+ * O filtro não permite remoções, então é reconstruído de tempos em tempos só com os tokens
+ * ainda não expirados, quando as linhas expiradas também são apagadas.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Folga na leitura incremental para revogações gravadas por instâncias com relógio um pouco atrasado
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Value("${api.security.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    @Value("${api.security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile State state = new State(BloomFilter.create(1024, 0.01), new ConcurrentHashMap<>());
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    // Alterações recebidas durante uma reconstrução, reaplicadas no novo estado antes da troca
+    private List<Consumer<State>> pendingChanges;
+
+    /**
+     * Carrega as revogações depois da inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Verifica se o token foi revogado. O token já deve ter sido verificado pelo {@link TokenService}.
+     */
+    public boolean isRevoked(DecodedJWT token) {
+        State current = state;
+        Instant revokedBefore = current.revokedBefore().get(token.getSubject());
+        if (revokedBefore != null) {
+            Instant issuedAt = token.getIssuedAtAsInstant();
+            // Sem iat não há como saber se o token é anterior à marca
+            if (issuedAt == null || issuedAt.isBefore(revokedBefore)) {
+                return true;
+            }
+        }
+        String jti = token.getId();
+        return jti != null && current.filter().mightContain(jti) && revokedTokenRepository.existsById(jti);
+    }
+
+    /**
+     * Revoga um token individual, por exemplo no logout.
+     */
+    @Transactional
+    public void revokeToken(DecodedJWT token) {
+        if (token.getId() == null) {
+            // Tokens emitidos antes do jti só podem ser revogados pela marca do usuário
+            revokeAllForUser(token.getSubject());
+            return;
+        }
+        RevokedToken revoked = new RevokedToken(token.getId(), token.getSubject(),
+                token.getExpiresAtAsInstant(), Instant.now());
+        revokedTokenRepository.save(revoked);
+        TransacaoUtils.executarAposCommit(() -> apply(target -> target.filter().put(revoked.getJti()),
+                revoked.getUserLogin()));
+    }
+
+    /**
+     * Revoga todos os tokens do usuário emitidos até agora, por exemplo após a troca de senha.
+     */
+    @Transactional
+    public void revokeAllForUser(String login) {
+        Instant now = Instant.now();
+        // O iat do JWT tem precisão de segundos: um novo login no mesmo segundo não pode cair antes da marca
+        Instant revokedBefore = now.truncatedTo(ChronoUnit.SECONDS);
+        userTokenRevocationRepository.save(new UserTokenRevocation(login, revokedBefore, now));
+        TransacaoUtils.executarAposCommit(() -> apply(target -> target.revokedBefore().merge(login, revokedBefore,
+                TokenRevocationService::latest), login));
+    }
+
+    /**
+     * Aplica as revogações gravadas por outras instâncias desde a última leitura.
+     */
+    @Scheduled(initialDelayString = "${api.security.revocation.sync-ms:10000}",
+               fixedDelayString = "${api.security.revocation.sync-ms:10000}")
+    public void sync() {
+        Instant since = lastSync.minus(SYNC_OVERLAP);
+        Instant newest = lastSync;
+        try {
+            // Revogações já conhecidas (da própria instância ou da leitura anterior) são ignoradas
+            for (RevokedToken revoked : revokedTokenRepository.findByRevokedAtAfter(since)) {
+                if (!state.filter().mightContain(revoked.getJti())) {
+                    apply(target -> target.filter().put(revoked.getJti()), revoked.getUserLogin());
+                }
+                newest = latest(newest, revoked.getRevokedAt());
+            }
+            for (UserTokenRevocation revocation : userTokenRevocationRepository.findByUpdatedAtAfter(since)) {
+                Instant known = state.revokedBefore().get(revocation.getUserLogin());
+                if (known == null || known.isBefore(revocation.getRevokedBefore())) {
+                    apply(target -> target.revokedBefore().merge(revocation.getUserLogin(), revocation.getRevokedBefore(),
+                            TokenRevocationService::latest), revocation.getUserLogin());
+                }
+                newest = latest(newest, revocation.getUpdatedAt());
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Erro ao sincronizar as revogações de tokens; nova tentativa no próximo ciclo", ex);
+            return;
+        }
+        lastSync = newest;
+    }
+
+    /**
+     * Apaga as revogações que não recusam mais nenhum token e recria o filtro com as restantes.
+     */
+    @Scheduled(initialDelayString = "${api.security.revocation.rebuild-ms:3600000}",
+               fixedDelayString = "${api.security.revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        Instant start = Instant.now();
+        State rebuilt;
+        try {
+            revokedTokenRepository.deleteByExpiresAtBefore(start);
+            userTokenRevocationRepository.deleteByRevokedBeforeBefore(start.minus(TokenService.EXPIRATION_TIME));
+
+            List<String> jtis = revokedTokenRepository.findActiveJtis(start);
+            rebuilt = new State(BloomFilter.create(Math.max(expectedTokens, jtis.size() * 2), falsePositiveRate),
+                    new ConcurrentHashMap<>());
+            jtis.forEach(rebuilt.filter()::put);
+            userTokenRevocationRepository.findAll()
+                    .forEach(revocation -> rebuilt.revokedBefore().put(revocation.getUserLogin(), revocation.getRevokedBefore()));
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            logger.error("Erro ao reconstruir o filtro de tokens revogados; mantido o filtro atual", ex);
+            return;
+        }
+
+        synchronized (this) {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            state = rebuilt;
+            if (lastSync.isBefore(start)) {
+                lastSync = start;
+            }
+        }
+        logger.info("Filtro de tokens revogados reconstruído: {} tokens, {} usuários",
+                rebuilt.filter().insertions(), rebuilt.revokedBefore().size());
+    }
+
+    // Métodos privados de apoio
+
+    private synchronized void apply(Consumer<State> change, String login) {
+        change.accept(state);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+        // Usuários já em cache voltam a passar pela verificação completa
+        principalCache.invalidateUser(login);
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private record State(BloomFilter filter, Map<String, Instant> revokedBefore) {
+    }
+
+    /**
+     * Filtro de Bloom sobre um array de longs atômicos: inclusões e consultas sem lock.
+     * As posições dos bits vêm de dois hashes de 64 bits combinados (h1 + i * h2).
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long size;
+        private final int hashes;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private BloomFilter(long size, int hashes) {
+            this.bits = new AtomicLongArray((int) ((size + 63) / 64));
+            this.size = size;
+            this.hashes = hashes;
+        }
+
+        static BloomFilter create(int expected, double falsePositiveRate) {
+            long size = Math.max(64, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+            int hashes = Math.max(1, (int) Math.round((double) size / expected * Math.log(2)));
+            return new BloomFilter(size, hashes);
+        }
+
+        void put(String value) {
+            long h1 = hash(value);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long position = Math.floorMod(h1 + i * h2, size);
+                int index = (int) (position >>> 6);
+                long mask = 1L << position;
+                long current;
+                do {
+                    current = bits.get(index);
+                } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long h1 = hash(value);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long position = Math.floorMod(h1 + i * h2, size);
+                if ((bits.get((int) (position >>> 6)) & (1L << position)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int insertions() {
+            return insertions.get();
+        }
+
+        // FNV-1a de 64 bits seguido de uma mistura (splitmix64) para espalhar os bits
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+            return value ^ (value >>> 31);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -13,24 +15,34 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.Optional;
+import java.util.UUID;
 
 
 @Service
 public class TokenService {
 
-    private final String secret;
-    private static final Duration EXPIRATION_TIME = Duration.ofHours(2);
+    private static final String ISSUER = "receitasecreta-api";
+    static final Duration EXPIRATION_TIME = Duration.ofHours(2);
+
+    // Algorithm e JWTVerifier são imutáveis e thread-safe: montados uma vez e reutilizados em todas as requisições
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
 
     public TokenService(@Value("${api.security.token.secret}") String secret) {
-        this.secret = secret;
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
     }
 
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("receitasecreta-api")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getLogin())
+                    // jti e iat permitem revogar o token individualmente ou pela data de emissão
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withIssuedAt(Instant.now())
                     .withExpiresAt(genExpirationDate())
                     .sign(algorithm);
         } catch (JWTCreationException exception) {
@@ -39,14 +51,17 @@ public class TokenService {
     }
 
     public Optional<String> validateToken(String token) {
+        return verifyToken(token).map(DecodedJWT::getSubject);
+    }
+
+    /**
+     * Verifica assinatura, emissor e expiração do token.
+     *
+     * @return Token decodificado, ou vazio se for inválido
+     */
+    public Optional<DecodedJWT> verifyToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return Optional.ofNullable(
-                    JWT.require(algorithm)
-                            .withIssuer("receitasecreta-api")
-                            .build()
-                            .verify(token)
-                            .getSubject());
+            return Optional.of(verifier.verify(token));
         } catch (JWTVerificationException exception) {
             return Optional.empty();
         }
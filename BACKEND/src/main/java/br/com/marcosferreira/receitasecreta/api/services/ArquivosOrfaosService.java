@@ -0,0 +1,235 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.StorageUsage;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.StoredFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serviço de coleta de arquivos de imagem órfãos.
+ *
+ * Arquivos ficam sem referência no banco quando o upload falha entre a gravação em disco
+ * e o commit, ou quando registros são removidos sem passar pelo serviço de imagens. A
+ * coleta percorre os diretórios diários de forma incremental (alguns por execução,
+ * retomando de onde parou) e, para cada diretório, intercala a listagem ordenada do disco
+ * com a lista ordenada de caminhos referenciados por imagens, variantes e conteúdos, em
+ * uma única consulta por diretório.
+ *
+ * Arquivos sem referência e mais antigos que a idade mínima (para não concorrer com
+ * uploads e jobs em andamento) são movidos para a quarentena; os que permanecem nela
+ * além do período de retenção são excluídos, e os bytes recuperados são informados.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class ArquivosOrfaosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivosOrfaosService.class);
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ReceitaImagemRepository receitaImagemRepository;
+
+    @Autowired
+    private EstatisticasArmazenamentoService estatisticasArmazenamentoService;
+
+    @Autowired
+    private ImageCacheService imageCacheService;
+
+    @Autowired
+    private ResolucaoImagemCache resolucaoImagemCache;
+
+    @Value("${app.image.orfaos.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.image.orfaos.diretorios-por-execucao:30}")
+    private int diretoriosPorExecucao;
+
+    @Value("${app.image.orfaos.idade-minima-horas:24}")
+    private long idadeMinimaHoras;
+
+    @Value("${app.image.orfaos.retencao-quarentena-horas:168}")
+    private long retencaoQuarentenaHoras;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+
+    // Último diretório verificado; a próxima execução continua a partir dele
+    private String cursor;
+
+    private volatile ResultadoColeta ultimoResultado;
+
+    /**
+     * Execução periódica da coleta. Com armazenamento remoto a varredura não é feita
+     * por esta instância (use regras de ciclo de vida do bucket).
+     */
+    @Scheduled(fixedDelayString = "${app.image.orfaos.intervalo-ms:600000}",
+               initialDelayString = "${app.image.orfaos.intervalo-ms:600000}")
+    public void executarAgendado() {
+        if (enabled && fileStorageService.isLocalStorage()) {
+            executar();
+        }
+    }
+
+    /**
+     * Verifica o próximo bloco de diretórios, move os órfãos para a quarentena e
+     * expurga a quarentena vencida.
+     *
+     * @return Resultado da execução, ou null se outra execução estiver em andamento
+     */
+    public ResultadoColeta executar() {
+        if (!execucao.tryLock()) {
+            logger.debug("Coleta de arquivos órfãos já em andamento");
+            return null;
+        }
+        try {
+            ResultadoColeta resultado = new ResultadoColeta();
+            Instant limite = Instant.now().minus(Duration.ofHours(idadeMinimaHoras));
+
+            for (String diretorio : proximosDiretorios()) {
+                verificarDiretorio(diretorio, limite, resultado);
+            }
+
+            try {
+                StorageUsage expurgados = fileStorageService.purgeQuarantine(
+                    Instant.now().minus(Duration.ofHours(retencaoQuarentenaHoras)));
+                resultado.arquivosExpurgados = expurgados.getFiles();
+                resultado.bytesRecuperados = expurgados.getBytes();
+            } catch (IOException ex) {
+                logger.error("Erro ao expurgar a quarentena de imagens", ex);
+            }
+
+            resultado.fim = LocalDateTime.now();
+            ultimoResultado = resultado;
+            if (resultado.orfaosEmQuarentena > 0 || resultado.arquivosExpurgados > 0) {
+                logger.info("Coleta de órfãos: {} diretórios, {} arquivos verificados, {} em quarentena ({} bytes), " +
+                        "{} expurgados ({} bytes recuperados)",
+                    resultado.diretoriosVerificados, resultado.arquivosVerificados, resultado.orfaosEmQuarentena,
+                    resultado.bytesEmQuarentena, resultado.arquivosExpurgados, resultado.bytesRecuperados);
+            }
+            return resultado;
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    /**
+     * Retorna o resultado da última execução.
+     *
+     * @return Resultado ou null se a coleta ainda não foi executada
+     */
+    public ResultadoColeta getUltimoResultado() {
+        return ultimoResultado;
+    }
+
+    // Métodos privados de apoio
+
+    private List<String> proximosDiretorios() {
+        List<String> diretorios;
+        try {
+            diretorios = fileStorageService.listStorageDirectories();
+        } catch (IOException ex) {
+            logger.error("Erro ao listar os diretórios de imagens", ex);
+            return List.of();
+        }
+
+        int inicio = 0;
+        if (cursor != null) {
+            while (inicio < diretorios.size() && diretorios.get(inicio).compareTo(cursor) <= 0) {
+                inicio++;
+            }
+        }
+        int fim = Math.min(diretorios.size(), inicio + Math.max(1, diretoriosPorExecucao));
+        // Ao chegar ao fim da árvore, a próxima execução recomeça do início
+        cursor = fim < diretorios.size() ? diretorios.get(fim - 1) : null;
+        return diretorios.subList(inicio, fim);
+    }
+
+    private void verificarDiretorio(String diretorio, Instant limite, ResultadoColeta resultado) {
+        List<StoredFile> arquivos;
+        try {
+            arquivos = fileStorageService.listFiles(diretorio);
+        } catch (IOException ex) {
+            logger.warn("Não foi possível listar o diretório de imagens: {}", diretorio, ex);
+            return;
+        }
+        resultado.diretoriosVerificados++;
+        if (arquivos.isEmpty()) {
+            return;
+        }
+
+        List<String> referenciados = receitaImagemRepository.findCaminhosReferenciadosPorPrefixo(
+            diretorio.isEmpty() ? "" : diretorio + "/");
+
+        // Intercalação das duas listas ordenadas
+        Map<String, Long> movidos = new LinkedHashMap<>();
+        int j = 0;
+        for (StoredFile arquivo : arquivos) {
+            resultado.arquivosVerificados++;
+            String caminho = arquivo.getRelativePath();
+            while (j < referenciados.size() && referenciados.get(j).compareTo(caminho) < 0) {
+                j++;
+            }
+            if (j < referenciados.size() && referenciados.get(j).equals(caminho)) {
+                continue;
+            }
+            if (!arquivo.getLastModified().isBefore(limite)) {
+                continue;
+            }
+
+            imageCacheService.invalidate(caminho);
+            if (fileStorageService.quarantineFile(caminho)) {
+                resultado.orfaosEmQuarentena++;
+                resultado.bytesEmQuarentena += arquivo.getSize();
+                // Temporários de upload não entram nas estatísticas de armazenamento
+                if (!caminho.substring(caminho.lastIndexOf('/') + 1).startsWith(".")) {
+                    movidos.put(caminho, arquivo.getSize());
+                }
+            }
+        }
+        estatisticasArmazenamentoService.removerArquivos(movidos);
+        resolucaoImagemCache.invalidar(movidos.keySet());
+    }
+
+    /**
+     * Resultado de uma execução da coleta.
+     */
+    public static class ResultadoColeta {
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private LocalDateTime fim;
+        private int diretoriosVerificados;
+        private long arquivosVerificados;
+        private long orfaosEmQuarentena;
+        private long bytesEmQuarentena;
+        private long arquivosExpurgados;
+        private long bytesRecuperados;
+
+        // Getters
+        public LocalDateTime getInicio() { return inicio; }
+        public LocalDateTime getFim() { return fim; }
+        public int getDiretoriosVerificados() { return diretoriosVerificados; }
+        public long getArquivosVerificados() { return arquivosVerificados; }
+        public long getOrfaosEmQuarentena() { return orfaosEmQuarentena; }
+        public long getBytesEmQuarentena() { return bytesEmQuarentena; }
+        public long getArquivosExpurgados() { return arquivosExpurgados; }
+        public long getBytesRecuperados() { return bytesRecuperados; }
+    }
+}
@@ -0,0 +1,304 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gravação assíncrona dos eventos de auditoria na tabela audit_events.
+ *
+ * As requisições só colocam o evento em um buffer circular limitado, sem lock, e seguem
+ * adiante; uma thread dedicada esvazia o buffer e grava os eventos em lote com JDBC batch.
+ * Com o buffer cheio o evento é descartado e contado, em vez de fazer a requisição esperar
+ * pelo banco. Os contadores de eventos gravados, descartados e com falha são expostos em
+ * {@link #getStatistics()}.
+ *
+ * No PostgreSQL a tabela é particionada por mês; as partições do mês atual e dos seguintes
+ * são criadas na inicialização e verificadas diariamente.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class AuditEventWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events "
+            + "(id, occurred_at, event_type, action, resource, user_id, detail) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.audit.buffer-capacity:8192}")
+    private int bufferCapacity;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-ms:200}")
+    private long flushMs;
+
+    @Value("${app.audit.partition-months-ahead:2}")
+    private int partitionMonthsAhead;
+
+    private RingBuffer<Event> buffer;
+
+    private ExecutorService writerExecutor;
+
+    private volatile Thread writerThread;
+
+    private volatile boolean running;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalBatchNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        buffer = new RingBuffer<>(bufferCapacity);
+        running = true;
+        writerExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("audit-writer-", 0).factory());
+        writerExecutor.submit(this::drain);
+    }
+
+    /**
+     * Para a thread de gravação depois de gravar os eventos ainda no buffer.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerExecutor.shutdown();
+        try {
+            if (!writerExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Gravação da auditoria encerrada com {} eventos no buffer", buffer.size());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Coloca o evento no buffer para gravação. Nunca bloqueia: com o buffer cheio o evento é descartado.
+     *
+     * @return false se o evento foi descartado
+     */
+    public boolean enqueue(String eventType, String resource, String action, String userId, String detail) {
+        Event event = new Event(UUID.randomUUID(), Instant.now(), eventType, action, resource, userId, detail);
+        if (!buffer.offer(event)) {
+            long total = dropped.incrementAndGet();
+            if (total == 1 || total % 1000 == 0) {
+                logger.warn("Buffer de auditoria cheio: {} eventos descartados até agora", total);
+            }
+            return false;
+        }
+        enqueued.incrementAndGet();
+        // Lote completo: acorda a thread de gravação sem esperar o intervalo
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    public Map<String, Object> getStatistics() {
+        long totalBatches = batches.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("capacity", buffer.capacity());
+        statistics.put("queueDepth", buffer.size());
+        statistics.put("enqueued", enqueued.get());
+        statistics.put("written", written.get());
+        statistics.put("dropped", dropped.get());
+        statistics.put("failed", failed.get());
+        statistics.put("batches", totalBatches);
+        statistics.put("averageBatchSize", totalBatches == 0 ? 0.0 : (double) (written.get() + failed.get()) / totalBatches);
+        statistics.put("averageBatchMs", totalBatches == 0 ? 0.0 : totalBatchNanos.get() / 1_000_000.0 / totalBatches);
+        return statistics;
+    }
+
+    /**
+     * Cria as partições mensais que ainda não existem, do mês atual até os meses configurados à frente.
+     * Sem efeito quando a tabela não é particionada (banco sem as migrações ou fora do PostgreSQL).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.audit.partition-cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        try {
+            if (!isPartitioned()) {
+                return;
+            }
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            for (int i = 0; i <= partitionMonthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS audit_events_%s PARTITION OF audit_events "
+                                + "FOR VALUES FROM ('%s-01 00:00:00+00') TO ('%s-01 00:00:00+00')",
+                        month.format(PARTITION_SUFFIX), month, month.plusMonths(1)));
+            }
+        } catch (DataAccessException ex) {
+            logger.error("Erro ao criar as partições de audit_events; os eventos seguem para a partição padrão", ex);
+        }
+    }
+
+    // Métodos privados de apoio
+
+    private void drain() {
+        writerThread = Thread.currentThread();
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            Event event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushMs));
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Event> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setObject(1, event.id());
+                ps.setTimestamp(2, Timestamp.from(event.occurredAt()));
+                ps.setString(3, event.eventType());
+                ps.setString(4, event.action());
+                ps.setString(5, event.resource());
+                ps.setString(6, event.userId());
+                ps.setString(7, event.detail());
+            });
+            written.addAndGet(batch.size());
+        } catch (RuntimeException ex) {
+            failed.addAndGet(batch.size());
+            logger.error("Erro ao gravar {} eventos de auditoria", batch.size(), ex);
+        } finally {
+            batches.incrementAndGet();
+            totalBatchNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.execute((Connection connection) -> {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return false;
+            }
+            try (var statement = connection.prepareStatement(
+                    "SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = 'audit_events'");
+                 var result = statement.executeQuery()) {
+                return result.next();
+            }
+        });
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private record Event(UUID id, Instant occurredAt, String eventType, String action, String resource,
+                         String userId, String detail) {
+    }
+
+    /**
+     * Buffer circular limitado para vários produtores e um consumidor, sem lock.
+     *
+     * Cada posição tem um número de sequência: o produtor reserva a posição com um CAS no
+     * contador de escrita e publica o elemento avançando a sequência da posição; o consumidor
+     * só lê a posição depois dessa publicação e a devolve aos produtores avançando a sequência
+     * em uma volta do buffer.
+     */
+    private static final class RingBuffer<E> {
+        private final AtomicReferenceArray<E> slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+
+        private RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(E element) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots.set(index, element);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    // A posição ainda não foi liberada pelo consumidor: buffer cheio
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        // Chamado apenas pela thread de gravação
+        E poll() {
+            long position = head.get();
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                return null;
+            }
+            E element = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            head.set(position + 1);
+            return element;
+        }
+
+        int size() {
+            return (int) Math.max(0, tail.get() - head.get());
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+}
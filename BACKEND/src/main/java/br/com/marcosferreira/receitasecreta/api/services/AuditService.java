@@ -2,6 +2,7 @@ package br.com.marcosferreira.receitasecreta.api.services;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -9,23 +10,42 @@ public class AuditService {
     
     private static final Logger log = LoggerFactory.getLogger(AuditService.class);
 
-    public void auditPasswordChange(String userId, String changedBy, String reason) {
+    // Tipos de evento gravados em audit_events
+    public static final String RECEITA = "RECEITA";
+    public static final String PRODUTO = "PRODUTO";
+    public static final String PASSWORD_CHANGE = "PASSWORD_CHANGE";
+    public static final String UNAUTHORIZED_ACCESS = "UNAUTHORIZED_ACCESS";
+
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
+    /**
+     * Registra uma alteração na conta ou na senha de um usuário.
+     *
+     * @param userId    Usuário afetado
+     * @param action    Ação realizada (ex: RESET, REGISTER, DELETE)
+     * @param changedBy Usuário que realizou a ação
+     */
+    public void auditPasswordChange(String userId, String action, String changedBy) {
         // Log da alteração de senha
-        log.info("Password changed for user: {} by: {} reason: {}", userId, changedBy, reason);
+        log.info("Password change for user: {} action: {} by: {}", userId, action, changedBy);
         
-        // Salvar em tabela de auditoria se necessário
-        // auditRepository.save(new AuditLog("PASSWORD_CHANGE", userId, changedBy, reason));
+        // Gravado em audit_events pela thread do AuditEventWriter, fora da requisição
+        auditEventWriter.enqueue(PASSWORD_CHANGE, userId, action, changedBy, null);
     }
 
     public void auditReceitaChange(String receitaId, String action, String userId) {
         log.info("Receita {} action: {} by user: {}", receitaId, action, userId);
+        auditEventWriter.enqueue(RECEITA, receitaId, action, userId, null);
     }
 
     public void auditProdutoChange(String produtoId, String action, String userId) {
         log.info("Produto {} action: {} by user: {}", produtoId, action, userId);
+        auditEventWriter.enqueue(PRODUTO, produtoId, action, userId, null);
     }
 
     public void auditUnauthorizedAccess(String resource, String userId, String action) {
         log.warn("Unauthorized access attempt - Resource: {} User: {} Action: {}", resource, userId, action);
+        auditEventWriter.enqueue(UNAUTHORIZED_ACCESS, resource, action, userId, null);
     }
-}
\ No newline at end of file
+}
@@ -8,5 +8,6 @@ public interface AuthenticationService {
 
     UserResponse login(UserAuthRequest data);
     void register(UserRequest data);
+    void logout(String token);
 
 }
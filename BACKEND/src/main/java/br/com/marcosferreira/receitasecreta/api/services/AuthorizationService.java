@@ -1,14 +1,16 @@
 package br.com.marcosferreira.receitasecreta.api.services;
 
 
+import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AuthorizationService implements UserDetailsService {
+public class AuthorizationService implements UserDetailsService, UserDetailsPasswordService {
 
 
     final UserRepository repository;
@@ -21,4 +23,16 @@ public class AuthorizationService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return repository.findByLogin(username);
     }
+
+    // Chamado pelo AuthenticationManager após um login válido cujo hash usa outro custo do BCrypt
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = (User) repository.findByLogin(user.getUsername());
+        if (stored == null) {
+            return user;
+        }
+        // Mesma senha com novo hash: não é troca de senha, os campos de auditoria ficam como estão
+        stored.setPassword(newPassword);
+        return repository.save(stored);
+    }
 }
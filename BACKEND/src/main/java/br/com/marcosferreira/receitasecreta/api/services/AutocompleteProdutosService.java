@@ -0,0 +1,388 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.configs.TransacaoUtils;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ProdutoSugestaoResponse;
+import br.com.marcosferreira.receitasecreta.api.repositories.ProdutoNomeProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ProdutoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Autocomplete dos nomes de produtos, servido por uma trie em memória, sem consultas ao banco.
+ *
+ * Os nomes são normalizados (minúsculas, sem acentos) e indexados a partir do início de
+ * cada palavra, de modo que "cond" encontra "Leite Condensado". A busca tolera erros de
+ * digitação: percorre a trie calculando a distância de edição entre o texto digitado e cada
+ * prefixo, descartando os ramos que já ultrapassaram o limite de edições.
+ *
+ * Cada nó guarda as melhores sugestões do seu ramo (nomes mais curtos primeiro), então a
+ * resposta não depende da quantidade de produtos sob o prefixo. A trie publicada nunca é
+ * alterada: cada alteração de produto copia apenas os nós dos caminhos das palavras do nome
+ * anterior e do novo (copy-on-write), recalcula as sugestões desses nós e troca a raiz
+ * atomicamente, então as buscas não usam lock. Nós esvaziados por remoções são descartados
+ * na reconstrução periódica.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class AutocompleteProdutosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteProdutosService.class);
+
+    public static final int MAX_SUGESTOES = 10;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Sugestao> ORDEM_SUGESTOES = Comparator
+        .comparingInt((Sugestao sugestao) -> sugestao.normalizado().length())
+        .thenComparing(sugestao -> sugestao.normalizado())
+        .thenComparing(sugestao -> sugestao.produtoId());
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    // Nomes atuais por produto: fonte da trie, alterada só sob o monitor do serviço
+    private Map<UUID, String> nomes = new HashMap<>();
+
+    private volatile No raiz = new No();
+
+    // Alterações recebidas durante uma reconstrução, reaplicadas nos nomes lidos do banco
+    private List<Consumer<Map<UUID, String>>> alteracoesPendentes;
+
+    /**
+     * Monta a trie depois da carga inicial de dados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    /**
+     * Relê os nomes de todos os produtos e substitui a trie, para absorver alterações
+     * feitas por outras instâncias ou fora da aplicação.
+     */
+    @Scheduled(initialDelayString = "${app.produto.autocomplete.reconstrucao-ms:1800000}",
+               fixedDelayString = "${app.produto.autocomplete.reconstrucao-ms:1800000}")
+    public void reconstruir() {
+        synchronized (this) {
+            alteracoesPendentes = new ArrayList<>();
+        }
+
+        Map<UUID, String> lidos = new HashMap<>();
+        try {
+            for (ProdutoNomeProjection produto : produtoRepository.findAllNomes()) {
+                lidos.put(produto.getProdutoId(), produto.getNome());
+            }
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                alteracoesPendentes = null;
+            }
+            logger.error("Erro ao reconstruir o autocomplete de produtos; mantida a trie atual", ex);
+            return;
+        }
+
+        synchronized (this) {
+            alteracoesPendentes.forEach(alteracao -> alteracao.accept(lidos));
+            alteracoesPendentes = null;
+            nomes = lidos;
+            raiz = construir(nomes);
+        }
+        logger.info("Autocomplete de produtos reconstruído: {} produtos", lidos.size());
+    }
+
+    /**
+     * Registra o nome de um produto criado ou alterado.
+     *
+     * @param produtoId ID do produto
+     * @param nome      Nome atual do produto
+     */
+    public void registrar(UUID produtoId, String nome) {
+        TransacaoUtils.executarAposCommit(() -> aplicar(produtoId, nome));
+    }
+
+    /**
+     * Remove um produto excluído das sugestões.
+     *
+     * @param produtoId ID do produto
+     */
+    public void remover(UUID produtoId) {
+        TransacaoUtils.executarAposCommit(() -> aplicar(produtoId, null));
+    }
+
+    /**
+     * Sugere produtos cujo nome tenha uma palavra começando pelo texto digitado, tolerando
+     * até uma edição a partir de 3 caracteres e duas a partir de 6.
+     *
+     * @param termo  Texto digitado
+     * @param limite Quantidade máxima de sugestões (até {@link #MAX_SUGESTOES})
+     * @return Sugestões, das que exigem menos edições para as que exigem mais
+     */
+    public List<ProdutoSugestaoResponse> sugerir(String termo, Integer limite) {
+        String consulta = normalizar(termo);
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+        int quantidade = limite == null || limite < 1 ? MAX_SUGESTOES : Math.min(limite, MAX_SUGESTOES);
+        int maxEdicoes = consulta.length() < 3 ? 0 : consulta.length() < 6 ? 1 : 2;
+
+        int[] linhaInicial = new int[consulta.length() + 1];
+        for (int i = 0; i < linhaInicial.length; i++) {
+            linhaInicial[i] = i;
+        }
+        Map<UUID, Resultado> encontrados = new HashMap<>();
+        percorrer(raiz, consulta, linhaInicial, maxEdicoes, encontrados);
+
+        return encontrados.values().stream()
+            .sorted(Comparator.comparingInt((Resultado resultado) -> resultado.distancia())
+                .thenComparing(resultado -> resultado.sugestao(), ORDEM_SUGESTOES))
+            .limit(quantidade)
+            .map(resultado -> new ProdutoSugestaoResponse(
+                resultado.sugestao().produtoId(), resultado.sugestao().nome(), resultado.distancia()))
+            .toList();
+    }
+
+    // Métodos privados de apoio
+
+    /**
+     * Aplica a alteração de um produto (nome null para exclusão) aos nomes e à trie.
+     */
+    private synchronized void aplicar(UUID produtoId, String nome) {
+        String anterior = nome == null ? nomes.remove(produtoId) : nomes.put(produtoId, nome);
+        raiz = atualizar(raiz, produtoId, anterior, nome);
+        if (alteracoesPendentes != null) {
+            alteracoesPendentes.add(mapa -> {
+                if (nome == null) {
+                    mapa.remove(produtoId);
+                } else {
+                    mapa.put(produtoId, nome);
+                }
+            });
+        }
+    }
+
+    /**
+     * Desce pela trie calculando uma linha da matriz de Levenshtein por caractere. Quando
+     * a última coluna cabe no limite, o prefixo do nó corresponde ao texto digitado e as
+     * sugestões do ramo entram no resultado.
+     */
+    private void percorrer(No no, String consulta, int[] linhaAnterior, int maxEdicoes,
+                           Map<UUID, Resultado> encontrados) {
+        for (int f = 0; f < no.chaves.length; f++) {
+            int[] linha = new int[linhaAnterior.length];
+            linha[0] = linhaAnterior[0] + 1;
+            int menor = linha[0];
+            for (int i = 1; i < linha.length; i++) {
+                int substituicao = linhaAnterior[i - 1] + (consulta.charAt(i - 1) == no.chaves[f] ? 0 : 1);
+                linha[i] = Math.min(substituicao, Math.min(linha[i - 1] + 1, linhaAnterior[i] + 1));
+                menor = Math.min(menor, linha[i]);
+            }
+
+            No filho = no.filhos[f];
+            int distancia = linha[linha.length - 1];
+            if (distancia <= maxEdicoes) {
+                for (Sugestao sugestao : filho.melhores) {
+                    encontrados.merge(sugestao.produtoId(), new Resultado(sugestao, distancia),
+                        (atual, novo) -> novo.distancia() < atual.distancia() ? novo : atual);
+                }
+            }
+            // Desce enquanto um prefixo mais longo ainda puder reduzir a distância
+            if (menor <= maxEdicoes && menor < distancia) {
+                percorrer(filho, consulta, linha, maxEdicoes, encontrados);
+            }
+        }
+    }
+
+    private static No construir(Map<UUID, String> nomes) {
+        No raiz = new No();
+        nomes.forEach((produtoId, nome) -> {
+            String normalizado = normalizar(nome);
+            if (normalizado.isEmpty()) {
+                return;
+            }
+            Sugestao sugestao = new Sugestao(produtoId, nome, normalizado);
+            // Uma entrada a partir do início de cada palavra
+            for (int inicio : iniciosDePalavra(normalizado)) {
+                inserir(raiz, normalizado, inicio, sugestao);
+            }
+        });
+        raiz.calcularMelhores();
+        return raiz;
+    }
+
+    /**
+     * Gera a trie com o nome do produto trocado, copiando só os nós dos caminhos afetados;
+     * os demais ramos são compartilhados com a trie atual.
+     */
+    private static No atualizar(No raiz, UUID produtoId, String anterior, String atual) {
+        Set<No> copiados = Collections.newSetFromMap(new IdentityHashMap<>());
+        No novaRaiz = raiz.copiar();
+        copiados.add(novaRaiz);
+
+        String normalizadoAnterior = normalizar(anterior);
+        for (int inicio : iniciosDePalavra(normalizadoAnterior)) {
+            copiarCaminho(novaRaiz, normalizadoAnterior, inicio, copiados)
+                .terminais.removeIf(sugestao -> sugestao.produtoId().equals(produtoId));
+        }
+
+        String normalizado = normalizar(atual);
+        if (!normalizado.isEmpty()) {
+            Sugestao sugestao = new Sugestao(produtoId, atual, normalizado);
+            for (int inicio : iniciosDePalavra(normalizado)) {
+                copiarCaminho(novaRaiz, normalizado, inicio, copiados).terminais.add(sugestao);
+            }
+        }
+
+        novaRaiz.recalcularMelhores(copiados);
+        return novaRaiz;
+    }
+
+    private static No copiarCaminho(No raiz, String chave, int inicio, Set<No> copiados) {
+        No atual = raiz;
+        for (int i = inicio; i < chave.length(); i++) {
+            atual = atual.filhoCopiado(chave.charAt(i), copiados);
+        }
+        return atual;
+    }
+
+    private static List<Integer> iniciosDePalavra(String normalizado) {
+        List<Integer> inicios = new ArrayList<>();
+        for (int inicio = 0; inicio < normalizado.length(); inicio++) {
+            if (inicio == 0 || normalizado.charAt(inicio - 1) == ' ') {
+                inicios.add(inicio);
+            }
+        }
+        return inicios;
+    }
+
+    private static void inserir(No raiz, String chave, int inicio, Sugestao sugestao) {
+        No atual = raiz;
+        for (int i = inicio; i < chave.length(); i++) {
+            atual = atual.filho(chave.charAt(i));
+        }
+        atual.terminais.add(sugestao);
+    }
+
+    private static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Nó da trie, com os filhos em arrays ordenados pelo caractere.
+     */
+    private static class No {
+        private char[] chaves = new char[0];
+        private No[] filhos = new No[0];
+        private final List<Sugestao> terminais = new ArrayList<>(1);
+        private List<Sugestao> melhores = List.of();
+
+        No filho(char chave) {
+            int posicao = Arrays.binarySearch(chaves, chave);
+            if (posicao >= 0) {
+                return filhos[posicao];
+            }
+            int insercao = -posicao - 1;
+            char[] novasChaves = new char[chaves.length + 1];
+            No[] novosFilhos = new No[filhos.length + 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, insercao);
+            System.arraycopy(filhos, 0, novosFilhos, 0, insercao);
+            novasChaves[insercao] = chave;
+            novosFilhos[insercao] = new No();
+            System.arraycopy(chaves, insercao, novasChaves, insercao + 1, chaves.length - insercao);
+            System.arraycopy(filhos, insercao, novosFilhos, insercao + 1, filhos.length - insercao);
+            chaves = novasChaves;
+            filhos = novosFilhos;
+            return novosFilhos[insercao];
+        }
+
+        /**
+         * Filho da cópia em alteração, copiado na primeira vez em que é tocado para que a
+         * trie publicada não seja modificada.
+         */
+        No filhoCopiado(char chave, Set<No> copiados) {
+            int posicao = Arrays.binarySearch(chaves, chave);
+            if (posicao < 0) {
+                No novo = filho(chave);
+                copiados.add(novo);
+                return novo;
+            }
+            No filho = filhos[posicao];
+            if (!copiados.contains(filho)) {
+                filho = filho.copiar();
+                filhos[posicao] = filho;
+                copiados.add(filho);
+            }
+            return filho;
+        }
+
+        No copiar() {
+            No copia = new No();
+            copia.chaves = chaves.clone();
+            copia.filhos = filhos.clone();
+            copia.terminais.addAll(terminais);
+            copia.melhores = melhores;
+            return copia;
+        }
+
+        void calcularMelhores() {
+            for (No filho : filhos) {
+                filho.calcularMelhores();
+            }
+            mesclarMelhores();
+        }
+
+        /**
+         * Recalcula as sugestões só dos nós copiados; os demais ramos não mudaram.
+         */
+        void recalcularMelhores(Set<No> copiados) {
+            for (No filho : filhos) {
+                if (copiados.contains(filho)) {
+                    filho.recalcularMelhores(copiados);
+                }
+            }
+            mesclarMelhores();
+        }
+
+        private void mesclarMelhores() {
+            Map<UUID, Sugestao> ramo = new LinkedHashMap<>();
+            terminais.forEach(sugestao -> ramo.putIfAbsent(sugestao.produtoId(), sugestao));
+            for (No filho : filhos) {
+                filho.melhores.forEach(sugestao -> ramo.putIfAbsent(sugestao.produtoId(), sugestao));
+            }
+            melhores = ramo.values().stream().sorted(ORDEM_SUGESTOES).limit(MAX_SUGESTOES).toList();
+        }
+    }
+
+    private record Sugestao(UUID produtoId, String nome, String normalizado) {
+    }
+
+    private record Resultado(Sugestao sugestao, int distancia) {
+    }
+}
@@ -0,0 +1,254 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.configs.ConversaoUnidades;
+import br.com.marcosferreira.receitasecreta.api.configs.TransacaoUtils;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CustoIngredienteResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CustoReceitaResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.RecalculoCustosResponse;
+import br.com.marcosferreira.receitasecreta.api.exceptions.NoValidException;
+import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
+import br.com.marcosferreira.receitasecreta.api.repositories.IngredienteCustoProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRendimentoProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço de custo das receitas, a partir do preço por unidade dos produtos.
+ *
+ * A quantidade de cada ingrediente é convertida para a unidade do preço do produto
+ * ({@link ConversaoUnidades}); o custo por porção usa o número informado no rendimento.
+ * Os custos calculados ficam em cache por receita e são invalidados após o commit quando
+ * os ingredientes da receita mudam ou quando o preço de um produto usado por ela é alterado
+ * (as receitas afetadas vêm do índice de ingredientes).
+ *
+ * O recálculo completo lê todos os ingredientes com os preços em uma única consulta e
+ * calcula as receitas em paralelo, substituindo o cache.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class CustoReceitaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustoReceitaService.class);
+
+    private static final int ESCALA_MONETARIA = 2;
+    private static final int RECEITAS_POR_TAREFA = 1000;
+    private static final Pattern NUMERO_PORCOES = Pattern.compile("\\d+");
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private ReceitaIngredienteRepository receitaIngredienteRepository;
+
+    @Autowired
+    private IndiceIngredientesService indiceIngredientesService;
+
+    @Value("${app.receita.custos.paralelismo:0}")
+    private int paralelismo;
+
+    private final Map<UUID, CustoReceitaResponse> custos = new ConcurrentHashMap<>();
+
+    // Contador de invalidações por receita: um cálculo só entra no cache se nenhuma invalidação ocorreu durante ele
+    private final Map<UUID, Long> invalidacoes = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean recalculando = new AtomicBoolean();
+
+    private ExecutorService custosExecutor;
+
+    @PostConstruct
+    public void init() {
+        int threads = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        custosExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().name("receita-custos-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        custosExecutor.shutdown();
+    }
+
+    /**
+     * Retorna o custo da receita, calculando-o na primeira consulta após uma invalidação.
+     *
+     * @param receitaId ID da receita
+     * @return Custo total, por porção e por ingrediente
+     * @throws NotFoundException Se a receita não existir
+     */
+    public CustoReceitaResponse calcularCusto(UUID receitaId) {
+        CustoReceitaResponse emCache = custos.get(receitaId);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        long versao = invalidacoes.getOrDefault(receitaId, 0L);
+        ReceitaRendimentoProjection receita = receitaRepository.findRendimentoByReceitaId(receitaId);
+        if (receita == null) {
+            throw new NotFoundException("Receita não encontrada");
+        }
+        CustoReceitaResponse custo = calcular(receitaId, receita.getRendimento(),
+            receitaIngredienteRepository.findParaCustoByReceitaId(receitaId));
+        armazenar(custo, versao);
+        return custo;
+    }
+
+    /**
+     * Descarta o custo em cache de uma receita após o commit da alteração.
+     *
+     * @param receitaId ID da receita alterada
+     */
+    public void invalidarReceita(UUID receitaId) {
+        TransacaoUtils.executarAposCommit(() -> invalidar(receitaId));
+    }
+
+    /**
+     * Descarta o custo em cache das receitas que usam o produto, após o commit da alteração.
+     *
+     * @param produtoId ID do produto com preço ou unidade alterados
+     */
+    public void invalidarProduto(UUID produtoId) {
+        TransacaoUtils.executarAposCommit(() -> indiceIngredientesService.receitasComProduto(produtoId).forEach(this::invalidar));
+    }
+
+    /**
+     * Recalcula o custo de todas as receitas em paralelo e substitui o cache.
+     *
+     * @return Quantidade de receitas e ingredientes processados e duração
+     * @throws NoValidException Se já houver um recálculo em andamento
+     */
+    public RecalculoCustosResponse recalcularTodos() {
+        if (!recalculando.compareAndSet(false, true)) {
+            throw new NoValidException("Já existe um recálculo de custos em andamento");
+        }
+        try {
+            long inicio = System.nanoTime();
+            Map<UUID, Long> versoes = new HashMap<>(invalidacoes);
+
+            List<ReceitaRendimentoProjection> receitas = receitaRepository.findAllRendimentos();
+            List<IngredienteCustoProjection> ingredientes = receitaIngredienteRepository.findAllParaCusto();
+            Map<UUID, List<IngredienteCustoProjection>> porReceita = new HashMap<>();
+            for (IngredienteCustoProjection ingrediente : ingredientes) {
+                porReceita.computeIfAbsent(ingrediente.getReceitaId(), id -> new ArrayList<>()).add(ingrediente);
+            }
+
+            List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+            for (int inicioLote = 0; inicioLote < receitas.size(); inicioLote += RECEITAS_POR_TAREFA) {
+                List<ReceitaRendimentoProjection> lote = receitas.subList(inicioLote, Math.min(inicioLote + RECEITAS_POR_TAREFA, receitas.size()));
+                tarefas.add(CompletableFuture.runAsync(() -> lote.forEach(receita -> armazenar(
+                    calcular(receita.getReceitaId(), receita.getRendimento(),
+                        porReceita.getOrDefault(receita.getReceitaId(), List.of())),
+                    versoes.getOrDefault(receita.getReceitaId(), 0L))), custosExecutor));
+            }
+            try {
+                CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException causa) {
+                    throw causa;
+                }
+                throw ex;
+            }
+
+            // Receitas excluídas depois da última leitura saem do cache
+            if (custos.size() > receitas.size()) {
+                Set<UUID> existentes = new HashSet<>();
+                receitas.forEach(receita -> existentes.add(receita.getReceitaId()));
+                custos.keySet().removeIf(receitaId -> !existentes.contains(receitaId));
+            }
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            logger.info("Custos recalculados: {} receitas, {} ingredientes em {} ms", receitas.size(), ingredientes.size(), duracaoMs);
+            return new RecalculoCustosResponse(receitas.size(), ingredientes.size(), duracaoMs);
+        } finally {
+            recalculando.set(false);
+        }
+    }
+
+    // Métodos privados de apoio
+
+    private void invalidar(UUID receitaId) {
+        invalidacoes.merge(receitaId, 1L, Long::sum);
+        custos.remove(receitaId);
+    }
+
+    private void armazenar(CustoReceitaResponse custo, long versao) {
+        custos.put(custo.receitaId(), custo);
+        // Uma invalidação concorrente torna o valor calculado obsoleto
+        if (invalidacoes.getOrDefault(custo.receitaId(), 0L) != versao) {
+            custos.remove(custo.receitaId());
+        }
+    }
+
+    private CustoReceitaResponse calcular(UUID receitaId, String rendimento, List<IngredienteCustoProjection> ingredientes) {
+        BigDecimal total = BigDecimal.ZERO;
+        boolean completo = true;
+        List<CustoIngredienteResponse> itens = new ArrayList<>(ingredientes.size());
+
+        for (IngredienteCustoProjection ingrediente : ingredientes) {
+            BigDecimal custo = null;
+            if (ingrediente.getCustoPorUnidade() != null && ingrediente.getQuantidade() != null) {
+                BigDecimal quantidade = ConversaoUnidades.converter(BigDecimal.valueOf(ingrediente.getQuantidade()),
+                    ingrediente.getUnidadeMedida(), ingrediente.getUnidadeProduto());
+                if (quantidade != null) {
+                    custo = quantidade.multiply(ingrediente.getCustoPorUnidade());
+                }
+            }
+            if (custo == null) {
+                completo = false;
+            } else {
+                total = total.add(custo);
+            }
+            itens.add(new CustoIngredienteResponse(ingrediente.getProdutoId(), ingrediente.getNome(),
+                ingrediente.getQuantidade(), ingrediente.getUnidadeMedida(),
+                custo != null ? custo.setScale(ESCALA_MONETARIA, RoundingMode.HALF_EVEN) : null));
+        }
+
+        Integer porcoes = extrairPorcoes(rendimento);
+        BigDecimal custoPorPorcao = porcoes != null
+            ? total.divide(BigDecimal.valueOf(porcoes), ESCALA_MONETARIA, RoundingMode.HALF_EVEN)
+            : null;
+        return new CustoReceitaResponse(receitaId, total.setScale(ESCALA_MONETARIA, RoundingMode.HALF_EVEN),
+            porcoes, custoPorPorcao, completo, itens);
+    }
+
+    private Integer extrairPorcoes(String rendimento) {
+        if (rendimento == null) {
+            return null;
+        }
+        Matcher matcher = NUMERO_PORCOES.matcher(rendimento);
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            int porcoes = Integer.parseInt(matcher.group());
+            return porcoes > 0 ? porcoes : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
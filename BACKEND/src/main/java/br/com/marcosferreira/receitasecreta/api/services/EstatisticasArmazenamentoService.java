@@ -0,0 +1,312 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.configs.TransacaoUtils;
+import br.com.marcosferreira.receitasecreta.api.dtos.ArmazenamentoEstatisticasDto;
+import br.com.marcosferreira.receitasecreta.api.enums.EscopoEstatisticaArmazenamento;
+import br.com.marcosferreira.receitasecreta.api.models.EstatisticaArmazenamentoId;
+import br.com.marcosferreira.receitasecreta.api.models.EstatisticaArmazenamentoModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.EstatisticaArmazenamentoRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.StorageUsage;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de estatísticas incrementais do armazenamento de imagens.
+ *
+ * Mantém contadores de quantidade e bytes na tabela {@code armazenamento_estatisticas},
+ * atualizados por UPSERT: arquivos físicos por diretório diário e no total; imagens
+ * cadastradas por receita e por tipo MIME. Consultas de uso e a verificação do limite por
+ * receita passam a ser leituras por chave primária, sem percorrer o disco nem agregar a
+ * tabela de imagens.
+ *
+ * O contador da receita é atualizado na mesma transação que grava ou exclui a imagem. Os
+ * contadores globais (total, dia e tipo MIME) são tocados por todos os uploads: para não
+ * enfileirar as transações no lock dessas linhas, recebem os deltas após o commit, em uma
+ * transação própria e curta.
+ *
+ * Como arquivos podem ser alterados fora da aplicação, uma reconciliação periódica
+ * recalcula todos os contadores a partir do disco e do banco.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class EstatisticasArmazenamentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticasArmazenamentoService.class);
+
+    private static final String CHAVE_TOTAL = "*";
+
+    @Autowired
+    private EstatisticaArmazenamentoRepository estatisticaRepository;
+
+    @Autowired
+    private ReceitaImagemRepository receitaImagemRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Transação própria dos contadores globais, aberta após o commit de quem os alterou
+    private TransactionTemplate transacaoContadores;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transacaoContadores = new TransactionTemplate(transactionManager);
+        transacaoContadores.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Contabiliza arquivos gravados no armazenamento.
+     *
+     * @param tamanhosPorCaminho Tamanho em bytes de cada arquivo, pelo caminho relativo
+     */
+    public void registrarArquivos(Map<String, Long> tamanhosPorCaminho) {
+        acumularArquivos(tamanhosPorCaminho, 1);
+    }
+
+    /**
+     * Desconta arquivos excluídos do armazenamento.
+     *
+     * @param tamanhosPorCaminho Tamanho em bytes de cada arquivo, pelo caminho relativo
+     */
+    public void removerArquivos(Map<String, Long> tamanhosPorCaminho) {
+        acumularArquivos(tamanhosPorCaminho, -1);
+    }
+
+    /**
+     * Contabiliza imagens cadastradas, por receita e por tipo MIME.
+     *
+     * @param imagens Imagens salvas
+     */
+    public void registrarImagens(Collection<ReceitaImagemModel> imagens) {
+        acumularImagens(imagens, 1);
+    }
+
+    /**
+     * Desconta uma imagem excluída, por receita e por tipo MIME.
+     *
+     * @param imagem Imagem excluída
+     */
+    public void removerImagem(ReceitaImagemModel imagem) {
+        acumularImagens(List.of(imagem), -1);
+    }
+
+    /**
+     * Retorna quantidade e bytes das imagens de uma receita.
+     *
+     * @param receitaId ID da receita
+     * @return Contador da receita (zerado se a receita não tiver imagens)
+     */
+    public EstatisticaArmazenamentoModel buscarPorReceita(UUID receitaId) {
+        return buscar(EscopoEstatisticaArmazenamento.RECEITA, receitaId.toString());
+    }
+
+    /**
+     * Retorna a quantidade de imagens de uma receita, usada na verificação do limite.
+     *
+     * @param receitaId ID da receita
+     * @return Quantidade de imagens
+     */
+    public long contarImagens(UUID receitaId) {
+        return buscarPorReceita(receitaId).getQuantidade();
+    }
+
+    /**
+     * Retorna as estatísticas globais do armazenamento.
+     *
+     * @return Totais geral, por dia e por tipo MIME
+     */
+    public ArmazenamentoEstatisticasDto obterEstatisticas() {
+        EstatisticaArmazenamentoModel total = buscar(EscopoEstatisticaArmazenamento.TOTAL, CHAVE_TOTAL);
+        return new ArmazenamentoEstatisticasDto(
+            total.getQuantidade(),
+            total.getTotalBytes(),
+            listar(EscopoEstatisticaArmazenamento.DIA),
+            listar(EscopoEstatisticaArmazenamento.TIPO_MIME));
+    }
+
+    /**
+     * Recalcula os contadores na primeira inicialização, quando ainda não existem.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconciliarSeVazio() {
+        if (!estatisticaRepository.existsById(
+                new EstatisticaArmazenamentoId(EscopoEstatisticaArmazenamento.TOTAL, CHAVE_TOTAL))) {
+            reconciliar();
+        }
+    }
+
+    /**
+     * Recalcula todos os contadores a partir do disco (arquivos por dia) e do banco
+     * (imagens por receita e por tipo MIME), corrigindo desvios acumulados.
+     */
+    @Scheduled(cron = "${app.image.estatisticas.reconciliacao-cron:0 30 3 * * *}")
+    public void reconciliar() {
+        if (!fileStorageService.isLocalStorage()) {
+            // O bucket não é percorrido: os contadores por dia seguem apenas incrementais
+            reconciliarImagens();
+            return;
+        }
+
+        Map<String, StorageUsage> porDia;
+        try {
+            porDia = fileStorageService.scanUsageByDirectory();
+        } catch (IOException ex) {
+            logger.error("Erro ao percorrer o armazenamento para reconciliar as estatísticas", ex);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Remove primeiro para que as agregações vejam os uploads concorrentes já confirmados
+            estatisticaRepository.deleteAllInBatch();
+
+            List<EstatisticaArmazenamentoModel> contadores = new ArrayList<>();
+            long totalArquivos = 0;
+            long totalBytes = 0;
+            for (Map.Entry<String, StorageUsage> entry : porDia.entrySet()) {
+                StorageUsage uso = entry.getValue();
+                contadores.add(new EstatisticaArmazenamentoModel(
+                    EscopoEstatisticaArmazenamento.DIA, entry.getKey(), uso.getFiles(), uso.getBytes()));
+                totalArquivos += uso.getFiles();
+                totalBytes += uso.getBytes();
+            }
+            contadores.add(new EstatisticaArmazenamentoModel(
+                EscopoEstatisticaArmazenamento.TOTAL, CHAVE_TOTAL, totalArquivos, totalBytes));
+
+            contadores.addAll(contarImagensNoBanco());
+
+            estatisticaRepository.saveAll(contadores);
+            logger.info("Estatísticas de armazenamento reconciliadas: {} arquivos, {} bytes, {} contadores",
+                totalArquivos, totalBytes, contadores.size());
+        });
+    }
+
+    // Métodos privados de apoio
+
+    private void reconciliarImagens() {
+        transactionTemplate.executeWithoutResult(status -> {
+            estatisticaRepository.deleteByEscopo(EscopoEstatisticaArmazenamento.RECEITA);
+            estatisticaRepository.deleteByEscopo(EscopoEstatisticaArmazenamento.TIPO_MIME);
+            List<EstatisticaArmazenamentoModel> contadores = contarImagensNoBanco();
+            estatisticaRepository.saveAll(contadores);
+            logger.info("Estatísticas de imagens reconciliadas: {} contadores", contadores.size());
+        });
+    }
+
+    private List<EstatisticaArmazenamentoModel> contarImagensNoBanco() {
+        List<EstatisticaArmazenamentoModel> contadores = new ArrayList<>();
+        for (Object[] linha : receitaImagemRepository.getEstatisticasPorReceita()) {
+            contadores.add(new EstatisticaArmazenamentoModel(EscopoEstatisticaArmazenamento.RECEITA,
+                linha[0].toString(), ((Number) linha[1]).longValue(), ((Number) linha[2]).longValue()));
+        }
+        for (Object[] linha : receitaImagemRepository.getEstatisticasPorTipoMime()) {
+            contadores.add(new EstatisticaArmazenamentoModel(EscopoEstatisticaArmazenamento.TIPO_MIME,
+                (String) linha[0], ((Number) linha[1]).longValue(), ((Number) linha[2]).longValue()));
+        }
+        return contadores;
+    }
+
+    private void acumularArquivos(Map<String, Long> tamanhosPorCaminho, int sinal) {
+        if (tamanhosPorCaminho.isEmpty()) {
+            return;
+        }
+        // Chaves em ordem fixa: transações concorrentes bloqueiam as linhas na mesma sequência
+        Map<String, long[]> porDia = new TreeMap<>();
+        long bytes = 0;
+        for (Map.Entry<String, Long> entry : tamanhosPorCaminho.entrySet()) {
+            long[] acumulado = porDia.computeIfAbsent(
+                fileStorageService.getDirectoryKey(entry.getKey()), chave -> new long[2]);
+            acumulado[0]++;
+            acumulado[1] += entry.getValue();
+            bytes += entry.getValue();
+        }
+        long quantidadeTotal = (long) sinal * tamanhosPorCaminho.size();
+        long bytesTotal = sinal * bytes;
+        acumularAposCommit(() -> {
+            porDia.forEach((dia, acumulado) ->
+                acumular(EscopoEstatisticaArmazenamento.DIA, dia, sinal * acumulado[0], sinal * acumulado[1]));
+            acumular(EscopoEstatisticaArmazenamento.TOTAL, CHAVE_TOTAL, quantidadeTotal, bytesTotal);
+        });
+    }
+
+    private void acumularImagens(Collection<ReceitaImagemModel> imagens, int sinal) {
+        Map<String, long[]> porReceita = new TreeMap<>();
+        Map<String, long[]> porTipoMime = new TreeMap<>();
+        for (ReceitaImagemModel imagem : imagens) {
+            long tamanho = imagem.getTamanhoBytes() != null ? imagem.getTamanhoBytes() : 0L;
+            long[] receita = porReceita.computeIfAbsent(
+                imagem.getReceita().getReceitaId().toString(), chave -> new long[2]);
+            receita[0]++;
+            receita[1] += tamanho;
+            long[] tipo = porTipoMime.computeIfAbsent(imagem.getTipoMime(), chave -> new long[2]);
+            tipo[0]++;
+            tipo[1] += tamanho;
+        }
+        // O contador da receita acompanha a transação: é a base da verificação do limite de imagens
+        porReceita.forEach((receitaId, acumulado) ->
+            acumular(EscopoEstatisticaArmazenamento.RECEITA, receitaId, sinal * acumulado[0], sinal * acumulado[1]));
+        if (!porTipoMime.isEmpty()) {
+            acumularAposCommit(() -> porTipoMime.forEach((tipoMime, acumulado) ->
+                acumular(EscopoEstatisticaArmazenamento.TIPO_MIME, tipoMime, sinal * acumulado[0], sinal * acumulado[1])));
+        }
+    }
+
+    /**
+     * Aplica a atualização dos contadores globais após o commit da transação atual. Uma
+     * falha não afeta a operação já confirmada: o desvio é corrigido na reconciliação.
+     */
+    private void acumularAposCommit(Runnable atualizacao) {
+        TransacaoUtils.executarAposCommit(() -> {
+            try {
+                transacaoContadores.executeWithoutResult(status -> atualizacao.run());
+            } catch (RuntimeException ex) {
+                logger.warn("Erro ao atualizar os contadores globais de armazenamento; corrigido na próxima reconciliação", ex);
+            }
+        });
+    }
+
+    private void acumular(EscopoEstatisticaArmazenamento escopo, String chave, long quantidade, long bytes) {
+        estatisticaRepository.acumular(escopo.name(), chave, quantidade, bytes);
+    }
+
+    private EstatisticaArmazenamentoModel buscar(EscopoEstatisticaArmazenamento escopo, String chave) {
+        return estatisticaRepository.findById(new EstatisticaArmazenamentoId(escopo, chave))
+            .orElseGet(() -> new EstatisticaArmazenamentoModel(escopo, chave, 0L, 0L));
+    }
+
+    private List<ArmazenamentoEstatisticasDto.Item> listar(EscopoEstatisticaArmazenamento escopo) {
+        return estatisticaRepository.findByEscopo(escopo).stream()
+            .map(contador -> new ArmazenamentoEstatisticasDto.Item(
+                contador.getId().getChave(), contador.getQuantidade(), contador.getTotalBytes()))
+            .collect(Collectors.toList());
+    }
+}
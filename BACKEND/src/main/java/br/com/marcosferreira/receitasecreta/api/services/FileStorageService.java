@@ -1,27 +1,45 @@
 package br.com.marcosferreira.receitasecreta.api.services;
 
+import br.com.marcosferreira.receitasecreta.api.services.ImageStreamInspector.ImageInspection;
+import br.com.marcosferreira.receitasecreta.api.services.StorageBackend.StoredObject;
+import br.com.marcosferreira.receitasecreta.api.services.impl.LocalStorageBackend;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço para gerenciamento de armazenamento de arquivos.
  * 
  * Este serviço fornece funcionalidades para salvar, recuperar, excluir e gerenciar
- * arquivos no sistema de armazenamento local, com validações de segurança.
+ * arquivos no sistema de armazenamento, com validações de segurança.
+ * 
+ * Os arquivos definitivos são gravados pelo {@link StorageBackend} configurado (disco
+ * local por padrão, ou um bucket compatível com S3). Uploads em andamento e a quarentena
+ * de órfãos ficam sempre no disco local.
  * 
  * @author Sistema
  * @version 1.0
@@ -32,8 +50,16 @@ public class FileStorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
     
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    
+    // Sufixo dos arquivos recomprimidos pela otimização
+    private static final String OPTIMIZED_SUFFIX = "_o";
+    
     private final Path fileStorageLocation;
     private final Path imageStorageLocation;
+    private final Path quarantineLocation;
+    
+    private StorageBackend storageBackend;
     
     // Configurações de armazenamento
     @Value("${app.file.upload-dir:uploads}")
@@ -48,6 +74,7 @@ public class FileStorageService {
     public FileStorageService(@Value("${app.file.upload-dir:uploads}") String uploadDir) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
         this.imageStorageLocation = this.fileStorageLocation.resolve("receitas").resolve("imagens");
+        this.quarantineLocation = this.fileStorageLocation.resolve("receitas").resolve("quarentena");
         
         try {
             Files.createDirectories(this.fileStorageLocation);
@@ -57,172 +84,79 @@ public class FileStorageService {
             logger.error("Erro ao criar diretórios de armazenamento", ex);
             throw new RuntimeException("Não foi possível criar os diretórios de armazenamento", ex);
         }
+        this.storageBackend = new LocalStorageBackend(this.imageStorageLocation);
     }
 
     /**
-     * Salva um arquivo de imagem no sistema de armazenamento.
+     * Substitui o backend de disco local quando outro backend estiver configurado.
      * 
-     * @param file Arquivo a ser salvo
-     * @return Informações do arquivo salvo
-     * @throws IOException Se ocorrer erro durante o salvamento
+     * @param storageBackend Backend de armazenamento dos arquivos definitivos
      */
-    public FileInfo saveImageFile(MultipartFile file) throws IOException {
-        logger.debug("Iniciando saveImageFile para arquivo: {}", file.getOriginalFilename());
-        logger.debug("imageStorageLocation: {}", imageStorageLocation);
-        
-        validateFile(file);
-        
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = getFileExtension(originalFilename);
-        String uniqueFilename = generateUniqueFilename(fileExtension);
-        
-        logger.debug("Arquivo único gerado: {}", uniqueFilename);
-        
-        // Criar estrutura de diretórios por data
-        LocalDateTime now = LocalDateTime.now();
-        Path datePath = imageStorageLocation
-            .resolve(String.valueOf(now.getYear()))
-            .resolve(String.format("%02d", now.getMonthValue()))
-            .resolve(String.format("%02d", now.getDayOfMonth()));
-        
-        logger.debug("Caminho da data: {}", datePath);
-        
-        try {
-            Files.createDirectories(datePath);
-            logger.debug("Diretórios criados com sucesso: {}", datePath);
-        } catch (Exception e) {
-            logger.error("Erro ao criar diretórios: {}", datePath, e);
-            throw new RuntimeException("Erro ao criar diretórios de upload", e);
-        }
-        
-        Path targetLocation = datePath.resolve(uniqueFilename);
-        logger.debug("Local de destino: {}", targetLocation);
-        
-        // Verificar se o arquivo já existe (segurança adicional)
-        if (Files.exists(targetLocation)) {
-            logger.debug("Arquivo já existe, gerando novo nome único");
-            uniqueFilename = generateUniqueFilename(fileExtension);
-            targetLocation = datePath.resolve(uniqueFilename);
-            logger.debug("Novo local de destino: {}", targetLocation);
-        }
-        
-        // Salvar o arquivo
-        try (InputStream inputStream = file.getInputStream()) {
-            logger.debug("Iniciando cópia do arquivo para: {}", targetLocation);
-            Files.copy(inputStream, targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            logger.debug("Arquivo copiado com sucesso");
-        } catch (Exception e) {
-            logger.error("Erro ao salvar arquivo em: {}", targetLocation, e);
-            throw new RuntimeException("Erro ao salvar arquivo", e);
-        }
-        
-        logger.info("Arquivo salvo: {} -> {}", originalFilename, targetLocation);
-        
-        return new FileInfo(
-            uniqueFilename,
-            originalFilename,
-            targetLocation.toString(),
-            getRelativePath(targetLocation),
-            file.getContentType(),
-            file.getSize()
-        );
+    @Autowired(required = false)
+    public void setStorageBackend(StorageBackend storageBackend) {
+        this.storageBackend = storageBackend;
     }
 
     /**
-     * Salva um arquivo de imagem no sistema de armazenamento.
+     * Indica se os arquivos definitivos estão no disco local desta instância.
      * 
-     * @param file Arquivo a ser salvo
-     * @param receitaId ID da receita associada
-     * @return Informações do arquivo salvo
-     * @throws IOException Se ocorrer erro durante o salvamento
+     * @return true para o backend de disco local
      */
-    public FileInfo saveImageFile(MultipartFile file, UUID receitaId) throws IOException {
-        logger.debug("Iniciando saveImageFile para arquivo: {}", file.getOriginalFilename());
-        logger.debug("imageStorageLocation: {}", imageStorageLocation);
-        
+    public boolean isLocalStorage() {
+        return storageBackend instanceof LocalStorageBackend;
+    }
+
+    /**
+     * Grava o conteúdo enviado em um arquivo temporário, inspecionando-o na mesma passada.
+     * 
+     * O upload é lido uma única vez, em blocos de tamanho fixo: cada bloco alimenta o
+     * {@link ImageStreamInspector} (tipo, dimensões, integridade e SHA-256) e é escrito no
+     * temporário, sem manter o arquivo inteiro em memória. O temporário fica no mesmo
+     * sistema de arquivos do destino e só recebe o nome definitivo em {@link #commitStagedImage}.
+     * 
+     * @param file Arquivo enviado
+     * @return Arquivo temporário com o resultado da inspeção; deve ser fechado pelo chamador
+     * @throws IOException Se ocorrer erro na gravação ou o conteúdo exceder o tamanho máximo
+     */
+    public StagedImage stageImage(MultipartFile file) throws IOException {
         validateFile(file);
         
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = getFileExtension(originalFilename);
-        String uniqueFilename = generateUniqueFilename(fileExtension);
-        
-        logger.debug("Arquivo único gerado: {}", uniqueFilename);
-        
-        // Criar estrutura de diretórios por data
-        LocalDateTime now = LocalDateTime.now();
-        Path datePath = imageStorageLocation
-            .resolve(String.valueOf(now.getYear()))
-            .resolve(String.format("%02d", now.getMonthValue()))
-            .resolve(String.format("%02d", now.getDayOfMonth()));
-        
-        logger.debug("Caminho da data: {}", datePath);
-        
-        try {
-            Files.createDirectories(datePath);
-            logger.debug("Diretórios criados com sucesso: {}", datePath);
-        } catch (Exception e) {
-            logger.error("Erro ao criar diretórios: {}", datePath, e);
-            throw new RuntimeException("Erro ao criar diretórios de upload", e);
-        }
-        
-        Path targetLocation = datePath.resolve(uniqueFilename);
-        logger.debug("Local de destino: {}", targetLocation);
-        
-        // Verificar se o arquivo já existe (segurança adicional)
-        if (Files.exists(targetLocation)) {
-            logger.debug("Arquivo já existe, gerando novo nome único");
-            uniqueFilename = generateUniqueFilename(fileExtension);
-            targetLocation = datePath.resolve(uniqueFilename);
-            logger.debug("Novo local de destino: {}", targetLocation);
-        }
-        
-        // Salvar o arquivo
-        try (InputStream inputStream = file.getInputStream()) {
-            logger.debug("Iniciando cópia do arquivo para: {}", targetLocation);
-            Files.copy(inputStream, targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            logger.debug("Arquivo copiado com sucesso");
-        } catch (Exception e) {
-            logger.error("Erro ao salvar arquivo em: {}", targetLocation, e);
-            throw new RuntimeException("Erro ao salvar arquivo", e);
+        Path tempFile = Files.createTempFile(createDateDirectory(), ".upload-", ".tmp");
+        try (InputStream inputStream = file.getInputStream();
+             OutputStream outputStream = Files.newOutputStream(tempFile, StandardOpenOption.WRITE)) {
+            ImageStreamInspector inspector = new ImageStreamInspector();
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                size += read;
+                // O tamanho declarado já foi validado; isto protege contra corpos maiores que o informado
+                if (size > maxFileSize) {
+                    throw new IOException("Conteúdo excede o tamanho máximo permitido");
+                }
+                inspector.update(buffer, 0, read);
+                outputStream.write(buffer, 0, read);
+            }
+            return new StagedImage(tempFile, originalFilename, size, inspector.finish());
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tempFile);
+            throw ex;
         }
-        
-        logger.info("Arquivo salvo: {} -> {}", originalFilename, targetLocation);
-        
-        return new FileInfo(
-            uniqueFilename,
-            originalFilename,
-            targetLocation.toString(),
-            getRelativePath(targetLocation),
-            file.getContentType(),
-            file.getSize()
-        );
     }
-
+    
     /**
-     * Carrega um arquivo como Resource.
+     * Move o arquivo temporário para o nome definitivo {@code <sha256>.<ext>} com uma
+     * renomeação atômica. Se o arquivo com o mesmo conteúdo já existir, o temporário é descartado.
      * 
-     * @param filename Nome do arquivo
-     * @param relativePath Caminho relativo do arquivo
-     * @return Resource do arquivo
-     * @throws RuntimeException Se o arquivo não for encontrado
+     * @param staged Arquivo temporário gerado por {@link #stageImage}
+     * @return Informações do arquivo salvo, incluindo o hash
+     * @throws IOException Se ocorrer erro ao mover o arquivo
      */
-    public Resource loadFileAsResource(String filename, String relativePath) {
-        try {
-            Path filePath = imageStorageLocation.resolve(relativePath).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                logger.warn("Arquivo não encontrado ou não legível: {}", filePath);
-                throw new RuntimeException("Arquivo não encontrado: " + filename);
-            }
-        } catch (MalformedURLException ex) {
-            logger.error("Erro ao carregar arquivo: {}", filename, ex);
-            throw new RuntimeException("Erro ao carregar arquivo: " + filename, ex);
-        }
+    public FileInfo commitStagedImage(StagedImage staged) throws IOException {
+        return commitStagedImage(staged, staged.getInspection().getMimeType());
     }
-
+    
     /**
      * Exclui um arquivo do sistema de armazenamento.
      * 
@@ -239,12 +173,14 @@ public class FileStorageService {
                 return false;
             }
             
-            boolean deleted = Files.deleteIfExists(filePath);
+            boolean deleted = storageBackend.delete(relativePath);
             
             if (deleted) {
                 logger.info("Arquivo excluído: {}", filePath);
                 // Tentar remover diretórios vazios
-                cleanupEmptyDirectories(filePath.getParent());
+                if (isLocalStorage()) {
+                    cleanupEmptyDirectories(filePath.getParent());
+                }
             } else {
                 logger.warn("Arquivo não encontrado para exclusão: {}", filePath);
             }
@@ -264,8 +200,8 @@ public class FileStorageService {
      */
     public boolean fileExists(String relativePath) {
         try {
-            Path filePath = imageStorageLocation.resolve(relativePath).normalize();
-            return Files.exists(filePath) && Files.isRegularFile(filePath);
+            resolveImagePath(relativePath);
+            return storageBackend.exists(relativePath);
         } catch (Exception ex) {
             logger.error("Erro ao verificar existência do arquivo: {}", relativePath, ex);
             return false;
@@ -280,14 +216,15 @@ public class FileStorageService {
      */
     public FileInfo getFileInfo(String relativePath) {
         try {
-            Path filePath = imageStorageLocation.resolve(relativePath).normalize();
+            Path filePath = resolveImagePath(relativePath);
+            Optional<StoredObject> stored = storageBackend.stat(relativePath);
             
-            if (!Files.exists(filePath)) {
+            if (stored.isEmpty()) {
                 return null;
             }
             
             String filename = filePath.getFileName().toString();
-            long size = Files.size(filePath);
+            long size = stored.get().getSize();
             String contentType = Files.probeContentType(filePath);
             
             return new FileInfo(
@@ -305,42 +242,322 @@ public class FileStorageService {
     }
 
     /**
-     * Calcula o tamanho total ocupado pelos arquivos de imagem.
+     * Resolve um caminho relativo para o caminho absoluto dentro do diretório de imagens.
      * 
-     * @return Tamanho total em bytes
+     * @param relativePath Caminho relativo do arquivo
+     * @return Caminho absoluto normalizado
+     * @throws IllegalArgumentException Se o caminho apontar para fora do diretório permitido
      */
-    public long calculateTotalStorageSize() {
+    public Path resolveImagePath(String relativePath) {
+        Path filePath = imageStorageLocation.resolve(relativePath).normalize();
+        if (!filePath.startsWith(imageStorageLocation)) {
+            throw new IllegalArgumentException("Caminho fora do diretório permitido: " + relativePath);
+        }
+        return filePath;
+    }
+
+    /**
+     * Disponibiliza um arquivo armazenado no disco local para leitura com acesso aleatório.
+     * Com backend remoto, o objeto é baixado para um temporário removido ao fechar.
+     *
+     * @param relativePath Caminho relativo do arquivo
+     * @return Arquivo local; deve ser fechado pelo chamador
+     * @throws IOException Se o arquivo não existir ou não puder ser lido
+     */
+    public LocalFile openLocalFile(String relativePath) throws IOException {
+        Path filePath = resolveImagePath(relativePath);
+        Optional<Path> local = storageBackend.localPath(relativePath);
+        if (local.isPresent()) {
+            return new LocalFile(local.get(), false);
+        }
+        Path tempFile = Files.createTempFile(".download-", ".tmp");
+        try (InputStream inputStream = storageBackend.openRange(relativePath, 0, -1)) {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tempFile);
+            throw ex;
+        }
+        logger.debug("Objeto {} copiado para leitura local", filePath.getFileName());
+        return new LocalFile(tempFile, true);
+    }
+
+    /**
+     * Cria um arquivo temporário para gravação de um arquivo derivado (ex: variante),
+     * no mesmo sistema de arquivos do destino quando o armazenamento for local.
+     *
+     * @param relativePath Caminho relativo do arquivo que será gravado
+     * @return Arquivo temporário vazio
+     * @throws IOException Se o temporário não puder ser criado
+     */
+    public Path createStagingFile(String relativePath) throws IOException {
+        Path filePath = resolveImagePath(relativePath);
+        Files.createDirectories(filePath.getParent());
+        return Files.createTempFile(filePath.getParent(), ".upload-", ".tmp");
+    }
+
+    /**
+     * Grava o conteúdo de um arquivo temporário sob o caminho relativo informado,
+     * substituindo o existente. O temporário é consumido.
+     *
+     * @param relativePath Caminho relativo do arquivo
+     * @param tempFile Arquivo temporário criado por {@link #createStagingFile}
+     * @param contentType Tipo MIME do conteúdo
+     * @return Tamanho gravado em bytes
+     * @throws IOException Se ocorrer erro na gravação
+     */
+    public long storeFile(String relativePath, Path tempFile, String contentType) throws IOException {
+        resolveImagePath(relativePath);
         try {
-            return Files.walk(imageStorageLocation)
-                .filter(Files::isRegularFile)
-                .mapToLong(path -> {
-                    try {
-                        return Files.size(path);
-                    } catch (IOException e) {
-                        return 0L;
+            long size = Files.size(tempFile);
+            storageBackend.save(relativePath, tempFile, contentType);
+            return size;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Abre um intervalo de um arquivo armazenado.
+     *
+     * @param relativePath Caminho relativo do arquivo
+     * @param offset Posição inicial
+     * @param length Quantidade de bytes, ou negativo para ler até o fim
+     * @return Stream com o intervalo; deve ser fechado pelo chamador
+     * @throws IOException Se o arquivo não existir ou não puder ser lido
+     */
+    public InputStream openRange(String relativePath, long offset, long length) throws IOException {
+        resolveImagePath(relativePath);
+        return storageBackend.openRange(relativePath, offset, length);
+    }
+
+    /**
+     * Obtém tamanho e data de modificação de um arquivo armazenado.
+     *
+     * @param relativePath Caminho relativo do arquivo
+     * @return Metadados, ou vazio se o arquivo não existir
+     * @throws IOException Se ocorrer erro na consulta
+     */
+    public Optional<StoredObject> statFile(String relativePath) throws IOException {
+        resolveImagePath(relativePath);
+        return storageBackend.stat(relativePath);
+    }
+
+    /**
+     * Gera uma URL temporária para download direto do arquivo no armazenamento.
+     *
+     * @param relativePath Caminho relativo do arquivo
+     * @param ttl Validade da URL
+     * @return URL pré-assinada, ou vazio se o backend não oferecer esse recurso
+     */
+    public Optional<URI> getPresignedUrl(String relativePath, Duration ttl) {
+        resolveImagePath(relativePath);
+        return storageBackend.presignedUrl(relativePath, ttl);
+    }
+
+    /**
+     * Monta o caminho relativo de uma variante redimensionada, no mesmo diretório do
+     * arquivo original (ex: 2025/01/15/20250115_101010_ab12cd34_w160.jpg).
+     * 
+     * @param relativePath Caminho relativo do arquivo original
+     * @param largura Largura alvo da variante
+     * @param extension Extensão do arquivo da variante
+     * @return Caminho relativo da variante
+     */
+    public String buildVariantRelativePath(String relativePath, int largura, String extension) {
+        String normalized = relativePath.replace("\\", "/");
+        int lastDotIndex = normalized.lastIndexOf('.');
+        int lastSlashIndex = normalized.lastIndexOf('/');
+        String base = lastDotIndex > lastSlashIndex ? normalized.substring(0, lastDotIndex) : normalized;
+        return String.format("%s_w%d.%s", base, largura, extension);
+    }
+
+    /**
+     * Monta o caminho relativo da versão otimizada (recomprimida) de um arquivo, no mesmo
+     * diretório do original (ex: {@code 2025/01/15/<sha256>_o.jpg}).
+     *
+     * @param relativePath Caminho relativo do arquivo original
+     * @return Caminho relativo da versão otimizada
+     */
+    public String buildOptimizedRelativePath(String relativePath) {
+        String normalized = relativePath.replace("\\", "/");
+        int lastDotIndex = normalized.lastIndexOf('.');
+        int lastSlashIndex = normalized.lastIndexOf('/');
+        if (lastDotIndex <= lastSlashIndex) {
+            return normalized + OPTIMIZED_SUFFIX;
+        }
+        return normalized.substring(0, lastDotIndex) + OPTIMIZED_SUFFIX + normalized.substring(lastDotIndex);
+    }
+
+    /**
+     * Indica se o caminho é de um arquivo já otimizado.
+     *
+     * @param relativePath Caminho relativo do arquivo
+     * @return true se o nome tiver o sufixo de arquivo otimizado
+     */
+    public boolean isOptimizedPath(String relativePath) {
+        String normalized = relativePath.replace("\\", "/");
+        int lastDotIndex = normalized.lastIndexOf('.');
+        String base = lastDotIndex > normalized.lastIndexOf('/') ? normalized.substring(0, lastDotIndex) : normalized;
+        return base.endsWith(OPTIMIZED_SUFFIX);
+    }
+
+    /**
+     * Retorna o diretório (dia) de um caminho relativo, usado como chave das
+     * estatísticas de armazenamento (ex: 2025/01/15).
+     * 
+     * @param relativePath Caminho relativo do arquivo
+     * @return Diretório relativo, ou string vazia para arquivos na raiz
+     */
+    public String getDirectoryKey(String relativePath) {
+        String normalized = relativePath.replace("\\", "/");
+        int lastSlashIndex = normalized.lastIndexOf('/');
+        return lastSlashIndex > 0 ? normalized.substring(0, lastSlashIndex) : "";
+    }
+
+    /**
+     * Percorre o armazenamento uma única vez e totaliza quantidade e bytes por diretório.
+     * 
+     * Usado somente pela reconciliação das estatísticas de armazenamento; as consultas
+     * do dia a dia leem os contadores mantidos a cada gravação e exclusão. Temporários de
+     * upload ainda não confirmados são ignorados.
+     * 
+     * @return Uso por diretório relativo
+     * @throws IOException Se o diretório de imagens não puder ser percorrido
+     */
+    public Map<String, StorageUsage> scanUsageByDirectory() throws IOException {
+        Map<String, StorageUsage> usage = new TreeMap<>();
+        Files.walkFileTree(imageStorageLocation, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && !file.getFileName().toString().startsWith(".")) {
+                    usage.computeIfAbsent(getDirectoryKey(getRelativePath(file)), key -> new StorageUsage())
+                        .add(attrs.size());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                logger.warn("Não foi possível ler o arquivo durante a varredura: {}", file, exc);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return usage;
+    }
+
+    /**
+     * Lista, em ordem, os diretórios do armazenamento de imagens (raiz, ano, mês e dia),
+     * sem percorrer os arquivos.
+     * 
+     * @return Caminhos relativos dos diretórios; a raiz é a string vazia
+     * @throws IOException Se o diretório de imagens não puder ser percorrido
+     */
+    public List<String> listStorageDirectories() throws IOException {
+        try (Stream<Path> paths = Files.walk(imageStorageLocation, 3)) {
+            return paths.filter(Files::isDirectory)
+                .map(this::getRelativePath)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Lista os arquivos de um diretório do armazenamento, ordenados pelo caminho relativo.
+     * Inclui temporários de upload, para que os abandonados possam ser recolhidos.
+     * 
+     * @param directory Caminho relativo do diretório (string vazia para a raiz)
+     * @return Arquivos do diretório
+     * @throws IOException Se o diretório não puder ser lido
+     */
+    public List<StoredFile> listFiles(String directory) throws IOException {
+        Path dirPath = imageStorageLocation.resolve(directory).normalize();
+        if (!dirPath.startsWith(imageStorageLocation) || !Files.isDirectory(dirPath)) {
+            return List.of();
+        }
+        
+        List<StoredFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dirPath)) {
+            for (Path path : stream) {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attrs.isRegularFile()) {
+                        files.add(new StoredFile(getRelativePath(path), attrs.size(), attrs.lastModifiedTime().toInstant()));
                     }
-                })
-                .sum();
-        } catch (IOException ex) {
-            logger.error("Erro ao calcular tamanho total do armazenamento", ex);
-            return 0L;
+                } catch (NoSuchFileException ex) {
+                    // Removido durante a listagem
+                }
+            }
         }
+        files.sort(Comparator.comparing(StoredFile::getRelativePath));
+        return files;
     }
 
     /**
-     * Conta o número total de arquivos de imagem.
+     * Move um arquivo para a quarentena, fora do diretório servido, preservando o caminho
+     * relativo. A data de modificação passa a marcar a entrada na quarentena.
      * 
-     * @return Número total de arquivos
+     * @param relativePath Caminho relativo do arquivo
+     * @return true se o arquivo foi movido
      */
-    public long countTotalFiles() {
+    public boolean quarantineFile(String relativePath) {
+        Path source = imageStorageLocation.resolve(relativePath).normalize();
+        Path target = quarantineLocation.resolve(relativePath).normalize();
+        if (!source.startsWith(imageStorageLocation) || !target.startsWith(quarantineLocation)) {
+            logger.warn("Tentativa de mover para a quarentena arquivo fora do diretório permitido: {}", source);
+            return false;
+        }
+        
         try {
-            return Files.walk(imageStorageLocation)
-                .filter(Files::isRegularFile)
-                .count();
+            Files.createDirectories(target.getParent());
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            logger.info("Arquivo movido para a quarentena: {}", relativePath);
+            cleanupEmptyDirectories(source.getParent());
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
         } catch (IOException ex) {
-            logger.error("Erro ao contar arquivos", ex);
-            return 0L;
+            logger.error("Erro ao mover arquivo para a quarentena: {}", relativePath, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Exclui definitivamente os arquivos que estão na quarentena desde antes do limite.
+     * 
+     * @param olderThan Entrada na quarentena anterior a este instante
+     * @return Quantidade e bytes dos arquivos excluídos
+     * @throws IOException Se a quarentena não puder ser percorrida
+     */
+    public StorageUsage purgeQuarantine(Instant olderThan) throws IOException {
+        StorageUsage purged = new StorageUsage();
+        if (!Files.isDirectory(quarantineLocation)) {
+            return purged;
         }
+        
+        Files.walkFileTree(quarantineLocation, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && attrs.lastModifiedTime().toInstant().isBefore(olderThan)) {
+                    try {
+                        Files.delete(file);
+                        purged.add(attrs.size());
+                    } catch (IOException ex) {
+                        logger.warn("Não foi possível excluir o arquivo da quarentena: {}", file, ex);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (!dir.equals(quarantineLocation) && isDirectoryEmpty(dir)) {
+                    Files.delete(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return purged;
     }
 
     // Métodos privados de apoio
@@ -398,10 +615,62 @@ public class FileStorageService {
         return false;
     }
     
-    private String generateUniqueFilename(String extension) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        return String.format("%s_%s.%s", timestamp, uuid, extension);
+    private Path createDateDirectory() {
+        LocalDateTime now = LocalDateTime.now();
+        Path datePath = imageStorageLocation
+            .resolve(String.valueOf(now.getYear()))
+            .resolve(String.format("%02d", now.getMonthValue()))
+            .resolve(String.format("%02d", now.getDayOfMonth()));
+        
+        try {
+            Files.createDirectories(datePath);
+        } catch (IOException e) {
+            logger.error("Erro ao criar diretórios: {}", datePath, e);
+            throw new RuntimeException("Erro ao criar diretórios de upload", e);
+        }
+        return datePath;
+    }
+    
+    private String getExtensionForContentType(String contentType, String fallback) {
+        if (contentType == null) {
+            return fallback.toLowerCase();
+        }
+        return switch (contentType.toLowerCase()) {
+            case "image/jpeg" -> "jpg";
+            case "image/png" -> "png";
+            case "image/gif" -> "gif";
+            case "image/webp" -> "webp";
+            default -> fallback.toLowerCase();
+        };
+    }
+    
+    private FileInfo commitStagedImage(StagedImage staged, String contentType) throws IOException {
+        String fileExtension = getExtensionForContentType(contentType, getFileExtension(staged.getOriginalFilename()));
+        String filename = staged.getSha256() + "." + fileExtension;
+        Path targetLocation = createDateDirectory().resolve(filename);
+        String relativePath = getRelativePath(targetLocation);
+        
+        if (storageBackend.exists(relativePath)) {
+            logger.debug("Conteúdo já armazenado, descartando cópia: {}", relativePath);
+            staged.close();
+        } else {
+            try {
+                storageBackend.save(relativePath, staged.getTempFile(), contentType);
+            } finally {
+                staged.close();
+            }
+            logger.info("Arquivo salvo: {} -> {}", staged.getOriginalFilename(), relativePath);
+        }
+        
+        return new FileInfo(
+            filename,
+            staged.getOriginalFilename(),
+            targetLocation.toString(),
+            relativePath,
+            contentType,
+            staged.getSize(),
+            staged.getSha256()
+        );
     }
     
     private String getRelativePath(Path absolutePath) {
@@ -450,6 +719,106 @@ public class FileStorageService {
         return imageStorageLocation;
     }
 
+    /**
+     * Arquivo armazenado, com tamanho e data de modificação.
+     */
+    public static class StoredFile {
+        private final String relativePath;
+        private final long size;
+        private final Instant lastModified;
+        
+        public StoredFile(String relativePath, long size, Instant lastModified) {
+            this.relativePath = relativePath;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+        
+        // Getters
+        public String getRelativePath() { return relativePath; }
+        public long getSize() { return size; }
+        public Instant getLastModified() { return lastModified; }
+    }
+
+    /**
+     * Quantidade de arquivos e bytes ocupados em um diretório.
+     */
+    public static class StorageUsage {
+        private long files;
+        private long bytes;
+        
+        void add(long size) {
+            files++;
+            bytes += size;
+        }
+        
+        // Getters
+        public long getFiles() { return files; }
+        public long getBytes() { return bytes; }
+    }
+
+    /**
+     * Arquivo disponível em disco local para leitura.
+     * Ao ser fechado, remove a cópia temporária feita a partir de um backend remoto.
+     */
+    public static class LocalFile implements AutoCloseable {
+        private final Path path;
+        private final boolean temporary;
+
+        LocalFile(Path path, boolean temporary) {
+            this.path = path;
+            this.temporary = temporary;
+        }
+
+        // Getters
+        public Path getPath() { return path; }
+
+        @Override
+        public void close() {
+            if (!temporary) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                logger.warn("Não foi possível remover o arquivo temporário: {}", path, ex);
+            }
+        }
+    }
+
+    /**
+     * Upload gravado em arquivo temporário, ainda sem nome definitivo.
+     * Ao ser fechado, remove o temporário caso ele não tenha sido movido.
+     */
+    public static class StagedImage implements AutoCloseable {
+        private final Path tempFile;
+        private final String originalFilename;
+        private final long size;
+        private final ImageInspection inspection;
+        
+        public StagedImage(Path tempFile, String originalFilename, long size, ImageInspection inspection) {
+            this.tempFile = tempFile;
+            this.originalFilename = originalFilename;
+            this.size = size;
+            this.inspection = inspection;
+        }
+        
+        // Getters
+        public Path getTempFile() { return tempFile; }
+        public String getOriginalFilename() { return originalFilename; }
+        public long getSize() { return size; }
+        public ImageInspection getInspection() { return inspection; }
+        public String getSha256() { return inspection.getSha256(); }
+        
+        @Override
+        public void close() {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ex) {
+                logger.warn("Não foi possível remover o arquivo temporário: {}", tempFile, ex);
+            }
+        }
+    }
+
     /**
      * Classe para representar informações de um arquivo.
      */
@@ -460,15 +829,22 @@ public class FileStorageService {
         private final String relativePath;
         private final String contentType;
         private final long size;
+        private final String sha256;
         
         public FileInfo(String filename, String originalFilename, String absolutePath, 
                        String relativePath, String contentType, long size) {
+            this(filename, originalFilename, absolutePath, relativePath, contentType, size, null);
+        }
+        
+        public FileInfo(String filename, String originalFilename, String absolutePath, 
+                       String relativePath, String contentType, long size, String sha256) {
             this.filename = filename;
             this.originalFilename = originalFilename;
             this.absolutePath = absolutePath;
             this.relativePath = relativePath;
             this.contentType = contentType;
             this.size = size;
+            this.sha256 = sha256;
         }
         
         // Getters
@@ -478,6 +854,7 @@ public class FileStorageService {
         public String getRelativePath() { return relativePath; }
         public String getContentType() { return contentType; }
         public long getSize() { return size; }
+        public String getSha256() { return sha256; }
         
         @Override
         public String toString() {
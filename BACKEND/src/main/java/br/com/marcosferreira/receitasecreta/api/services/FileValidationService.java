@@ -1,5 +1,6 @@
 package br.com.marcosferreira.receitasecreta.api.services;
 
+import br.com.marcosferreira.receitasecreta.api.services.ImageStreamInspector.ImageInspection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,11 +8,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
@@ -23,6 +19,9 @@ import java.util.regex.Pattern;
  * Este serviço fornece validações de segurança, tipo, tamanho, dimensões
  * e conteúdo de arquivos de imagem para garantir a integridade do sistema.
  * 
+ * O conteúdo do arquivo é lido uma única vez, em blocos, pelo {@link ImageStreamInspector},
+ * que identifica o formato, as dimensões e o hash sem decodificar os pixels.
+ * 
  * @author Sistema
  * @version 1.0
  * @since 2025-01-15
@@ -57,13 +56,8 @@ public class FileValidationService {
     @Value("${app.file.allowed-extensions:jpg,jpeg,png,webp,gif}")
     private String allowedExtensions;
     
-    // Assinaturas de arquivos (magic numbers) para validação de tipo
-    private static final Map<String, byte[]> FILE_SIGNATURES = Map.of(
-        "image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},
-        "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A},
-        "image/gif", new byte[]{0x47, 0x49, 0x46, 0x38},
-        "image/webp", new byte[]{0x52, 0x49, 0x46, 0x46}
-    );
+    // Tamanho do buffer usado na leitura do arquivo
+    private static final int BUFFER_SIZE = 8192;
     
     // Padrões de nomes de arquivo perigosos
     private static final Pattern DANGEROUS_FILENAME_PATTERN = Pattern.compile(
@@ -83,52 +77,81 @@ public class FileValidationService {
      * @return Resultado da validação
      */
     public ValidationResult validateImageFile(MultipartFile file) {
-        ValidationResult result = new ValidationResult();
+        ValidationResult result = validateUploadMetadata(file);
+        if (!result.isValid()) {
+            return result;
+        }
         
-        try {
-            // Validações básicas
-            validateBasicFile(file, result);
-            if (!result.isValid()) {
-                return result;
-            }
-            
-            // Validações de nome de arquivo
-            validateFilename(file.getOriginalFilename(), result);
-            if (!result.isValid()) {
-                return result;
-            }
-            
-            // Validações de tipo MIME
-            validateMimeType(file.getContentType(), result);
-            if (!result.isValid()) {
-                return result;
-            }
-            
-            // Validações de extensão
-            validateFileExtension(file.getOriginalFilename(), result);
-            if (!result.isValid()) {
-                return result;
-            }
-            
-            // Validações de conteúdo (magic numbers)
-            validateFileSignature(file, result);
-            if (!result.isValid()) {
-                return result;
-            }
-            
-            // Validações de imagem (dimensões, formato)
-            validateImageContent(file, result);
-            if (!result.isValid()) {
-                return result;
-            }
-            
-            logger.debug("Arquivo validado com sucesso: {}", file.getOriginalFilename());
-            
+        // Leitura única do conteúdo (magic numbers, cabeçalho, integridade e hash)
+        ImageInspection inspection;
+        try (InputStream inputStream = file.getInputStream()) {
+            inspection = inspect(inputStream);
         } catch (Exception ex) {
             logger.error("Erro durante validação do arquivo: {}", file.getOriginalFilename(), ex);
             result.addError("Erro interno durante validação do arquivo");
+            return result;
+        }
+        
+        return validateInspection(file.getContentType(), inspection);
+    }
+
+    /**
+     * Valida os dados do upload que não dependem do conteúdo (tamanho declarado, nome,
+     * tipo MIME e extensão), permitindo rejeitar o arquivo antes de lê-lo.
+     * 
+     * @param file Arquivo a ser validado
+     * @return Resultado da validação
+     */
+    public ValidationResult validateUploadMetadata(MultipartFile file) {
+        ValidationResult result = new ValidationResult();
+        
+        // Validações básicas
+        validateBasicFile(file, result);
+        if (!result.isValid()) {
+            return result;
+        }
+        
+        // Validações de nome de arquivo
+        validateFilename(file.getOriginalFilename(), result);
+        if (!result.isValid()) {
+            return result;
+        }
+        
+        // Validações de tipo MIME
+        validateMimeType(file.getContentType(), result);
+        if (!result.isValid()) {
+            return result;
         }
         
+        // Validações de extensão
+        validateFileExtension(file.getOriginalFilename(), result);
+        return result;
+    }
+
+    /**
+     * Valida o conteúdo a partir de uma inspeção já realizada (ex: durante a gravação
+     * do upload), sem uma nova leitura do arquivo.
+     * 
+     * @param declaredMimeType Tipo MIME declarado no upload
+     * @param inspection Resultado da inspeção do conteúdo
+     * @return Resultado da validação, com a inspeção anexada
+     */
+    public ValidationResult validateInspection(String declaredMimeType, ImageInspection inspection) {
+        ValidationResult result = new ValidationResult();
+        result.setInspection(inspection);
+        
+        // Validações de conteúdo (magic numbers)
+        validateFileSignature(declaredMimeType, inspection, result);
+        if (!result.isValid()) {
+            return result;
+        }
+        
+        // Validações de imagem (dimensões, estrutura)
+        validateImageContent(inspection, result);
+        if (result.isValid()) {
+            logger.debug("Conteúdo validado com sucesso: {} {}x{}",
+                inspection.getMimeType(), inspection.getWidth(), inspection.getHeight());
+        }
         return result;
     }
 
@@ -164,27 +187,31 @@ public class FileValidationService {
     }
 
     /**
-     * Obtém as dimensões de uma imagem.
+     * Inspeciona o conteúdo de uma imagem em uma única passada, com um único buffer.
+     * 
+     * @param inputStream Conteúdo do arquivo
+     * @return Resultado da inspeção (tipo, dimensões, hash e integridade)
+     * @throws IOException Se ocorrer erro na leitura
+     */
+    public ImageInspection inspect(InputStream inputStream) throws IOException {
+        ImageStreamInspector inspector = new ImageStreamInspector();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            inspector.update(buffer, 0, read);
+        }
+        return inspector.finish();
+    }
+
+    /**
+     * Obtém as dimensões de uma imagem a partir do cabeçalho.
      * 
      * @param file Arquivo de imagem
      * @return Dimensões da imagem ou null se não for possível obter
      */
     public ImageDimensions getImageDimensions(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream();
-             ImageInputStream imageStream = ImageIO.createImageInputStream(inputStream)) {
-            
-            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageStream);
-            if (readers.hasNext()) {
-                ImageReader reader = readers.next();
-                try {
-                    reader.setInput(imageStream);
-                    int width = reader.getWidth(0);
-                    int height = reader.getHeight(0);
-                    return new ImageDimensions(width, height);
-                } finally {
-                    reader.dispose();
-                }
-            }
+        try (InputStream inputStream = file.getInputStream()) {
+            return inspect(inputStream).getDimensions();
         } catch (IOException ex) {
             logger.warn("Erro ao obter dimensões da imagem: {}", file.getOriginalFilename(), ex);
         }
@@ -193,15 +220,15 @@ public class FileValidationService {
     }
 
     /**
-     * Verifica se um arquivo é uma imagem válida.
+     * Verifica se um arquivo é uma imagem válida (formato reconhecido e estrutura íntegra).
      * 
      * @param file Arquivo a ser verificado
      * @return true se for uma imagem válida, false caso contrário
      */
     public boolean isValidImage(MultipartFile file) {
         try (InputStream inputStream = file.getInputStream()) {
-            BufferedImage image = ImageIO.read(inputStream);
-            return image != null;
+            ImageInspection inspection = inspect(inputStream);
+            return inspection.isRecognized() && inspection.isIntact() && inspection.getDimensions() != null;
         } catch (IOException ex) {
             logger.debug("Arquivo não é uma imagem válida: {}", file.getOriginalFilename());
             return false;
@@ -209,22 +236,16 @@ public class FileValidationService {
     }
 
     /**
-     * Calcula o hash MD5 de um arquivo para detecção de duplicatas.
+     * Calcula o hash SHA-256 de um arquivo para detecção de duplicatas.
+     * 
+     * O arquivo é lido em blocos, sem carregar todo o conteúdo em memória.
      * 
      * @param file Arquivo
-     * @return Hash MD5 ou null se erro
+     * @return Hash SHA-256 em hexadecimal ou null se erro
      */
     public String calculateFileHash(MultipartFile file) {
-        try {
-            java.security.MessageDigest md = java.security.MessageDigest.getInstance("MD5");
-            byte[] digest = md.digest(file.getBytes());
-            
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
-            }
-            
-            return sb.toString();
+        try (InputStream inputStream = file.getInputStream()) {
+            return inspect(inputStream).getSha256();
         } catch (Exception ex) {
             logger.error("Erro ao calcular hash do arquivo: {}", file.getOriginalFilename(), ex);
             return null;
@@ -304,30 +325,19 @@ public class FileValidationService {
         }
     }
     
-    private void validateFileSignature(MultipartFile file, ValidationResult result) {
-        try {
-            byte[] fileBytes = file.getBytes();
-            if (fileBytes.length < 8) {
-                result.addError("Arquivo muito pequeno para validação de assinatura");
-                return;
-            }
-            
-            String mimeType = file.getContentType();
-            if (mimeType != null && FILE_SIGNATURES.containsKey(mimeType)) {
-                byte[] expectedSignature = FILE_SIGNATURES.get(mimeType);
-                
-                if (!matchesSignature(fileBytes, expectedSignature)) {
-                    result.addError("Assinatura do arquivo não corresponde ao tipo declarado");
-                }
-            }
-        } catch (IOException ex) {
-            logger.error("Erro ao validar assinatura do arquivo", ex);
-            result.addError("Erro ao validar conteúdo do arquivo");
+    private void validateFileSignature(String mimeType, ImageInspection inspection, ValidationResult result) {
+        if (!inspection.isRecognized()) {
+            result.addError("Formato de imagem não reconhecido");
+            return;
+        }
+        
+        if (mimeType != null && !inspection.getMimeType().equalsIgnoreCase(mimeType.trim())) {
+            result.addError("Assinatura do arquivo não corresponde ao tipo declarado");
         }
     }
     
-    private void validateImageContent(MultipartFile file, ValidationResult result) {
-        ImageDimensions dimensions = getImageDimensions(file);
+    private void validateImageContent(ImageInspection inspection, ValidationResult result) {
+        ImageDimensions dimensions = inspection.getDimensions();
         
         if (dimensions == null) {
             result.addError("Não foi possível ler as dimensões da imagem");
@@ -344,24 +354,10 @@ public class FileValidationService {
                 maxImageWidth, maxImageHeight));
         }
         
-        // Verificar se é realmente uma imagem válida
-        if (!isValidImage(file)) {
-            result.addError("Arquivo não é uma imagem válida");
-        }
-    }
-    
-    private boolean matchesSignature(byte[] fileBytes, byte[] signature) {
-        if (fileBytes.length < signature.length) {
-            return false;
-        }
-        
-        for (int i = 0; i < signature.length; i++) {
-            if (fileBytes[i] != signature[i]) {
-                return false;
-            }
+        // Verificar a integridade estrutural (arquivo truncado ou corrompido)
+        if (!inspection.isIntact()) {
+            result.addError("Arquivo não é uma imagem válida: " + String.join("; ", inspection.getProblems()));
         }
-        
-        return true;
     }
     
     private String getFileExtension(String filename) {
@@ -409,6 +405,7 @@ public class FileValidationService {
     public static class ValidationResult {
         private final List<String> errors = new ArrayList<>();
         private final List<String> warnings = new ArrayList<>();
+        private ImageInspection inspection;
         
         public void addError(String error) {
             errors.add(error);
@@ -438,6 +435,17 @@ public class FileValidationService {
             return String.join("; ", warnings);
         }
         
+        /**
+         * Resultado da inspeção do conteúdo, disponível quando o arquivo chegou a ser lido.
+         */
+        public ImageInspection getInspection() {
+            return inspection;
+        }
+        
+        public void setInspection(ImageInspection inspection) {
+            this.inspection = inspection;
+        }
+        
         @Override
         public String toString() {
             return "ValidationResult{" +
@@ -0,0 +1,226 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache em memória dos arquivos de imagem mais acessados.
+ *
+ * O cache é limitado pelo total de bytes (não pela quantidade de entradas) e remove as
+ * entradas menos usadas recentemente (LRU) até caber no orçamento. O conteúdo fica em
+ * {@link ByteBuffer}s diretos, fora do heap, para não aumentar o trabalho do GC.
+ * Cada entrada guarda o tamanho e a data de modificação do arquivo e é descartada se
+ * o arquivo em disco mudar.
+ *
+ * Desabilitado por padrão; habilite com {@code app.image.cache.enabled=true}.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class ImageCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageCacheService.class);
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    // LinkedHashMap em ordem de acesso: o primeiro elemento é o menos usado recentemente
+    private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ImageCacheService(@Value("${app.image.cache.enabled:false}") boolean enabled,
+                             @Value("${app.image.cache.max-mb:64}") long maxMb,
+                             @Value("${app.image.cache.max-entry-kb:1024}") long maxEntryKb) {
+        this.enabled = enabled && maxMb > 0;
+        this.maxBytes = maxMb * 1024 * 1024;
+        this.maxEntryBytes = Math.min(maxEntryKb * 1024, this.maxBytes);
+        if (this.enabled) {
+            logger.info("Cache de imagens habilitado: {} MB, entradas de até {} KB", maxMb, maxEntryBytes / 1024);
+        }
+    }
+
+    /**
+     * Indica se um arquivo com o tamanho informado pode ser mantido no cache.
+     *
+     * @param size Tamanho do arquivo em bytes
+     * @return true se o cache estiver habilitado e o arquivo couber em uma entrada
+     */
+    public boolean isCacheable(long size) {
+        return enabled && size > 0 && size <= maxEntryBytes;
+    }
+
+    /**
+     * Obtém o conteúdo de um arquivo do cache, carregando-o do disco em caso de ausência.
+     *
+     * @param key Caminho relativo do arquivo
+     * @param file Caminho absoluto do arquivo
+     * @param size Tamanho atual do arquivo
+     * @param lastModified Data de modificação atual do arquivo (em milissegundos)
+     * @return Buffer somente leitura com o conteúdo completo do arquivo
+     * @throws IOException Se ocorrer erro na leitura do arquivo
+     */
+    public ByteBuffer getOrLoad(String key, Path file, long size, long lastModified) throws IOException {
+        lock.lock();
+        try {
+            CachedImage cached = entries.get(key);
+            if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+                hits.incrementAndGet();
+                return cached.content.duplicate();
+            }
+            if (cached != null) {
+                removeEntry(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        ByteBuffer content = readFile(file, size);
+        put(key, new CachedImage(content, size, lastModified));
+        return content.duplicate();
+    }
+
+    /**
+     * Remove um arquivo do cache (ex: após a exclusão da imagem).
+     *
+     * @param key Caminho relativo do arquivo
+     */
+    public void invalidate(String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            removeEntry(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            currentBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna os contadores do cache.
+     *
+     * @return Mapa com acertos, ausências, remoções, ocupação e limites
+     */
+    public Map<String, Object> getStatistics() {
+        long entryCount;
+        long bytes;
+        lock.lock();
+        try {
+            entryCount = entries.size();
+            bytes = currentBytes;
+        } finally {
+            lock.unlock();
+        }
+
+        long totalHits = hits.get();
+        long totalRequests = totalHits + misses.get();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("hits", totalHits);
+        statistics.put("misses", misses.get());
+        statistics.put("evictions", evictions.get());
+        statistics.put("hitRate", totalRequests == 0 ? 0.0 : (double) totalHits / totalRequests);
+        statistics.put("entries", entryCount);
+        statistics.put("bytes", bytes);
+        statistics.put("maxBytes", maxBytes);
+        statistics.put("maxEntryBytes", maxEntryBytes);
+        return statistics;
+    }
+
+    // Métodos privados de apoio
+
+    private void put(String key, CachedImage image) {
+        lock.lock();
+        try {
+            CachedImage previous = entries.put(key, image);
+            if (previous != null) {
+                currentBytes -= previous.size;
+            }
+            currentBytes += image.size;
+
+            Iterator<Map.Entry<String, CachedImage>> iterator = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, CachedImage> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                currentBytes -= eldest.getValue().size;
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeEntry(String key) {
+        CachedImage removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.size;
+        }
+    }
+
+    private ByteBuffer readFile(Path file, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Arquivo alterado durante a leitura: " + file);
+                }
+            }
+        }
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Entrada do cache com os metadados usados para detectar alterações no arquivo.
+     */
+    private static final class CachedImage {
+        private final ByteBuffer content;
+        private final long size;
+        private final long lastModified;
+
+        private CachedImage(ByteBuffer content, long size, long lastModified) {
+            this.content = content;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
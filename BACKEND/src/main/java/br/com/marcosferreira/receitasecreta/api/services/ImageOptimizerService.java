@@ -0,0 +1,334 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.LocalFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Serviço responsável pela otimização (recompressão) dos arquivos de imagem enviados.
+ *
+ * JPEGs são recodificados com a qualidade configurada e PNGs com compressão máxima,
+ * sem perda. Os metadados (EXIF, ICC, textos) não são copiados para o novo arquivo;
+ * a orientação EXIF é aplicada aos pixels antes de ser descartada, para que fotos de
+ * celular continuem na posição correta. O resultado recomprimido só é mantido quando reduz
+ * o tamanho pelo menos no percentual mínimo configurado; caso contrário, os metadados são
+ * removidos do original sem recodificá-lo, já que localização e dados do aparelho não
+ * devem ser servidos em nenhum caso.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class ImageOptimizerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageOptimizerService.class);
+
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("tEXt", "zTXt", "iTXt", "eXIf", "tIME", "iCCP");
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${app.image.otimizacao.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.image.otimizacao.qualidade-jpeg:0.8}")
+    private float qualidadeJpeg;
+
+    @Value("${app.image.otimizacao.economia-minima-percentual:10}")
+    private int economiaMinimaPercentual;
+
+    /**
+     * Recomprime um arquivo armazenado e grava o resultado ao lado do original, com o
+     * sufixo de arquivo otimizado. O original não é alterado.
+     *
+     * Quando a recompressão não atinge a economia mínima, o arquivo gravado é uma cópia do
+     * original sem os metadados, removidos sem recodificar os pixels; se a foto depende da
+     * orientação EXIF, a versão recodificada (já girada) é mantida.
+     *
+     * @param relativePath Caminho relativo do arquivo original
+     * @param contentType Tipo MIME do arquivo original
+     * @return Informações do arquivo otimizado, ou null se a otimização não se aplica
+     *         ou se o original não tem metadados e a recompressão não reduziu o tamanho o suficiente
+     * @throws IOException Se ocorrer erro na leitura ou gravação dos arquivos
+     */
+    public OptimizedImage optimize(String relativePath, String contentType) throws IOException {
+        String formato = getOutputFormat(contentType);
+        if (formato == null) {
+            return null;
+        }
+
+        String destino = fileStorageService.buildOptimizedRelativePath(relativePath);
+        Path temporario = fileStorageService.createStagingFile(destino);
+        try (LocalFile original = fileStorageService.openLocalFile(relativePath)) {
+            long tamanhoOriginal = Files.size(original.getPath());
+            BufferedImage imagem = readImage(original.getPath());
+            if (imagem == null) {
+                logger.warn("Não foi possível decodificar a imagem para otimização: {}", relativePath);
+                return null;
+            }
+            int orientacao = 1;
+            if ("jpeg".equals(formato)) {
+                orientacao = ImageOrientation.readExifOrientation(original.getPath());
+                imagem = ImageOrientation.applyOrientation(imagem, orientacao);
+            } else if (imagem.getColorModel().hasAlpha() && isOpaque(imagem)) {
+                // Canal alfa sem transparência: remover reduz o PNG sem perda
+                imagem = toRgb(imagem);
+            }
+
+            writeImage(imagem, formato, temporario);
+            long tamanho = Files.size(temporario);
+            if (tamanho > tamanhoOriginal * (100 - economiaMinimaPercentual) / 100 && orientacao == 1) {
+                // Sem ganho suficiente: os metadados saem do original, sem perda de qualidade
+                boolean removidos = "jpeg".equals(formato)
+                    ? stripJpegMetadata(original.getPath(), temporario)
+                    : stripPngMetadata(original.getPath(), temporario);
+                if (!removidos) {
+                    logger.debug("Otimização sem ganho suficiente para {} ({} -> {} bytes)", relativePath, tamanhoOriginal, tamanho);
+                    return null;
+                }
+                tamanho = Files.size(temporario);
+                logger.debug("Metadados removidos de {} sem recompressão ({} -> {} bytes)", relativePath, tamanhoOriginal, tamanho);
+            }
+
+            fileStorageService.storeFile(destino, temporario, contentType);
+            logger.info("Imagem otimizada: {} ({} -> {} bytes)", relativePath, tamanhoOriginal, tamanho);
+            return new OptimizedImage(destino, tamanhoOriginal, tamanho, imagem.getWidth(), imagem.getHeight());
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Indica se a otimização está habilitada e se aplica ao tipo MIME informado.
+     *
+     * @param contentType Tipo MIME
+     * @return true se o arquivo deve passar pela otimização
+     */
+    public boolean supports(String contentType) {
+        return enabled && getOutputFormat(contentType) != null;
+    }
+
+    // Métodos privados de apoio
+
+    private String getOutputFormat(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        return switch (contentType.toLowerCase()) {
+            case "image/jpeg", "image/jpg" -> "jpeg";
+            case "image/png" -> "png";
+            default -> null;
+        };
+    }
+
+    private BufferedImage readImage(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return reader.read(0);
+            } catch (IIOException ex) {
+                // Ex: JPEG CMYK, sem suporte no ImageIO; o original continua sendo usado
+                logger.debug("Formato sem suporte para otimização: {}", ex.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeImage(BufferedImage image, String formato, Path destino) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formato);
+        if (!writers.hasNext()) {
+            throw new IOException("Nenhum codificador disponível para " + formato);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(destino.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                // No PNG a qualidade 0 corresponde ao nível máximo do deflate
+                param.setCompressionQuality("jpeg".equals(formato) ? qualidadeJpeg : 0.0f);
+            }
+            if ("jpeg".equals(formato) && param.canWriteProgressive()) {
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            // Sem metadados: EXIF, ICC e blocos de texto não são copiados
+            writer.write(null, new IIOImage(toWritable(image, formato), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Copia o JPEG sem os segmentos APP1 a APP15 (EXIF, XMP, ICC, IPTC) e os comentários.
+     * APP0 (JFIF) e APP14 (Adobe, que define a conversão de cores) são mantidos e os dados
+     * a partir do SOS são copiados sem alteração.
+     *
+     * @return true se algum segmento foi removido
+     */
+    private boolean stripJpegMetadata(Path origem, Path destino) throws IOException {
+        boolean removidos = false;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(origem)));
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(destino)))) {
+            if (input.readUnsignedShort() != 0xFFD8) {
+                throw new IOException("Arquivo JPEG inválido");
+            }
+            output.writeShort(0xFFD8);
+            while (true) {
+                int marcador = input.readUnsignedShort();
+                if ((marcador & 0xFF00) != 0xFF00) {
+                    throw new IOException("Marcador JPEG inválido");
+                }
+                if (marcador == 0xFFDA || marcador == 0xFFD9) {
+                    // Início dos dados da imagem: o restante é copiado como está
+                    output.writeShort(marcador);
+                    input.transferTo(output);
+                    return removidos;
+                }
+                if (marcador == 0xFF01 || (marcador >= 0xFFD0 && marcador <= 0xFFD7)) {
+                    output.writeShort(marcador);
+                    continue;
+                }
+                int tamanho = input.readUnsignedShort();
+                byte[] segmento = new byte[tamanho - 2];
+                input.readFully(segmento);
+                boolean metadados = (marcador >= 0xFFE1 && marcador <= 0xFFEF && marcador != 0xFFEE) || marcador == 0xFFFE;
+                if (metadados) {
+                    removidos = true;
+                    continue;
+                }
+                output.writeShort(marcador);
+                output.writeShort(tamanho);
+                output.write(segmento);
+            }
+        }
+    }
+
+    /**
+     * Copia o PNG sem os chunks de texto, EXIF, data de modificação e perfil ICC.
+     *
+     * @return true se algum chunk foi removido
+     */
+    private boolean stripPngMetadata(Path origem, Path destino) throws IOException {
+        boolean removidos = false;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(origem)));
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(destino)))) {
+            byte[] assinatura = new byte[8];
+            input.readFully(assinatura);
+            output.write(assinatura);
+            while (true) {
+                int tamanho = input.readInt();
+                byte[] tipo = new byte[4];
+                input.readFully(tipo);
+                // Dados seguidos do CRC
+                byte[] conteudo = new byte[tamanho + 4];
+                input.readFully(conteudo);
+                String nome = new String(tipo, StandardCharsets.US_ASCII);
+                if (PNG_METADATA_CHUNKS.contains(nome)) {
+                    removidos = true;
+                    continue;
+                }
+                output.writeInt(tamanho);
+                output.write(tipo);
+                output.write(conteudo);
+                if ("IEND".equals(nome)) {
+                    return removidos;
+                }
+            }
+        }
+    }
+
+    private BufferedImage toWritable(BufferedImage image, String formato) {
+        // O codificador JPEG não aceita canal alfa
+        return "jpeg".equals(formato) && image.getColorModel().hasAlpha() ? toRgb(image) : image;
+    }
+
+    private BufferedImage toRgb(BufferedImage image) {
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private boolean isOpaque(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_BYTE_INDEXED) {
+            // Paletas já são compactas; convertê-las aumentaria o arquivo
+            return false;
+        }
+        int[] linha = new int[image.getWidth()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, linha.length, 1, linha, 0, linha.length);
+            for (int argb : linha) {
+                if ((argb >>> 24) != 0xff) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Classe para representar o resultado de uma otimização.
+     */
+    public static class OptimizedImage {
+        private final String relativePath;
+        private final long originalSize;
+        private final long size;
+        private final int width;
+        private final int height;
+
+        public OptimizedImage(String relativePath, long originalSize, long size, int width, int height) {
+            this.relativePath = relativePath;
+            this.originalSize = originalSize;
+            this.size = size;
+            this.width = width;
+            this.height = height;
+        }
+
+        // Getters
+        public String getRelativePath() { return relativePath; }
+        public long getOriginalSize() { return originalSize; }
+        public long getSize() { return size; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+    }
+}
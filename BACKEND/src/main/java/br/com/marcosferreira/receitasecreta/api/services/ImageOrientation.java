@@ -0,0 +1,142 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Leitura e aplicação da tag Orientation do EXIF dos JPEGs.
+ *
+ * O ImageIO decodifica os pixels na orientação gravada pelo sensor e ignora o EXIF; quem
+ * regrava a imagem sem metadados (otimização e variantes) precisa girá-la antes, para que
+ * fotos de celular continuem na posição correta.
+ */
+public final class ImageOrientation {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageOrientation.class);
+
+    // Limite de leitura dos segmentos iniciais do JPEG em busca do EXIF
+    private static final int EXIF_SEARCH_LIMIT = 256 * 1024;
+
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    // Construtor privado para prevenir instância
+    private ImageOrientation() {
+        throw new UnsupportedOperationException("Não é possível instanciar uma classe de utilidade.");
+    }
+
+    /**
+     * Gira ou espelha a imagem conforme a tag Orientation do EXIF (1 a 8).
+     */
+    public static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean troca = orientation >= 5;
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { transform.translate(w, 0); transform.scale(-1, 1); }
+            case 3 -> { transform.translate(w, h); transform.rotate(Math.PI); }
+            case 4 -> { transform.translate(0, h); transform.scale(1, -1); }
+            case 5 -> { transform.rotate(Math.PI / 2); transform.scale(1, -1); }
+            case 6 -> { transform.translate(h, 0); transform.rotate(Math.PI / 2); }
+            case 7 -> { transform.translate(h, w); transform.rotate(Math.PI / 2); transform.scale(-1, 1); }
+            case 8 -> { transform.translate(0, w); transform.rotate(3 * Math.PI / 2); }
+            default -> { }
+        }
+
+        BufferedImage destino = new BufferedImage(troca ? h : w, troca ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    /**
+     * Lê a tag Orientation do segmento APP1 (EXIF) de um JPEG.
+     *
+     * @return Orientação de 1 a 8, ou 1 se ausente, inválida ou se o arquivo não for JPEG
+     */
+    public static int readExifOrientation(Path path) {
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(path))) {
+            if (input.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            int lidos = 2;
+            while (lidos < EXIF_SEARCH_LIMIT) {
+                int marcador = input.readUnsignedShort();
+                if ((marcador & 0xFF00) != 0xFF00 || marcador == 0xFFDA) {
+                    // Início dos dados da imagem: não há mais segmentos de metadados
+                    return 1;
+                }
+                int tamanho = input.readUnsignedShort() - 2;
+                lidos += 4 + tamanho;
+                if (marcador == 0xFFE1 && tamanho > 14) {
+                    byte[] segmento = new byte[tamanho];
+                    input.readFully(segmento);
+                    int orientacao = parseOrientation(segmento);
+                    if (orientacao > 0) {
+                        return orientacao;
+                    }
+                } else {
+                    skipFully(input, tamanho);
+                }
+            }
+        } catch (EOFException ex) {
+            return 1;
+        } catch (IOException ex) {
+            logger.debug("Não foi possível ler o EXIF de {}: {}", path, ex.getMessage());
+        }
+        return 1;
+    }
+
+    // Métodos privados de apoio
+
+    private static int parseOrientation(byte[] segmento) {
+        if (segmento[0] != 'E' || segmento[1] != 'x' || segmento[2] != 'i' || segmento[3] != 'f') {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segmento, 6, segmento.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        try {
+            int ifd = tiff.getInt(4);
+            int entradas = tiff.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < entradas; i++) {
+                int entrada = ifd + 2 + i * 12;
+                if ((tiff.getShort(entrada) & 0xFFFF) == TAG_ORIENTATION) {
+                    int valor = tiff.getShort(entrada + 8) & 0xFFFF;
+                    return valor >= 1 && valor <= 8 ? valor : 1;
+                }
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            logger.debug("Segmento EXIF truncado");
+        }
+        return 1;
+    }
+
+    private static void skipFully(InputStream input, long bytes) throws IOException {
+        while (bytes > 0) {
+            long pulados = input.skip(bytes);
+            if (pulados <= 0) {
+                throw new EOFException();
+            }
+            bytes -= pulados;
+        }
+    }
+}
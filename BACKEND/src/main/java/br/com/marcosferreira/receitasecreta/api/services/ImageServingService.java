@@ -0,0 +1,358 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.StorageBackend.StoredObject;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço responsável por servir os arquivos de imagem diretamente na resposta HTTP.
+ *
+ * Implementa GET condicional (If-None-Match / If-Modified-Since), requisições parciais
+ * (Range / If-Range) e cache de longa duração para arquivos endereçados por conteúdo.
+ * O corpo é enviado a partir do {@link ImageCacheService} quando o arquivo está em cache,
+ * ou com sendfile do Tomcat / {@link FileChannel#transferTo}, sem passar o arquivo por
+ * buffers da aplicação.
+ *
+ * Com armazenamento remoto (S3), o cliente é redirecionado para uma URL pré-assinada
+ * quando {@code app.storage.presign-redirect} estiver ativo; caso contrário, o intervalo
+ * solicitado é lido do bucket e repassado na resposta.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class ImageServingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageServingService.class);
+
+    // Atributos de requisição usados pelo conector do Tomcat para sendfile
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    // Arquivos nomeados pelo SHA-256 do conteúdo enviado (original, otimizado ou variante)
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^([0-9a-f]{64}(?:_o)?(?:_w\\d+)?)\\.[a-z0-9]+$");
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ImageCacheService imageCacheService;
+
+    @Value("${app.image.cache-control-max-age:3600}")
+    private long defaultMaxAge;
+
+    @Value("${app.image.sendfile-min-size:49152}")
+    private long sendfileMinSize;
+
+    @Value("${app.storage.presign-redirect:true}")
+    private boolean presignRedirect;
+
+    @Value("${app.storage.presign-ttl-segundos:300}")
+    private long presignTtlSegundos;
+
+    /**
+     * Serve um arquivo de imagem.
+     *
+     * @param relativePath Caminho relativo do arquivo dentro do diretório de imagens
+     * @param allowImmutable Se o conteúdo desta URL nunca muda (permite cache imutável)
+     * @param request Requisição HTTP
+     * @param response Resposta HTTP
+     * @throws IOException Se ocorrer erro ao enviar o arquivo
+     */
+    public void serve(String relativePath, boolean allowImmutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file;
+        try {
+            file = fileStorageService.resolveImagePath(relativePath);
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Tentativa de acesso a arquivo fora do diretório permitido: {}", relativePath);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        boolean local = fileStorageService.isLocalStorage();
+        if (!local && presignRedirect && "GET".equalsIgnoreCase(request.getMethod())) {
+            Optional<URI> presigned = fileStorageService.getPresignedUrl(relativePath, Duration.ofSeconds(presignTtlSegundos));
+            if (presigned.isPresent()) {
+                // O bucket atende GET condicional e Range; a API só emite o redirecionamento
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + Math.max(0, presignTtlSegundos - 30));
+                response.sendRedirect(presigned.get().toString());
+                return;
+            }
+        }
+
+        long size;
+        long modifiedMillis;
+        if (local) {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (IOException ex) {
+                logger.debug("Arquivo não encontrado: {}", relativePath);
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            if (!attributes.isRegularFile()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            size = attributes.size();
+            modifiedMillis = attributes.lastModifiedTime().toMillis();
+        } else {
+            Optional<StoredObject> stored = fileStorageService.statFile(relativePath);
+            if (stored.isEmpty()) {
+                logger.debug("Arquivo não encontrado: {}", relativePath);
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            size = stored.get().getSize();
+            modifiedMillis = stored.get().getLastModified().toEpochMilli();
+        }
+
+        String filename = file.getFileName().toString();
+        // Datas HTTP têm resolução de segundos
+        long lastModified = modifiedMillis / 1000 * 1000;
+        Matcher contentAddressed = CONTENT_ADDRESSED_NAME.matcher(filename);
+        boolean immutable = allowImmutable && contentAddressed.matches();
+        String etag = buildEtag(contentAddressed.matches() ? contentAddressed.group(1) : null, size, lastModified);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+            immutable ? IMMUTABLE_CACHE_CONTROL : "public, max-age=" + defaultMaxAge);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(getContentType(request, filename));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"");
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && size > 0 && isRangeApplicable(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                // Intervalo com sintaxe não suportada (ex: múltiplos intervalos): serve o arquivo inteiro
+                logger.debug("Range ignorado: {}", range);
+            } else if (bounds.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            } else {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || length <= 0) {
+            return;
+        }
+
+        if (!local) {
+            try (InputStream input = fileStorageService.openRange(relativePath, start, length)) {
+                input.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        if (imageCacheService.isCacheable(size)) {
+            ByteBuffer content = imageCacheService.getOrLoad(
+                relativePath, file, size, modifiedMillis);
+            content.position((int) start).limit((int) (start + length));
+            writeBuffer(content, response);
+            return;
+        }
+
+        if (length >= sendfileMinSize && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            // O conector envia o arquivo direto do page cache para o socket após o retorno
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        transfer(file, start, length, response);
+    }
+
+    // Métodos privados de apoio
+
+    private String buildEtag(String contentHash, long size, long lastModified) {
+        if (contentHash != null) {
+            return "\"" + contentHash + "\"";
+        }
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String method = request.getMethod();
+        if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+            return false;
+        }
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match tem precedência sobre If-Modified-Since
+            return matchesEtag(ifNoneMatch, etag, true);
+        }
+
+        long ifModifiedSince = getDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    private boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.trim().startsWith("\"") || ifRange.trim().startsWith("W/")) {
+            // If-Range exige comparação forte
+            return matchesEtag(ifRange, etag, false);
+        }
+        long ifRangeDate = getDateHeader(request, HttpHeaders.IF_RANGE);
+        return ifRangeDate >= 0 && lastModified <= ifRangeDate;
+    }
+
+    private boolean matchesEtag(String header, String etag, boolean weakComparison) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                if (!weakComparison) {
+                    continue;
+                }
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Interpreta um cabeçalho Range com um único intervalo.
+     *
+     * @return {início, fim} inclusivos; vetor vazio se o intervalo não puder ser atendido;
+     *         null se a sintaxe não for suportada
+     */
+    private long[] parseRange(String header, long size) {
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return null;
+                }
+                // Sufixo: últimos N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix == 0) {
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+
+            long start = Long.parseLong(first);
+            if (start >= size) {
+                return new long[0];
+            }
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (end < start) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private void transfer(Path file, long start, long length, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private void writeBuffer(ByteBuffer content, HttpServletResponse response) throws IOException {
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        while (content.hasRemaining()) {
+            target.write(content);
+        }
+    }
+
+    private String getContentType(HttpServletRequest request, String filename) {
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+        String contentType = switch (extension) {
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            default -> request.getServletContext() != null
+                ? request.getServletContext().getMimeType(filename)
+                : null;
+        };
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+}
@@ -0,0 +1,389 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileValidationService.ImageDimensions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Inspetor incremental de arquivos de imagem.
+ *
+ * Recebe o conteúdo do arquivo em blocos, na mesma passada usada para ler ou gravar
+ * o upload, e extrai sem decodificar os pixels: o tipo real (magic numbers), as
+ * dimensões declaradas no cabeçalho, o hash SHA-256 e a verificação estrutural do
+ * final do arquivo (EOI do JPEG, IEND do PNG, terminador do GIF e tamanho do RIFF).
+ *
+ * Instâncias não são thread-safe e devem ser usadas para um único arquivo.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+public class ImageStreamInspector {
+
+    // Bytes iniciais suficientes para os cabeçalhos de PNG, GIF e WebP
+    private static final int HEAD_SIZE = 32;
+
+    // Bytes finais mantidos para a verificação de integridade
+    private static final int TAIL_SIZE = 32;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] PNG_IEND_TRAILER = {0x49, 0x45, 0x4E, 0x44, (byte) 0xAE, 0x42, 0x60, (byte) 0x82};
+
+    // Estados do leitor de marcadores JPEG
+    private static final int JPEG_MARKER = 0;
+    private static final int JPEG_MARKER_TYPE = 1;
+    private static final int JPEG_LENGTH_HIGH = 2;
+    private static final int JPEG_LENGTH_LOW = 3;
+    private static final int JPEG_SEGMENT = 4;
+    private static final int JPEG_DONE = 5;
+
+    private final MessageDigest digest;
+    private final byte[] head = new byte[HEAD_SIZE];
+    private final byte[] tail = new byte[TAIL_SIZE];
+    private int tailLength;
+    private long size;
+
+    private boolean jpeg;
+    private int jpegState = JPEG_MARKER;
+    private int segmentMarker;
+    private int segmentLength;
+    private int segmentOffset;
+    private int jpegWidth = -1;
+    private int jpegHeight = -1;
+    private boolean jpegScanReached;
+    private boolean jpegInvalid;
+
+    public ImageStreamInspector() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 não disponível", ex);
+        }
+    }
+
+    /**
+     * Processa o próximo bloco do arquivo.
+     *
+     * @param buffer Buffer com os dados
+     * @param offset Posição inicial no buffer
+     * @param length Quantidade de bytes válidos
+     */
+    public void update(byte[] buffer, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+
+        digest.update(buffer, offset, length);
+
+        int end = offset + length;
+        int i = offset;
+
+        // Cabeçalho: guardado byte a byte até completar HEAD_SIZE
+        while (i < end && size < HEAD_SIZE) {
+            int position = (int) size;
+            head[position] = buffer[i];
+            if (position == 1) {
+                jpeg = (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8;
+            } else if (position > 1 && jpeg) {
+                consumeJpeg(buffer[i] & 0xFF);
+            }
+            size++;
+            i++;
+        }
+
+        // Restante do JPEG até o início dos dados comprimidos (SOS)
+        while (i < end && jpeg && jpegState != JPEG_DONE) {
+            if (jpegState == JPEG_SEGMENT && !isStartOfFrame(segmentMarker)) {
+                int skip = Math.min(segmentLength - segmentOffset, end - i);
+                segmentOffset += skip;
+                size += skip;
+                i += skip;
+                if (segmentOffset == segmentLength) {
+                    jpegState = JPEG_MARKER;
+                }
+            } else {
+                consumeJpeg(buffer[i] & 0xFF);
+                size++;
+                i++;
+            }
+        }
+
+        size += end - i;
+        updateTail(buffer, offset, length);
+    }
+
+    /**
+     * Finaliza a inspeção e retorna o resultado.
+     *
+     * @return Resultado da inspeção
+     */
+    public ImageInspection finish() {
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        List<String> problems = new ArrayList<>();
+        int available = (int) Math.min(size, HEAD_SIZE);
+
+        if (jpeg) {
+            if (jpegInvalid || !jpegScanReached || jpegWidth <= 0 || jpegHeight <= 0) {
+                problems.add("Estrutura JPEG inválida ou incompleta");
+            } else if (!tailContains((byte) 0xFF, (byte) 0xD9)) {
+                problems.add("Arquivo JPEG truncado (marcador de fim ausente)");
+            }
+            return new ImageInspection("image/jpeg", jpegWidth, jpegHeight, sha256, size, problems);
+        }
+
+        if (startsWith(PNG_SIGNATURE, available)) {
+            if (available < 24 || !asciiAt(12, "IHDR")) {
+                problems.add("Cabeçalho PNG inválido");
+                return new ImageInspection("image/png", -1, -1, sha256, size, problems);
+            }
+            if (!tailEndsWith(PNG_IEND_TRAILER)) {
+                problems.add("Arquivo PNG truncado (bloco IEND ausente)");
+            }
+            return new ImageInspection("image/png", readIntBE(16), readIntBE(20), sha256, size, problems);
+        }
+
+        if (available >= 10 && (asciiAt(0, "GIF87a") || asciiAt(0, "GIF89a"))) {
+            if (tailLength == 0 || tail[tailLength - 1] != 0x3B) {
+                problems.add("Arquivo GIF truncado (terminador ausente)");
+            }
+            return new ImageInspection("image/gif", readShortLE(6), readShortLE(8), sha256, size, problems);
+        }
+
+        if (available >= 16 && asciiAt(0, "RIFF") && asciiAt(8, "WEBP")) {
+            return inspectWebp(available, sha256, problems);
+        }
+
+        problems.add("Formato de imagem não reconhecido");
+        return new ImageInspection(null, -1, -1, sha256, size, problems);
+    }
+
+    // Métodos privados de apoio
+
+    private void consumeJpeg(int b) {
+        switch (jpegState) {
+            case JPEG_MARKER -> {
+                if (b == 0xFF) {
+                    jpegState = JPEG_MARKER_TYPE;
+                } else {
+                    jpegInvalid = true;
+                    jpegState = JPEG_DONE;
+                }
+            }
+            case JPEG_MARKER_TYPE -> {
+                if (b == 0xFF) {
+                    // Bytes de preenchimento entre marcadores
+                    return;
+                }
+                if (b == 0x01 || (b >= 0xD0 && b <= 0xD8)) {
+                    // Marcadores sem segmento de dados
+                    jpegState = JPEG_MARKER;
+                } else if (b == 0xD9) {
+                    // Fim da imagem antes dos dados comprimidos
+                    jpegState = JPEG_DONE;
+                } else {
+                    segmentMarker = b;
+                    jpegState = JPEG_LENGTH_HIGH;
+                }
+            }
+            case JPEG_LENGTH_HIGH -> {
+                segmentLength = b << 8;
+                jpegState = JPEG_LENGTH_LOW;
+            }
+            case JPEG_LENGTH_LOW -> {
+                segmentLength = (segmentLength | b) - 2;
+                segmentOffset = 0;
+                if (segmentLength < 0) {
+                    jpegInvalid = true;
+                    jpegState = JPEG_DONE;
+                } else if (segmentMarker == 0xDA) {
+                    // Início dos dados comprimidos: o restante não precisa ser interpretado
+                    jpegScanReached = true;
+                    jpegState = JPEG_DONE;
+                } else {
+                    jpegState = segmentLength == 0 ? JPEG_MARKER : JPEG_SEGMENT;
+                }
+            }
+            case JPEG_SEGMENT -> {
+                // Segmento SOFn: precisão (1), altura (2), largura (2)
+                if (isStartOfFrame(segmentMarker)) {
+                    switch (segmentOffset) {
+                        case 1 -> jpegHeight = b << 8;
+                        case 2 -> jpegHeight |= b;
+                        case 3 -> jpegWidth = b << 8;
+                        case 4 -> jpegWidth |= b;
+                        default -> { }
+                    }
+                }
+                segmentOffset++;
+                if (segmentOffset == segmentLength) {
+                    jpegState = JPEG_MARKER;
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private static boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private ImageInspection inspectWebp(int available, String sha256, List<String> problems) {
+        long riffSize = readIntLE(4) & 0xFFFFFFFFL;
+        if (size < riffSize + 8) {
+            problems.add("Arquivo WebP truncado (tamanho RIFF maior que o arquivo)");
+        }
+
+        int width = -1;
+        int height = -1;
+        if (available >= 30 && asciiAt(12, "VP8 ")
+                && (head[23] & 0xFF) == 0x9D && (head[24] & 0xFF) == 0x01 && (head[25] & 0xFF) == 0x2A) {
+            width = readShortLE(26) & 0x3FFF;
+            height = readShortLE(28) & 0x3FFF;
+        } else if (available >= 25 && asciiAt(12, "VP8L") && (head[20] & 0xFF) == 0x2F) {
+            int bits = readIntLE(21);
+            width = (bits & 0x3FFF) + 1;
+            height = ((bits >>> 14) & 0x3FFF) + 1;
+        } else if (available >= 30 && asciiAt(12, "VP8X")) {
+            width = readInt24LE(24) + 1;
+            height = readInt24LE(27) + 1;
+        } else {
+            problems.add("Cabeçalho WebP inválido");
+        }
+        return new ImageInspection("image/webp", width, height, sha256, size, problems);
+    }
+
+    private void updateTail(byte[] buffer, int offset, int length) {
+        if (length >= TAIL_SIZE) {
+            System.arraycopy(buffer, offset + length - TAIL_SIZE, tail, 0, TAIL_SIZE);
+            tailLength = TAIL_SIZE;
+            return;
+        }
+        int keep = Math.min(tailLength, TAIL_SIZE - length);
+        System.arraycopy(tail, tailLength - keep, tail, 0, keep);
+        System.arraycopy(buffer, offset, tail, keep, length);
+        tailLength = keep + length;
+    }
+
+    private boolean tailEndsWith(byte[] trailer) {
+        if (tailLength < trailer.length) {
+            return false;
+        }
+        int start = tailLength - trailer.length;
+        for (int i = 0; i < trailer.length; i++) {
+            if (tail[start + i] != trailer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Tolera bytes extras após o marcador final, comuns em algumas câmeras
+    private boolean tailContains(byte first, byte second) {
+        for (int i = tailLength - 2; i >= 0; i--) {
+            if (tail[i] == first && tail[i + 1] == second) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean startsWith(byte[] signature, int available) {
+        if (available < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (head[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean asciiAt(int position, String value) {
+        byte[] expected = value.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < expected.length; i++) {
+            if (head[position + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int readIntBE(int position) {
+        return ((head[position] & 0xFF) << 24) | ((head[position + 1] & 0xFF) << 16)
+            | ((head[position + 2] & 0xFF) << 8) | (head[position + 3] & 0xFF);
+    }
+
+    private int readIntLE(int position) {
+        return (head[position] & 0xFF) | ((head[position + 1] & 0xFF) << 8)
+            | ((head[position + 2] & 0xFF) << 16) | ((head[position + 3] & 0xFF) << 24);
+    }
+
+    private int readInt24LE(int position) {
+        return (head[position] & 0xFF) | ((head[position + 1] & 0xFF) << 8) | ((head[position + 2] & 0xFF) << 16);
+    }
+
+    private int readShortLE(int position) {
+        return (head[position] & 0xFF) | ((head[position + 1] & 0xFF) << 8);
+    }
+
+    /**
+     * Resultado da inspeção de um arquivo de imagem, reaproveitado pelas etapas de
+     * armazenamento e persistência para evitar novas leituras do arquivo.
+     */
+    public static class ImageInspection {
+        private final String mimeType;
+        private final int width;
+        private final int height;
+        private final String sha256;
+        private final long size;
+        private final List<String> problems;
+
+        public ImageInspection(String mimeType, int width, int height, String sha256,
+                               long size, List<String> problems) {
+            this.mimeType = mimeType;
+            this.width = width;
+            this.height = height;
+            this.sha256 = sha256;
+            this.size = size;
+            this.problems = List.copyOf(problems);
+        }
+
+        // Getters
+        public String getMimeType() { return mimeType; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+        public String getSha256() { return sha256; }
+        public long getSize() { return size; }
+        public List<String> getProblems() { return problems; }
+
+        public boolean isRecognized() {
+            return mimeType != null;
+        }
+
+        public boolean isIntact() {
+            return problems.isEmpty();
+        }
+
+        public ImageDimensions getDimensions() {
+            return width > 0 && height > 0 ? new ImageDimensions(width, height) : null;
+        }
+
+        @Override
+        public String toString() {
+            return "ImageInspection{" +
+                    "mimeType='" + mimeType + '\'' +
+                    ", width=" + width +
+                    ", height=" + height +
+                    ", sha256='" + sha256 + '\'' +
+                    ", size=" + size +
+                    ", problems=" + problems +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.LocalFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Serviço responsável por gerar as variantes redimensionadas (thumbnails e versões
+ * responsivas) das imagens de receitas.
+ *
+ * As variantes são geradas a partir do arquivo original já armazenado e gravadas no
+ * mesmo diretório (ou prefixo, no armazenamento remoto) dele, com o sufixo da largura alvo (ex: _w160). A largura alvo se
+ * refere ao maior lado da imagem e nenhuma variante é ampliada além do original. A orientação
+ * EXIF do original é aplicada antes do redimensionamento, já que as variantes não levam metadados.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${app.image.variantes.larguras:160,480,1024}")
+    private String larguras;
+
+    @Value("${app.image.variantes.qualidade-jpeg:0.82}")
+    private float qualidadeJpeg;
+
+    /**
+     * Gera as variantes configuradas para uma imagem armazenada.
+     *
+     * Formatos sem suporte de leitura no ImageIO (ex: WebP) não geram variantes e
+     * continuam sendo servidos pelo arquivo original.
+     *
+     * @param relativePath Caminho relativo do arquivo original
+     * @param contentType Tipo MIME do arquivo original
+     * @return Informações das variantes geradas, da menor para a maior
+     * @throws IOException Se ocorrer erro na leitura ou gravação dos arquivos
+     */
+    public List<VariantInfo> generateVariants(String relativePath, String contentType) throws IOException {
+        String formato = getOutputFormat(contentType);
+        if (formato == null) {
+            logger.debug("Tipo {} não suporta geração de variantes: {}", contentType, relativePath);
+            return Collections.emptyList();
+        }
+
+        int[] largurasAlvo = getLargurasArray();
+        BufferedImage origem;
+        try (LocalFile original = fileStorageService.openLocalFile(relativePath)) {
+            origem = readImage(original.getPath(), largurasAlvo[largurasAlvo.length - 1]);
+            if (origem == null) {
+                logger.warn("Não foi possível decodificar a imagem para gerar variantes: {}", relativePath);
+                return Collections.emptyList();
+            }
+            if ("jpeg".equals(formato)) {
+                // As variantes são gravadas sem EXIF: a orientação precisa estar nos pixels
+                origem = ImageOrientation.applyOrientation(origem, ImageOrientation.readExifOrientation(original.getPath()));
+            }
+        }
+
+        String extensao = "jpeg".equals(formato) ? "jpg" : "png";
+        List<VariantInfo> variantes = new ArrayList<>();
+
+        // Gera da maior para a menor, reaproveitando a variante anterior como origem
+        BufferedImage atual = origem;
+        for (int i = largurasAlvo.length - 1; i >= 0; i--) {
+            int larguraAlvo = largurasAlvo[i];
+            int maiorLado = Math.max(atual.getWidth(), atual.getHeight());
+            if (maiorLado <= larguraAlvo) {
+                // Não ampliar imagens menores que a largura alvo
+                continue;
+            }
+
+            double escala = (double) larguraAlvo / maiorLado;
+            int largura = Math.max(1, (int) Math.round(atual.getWidth() * escala));
+            int altura = Math.max(1, (int) Math.round(atual.getHeight() * escala));
+            atual = resize(atual, largura, altura, "jpeg".equals(formato));
+
+            String caminhoVariante = fileStorageService.buildVariantRelativePath(relativePath, larguraAlvo, extensao);
+            long tamanho = writeImage(atual, formato, caminhoVariante);
+
+            variantes.add(new VariantInfo(larguraAlvo, caminhoVariante, "image/" + formato, tamanho,
+                atual.getWidth(), atual.getHeight()));
+        }
+
+        Collections.reverse(variantes);
+        logger.debug("{} variantes geradas para {}", variantes.size(), relativePath);
+        return variantes;
+    }
+
+    /**
+     * Indica se o tipo MIME informado suporta geração de variantes.
+     *
+     * @param contentType Tipo MIME
+     * @return true se for possível gerar variantes
+     */
+    public boolean supportsVariants(String contentType) {
+        return getOutputFormat(contentType) != null;
+    }
+
+    // Métodos privados de apoio
+
+    private String getOutputFormat(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        return switch (contentType.toLowerCase()) {
+            case "image/jpeg", "image/jpg" -> "jpeg";
+            // GIF é convertido para PNG (apenas o primeiro quadro)
+            case "image/png", "image/gif" -> "png";
+            default -> null;
+        };
+    }
+
+    /**
+     * Lê a imagem aplicando subamostragem na decodificação quando o original é muito
+     * maior que a maior variante, evitando alocar o bitmap completo em memória.
+     */
+    private BufferedImage readImage(Path path, int maiorLarguraAlvo) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int maiorLado = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subamostragem = Math.max(1, maiorLado / (maiorLarguraAlvo * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (subamostragem > 1) {
+                    param.setSourceSubsampling(subamostragem, subamostragem, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Redimensiona por reduções sucessivas pela metade e um passo final bilinear,
+     * o que mantém a qualidade sem o custo de um filtro bicúbico em tamanho cheio.
+     */
+    private BufferedImage resize(BufferedImage source, int largura, int altura, boolean semTransparencia) {
+        int tipo = semTransparencia ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage atual = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+
+        do {
+            w = Math.max(largura, w / 2);
+            h = Math.max(altura, h / 2);
+            if (w < largura * 2 && h < altura * 2) {
+                w = largura;
+                h = altura;
+            }
+
+            BufferedImage destino = new BufferedImage(w, h, tipo);
+            Graphics2D g = destino.createGraphics();
+            try {
+                if (semTransparencia) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, w, h);
+                }
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(atual, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            atual = destino;
+        } while (w != largura || h != altura);
+
+        return atual;
+    }
+
+    private long writeImage(BufferedImage image, String formato, String caminhoVariante) throws IOException {
+        Path temporario = fileStorageService.createStagingFile(caminhoVariante);
+        try {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formato);
+            if (!writers.hasNext()) {
+                throw new IOException("Nenhum codificador disponível para " + formato);
+            }
+            ImageWriter writer = writers.next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temporario.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if ("jpeg".equals(formato)) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(qualidadeJpeg);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return fileStorageService.storeFile(caminhoVariante, temporario, "image/" + formato);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    // Getters para configurações
+    public int[] getLargurasArray() {
+        return Arrays.stream(larguras.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .mapToInt(Integer::parseInt)
+            .filter(l -> l > 0)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
+    /**
+     * Classe para representar informações de uma variante gerada.
+     */
+    public static class VariantInfo {
+        private final int targetWidth;
+        private final String relativePath;
+        private final String contentType;
+        private final long size;
+        private final int width;
+        private final int height;
+
+        public VariantInfo(int targetWidth, String relativePath, String contentType,
+                           long size, int width, int height) {
+            this.targetWidth = targetWidth;
+            this.relativePath = relativePath;
+            this.contentType = contentType;
+            this.size = size;
+            this.width = width;
+            this.height = height;
+        }
+
+        // Getters
+        public int getTargetWidth() { return targetWidth; }
+        public String getRelativePath() { return relativePath; }
+        public String getContentType() { return contentType; }
+        public long getSize() { return size; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+
+        @Override
+        public String toString() {
+            return "VariantInfo{" +
+                    "targetWidth=" + targetWidth +
+                    ", relativePath='" + relativePath + '\'' +
+                    ", contentType='" + contentType + '\'' +
+                    ", size=" + size +
+                    ", width=" + width +
+                    ", height=" + height +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.enums.StatusProcessamentoImagem;
+import br.com.marcosferreira.receitasecreta.api.enums.TipoJobImagem;
+import br.com.marcosferreira.receitasecreta.api.models.ArquivoImagemModel;
+import br.com.marcosferreira.receitasecreta.api.models.ImagemProcessamentoJobModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemVarianteModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.ArquivoImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ImagemProcessamentoJobRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemVarianteRepository;
+import br.com.marcosferreira.receitasecreta.api.services.ImageOptimizerService.OptimizedImage;
+import br.com.marcosferreira.receitasecreta.api.services.ImageVariantService.VariantInfo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço da fila de pós-processamento de imagens.
+ *
+ * O upload apenas grava o arquivo, registra a imagem como PENDING e enfileira um job na
+ * tabela {@code imagem_processamento_jobs}, na mesma transação. O primeiro job recomprime
+ * o arquivo enviado (OTIMIZAR) e, ao concluir, enfileira a geração das variantes a partir
+ * do arquivo otimizado. Após o commit, os jobs são
+ * reservados com {@code FOR UPDATE SKIP LOCKED} e executados em virtual threads, limitadas
+ * por um semáforo para que o trabalho de CPU (decodificação e redimensionamento) não
+ * concorra sem limite com as requisições. Falhas são tentadas novamente com intervalo
+ * crescente; ao esgotar as tentativas a imagem fica FAILED e continua servindo o original.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class ImagemProcessamentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImagemProcessamentoService.class);
+
+    private static final int MAX_ERRO_LENGTH = 2000;
+
+    @Autowired
+    private ImagemProcessamentoJobRepository jobRepository;
+
+    @Autowired
+    private ReceitaImagemRepository receitaImagemRepository;
+
+    @Autowired
+    private ReceitaImagemVarianteRepository receitaImagemVarianteRepository;
+
+    @Autowired
+    private ArquivoImagemRepository arquivoImagemRepository;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ImageOptimizerService imageOptimizerService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ResolucaoImagemCache resolucaoImagemCache;
+
+    @Autowired
+    private EstatisticasArmazenamentoService estatisticasArmazenamentoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.image.processamento.workers:2}")
+    private int workers;
+
+    @Value("${app.image.processamento.max-tentativas:3}")
+    private int maxTentativas;
+
+    @Value("${app.image.processamento.intervalo-tentativas-ms:5000}")
+    private long intervaloTentativasMs;
+
+    @Value("${app.image.processamento.timeout-ms:300000}")
+    private long timeoutMs;
+
+    @Value("${app.image.processamento.retencao-horas:24}")
+    private long retencaoHoras;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private Semaphore vagas;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("imagem-worker-", 0).factory());
+        vagas = new Semaphore(Math.max(1, workers));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Jobs interrompidos ficam RUNNING e voltam para a fila pela recuperação por tempo limite
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Enfileira um job para a imagem. Deve ser chamado dentro da transação que grava a imagem:
+     * o job só fica visível para os workers após o commit.
+     *
+     * @param imagem Imagem já persistida
+     * @param tipo Tipo de processamento
+     */
+    public void enfileirar(ReceitaImagemModel imagem, TipoJobImagem tipo) {
+        ImagemProcessamentoJobModel job = jobRepository.save(new ImagemProcessamentoJobModel(imagem, tipo));
+        logger.debug("Job {} ({}) enfileirado para a imagem {}", job.getJobId(), tipo, imagem.getImagemId());
+        eventPublisher.publishEvent(new JobEnfileiradoEvent(job.getJobId()));
+    }
+
+    /**
+     * Enfileira jobs para várias imagens com uma única inserção em lote.
+     *
+     * @param imagens Imagens já persistidas
+     * @param tipo Tipo de processamento
+     */
+    public void enfileirarTodos(List<ReceitaImagemModel> imagens, TipoJobImagem tipo) {
+        if (imagens.isEmpty()) {
+            return;
+        }
+        List<ImagemProcessamentoJobModel> jobs = jobRepository.saveAll(imagens.stream()
+            .map(imagem -> new ImagemProcessamentoJobModel(imagem, tipo))
+            .collect(Collectors.toList()));
+        logger.debug("{} jobs ({}) enfileirados", jobs.size(), tipo);
+        eventPublisher.publishEvent(new JobEnfileiradoEvent(jobs.get(0).getJobId()));
+    }
+
+    /**
+     * Acorda os workers assim que a transação do upload é confirmada,
+     * sem esperar o próximo ciclo de verificação da fila.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoEnfileirarJob(JobEnfileiradoEvent event) {
+        // Fora da thread da requisição, que ainda está associada à transação confirmada
+        try {
+            executor.execute(this::despachar);
+        } catch (RejectedExecutionException ex) {
+            logger.debug("Executor encerrado; job {} fica para a próxima verificação", event.getJobId());
+        }
+    }
+
+    /**
+     * Reserva tantos jobs quantas forem as vagas livres e os entrega aos workers.
+     * Também executado periodicamente, cobrindo reagendamentos e outras instâncias.
+     */
+    @Scheduled(fixedDelayString = "${app.image.processamento.intervalo-ms:5000}")
+    public void despachar() {
+        int livres = vagas.drainPermits();
+        if (livres == 0) {
+            return;
+        }
+
+        List<ImagemProcessamentoJobModel> jobs;
+        try {
+            jobs = transactionTemplate.execute(status -> reservar(livres));
+        } catch (RuntimeException ex) {
+            vagas.release(livres);
+            logger.warn("Não foi possível reservar jobs de processamento de imagens: {}", ex.getMessage());
+            return;
+        }
+
+        int reservados = jobs != null ? jobs.size() : 0;
+        vagas.release(livres - reservados);
+        for (int i = 0; i < reservados; i++) {
+            ImagemProcessamentoJobModel job = jobs.get(i);
+            try {
+                executor.execute(() -> {
+                    try {
+                        executar(job);
+                    } finally {
+                        vagas.release();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // Aplicação encerrando: o job volta para a fila pela recuperação por tempo limite
+                vagas.release(reservados - i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Executa um job já reservado, registrando o resultado na fila e na imagem.
+     *
+     * @param job Job com a imagem carregada
+     */
+    public void executar(ImagemProcessamentoJobModel job) {
+        ReceitaImagemModel imagem = job.getImagem();
+        if (job.getTentativas() > maxTentativas) {
+            falhar(job, "Tentativas esgotadas");
+            return;
+        }
+
+        try {
+            switch (job.getTipo()) {
+                case OTIMIZAR -> otimizar(job, imagem);
+                case GERAR_VARIANTES -> gerarVariantes(job, imagem);
+            }
+            logger.info("Job {} ({}) concluído para a imagem {}", job.getJobId(), job.getTipo(), imagem.getImagemId());
+        } catch (IOException | RuntimeException ex) {
+            String erro = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            if (job.getTentativas() < maxTentativas) {
+                long atraso = intervaloTentativasMs << Math.min(job.getTentativas() - 1, 10);
+                logger.warn("Job {} falhou (tentativa {} de {}), nova tentativa em {} ms: {}",
+                    job.getJobId(), job.getTentativas(), maxTentativas, atraso, erro);
+                jobRepository.reagendar(job.getJobId(), LocalDateTime.now().plusNanos(atraso * 1_000_000), truncar(erro));
+            } else {
+                falhar(job, erro);
+            }
+        }
+    }
+
+    /**
+     * Devolve à fila os jobs travados e remove os concluídos antigos.
+     */
+    @Scheduled(fixedDelayString = "${app.image.processamento.recuperacao-ms:60000}")
+    public void recuperarJobs() {
+        LocalDateTime agora = LocalDateTime.now();
+        int recuperados = jobRepository.recuperarTravados(agora.minusNanos(timeoutMs * 1_000_000));
+        if (recuperados > 0) {
+            logger.warn("{} jobs de processamento de imagens travados voltaram para a fila", recuperados);
+        }
+        jobRepository.excluirConcluidos(agora.minusHours(retencaoHoras));
+    }
+
+    // Métodos privados de apoio
+
+    private List<ImagemProcessamentoJobModel> reservar(int limite) {
+        List<UUID> jobIds = jobRepository.bloquearProximosPendentes(limite);
+        if (jobIds.isEmpty()) {
+            return List.of();
+        }
+        jobRepository.marcarEmExecucao(jobIds, LocalDateTime.now());
+        return jobRepository.findAllComImagem(jobIds);
+    }
+
+    /**
+     * Recomprime o arquivo fora de transação e, em uma transação curta, aponta para o novo
+     * arquivo todas as imagens com o mesmo conteúdo e enfileira a geração das variantes.
+     *
+     * O arquivo enviado não é excluído aqui: as URLs entregues no upload apontam para ele e
+     * continuam sendo atendidas (depois da coleta de órfãos, pela versão otimizada, ver
+     * {@link ReceitaImagemService#resolverCaminhoArquivo}). Sem referências no banco, ele é
+     * removido pela coleta de órfãos após a idade mínima.
+     */
+    private void otimizar(ImagemProcessamentoJobModel job, ReceitaImagemModel imagem) throws IOException {
+        String hash = imagem.getHashConteudo();
+        // O conteúdo pode já ter sido otimizado pelo job de outra imagem que o compartilha
+        String caminho = Optional.ofNullable(hash)
+            .flatMap(arquivoImagemRepository::findById)
+            .map(ArquivoImagemModel::getCaminhoArquivo)
+            .orElse(imagem.getCaminhoArquivo());
+        OptimizedImage otimizada = imageOptimizerService.supports(imagem.getTipoMime())
+                && !fileStorageService.isOptimizedPath(caminho)
+            ? imageOptimizerService.optimize(caminho, imagem.getTipoMime())
+            : null;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (otimizada != null) {
+                aplicarOtimizacao(imagem, caminho, otimizada);
+            }
+            enfileirar(imagem, TipoJobImagem.GERAR_VARIANTES);
+            jobRepository.concluir(job.getJobId());
+        });
+    }
+
+    private void aplicarOtimizacao(ReceitaImagemModel imagem, String caminhoOriginal, OptimizedImage otimizada) {
+        String hash = imagem.getHashConteudo();
+        String caminho = otimizada.getRelativePath();
+        // A troca só vale se a linha bloqueada ainda apontar para o arquivo recomprimido
+        if (hash != null && arquivoImagemRepository.atualizarArquivo(hash, caminhoOriginal, caminho, otimizada.getSize()) == 0) {
+            logger.debug("Conteúdo {} alterado durante a otimização; troca de arquivo ignorada", hash);
+            return;
+        }
+        estatisticasArmazenamentoService.registrarArquivos(Map.of(caminho, otimizada.getSize()));
+
+        List<ReceitaImagemModel> candidatas = hash != null
+            ? receitaImagemRepository.findByHashConteudo(hash)
+            : receitaImagemRepository.findById(imagem.getImagemId()).map(List::of).orElse(List.of());
+        List<ReceitaImagemModel> afetadas = candidatas.stream()
+            .filter(candidata -> caminhoOriginal.equals(candidata.getCaminhoArquivo()))
+            .collect(Collectors.toList());
+        for (ReceitaImagemModel afetada : afetadas) {
+            estatisticasArmazenamentoService.removerImagem(afetada);
+            afetada.setCaminhoArquivo(caminho);
+            afetada.setNomeArquivo(caminho.substring(caminho.lastIndexOf('/') + 1));
+            afetada.setTamanhoOriginalBytes(otimizada.getOriginalSize());
+            afetada.setTamanhoBytes(otimizada.getSize());
+            afetada.setLargura(otimizada.getWidth());
+            afetada.setAltura(otimizada.getHeight());
+        }
+        receitaImagemRepository.saveAll(afetadas);
+        estatisticasArmazenamentoService.registrarImagens(afetadas);
+    }
+
+    /**
+     * Gera as variantes fora de transação e registra o resultado em uma transação curta.
+     */
+    private void gerarVariantes(ImagemProcessamentoJobModel job, ReceitaImagemModel imagem) throws IOException {
+        List<VariantInfo> variantes = imageVariantService.generateVariants(
+            imagem.getCaminhoArquivo(), imagem.getTipoMime());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Arquivos sobrescritos de uma tentativa anterior são descontados antes de contabilizar os novos
+            Map<String, Long> gerados = new HashMap<>();
+            for (VariantInfo info : variantes) {
+                gerados.put(info.getRelativePath(), info.getSize());
+            }
+            Map<String, Long> anteriores = new HashMap<>();
+            for (ReceitaImagemVarianteModel variante : receitaImagemVarianteRepository
+                    .findByImagemIdOrderByLarguraAlvo(imagem.getImagemId())) {
+                if (gerados.containsKey(variante.getCaminhoArquivo())) {
+                    anteriores.put(variante.getCaminhoArquivo(), variante.getTamanhoBytes());
+                }
+            }
+            estatisticasArmazenamentoService.removerArquivos(anteriores);
+            estatisticasArmazenamentoService.registrarArquivos(gerados);
+
+            // Remove variantes de uma tentativa anterior interrompida
+            receitaImagemVarianteRepository.deleteByImagemId(imagem.getImagemId());
+            receitaImagemVarianteRepository.saveAll(variantes.stream()
+                .map(info -> new ReceitaImagemVarianteModel(
+                    imagem,
+                    info.getTargetWidth(),
+                    info.getRelativePath(),
+                    info.getContentType(),
+                    info.getSize(),
+                    info.getWidth(),
+                    info.getHeight()))
+                .collect(Collectors.toList()));
+            receitaImagemRepository.updateStatusProcessamento(imagem.getImagemId(), StatusProcessamentoImagem.READY);
+            jobRepository.concluir(job.getJobId());
+        });
+        // Resoluções que caíram no original enquanto as variantes não existiam
+        resolucaoImagemCache.invalidar(List.of(imagem.getCaminhoArquivo()));
+    }
+
+    private void falhar(ImagemProcessamentoJobModel job, String erro) {
+        logger.error("Job {} ({}) falhou em definitivo para a imagem {}: {}",
+            job.getJobId(), job.getTipo(), job.getImagem().getImagemId(), erro);
+        if (job.getTipo() == TipoJobImagem.OTIMIZAR) {
+            // O arquivo enviado continua válido: as variantes são geradas a partir dele
+            transactionTemplate.executeWithoutResult(status -> {
+                jobRepository.marcarFalha(job.getJobId(), truncar(erro));
+                enfileirar(job.getImagem(), TipoJobImagem.GERAR_VARIANTES);
+            });
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jobRepository.marcarFalha(job.getJobId(), truncar(erro));
+            receitaImagemRepository.updateStatusProcessamento(
+                job.getImagem().getImagemId(), StatusProcessamentoImagem.FAILED);
+        });
+    }
+
+    private String truncar(String erro) {
+        return erro.length() > MAX_ERRO_LENGTH ? erro.substring(0, MAX_ERRO_LENGTH) : erro;
+    }
+
+    /**
+     * Evento publicado ao enfileirar um job; tratado somente após o commit da transação.
+     */
+    public static class JobEnfileiradoEvent {
+        private final UUID jobId;
+
+        public JobEnfileiradoEvent(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        public UUID getJobId() {
+            return jobId;
+        }
+    }
+}
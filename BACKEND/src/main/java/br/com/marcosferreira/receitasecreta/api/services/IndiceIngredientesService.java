@@ -0,0 +1,321 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.configs.TransacaoUtils;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteId;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Índice invertido em memória de produto para receitas, usado na busca de receitas
+ * pelos ingredientes disponíveis ("o que posso cozinhar com estes produtos").
+ *
+ * Cada receita recebe uma posição inteira e cada produto guarda um {@link BitSet} com as
+ * posições das receitas que o usam. A busca percorre apenas os bitsets dos produtos
+ * informados, contando quantos ingredientes de cada receita estão presentes; a diferença
+ * para o total de ingredientes da receita dá quantos faltam.
+ *
+ * O índice é montado a partir do banco na inicialização, atualizado a cada inclusão ou
+ * exclusão de ingrediente (após o commit) e reconstruído periodicamente, para absorver
+ * alterações feitas por outras instâncias ou fora da aplicação.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class IndiceIngredientesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceIngredientesService.class);
+
+    @Autowired
+    private ReceitaIngredienteRepository receitaIngredienteRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Indice indice = new Indice();
+
+    // Alterações recebidas durante uma reconstrução, reaplicadas no novo índice antes da troca
+    private List<Consumer<Indice>> alteracoesPendentes;
+
+    /**
+     * Monta o índice depois da carga inicial de dados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    /**
+     * Reconstrói o índice a partir de tb_receita_ingrediente e troca o índice atual.
+     * As buscas continuam respondendo pelo índice antigo durante a leitura do banco.
+     */
+    @Scheduled(initialDelayString = "${app.receita.indice-ingredientes.reconstrucao-ms:1800000}",
+               fixedDelayString = "${app.receita.indice-ingredientes.reconstrucao-ms:1800000}")
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            alteracoesPendentes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Indice novo = new Indice();
+        try {
+            for (ReceitaIngredienteId id : receitaIngredienteRepository.findAllIds()) {
+                novo.adicionar(id.getReceitaId(), id.getIngredienteId());
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                alteracoesPendentes = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.error("Erro ao reconstruir o índice de ingredientes; mantido o índice atual", ex);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Inclusões e exclusões são idempotentes: reaplicar as que o banco já refletia não altera o resultado
+            alteracoesPendentes.forEach(alteracao -> alteracao.accept(novo));
+            alteracoesPendentes = null;
+            indice = novo;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice de ingredientes reconstruído: {} receitas, {} produtos", novo.totalReceitas(), novo.porProduto.size());
+    }
+
+    /**
+     * Registra um ingrediente incluído em uma receita.
+     *
+     * @param receitaId ID da receita
+     * @param produtoId ID do produto
+     */
+    public void adicionar(UUID receitaId, UUID produtoId) {
+        aposCommit(alvo -> alvo.adicionar(receitaId, produtoId));
+    }
+
+    /**
+     * Registra um ingrediente removido de uma receita.
+     *
+     * @param receitaId ID da receita
+     * @param produtoId ID do produto
+     */
+    public void remover(UUID receitaId, UUID produtoId) {
+        aposCommit(alvo -> alvo.remover(receitaId, produtoId));
+    }
+
+    /**
+     * Remove do índice todos os ingredientes de uma receita excluída.
+     *
+     * @param receitaId ID da receita
+     */
+    public void removerReceita(UUID receitaId) {
+        aposCommit(alvo -> alvo.removerReceita(receitaId));
+    }
+
+    /**
+     * Remove do índice um produto excluído, cujos ingredientes saem das receitas em cascata.
+     *
+     * @param produtoId ID do produto
+     */
+    public void removerProduto(UUID produtoId) {
+        aposCommit(alvo -> alvo.removerProduto(produtoId));
+    }
+
+    /**
+     * Busca as receitas que usam ao menos um dos produtos informados e às quais faltam no
+     * máximo {@code maxFaltantes} ingredientes, das mais completas para as menos completas.
+     *
+     * @param produtos     Produtos disponíveis
+     * @param maxFaltantes Quantidade máxima de ingredientes ausentes
+     * @param limite       Quantidade máxima de receitas retornadas
+     * @return Receitas compatíveis, ordenadas por ingredientes faltantes e depois encontrados
+     */
+    public List<Compatibilidade> buscar(Set<UUID> produtos, int maxFaltantes, int limite) {
+        lock.readLock().lock();
+        try {
+            return indice.buscar(produtos, maxFaltantes, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lista as receitas que usam um produto.
+     *
+     * @param produtoId ID do produto
+     * @return IDs das receitas
+     */
+    public List<UUID> receitasComProduto(UUID produtoId) {
+        lock.readLock().lock();
+        try {
+            return indice.receitasComProduto(produtoId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Métodos privados de apoio
+
+    private void aposCommit(Consumer<Indice> alteracao) {
+        TransacaoUtils.executarAposCommit(() -> aplicar(alteracao));
+    }
+
+    private void aplicar(Consumer<Indice> alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.accept(indice);
+            if (alteracoesPendentes != null) {
+                alteracoesPendentes.add(alteracao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Estrutura do índice; não é thread-safe, o acesso é protegido pelo lock do serviço.
+     */
+    private static class Indice {
+        private final Map<UUID, Integer> posicoes = new HashMap<>();
+        private final List<UUID> receitas = new ArrayList<>();
+        private final Map<UUID, BitSet> porProduto = new HashMap<>();
+        // Quantidade de ingredientes de cada receita, pela posição
+        private int[] totais = new int[1024];
+
+        void adicionar(UUID receitaId, UUID produtoId) {
+            int posicao = posicoes.computeIfAbsent(receitaId, id -> {
+                receitas.add(id);
+                return receitas.size() - 1;
+            });
+            if (posicao >= totais.length) {
+                totais = Arrays.copyOf(totais, Math.max(posicao + 1, totais.length * 2));
+            }
+            BitSet bits = porProduto.computeIfAbsent(produtoId, id -> new BitSet());
+            if (!bits.get(posicao)) {
+                bits.set(posicao);
+                totais[posicao]++;
+            }
+        }
+
+        void remover(UUID receitaId, UUID produtoId) {
+            Integer posicao = posicoes.get(receitaId);
+            BitSet bits = porProduto.get(produtoId);
+            if (posicao == null || bits == null || !bits.get(posicao)) {
+                return;
+            }
+            bits.clear(posicao);
+            totais[posicao]--;
+            if (bits.isEmpty()) {
+                porProduto.remove(produtoId);
+            }
+        }
+
+        void removerReceita(UUID receitaId) {
+            Integer posicao = posicoes.get(receitaId);
+            if (posicao == null) {
+                return;
+            }
+            // A posição fica vaga até a próxima reconstrução, que compacta o índice
+            porProduto.values().forEach(bits -> bits.clear(posicao));
+            porProduto.values().removeIf(BitSet::isEmpty);
+            totais[posicao] = 0;
+        }
+
+        void removerProduto(UUID produtoId) {
+            BitSet bits = porProduto.remove(produtoId);
+            if (bits == null) {
+                return;
+            }
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                totais[i]--;
+            }
+        }
+
+        List<UUID> receitasComProduto(UUID produtoId) {
+            BitSet bits = porProduto.get(produtoId);
+            if (bits == null) {
+                return List.of();
+            }
+            List<UUID> resultado = new ArrayList<>(bits.cardinality());
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                resultado.add(receitas.get(i));
+            }
+            return resultado;
+        }
+
+        int totalReceitas() {
+            return receitas.size();
+        }
+
+        List<Compatibilidade> buscar(Set<UUID> produtos, int maxFaltantes, int limite) {
+            int[] encontrados = new int[receitas.size()];
+            BitSet candidatas = new BitSet(receitas.size());
+            for (UUID produtoId : produtos) {
+                BitSet bits = porProduto.get(produtoId);
+                if (bits == null) {
+                    continue;
+                }
+                candidatas.or(bits);
+                for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                    encontrados[i]++;
+                }
+            }
+
+            List<Compatibilidade> resultado = new ArrayList<>();
+            for (int i = candidatas.nextSetBit(0); i >= 0; i = candidatas.nextSetBit(i + 1)) {
+                int faltantes = totais[i] - encontrados[i];
+                if (faltantes <= maxFaltantes) {
+                    resultado.add(new Compatibilidade(receitas.get(i), totais[i], encontrados[i], faltantes));
+                }
+            }
+            resultado.sort(Comparator.comparingInt(Compatibilidade::getIngredientesFaltantes)
+                .thenComparing(Comparator.comparingInt(Compatibilidade::getIngredientesEncontrados).reversed()));
+            return resultado.size() > limite ? new ArrayList<>(resultado.subList(0, limite)) : resultado;
+        }
+    }
+
+    /**
+     * Cobertura dos ingredientes de uma receita pelos produtos informados na busca.
+     */
+    public static class Compatibilidade {
+        private final UUID receitaId;
+        private final int totalIngredientes;
+        private final int ingredientesEncontrados;
+        private final int ingredientesFaltantes;
+
+        public Compatibilidade(UUID receitaId, int totalIngredientes, int ingredientesEncontrados, int ingredientesFaltantes) {
+            this.receitaId = receitaId;
+            this.totalIngredientes = totalIngredientes;
+            this.ingredientesEncontrados = ingredientesEncontrados;
+            this.ingredientesFaltantes = ingredientesFaltantes;
+        }
+
+        // Getters
+        public UUID getReceitaId() { return receitaId; }
+        public int getTotalIngredientes() { return totalIngredientes; }
+        public int getIngredientesEncontrados() { return ingredientesEncontrados; }
+        public int getIngredientesFaltantes() { return ingredientesFaltantes; }
+    }
+}
@@ -1,18 +1,23 @@
 package br.com.marcosferreira.receitasecreta.api.services;
 
+import br.com.marcosferreira.receitasecreta.api.exceptions.TooManyRequestsException;
 import br.com.marcosferreira.receitasecreta.api.models.PasswordResetToken;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.PasswordResetTokenRepository;
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
+import br.com.marcosferreira.receitasecreta.api.security.PasswordHashingService;
+import br.com.marcosferreira.receitasecreta.api.security.RateLimiter;
+import br.com.marcosferreira.receitasecreta.api.security.TokenRevocationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -30,11 +35,21 @@ public class PasswordResetService {
     @Autowired
     private EmailService emailService;
     
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
     
     @Autowired
     private AuditService auditService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+    
     private static final int MAX_ATTEMPTS_PER_HOUR = 3;
     
     @Transactional
@@ -47,13 +62,13 @@ public class PasswordResetService {
             return;
         }
         
-        // Verificar rate limiting
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-        long recentAttempts = tokenRepository.countByUserLoginAndCreatedAtAfter(user.getLogin(), oneHourAgo);
+        // Verificar rate limiting (contadores em memória ou no Redis, sem consulta à tabela de tokens)
+        long retryAfter = rateLimiter.tryAcquire("forgot-password:user:" + user.getLogin(),
+                MAX_ATTEMPTS_PER_HOUR, Duration.ofHours(1));
         
-        if (recentAttempts >= MAX_ATTEMPTS_PER_HOUR) {
+        if (retryAfter > 0) {
             log.warn("Muitas tentativas de recuperação de senha para: {}", email);
-            throw new RuntimeException("Muitas tentativas de recuperação. Tente novamente em 1 hora.");
+            throw new TooManyRequestsException("Muitas tentativas de recuperação. Tente novamente em 1 hora.", retryAfter);
         }
         
         // Invalidar tokens anteriores não utilizados
@@ -109,7 +124,7 @@ public class PasswordResetService {
         User user = (User) userDetails;
         
         // Atualizar senha
-        String encryptedPassword = passwordEncoder.encode(newPassword);
+        String encryptedPassword = passwordHashingService.execute(() -> passwordEncoder.encode(newPassword));
         user.setPassword(encryptedPassword);
         
         // Atualizar campos de auditoria de senha
@@ -117,12 +132,15 @@ public class PasswordResetService {
         
         userRepository.save(user);
         
+        // Tokens emitidos antes da troca deixam de valer
+        tokenRevocationService.revokeAllForUser(user.getLogin());
+        
         // Marcar token como usado
         resetToken.setUsed(true);
         tokenRepository.save(resetToken);
         
         // Registrar auditoria
-        auditService.auditPasswordChange(user.getId(), "RESET", "PASSWORD_RESET");
+        auditService.auditPasswordChange(user.getId(), "RESET", user.getId());
         
         log.info("Senha redefinida com sucesso para usuário: {}", resetToken.getUserLogin());
     }
@@ -2,10 +2,15 @@ package br.com.marcosferreira.receitasecreta.api.services;
 
 
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ProdutoRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ProdutoSugestaoResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.OrdemCursor;
 import br.com.marcosferreira.receitasecreta.api.models.ProdutoModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ProdutoService {
@@ -13,12 +18,18 @@ public interface ProdutoService {
     ProdutoModel save(ProdutoRecordDto produtoRecordDto);
     ProdutoModel findByProdutoId(UUID produtoId);
 
+    List<ProdutoModel> findAllByProdutoIds(Collection<UUID> produtoIds);
+
     ProdutoModel findByNome(String nome);
 
 
     ProdutoModel update(ProdutoRecordDto produtoRecordDto, UUID produtoId);
 
     Page<ProdutoModel> findAll(Pageable pageable);
+
+    CursorPageResponse<ProdutoModel> findAllPorCursor(String cursor, Integer size, OrdemCursor ordem);
+
+    List<ProdutoSugestaoResponse> autocomplete(String termo, Integer limite);
     
     void delete(UUID produtoId);
 }
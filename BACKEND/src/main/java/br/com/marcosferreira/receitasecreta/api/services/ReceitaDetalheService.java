@@ -0,0 +1,174 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import br.com.marcosferreira.receitasecreta.api.dtos.ImagemEstatisticasDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.ReceitaImagemResponseDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaDetalheResponse;
+import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço que monta a página de detalhes de uma receita em uma única chamada.
+ *
+ * A receita, os ingredientes (com o produto) e as imagens (com os usuários de auditoria)
+ * são lidos por três consultas independentes, executadas em paralelo, cada uma na sua
+ * própria transação. A imagem principal e as estatísticas das imagens são derivadas da
+ * lista de imagens, sem consultas adicionais.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+public class ReceitaDetalheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReceitaDetalheService.class);
+
+    // Bytes do SHA-256 do JSON usados no ETag
+    private static final int ETAG_BYTES = 16;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private ReceitaIngredienteRepository receitaIngredienteRepository;
+
+    @Autowired
+    private ReceitaImagemService receitaImagemService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.receita.detalhes.paralelismo:6}")
+    private int paralelismo;
+
+    // Threads das consultas da página de detalhes; limitam as conexões do pool usadas ao mesmo tempo
+    private ExecutorService detalhesExecutor;
+
+    @PostConstruct
+    public void init() {
+        int threads = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        detalhesExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().name("receita-detalhes-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        detalhesExecutor.shutdown();
+    }
+
+    /**
+     * Busca todos os dados da página de detalhes de uma receita.
+     *
+     * @param receitaId ID da receita
+     * @return Receita, ingredientes, imagens e estatísticas
+     * @throws NotFoundException Se a receita não existir
+     */
+    public ReceitaDetalheResponse buscarDetalhes(UUID receitaId) {
+        logger.debug("Buscando detalhes da receita ID: {}", receitaId);
+
+        CompletableFuture<ReceitaModel> receita = CompletableFuture.supplyAsync(
+            () -> receitaRepository.findByReceitaId(receitaId), detalhesExecutor);
+        CompletableFuture<List<ReceitaIngredienteModel>> ingredientes = CompletableFuture.supplyAsync(
+            () -> receitaIngredienteRepository.findByReceitaId(receitaId), detalhesExecutor);
+        CompletableFuture<List<ReceitaImagemResponseDto>> imagens = CompletableFuture.supplyAsync(
+            () -> receitaImagemService.listarTodasImagensPorReceita(receitaId), detalhesExecutor);
+
+        try {
+            CompletableFuture.allOf(receita, ingredientes, imagens).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+
+        if (receita.join() == null) {
+            throw new NotFoundException("Receita não encontrada");
+        }
+
+        List<ReceitaImagemResponseDto> listaImagens = imagens.join();
+        ReceitaImagemResponseDto imagemPrincipal = listaImagens.stream()
+            .filter(imagem -> Boolean.TRUE.equals(imagem.getEhPrincipal()))
+            .findFirst()
+            .orElse(null);
+        long tamanhoTotal = listaImagens.stream()
+            .map(ReceitaImagemResponseDto::getTamanhoBytes)
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .sum();
+        ImagemEstatisticasDto estatisticas = new ImagemEstatisticasDto(
+            listaImagens.size(), tamanhoTotal, receitaImagemService.getMaxImagensPerReceita());
+
+        return new ReceitaDetalheResponse(receita.join(), ingredientes.join(), listaImagens, imagemPrincipal, estatisticas);
+    }
+
+    /**
+     * Busca os detalhes já serializados em JSON, com o ETag calculado sobre o conteúdo.
+     *
+     * O mesmo conteúdo gera sempre o mesmo ETag, o que permite ao cliente revalidar a
+     * página com If-None-Match e receber 304 sem o corpo.
+     *
+     * @param receitaId ID da receita
+     * @return JSON dos detalhes e o ETag correspondente
+     * @throws NotFoundException Se a receita não existir
+     */
+    public DetalheSerializado buscarDetalhesSerializados(UUID receitaId) {
+        ReceitaDetalheResponse detalhes = buscarDetalhes(receitaId);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(detalhes);
+            return new DetalheSerializado(json, buildEtag(json));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Erro ao serializar os detalhes da receita " + receitaId, ex);
+        }
+    }
+
+    // Métodos privados de apoio
+
+    private String buildEtag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    /**
+     * Detalhes serializados em JSON com o ETag do conteúdo.
+     */
+    public static class DetalheSerializado {
+        private final byte[] json;
+        private final String etag;
+
+        public DetalheSerializado(byte[] json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+
+        // Getters
+        public byte[] getJson() { return json; }
+        public String getEtag() { return etag; }
+    }
+}
@@ -1,13 +1,23 @@
 package br.com.marcosferreira.receitasecreta.api.services;
 
+import br.com.marcosferreira.receitasecreta.api.configs.TransacaoUtils;
 import br.com.marcosferreira.receitasecreta.api.dtos.*;
+import br.com.marcosferreira.receitasecreta.api.enums.StatusProcessamentoImagem;
+import br.com.marcosferreira.receitasecreta.api.enums.TipoJobImagem;
+import br.com.marcosferreira.receitasecreta.api.models.ArquivoImagemModel;
+import br.com.marcosferreira.receitasecreta.api.models.EstatisticaArmazenamentoModel;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemVarianteModel;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.ArquivoConteudoProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ArquivoImagemRepository;
 import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemVarianteRepository;
 import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
 import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.FileInfo;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.StagedImage;
 import br.com.marcosferreira.receitasecreta.api.services.FileValidationService.ValidationResult;
-import br.com.marcosferreira.receitasecreta.api.services.FileValidationService.ImageDimensions;
+import br.com.marcosferreira.receitasecreta.api.services.ImageStreamInspector.ImageInspection;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,12 +28,24 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -54,20 +76,77 @@ public class ReceitaImagemService {
     @Autowired
     private FileValidationService fileValidationService;
     
+    @Autowired
+    private ImageVariantService imageVariantService;
+    
+    @Autowired
+    private ReceitaImagemVarianteRepository receitaImagemVarianteRepository;
+    
+    @Autowired
+    private ArquivoImagemRepository arquivoImagemRepository;
+    
+    @Autowired
+    private ImageCacheService imageCacheService;
+    
+    @Autowired
+    private ResolucaoImagemCache resolucaoImagemCache;
+    
+    @Autowired
+    private ImagemProcessamentoService imagemProcessamentoService;
+    
+    @Autowired
+    private EstatisticasArmazenamentoService estatisticasArmazenamentoService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
     @Value("${app.image.max-per-receita:10}")
     private int maxImagensPerReceita;
     
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
+    
+    @Value("${app.image.lote.max-arquivos:10}")
+    private int maxArquivosPorLote;
+    
+    @Value("${app.image.lote.paralelismo:0}")
+    private int paralelismoLote;
+    
+    // Threads do upload em lote (leitura, hash e validação dos arquivos)
+    private ExecutorService loteExecutor;
+    
+    // Transação curta dos uploads, aberta só depois de os arquivos serem lidos e validados
+    private TransactionTemplate transactionTemplate;
+    
+    // Transação própria para o que roda após o commit da transação do chamador
+    private TransactionTemplate transacaoAposCommit;
+    
+    @PostConstruct
+    public void init() {
+        int threads = paralelismoLote > 0 ? paralelismoLote : Runtime.getRuntime().availableProcessors();
+        loteExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().name("imagem-lote-", 0).factory());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transacaoAposCommit = new TransactionTemplate(transactionManager);
+        transacaoAposCommit.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        loteExecutor.shutdown();
+    }
 
     /**
      * Faz upload de uma nova imagem para uma receita.
      * 
+     * O arquivo é lido e validado sem transação; a conexão com o banco só é ocupada
+     * para gravar o registro da imagem.
+     * 
      * @param uploadDto Dados do upload
      * @return Dados da imagem criada
      * @throws IllegalArgumentException Se os dados forem inválidos
      * @throws RuntimeException Se ocorrer erro durante o upload
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ReceitaImagemResponseDto uploadImagem(ReceitaImagemUploadDto uploadDto) {
         logger.info("Iniciando upload de imagem para receita ID: {}", uploadDto.getReceitaId());
         
@@ -79,74 +158,112 @@ public class ReceitaImagemService {
             .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
         
         // Verificar limite de imagens por receita
-        long imagensExistentes = receitaImagemRepository.countByReceitaReceitaId(uploadDto.getReceitaId());
+        long imagensExistentes = estatisticasArmazenamentoService.contarImagens(uploadDto.getReceitaId());
         if (imagensExistentes >= maxImagensPerReceita) {
             throw new IllegalArgumentException(
                 String.format("Limite máximo de %d imagens por receita atingido", maxImagensPerReceita)
             );
         }
         
-        // Validar arquivo
-        ValidationResult validationResult = fileValidationService.validateImageFile(uploadDto.getArquivo());
+        // Validar dados do arquivo antes de ler o conteúdo
+        ValidationResult validationResult = fileValidationService.validateUploadMetadata(uploadDto.getArquivo());
         if (!validationResult.isValid()) {
             throw new IllegalArgumentException("Arquivo inválido: " + validationResult.getErrorMessage());
         }
         
-        try {
-            // Salvar arquivo
-            FileInfo fileInfo = fileStorageService.saveImageFile(uploadDto.getArquivo(), uploadDto.getReceitaId());
-            
-            // Obter dimensões da imagem
-            ImageDimensions dimensions = fileValidationService.getImageDimensions(uploadDto.getArquivo());
-            
-            // Determinar ordem de exibição
-            Integer ordemExibicao = uploadDto.getOrdemExibicao();
-            if (ordemExibicao == null) {
-                Integer maxOrdem = receitaImagemRepository.findMaxOrdemExibicaoByReceitaId(uploadDto.getReceitaId());
-                ordemExibicao = (maxOrdem != null && maxOrdem >= 0) ? maxOrdem + 1 : 1;
-            }
-            
-            // Verificar se deve ser imagem principal
-            boolean ehPrincipal = uploadDto.getEhPrincipal() != null && uploadDto.getEhPrincipal();
-            if (ehPrincipal) {
-                // Remover flag principal de outras imagens
-                receitaImagemRepository.updateEhPrincipalByReceitaId(uploadDto.getReceitaId(), false);
-            } else if (imagensExistentes == 0) {
-                // Se é a primeira imagem, torná-la principal automaticamente
-                ehPrincipal = true;
+        // Conteúdo lido uma única vez: gravado em temporário enquanto é inspecionado
+        try (StagedImage staged = fileStorageService.stageImage(uploadDto.getArquivo())) {
+            validationResult = fileValidationService.validateInspection(
+                uploadDto.getArquivo().getContentType(), staged.getInspection());
+            if (!validationResult.isValid()) {
+                throw new IllegalArgumentException("Arquivo inválido: " + validationResult.getErrorMessage());
             }
             
-            // Criar entidade
-            ReceitaImagemModel imagemModel = new ReceitaImagemModel();
-            imagemModel.setReceita(receita);
-            imagemModel.setNomeArquivo(fileInfo.getFilename());
-            imagemModel.setNomeOriginal(fileInfo.getOriginalFilename());
-            imagemModel.setCaminhoArquivo(fileInfo.getRelativePath());
-            imagemModel.setTipoMime(fileInfo.getContentType());
-            imagemModel.setTamanhoBytes(fileInfo.getSize());
-            imagemModel.setLargura(dimensions != null ? dimensions.getWidth() : null);
-            imagemModel.setAltura(dimensions != null ? dimensions.getHeight() : null);
-            imagemModel.setEhPrincipal(ehPrincipal);
-            imagemModel.setDescricao(uploadDto.getDescricao());
-            imagemModel.setOrdemExibicao(ordemExibicao);
-            imagemModel.setCreatedAt(LocalDateTime.now());
-            imagemModel.setUpdatedAt(LocalDateTime.now());
-            // TODO: Definir createdBy e updatedBy com base no usuário autenticado
-            
-            // Salvar no banco
-            imagemModel = receitaImagemRepository.save(imagemModel);
-            
-            logger.info("Imagem salva com sucesso: ID {}, Arquivo: {}", 
-                imagemModel.getImagemId(), fileInfo.getFilename());
-            
-            return convertToResponseDto(imagemModel);
+            return transactionTemplate.execute(status -> salvarImagem(uploadDto, receita, staged, imagensExistentes));
             
-        } catch (IOException ex) {
+        } catch (IOException | UncheckedIOException ex) {
             logger.error("Erro ao salvar arquivo de imagem", ex);
             throw new RuntimeException("Erro ao salvar arquivo de imagem", ex);
         }
     }
 
+    /**
+     * Faz upload de várias imagens para uma receita em uma única requisição.
+     * 
+     * Receita, quantidade de imagens e maior ordem de exibição são consultadas uma única vez.
+     * Os arquivos são lidos, inspecionados e validados em paralelo, fora do banco; os válidos
+     * recebem ordens consecutivas e são inseridos em um único lote JDBC, em uma transação aberta
+     * só depois da preparação. A falha de um arquivo não impede os demais e é informada no
+     * resultado correspondente.
+     * 
+     * @param receitaId ID da receita
+     * @param arquivos Arquivos enviados, na ordem de exibição desejada
+     * @return Resultado de cada arquivo, na ordem do envio
+     * @throws IllegalArgumentException Se a receita não existir ou o lote for inválido
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReceitaImagemLoteResponseDto uploadImagensEmLote(UUID receitaId, List<MultipartFile> arquivos) {
+        if (receitaId == null) {
+            throw new IllegalArgumentException("ID da receita é obrigatório");
+        }
+        if (arquivos == null || arquivos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum arquivo enviado");
+        }
+        if (arquivos.size() > maxArquivosPorLote) {
+            throw new IllegalArgumentException(
+                String.format("Máximo de %d arquivos por lote", maxArquivosPorLote));
+        }
+        logger.info("Iniciando upload em lote de {} imagens para receita ID: {}", arquivos.size(), receitaId);
+        
+        ReceitaModel receita = receitaRepository.findById(receitaId)
+            .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
+        long imagensExistentes = estatisticasArmazenamentoService.contarImagens(receitaId);
+        long vagas = Math.max(0, maxImagensPerReceita - imagensExistentes);
+        
+        // Leitura, inspeção e validação em paralelo
+        int total = arquivos.size();
+        List<CompletableFuture<StagedImage>> preparacoes = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            MultipartFile arquivo = arquivos.get(i);
+            preparacoes.add(i < vagas
+                ? CompletableFuture.supplyAsync(() -> prepararArquivo(arquivo), loteExecutor)
+                : null);
+        }
+        
+        ReceitaImagemLoteResponseDto.ResultadoArquivo[] resultados = new ReceitaImagemLoteResponseDto.ResultadoArquivo[total];
+        StagedImage[] preparados = new StagedImage[total];
+        for (int i = 0; i < total; i++) {
+            String nomeOriginal = arquivos.get(i).getOriginalFilename();
+            if (preparacoes.get(i) == null) {
+                resultados[i] = ReceitaImagemLoteResponseDto.ResultadoArquivo.falha(i, nomeOriginal,
+                    String.format("Limite máximo de %d imagens por receita atingido", maxImagensPerReceita));
+                continue;
+            }
+            try {
+                preparados[i] = preparacoes.get(i).join();
+            } catch (CompletionException ex) {
+                resultados[i] = ReceitaImagemLoteResponseDto.ResultadoArquivo.falha(
+                    i, nomeOriginal, mensagemDeErro(nomeOriginal, ex.getCause()));
+            }
+        }
+        
+        try {
+            List<ReceitaImagemModel> salvas = transactionTemplate.execute(status ->
+                salvarLote(receita, arquivos, preparados, resultados, imagensExistentes));
+            
+            logger.info("Upload em lote concluído para receita ID {}: {} de {} imagens salvas", 
+                receitaId, salvas.size(), total);
+            return new ReceitaImagemLoteResponseDto(receitaId, Arrays.asList(resultados));
+        } finally {
+            // Descarta os temporários não confirmados (conteúdo duplicado ou erro)
+            for (StagedImage staged : preparados) {
+                if (staged != null) {
+                    staged.close();
+                }
+            }
+        }
+    }
+
     /**
      * Lista todas as imagens de uma receita.
      * 
@@ -176,6 +293,21 @@ public class ReceitaImagemService {
         return imagensPage.map(this::convertToResponseDto);
     }
 
+    /**
+     * Lista todas as imagens de uma receita, sem paginação, na ordem de exibição.
+     * 
+     * @param receitaId ID da receita
+     * @return Imagens da receita (vazia se a receita não tiver imagens)
+     */
+    @Transactional(readOnly = true)
+    public List<ReceitaImagemResponseDto> listarTodasImagensPorReceita(UUID receitaId) {
+        logger.debug("Listando todas as imagens da receita ID: {}", receitaId);
+        
+        return receitaImagemRepository.findDetalhadasByReceitaId(receitaId).stream()
+            .map(this::convertToResponseDto)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Busca uma imagem específica por ID.
      * 
@@ -332,16 +464,8 @@ public class ReceitaImagemService {
         
         UUID receitaId = imagem.getReceita().getReceitaId();
         boolean eraPrincipal = imagem.getEhPrincipal();
-        String caminhoArquivo = imagem.getCaminhoArquivo();
         
-        // Excluir do banco
-        receitaImagemRepository.delete(imagem);
-        
-        // Excluir arquivo físico
-        boolean arquivoExcluido = fileStorageService.deleteFile(caminhoArquivo);
-        if (!arquivoExcluido) {
-            logger.warn("Não foi possível excluir o arquivo físico: {}", caminhoArquivo);
-        }
+        removerImagemEArquivos(imagem);
         
         // Se era a imagem principal, definir outra como principal
         if (eraPrincipal) {
@@ -357,6 +481,26 @@ public class ReceitaImagemService {
         logger.info("Imagem excluída com sucesso: ID {}", imagemId);
     }
 
+    /**
+     * Exclui todas as imagens de uma receita e libera os arquivos físicos.
+     * 
+     * Deve ser chamado antes de excluir a receita: a exclusão em cascata do banco
+     * removeria os registros, mas deixaria os arquivos no disco.
+     * 
+     * @param receitaId ID da receita
+     * @return Quantidade de imagens excluídas
+     */
+    @Transactional
+    public int excluirImagensDaReceita(UUID receitaId) {
+        List<ReceitaImagemModel> imagens = receitaImagemRepository.findByReceitaIdOrderByOrdemExibicao(receitaId);
+        imagens.forEach(this::removerImagemEArquivos);
+        
+        if (!imagens.isEmpty()) {
+            logger.info("{} imagens excluídas da receita ID: {}", imagens.size(), receitaId);
+        }
+        return imagens.size();
+    }
+
     /**
      * Busca a imagem principal de uma receita.
      * 
@@ -383,14 +527,464 @@ public class ReceitaImagemService {
     public ImagemEstatisticasDto calcularEstatisticas(UUID receitaId) {
         logger.debug("Calculando estatísticas de imagens da receita ID: {}", receitaId);
         
-        long totalImagens = receitaImagemRepository.countByReceitaReceitaId(receitaId);
-        long tamanhoTotal = receitaImagemRepository.sumTamanhoBytesByReceitaId(receitaId);
+        EstatisticaArmazenamentoModel estatistica = estatisticasArmazenamentoService.buscarPorReceita(receitaId);
         
-        return new ImagemEstatisticasDto(totalImagens, tamanhoTotal, maxImagensPerReceita);
+        return new ImagemEstatisticasDto(estatistica.getQuantidade(), estatistica.getTotalBytes(), maxImagensPerReceita);
+    }
+
+    /**
+     * Resolve o arquivo a ser servido para o seletor de largura (?w=).
+     * 
+     * Retorna a menor variante com largura alvo maior ou igual à solicitada; quando
+     * nenhuma variante atende, o arquivo original é servido. O nome entregue no upload
+     * continua válido depois da otimização: sem o arquivo original, a versão otimizada
+     * ({@code <sha256>_o.ext}) é servida em seu lugar.
+     * 
+     * Os nomes das variantes são determinísticos ({@code <nome>_w<largura>.ext}), então a
+     * resolução não acessa o banco; o armazenamento só é consultado quando a resolução do
+     * caminho e da largura alvo não está no {@link ResolucaoImagemCache}.
+     * 
+     * @param caminhoArquivo Caminho relativo do arquivo original
+     * @param largura Largura solicitada (opcional)
+     * @return Caminho relativo do arquivo a ser servido
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String resolverCaminhoArquivo(String caminhoArquivo, Integer largura) {
+        String extensaoVariante = largura != null && largura > 0 ? getExtensaoVariante(caminhoArquivo) : null;
+        // Larguras diferentes que levam à mesma variante compartilham a entrada do cache
+        int larguraAlvo = extensaoVariante != null
+            ? Arrays.stream(imageVariantService.getLargurasArray()).filter(l -> l >= largura).findFirst().orElse(0)
+            : 0;
+        
+        String resolvido = resolucaoImagemCache.get(caminhoArquivo, larguraAlvo);
+        if (resolvido != null) {
+            return resolvido;
+        }
+        
+        String caminhoOtimizado = fileStorageService.isOptimizedPath(caminhoArquivo)
+            ? null
+            : fileStorageService.buildOptimizedRelativePath(caminhoArquivo);
+        resolvido = consultarArmazenamento(caminhoArquivo, caminhoOtimizado, larguraAlvo, extensaoVariante);
+        resolucaoImagemCache.put(caminhoArquivo, larguraAlvo, caminhoOtimizado, resolvido);
+        return resolvido;
+    }
+
+    /**
+     * Monta a URL pública de um arquivo de imagem.
+     * 
+     * @param caminhoArquivo Caminho relativo do arquivo
+     * @return URL do endpoint que serve o arquivo
+     */
+    public String buildImageUrl(String caminhoArquivo) {
+        return String.format("%s/api/receitas/imagens/arquivo/%s", 
+            baseUrl.replaceAll("/+$", ""), 
+            caminhoArquivo.replace("\\", "/")
+        );
+    }
+    
+    /**
+     * Monta a URL da menor variante de uma imagem, ou a do original quando o tipo não tem variantes.
+     * 
+     * @param caminhoArquivo Caminho relativo do arquivo original
+     * @param tipoMime Tipo MIME da imagem
+     * @return URL da miniatura
+     */
+    public String buildThumbnailUrl(String caminhoArquivo, String tipoMime) {
+        String urlImagem = buildImageUrl(caminhoArquivo);
+        int[] larguras = imageVariantService.getLargurasArray();
+        if (larguras.length == 0 || !imageVariantService.supportsVariants(tipoMime)) {
+            return urlImagem;
+        }
+        // O seletor cai para o original caso a variante não exista
+        return urlImagem + "?w=" + larguras[0];
     }
 
     // Métodos privados de apoio
     
+    /**
+     * Grava o arquivo preparado e o registro da imagem. Executado na transação do upload.
+     */
+    private ReceitaImagemResponseDto salvarImagem(ReceitaImagemUploadDto uploadDto, ReceitaModel receita,
+                                                  StagedImage staged, long imagensExistentes) {
+        ImageInspection inspection = staged.getInspection();
+        
+        // Salvar arquivo (conteúdo já armazenado é apenas referenciado e o temporário descartado)
+        FileInfo fileInfo = reutilizarConteudo(uploadDto.getArquivo(), inspection);
+        boolean conteudoReutilizado = fileInfo != null;
+        if (!conteudoReutilizado) {
+            try {
+                fileInfo = fileStorageService.commitStagedImage(staged);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            arquivoImagemRepository.registrarOuIncrementar(
+                fileInfo.getSha256(), fileInfo.getRelativePath(), fileInfo.getContentType(), fileInfo.getSize());
+            estatisticasArmazenamentoService.registrarArquivos(
+                Map.of(fileInfo.getRelativePath(), fileInfo.getSize()));
+        }
+        
+        // Determinar ordem de exibição
+        Integer ordemExibicao = uploadDto.getOrdemExibicao();
+        if (ordemExibicao == null) {
+            Integer maxOrdem = receitaImagemRepository.findMaxOrdemExibicaoByReceitaId(uploadDto.getReceitaId());
+            ordemExibicao = (maxOrdem != null && maxOrdem >= 0) ? maxOrdem + 1 : 1;
+        }
+        
+        // Verificar se deve ser imagem principal
+        boolean ehPrincipal = uploadDto.getEhPrincipal() != null && uploadDto.getEhPrincipal();
+        if (ehPrincipal) {
+            // Remover flag principal de outras imagens
+            receitaImagemRepository.updateEhPrincipalByReceitaId(uploadDto.getReceitaId(), false);
+        } else if (imagensExistentes == 0) {
+            // Se é a primeira imagem, torná-la principal automaticamente
+            ehPrincipal = true;
+        }
+        
+        // Criar entidade
+        ReceitaImagemModel imagemModel = criarModelo(
+            receita, fileInfo, inspection, uploadDto.getDescricao(), ehPrincipal, ordemExibicao);
+        
+        // Salvar no banco
+        imagemModel = receitaImagemRepository.save(imagemModel);
+        estatisticasArmazenamentoService.registrarImagens(List.of(imagemModel));
+        
+        logger.info("Imagem salva com sucesso: ID {}, Arquivo: {}", 
+            imagemModel.getImagemId(), fileInfo.getFilename());
+        
+        // Recompressão, thumbnails e variantes responsivas são feitos pela fila de processamento após o commit
+        if (!conteudoReutilizado || !copiarVariantes(imagemModel)) {
+            imagemProcessamentoService.enfileirar(imagemModel, TipoJobImagem.OTIMIZAR);
+        }
+        
+        return convertToResponseDto(imagemModel);
+    }
+    
+    /**
+     * Grava os arquivos preparados do lote e insere as imagens, preenchendo o resultado de
+     * cada arquivo. Executado na transação do upload em lote.
+     * 
+     * @return Imagens salvas
+     */
+    private List<ReceitaImagemModel> salvarLote(ReceitaModel receita, List<MultipartFile> arquivos,
+                                                StagedImage[] preparados,
+                                                ReceitaImagemLoteResponseDto.ResultadoArquivo[] resultados,
+                                                long imagensExistentes) {
+        UUID receitaId = receita.getReceitaId();
+        int total = arquivos.size();
+        
+        // Ordem e imagem principal atribuídas em uma única passada
+        Integer maxOrdem = receitaImagemRepository.findMaxOrdemExibicaoByReceitaId(receitaId);
+        int proximaOrdem = (maxOrdem != null && maxOrdem >= 0) ? maxOrdem + 1 : 1;
+        boolean definirPrincipal = imagensExistentes == 0;
+        
+        List<ReceitaImagemModel> novas = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        Set<Integer> reutilizados = new HashSet<>();
+        Map<String, Long> arquivosGravados = new LinkedHashMap<>();
+        for (int i = 0; i < total; i++) {
+            StagedImage staged = preparados[i];
+            if (staged == null) {
+                continue;
+            }
+            MultipartFile arquivo = arquivos.get(i);
+            ImageInspection inspection = staged.getInspection();
+            
+            FileInfo fileInfo = reutilizarConteudo(arquivo, inspection);
+            if (fileInfo != null) {
+                reutilizados.add(i);
+            } else {
+                try {
+                    fileInfo = fileStorageService.commitStagedImage(staged);
+                } catch (IOException ex) {
+                    logger.error("Erro ao salvar arquivo de imagem do lote: {}", arquivo.getOriginalFilename(), ex);
+                    resultados[i] = ReceitaImagemLoteResponseDto.ResultadoArquivo.falha(
+                        i, arquivo.getOriginalFilename(), "Erro ao salvar arquivo de imagem");
+                    continue;
+                }
+                arquivoImagemRepository.registrarOuIncrementar(
+                    fileInfo.getSha256(), fileInfo.getRelativePath(), fileInfo.getContentType(), fileInfo.getSize());
+                arquivosGravados.put(fileInfo.getRelativePath(), fileInfo.getSize());
+            }
+            
+            novas.add(criarModelo(receita, fileInfo, inspection, null, definirPrincipal, proximaOrdem++));
+            indices.add(i);
+            definirPrincipal = false;
+        }
+        
+        // Inserção de todas as imagens em um único lote
+        List<ReceitaImagemModel> salvas = receitaImagemRepository.saveAll(novas);
+        estatisticasArmazenamentoService.registrarArquivos(arquivosGravados);
+        estatisticasArmazenamentoService.registrarImagens(salvas);
+        
+        List<ReceitaImagemModel> pendentes = new ArrayList<>();
+        for (int k = 0; k < salvas.size(); k++) {
+            ReceitaImagemModel imagem = salvas.get(k);
+            int indice = indices.get(k);
+            if (!reutilizados.contains(indice) || !copiarVariantes(imagem)) {
+                pendentes.add(imagem);
+            }
+            resultados[indice] = ReceitaImagemLoteResponseDto.ResultadoArquivo.sucesso(
+                indice, imagem.getNomeOriginal(), convertToResponseDto(imagem));
+        }
+        imagemProcessamentoService.enfileirarTodos(pendentes, TipoJobImagem.OTIMIZAR);
+        return salvas;
+    }
+    
+    /**
+     * Valida os metadados, grava o conteúdo em temporário e valida a inspeção.
+     * Executado nas threads do lote, sem acesso ao banco.
+     */
+    private StagedImage prepararArquivo(MultipartFile arquivo) {
+        ValidationResult validationResult = fileValidationService.validateUploadMetadata(arquivo);
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException("Arquivo inválido: " + validationResult.getErrorMessage());
+        }
+        
+        StagedImage staged;
+        try {
+            staged = fileStorageService.stageImage(arquivo);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        
+        validationResult = fileValidationService.validateInspection(arquivo.getContentType(), staged.getInspection());
+        if (!validationResult.isValid()) {
+            staged.close();
+            throw new IllegalArgumentException("Arquivo inválido: " + validationResult.getErrorMessage());
+        }
+        return staged;
+    }
+    
+    private String mensagemDeErro(String nomeArquivo, Throwable erro) {
+        if (erro instanceof IllegalArgumentException) {
+            return erro.getMessage();
+        }
+        logger.error("Erro ao processar arquivo do lote: {}", nomeArquivo, erro);
+        return "Erro ao processar arquivo de imagem";
+    }
+    
+    private ReceitaImagemModel criarModelo(ReceitaModel receita, FileInfo fileInfo, ImageInspection inspection,
+                                           String descricao, boolean ehPrincipal, Integer ordemExibicao) {
+        ReceitaImagemModel imagemModel = new ReceitaImagemModel();
+        imagemModel.setReceita(receita);
+        imagemModel.setNomeArquivo(fileInfo.getFilename());
+        imagemModel.setNomeOriginal(fileInfo.getOriginalFilename());
+        imagemModel.setCaminhoArquivo(fileInfo.getRelativePath());
+        // Tipo e dimensões vêm da inspeção feita na validação, sem reler o arquivo
+        imagemModel.setTipoMime(inspection.getMimeType());
+        imagemModel.setTamanhoBytes(fileInfo.getSize());
+        imagemModel.setHashConteudo(fileInfo.getSha256());
+        imagemModel.setLargura(inspection.getWidth());
+        imagemModel.setAltura(inspection.getHeight());
+        imagemModel.setStatusProcessamento(StatusProcessamentoImagem.PENDING);
+        imagemModel.setEhPrincipal(ehPrincipal);
+        imagemModel.setDescricao(descricao);
+        imagemModel.setOrdemExibicao(ordemExibicao);
+        imagemModel.setCreatedAt(LocalDateTime.now());
+        imagemModel.setUpdatedAt(LocalDateTime.now());
+        // TODO: Definir createdBy e updatedBy com base no usuário autenticado
+        return imagemModel;
+    }
+    
+    /**
+     * Remove a imagem e suas variantes do banco e exclui os arquivos físicos
+     * quando não houver outras referências ao conteúdo.
+     */
+    private void removerImagemEArquivos(ReceitaImagemModel imagem) {
+        UUID imagemId = imagem.getImagemId();
+        String caminhoArquivo = imagem.getCaminhoArquivo();
+        String hashConteudo = imagem.getHashConteudo();
+        Map<String, Long> variantes = new LinkedHashMap<>();
+        for (ReceitaImagemVarianteModel variante : receitaImagemVarianteRepository
+                .findByImagemIdOrderByLarguraAlvo(imagemId)) {
+            variantes.put(variante.getCaminhoArquivo(), variante.getTamanhoBytes());
+        }
+        
+        // Excluir do banco
+        receitaImagemVarianteRepository.deleteByImagemId(imagemId);
+        receitaImagemRepository.delete(imagem);
+        estatisticasArmazenamentoService.removerImagem(imagem);
+        
+        // Excluir arquivo físico (somente quando não houver outras referências ao conteúdo)
+        if (hashConteudo == null) {
+            excluirArquivos(null, caminhoArquivo, imagem.getTamanhoBytes(), variantes);
+        } else {
+            liberarConteudo(hashConteudo, caminhoArquivo, imagem.getTamanhoBytes(), variantes);
+        }
+    }
+    
+    /**
+     * Procura um arquivo já armazenado com o mesmo conteúdo e, se existir, incrementa
+     * suas referências para que o upload não precise gravar o arquivo novamente.
+     * 
+     * @return Informações do arquivo existente ou null se o conteúdo precisar ser gravado
+     */
+    private FileInfo reutilizarConteudo(MultipartFile arquivo, ImageInspection inspection) {
+        String hash = inspection.getSha256();
+        
+        // O caminho vem da linha bloqueada pelo incremento: uma otimização concorrente
+        // já terá trocado o arquivo ou esperará este commit para fazê-lo
+        Optional<ArquivoConteudoProjection> existente = arquivoImagemRepository.incrementarReferencias(hash);
+        if (existente.isEmpty()) {
+            return null;
+        }
+        
+        ArquivoConteudoProjection conteudo = existente.get();
+        String caminho = conteudo.getCaminhoArquivo();
+        if (!fileStorageService.fileExists(caminho)) {
+            arquivoImagemRepository.decrementarReferencias(hash);
+            return null;
+        }
+        
+        logger.info("Conteúdo já armazenado, reutilizando arquivo: {}", caminho);
+        
+        return new FileInfo(
+            caminho.substring(caminho.lastIndexOf('/') + 1),
+            StringUtils.cleanPath(arquivo.getOriginalFilename()),
+            fileStorageService.resolveImagePath(caminho).toString(),
+            caminho,
+            conteudo.getTipoMime(),
+            conteudo.getTamanhoBytes(),
+            hash
+        );
+    }
+    
+    /**
+     * Procura no armazenamento a variante da largura alvo (ou a próxima maior) e, sem ela,
+     * o original ou sua versão otimizada.
+     */
+    private String consultarArmazenamento(String caminhoArquivo, String caminhoOtimizado, int larguraAlvo,
+                                          String extensaoVariante) {
+        if (larguraAlvo > 0) {
+            for (int largura : imageVariantService.getLargurasArray()) {
+                if (largura < larguraAlvo) {
+                    continue;
+                }
+                // As variantes são geradas a partir do arquivo atual do conteúdo, que pode ser o otimizado
+                String variante = fileStorageService.buildVariantRelativePath(caminhoArquivo, largura, extensaoVariante);
+                if (fileStorageService.fileExists(variante)) {
+                    return variante;
+                }
+                if (caminhoOtimizado != null) {
+                    variante = fileStorageService.buildVariantRelativePath(caminhoOtimizado, largura, extensaoVariante);
+                    if (fileStorageService.fileExists(variante)) {
+                        return variante;
+                    }
+                }
+            }
+        }
+        
+        if (caminhoOtimizado != null && !fileStorageService.fileExists(caminhoArquivo)
+                && fileStorageService.fileExists(caminhoOtimizado)) {
+            return caminhoOtimizado;
+        }
+        return caminhoArquivo;
+    }
+    
+    /**
+     * Extensão das variantes geradas para o arquivo, ou null quando o formato não tem variantes.
+     * Segue a conversão de {@link ImageVariantService}: JPEG gera .jpg; PNG e GIF geram .png.
+     */
+    private String getExtensaoVariante(String caminhoArquivo) {
+        String extensao = StringUtils.getFilenameExtension(caminhoArquivo);
+        if (extensao == null) {
+            return null;
+        }
+        return switch (extensao.toLowerCase()) {
+            case "jpg", "jpeg" -> "jpg";
+            case "png", "gif" -> "png";
+            default -> null;
+        };
+    }
+    
+    /**
+     * Decrementa as referências do conteúdo e exclui os arquivos físicos quando a
+     * última imagem que o utilizava for removida.
+     */
+    private void liberarConteudo(String hash, String caminhoArquivo, Long tamanhoArquivo, Map<String, Long> variantes) {
+        Optional<ArquivoImagemModel> conteudo = arquivoImagemRepository.findById(hash);
+        String caminhoConteudo = conteudo.map(ArquivoImagemModel::getCaminhoArquivo).orElse(caminhoArquivo);
+        Long tamanhoConteudo = conteudo.map(ArquivoImagemModel::getTamanhoBytes).orElse(tamanhoArquivo);
+        
+        arquivoImagemRepository.decrementarReferencias(hash);
+        if (arquivoImagemRepository.excluirSemReferencias(hash) == 0) {
+            logger.debug("Conteúdo {} ainda referenciado por outras imagens", hash);
+            return;
+        }
+        
+        excluirArquivos(hash, caminhoConteudo, tamanhoConteudo, variantes);
+    }
+    
+    /**
+     * Exclui o arquivo original e as variantes, descontando das estatísticas de
+     * armazenamento somente os arquivos efetivamente removidos.
+     * 
+     * Executado após o commit: em caso de rollback, as linhas excluídas voltam e
+     * continuam apontando para os arquivos.
+     */
+    private void excluirArquivos(String hash, String caminhoArquivo, Long tamanhoArquivo, Map<String, Long> variantes) {
+        TransacaoUtils.executarAposCommit(() -> transacaoAposCommit.executeWithoutResult(status -> {
+            // Um upload do mesmo conteúdo pode tê-lo registrado de novo depois do commit
+            if (hash != null && arquivoImagemRepository.existsById(hash)) {
+                logger.debug("Conteúdo {} registrado novamente; arquivos mantidos", hash);
+                return;
+            }
+            
+            imageCacheService.invalidate(caminhoArquivo);
+            variantes.keySet().forEach(imageCacheService::invalidate);
+            resolucaoImagemCache.invalidar(List.of(caminhoArquivo));
+            
+            Map<String, Long> excluidos = new LinkedHashMap<>();
+            if (fileStorageService.deleteFile(caminhoArquivo)) {
+                excluidos.put(caminhoArquivo, tamanhoArquivo != null ? tamanhoArquivo : 0L);
+            } else {
+                logger.warn("Não foi possível excluir o arquivo físico: {}", caminhoArquivo);
+            }
+            
+            for (Map.Entry<String, Long> variante : variantes.entrySet()) {
+                if (fileStorageService.deleteFile(variante.getKey())) {
+                    excluidos.put(variante.getKey(), variante.getValue() != null ? variante.getValue() : 0L);
+                } else {
+                    logger.warn("Não foi possível excluir a variante: {}", variante.getKey());
+                }
+            }
+            estatisticasArmazenamentoService.removerArquivos(excluidos);
+        }));
+    }
+    
+    /**
+     * Registra para a nova imagem as variantes já geradas para o mesmo conteúdo,
+     * deixando-a pronta sem passar pela fila de processamento.
+     * 
+     * @return false se não houver variantes a copiar (ex: geração ainda pendente ou com falha)
+     */
+    private boolean copiarVariantes(ReceitaImagemModel imagem) {
+        Map<Integer, ReceitaImagemVarianteModel> porLargura = new LinkedHashMap<>();
+        for (ReceitaImagemVarianteModel variante : receitaImagemVarianteRepository
+                .findByCaminhoArquivoOriginal(imagem.getCaminhoArquivo())) {
+            porLargura.putIfAbsent(variante.getLarguraAlvo(), variante);
+        }
+        
+        if (porLargura.isEmpty()) {
+            return false;
+        }
+        
+        List<ReceitaImagemVarianteModel> copias = porLargura.values().stream()
+            .map(variante -> new ReceitaImagemVarianteModel(
+                imagem,
+                variante.getLarguraAlvo(),
+                variante.getCaminhoArquivo(),
+                variante.getTipoMime(),
+                variante.getTamanhoBytes(),
+                variante.getLargura(),
+                variante.getAltura()))
+            .collect(Collectors.toList());
+        
+        receitaImagemVarianteRepository.saveAll(copias);
+        imagem.setStatusProcessamento(StatusProcessamentoImagem.READY);
+        return true;
+    }
+    
     private void validateUploadDto(ReceitaImagemUploadDto uploadDto) {
         if (uploadDto == null) {
             throw new IllegalArgumentException("Dados de upload não fornecidos");
@@ -431,11 +1025,12 @@ public class ReceitaImagemService {
         dto.setNomeReceita(imagem.getReceita().getNomeReceita());
         dto.setNomeArquivo(imagem.getNomeArquivo());
         dto.setUrlImagem(buildImageUrl(imagem.getCaminhoArquivo()));
-        dto.setUrlThumbnail(buildThumbnailUrl(imagem.getCaminhoArquivo())); // TODO: Implementar thumbnails
+        dto.setUrlThumbnail(buildThumbnailUrl(imagem.getCaminhoArquivo(), imagem.getTipoMime()));
         dto.setTipoMime(imagem.getTipoMime());
         dto.setTamanhoBytes(imagem.getTamanhoBytes());
         dto.setLargura(imagem.getLargura());
         dto.setAltura(imagem.getAltura());
+        dto.setStatusProcessamento(imagem.getStatusProcessamento());
         dto.setEhPrincipal(imagem.getEhPrincipal());
         dto.setDescricao(imagem.getDescricao());
         dto.setOrdemExibicao(imagem.getOrdemExibicao());
@@ -447,22 +1042,14 @@ public class ReceitaImagemService {
         return dto;
     }
     
-    private String buildImageUrl(String caminhoArquivo) {
-        return String.format("%s/api/receitas/imagens/arquivo/%s", 
-            baseUrl.replaceAll("/+$", ""), 
-            caminhoArquivo.replace("\\", "/")
-        );
-    }
-    
-    private String buildThumbnailUrl(String caminhoArquivo) {
-        // TODO: Implementar geração de thumbnails
-        return buildImageUrl(caminhoArquivo);
-    }
-
     // Getters para configurações
     public int getMaxImagensPerReceita() {
         return maxImagensPerReceita;
     }
+    
+    public int[] getLargurasVariantes() {
+        return imageVariantService.getLargurasArray();
+    }
 
 
 }
\ No newline at end of file
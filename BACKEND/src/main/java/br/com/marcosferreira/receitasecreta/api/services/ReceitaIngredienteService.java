@@ -2,6 +2,7 @@ package br.com.marcosferreira.receitasecreta.api.services;
 
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDeleteDto;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
 import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaIngredienteResponse;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
 import org.springframework.data.domain.Page;
@@ -22,5 +23,7 @@ public interface ReceitaIngredienteService {
 
     Page<ReceitaIngredienteModel> findAll(Pageable pageable);
 
+    CursorPageResponse<ReceitaIngredienteModel> findAllPorCursor(String cursor, Integer size);
+
     List<ReceitaIngredienteModel> findByReceitaId(UUID receitaId);
 }
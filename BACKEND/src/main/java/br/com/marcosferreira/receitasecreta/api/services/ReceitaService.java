@@ -1,10 +1,17 @@
 package br.com.marcosferreira.receitasecreta.api.services;
 
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaBuscaResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCardResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCompatibilidadeResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.OrdemCursor;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ReceitaService {
@@ -18,6 +25,14 @@ public interface ReceitaService {
     ReceitaModel update(ReceitaRecordDto receitaRecordDto, UUID receitaId);
 
     Page<ReceitaModel> findAll(Pageable pageable);
+
+    Page<ReceitaCardResponse> findCards(Pageable pageable);
+
+    Page<ReceitaBuscaResponse> buscar(String termo, Pageable pageable);
+
+    List<ReceitaCompatibilidadeResponse> findPorIngredientes(Set<UUID> produtoIds, Integer maxFaltantes, Integer limite);
+
+    CursorPageResponse<ReceitaModel> findAllPorCursor(String cursor, Integer size, OrdemCursor ordem);
     
     void delete(UUID receitaId);
 }
@@ -0,0 +1,108 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache dos arquivos resolvidos por {@link ReceitaImagemService#resolverCaminhoArquivo}, para
+ * que servir uma imagem não consulte o armazenamento a cada requisição (no S3, cada consulta
+ * é um HEAD antes do redirecionamento).
+ *
+ * A chave é o caminho solicitado com a largura alvo já normalizada, então a quantidade de
+ * chaves por arquivo é limitada pelas larguras configuradas. A exclusão da imagem, a geração
+ * das variantes e a coleta de órfãos invalidam as entradas do arquivo nesta instância; as
+ * alterações feitas por outras instâncias valem depois da expiração. Com o cache cheio, as
+ * entradas expiradas são descartadas e, se ainda não houver espaço, a resolução não é guardada.
+ */
+@Component
+public class ResolucaoImagemCache {
+
+    private final Duration ttl;
+    private final int maxEntradas;
+
+    private final Map<Chave, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public ResolucaoImagemCache(@Value("${app.image.resolucao-cache.ttl-segundos:300}") long ttlSegundos,
+                                @Value("${app.image.resolucao-cache.max-entradas:10000}") int maxEntradas) {
+        this.ttl = Duration.ofSeconds(ttlSegundos);
+        this.maxEntradas = maxEntradas;
+    }
+
+    /**
+     * Retorna o arquivo resolvido para o caminho e a largura alvo, se ainda válido.
+     *
+     * @param caminhoArquivo Caminho solicitado
+     * @param larguraAlvo Largura alvo normalizada (0 para o arquivo sem seletor)
+     * @return Caminho do arquivo a ser servido, ou null se ausente ou expirado
+     */
+    public String get(String caminhoArquivo, int larguraAlvo) {
+        Chave chave = new Chave(caminhoArquivo, larguraAlvo);
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (!entrada.expiraEm().isAfter(Instant.now())) {
+            entradas.remove(chave, entrada);
+            return null;
+        }
+        return entrada.resolvido();
+    }
+
+    /**
+     * Guarda o arquivo resolvido para o caminho e a largura alvo.
+     *
+     * @param caminhoArquivo Caminho solicitado
+     * @param larguraAlvo Largura alvo normalizada (0 para o arquivo sem seletor)
+     * @param caminhoOtimizado Caminho da versão otimizada do solicitado (opcional), também usado na invalidação
+     * @param resolvido Caminho do arquivo a ser servido
+     */
+    public void put(String caminhoArquivo, int larguraAlvo, String caminhoOtimizado, String resolvido) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        if (entradas.size() >= maxEntradas) {
+            removerExpiradas();
+            if (entradas.size() >= maxEntradas) {
+                return;
+            }
+        }
+        entradas.put(new Chave(caminhoArquivo, larguraAlvo),
+            new Entrada(resolvido, caminhoOtimizado, Instant.now().plus(ttl)));
+    }
+
+    /**
+     * Remove as resoluções dos arquivos, solicitados pelo próprio caminho ou pelo nome
+     * original do qual são a versão otimizada.
+     *
+     * @param caminhos Caminhos relativos dos arquivos alterados
+     */
+    public void invalidar(Collection<String> caminhos) {
+        if (caminhos.isEmpty() || entradas.isEmpty()) {
+            return;
+        }
+        Set<String> alterados = new HashSet<>(caminhos);
+        entradas.entrySet().removeIf(entrada -> alterados.contains(entrada.getKey().caminho())
+            || alterados.contains(entrada.getValue().caminhoOtimizado()));
+    }
+
+    // Métodos privados de apoio
+
+    private void removerExpiradas() {
+        Instant agora = Instant.now();
+        entradas.values().removeIf(entrada -> !entrada.expiraEm().isAfter(agora));
+    }
+
+    private record Chave(String caminho, int larguraAlvo) {
+    }
+
+    private record Entrada(String resolvido, String caminhoOtimizado, Instant expiraEm) {
+    }
+}
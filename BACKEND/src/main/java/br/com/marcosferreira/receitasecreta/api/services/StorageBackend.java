@@ -0,0 +1,115 @@
+package br.com.marcosferreira.receitasecreta.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Backend de armazenamento dos arquivos de imagem.
+ *
+ * Os objetos são identificados pelo caminho relativo usado em {@code caminho_arquivo}
+ * (ex: 2025/01/15/<sha256>.jpg). A implementação padrão grava em disco local; a
+ * implementação compatível com S3 permite que várias instâncias da API compartilhem
+ * as imagens e deleguem a entrega dos bytes por URLs pré-assinadas.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+public interface StorageBackend {
+
+    /**
+     * Grava o conteúdo de um arquivo local sob a chave, substituindo o existente.
+     * O arquivo de origem pode ser movido; o chamador deve remover o que restar dele.
+     *
+     * @param key Chave do objeto
+     * @param source Arquivo local com o conteúdo
+     * @param contentType Tipo MIME do conteúdo
+     * @throws IOException Se ocorrer erro na gravação
+     */
+    void save(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * Abre um intervalo do objeto para leitura.
+     *
+     * @param key Chave do objeto
+     * @param offset Posição inicial
+     * @param length Quantidade de bytes, ou negativo para ler até o fim
+     * @return Stream com o intervalo; deve ser fechado pelo chamador
+     * @throws java.nio.file.NoSuchFileException Se o objeto não existir
+     * @throws IOException Se ocorrer erro na leitura
+     */
+    InputStream openRange(String key, long offset, long length) throws IOException;
+
+    /**
+     * Exclui o objeto.
+     *
+     * @param key Chave do objeto
+     * @return true se o objeto existia e foi excluído
+     * @throws IOException Se ocorrer erro na exclusão
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * Verifica se o objeto existe.
+     *
+     * @param key Chave do objeto
+     * @return true se existir
+     * @throws IOException Se ocorrer erro na consulta
+     */
+    boolean exists(String key) throws IOException;
+
+    /**
+     * Obtém tamanho e data de modificação do objeto.
+     *
+     * @param key Chave do objeto
+     * @return Metadados, ou vazio se o objeto não existir
+     * @throws IOException Se ocorrer erro na consulta
+     */
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    /**
+     * Gera uma URL temporária para leitura direta do objeto, sem passar pela API.
+     *
+     * @param key Chave do objeto
+     * @param ttl Validade da URL
+     * @return URL pré-assinada, ou vazio se o backend não oferecer esse recurso
+     */
+    default Optional<URI> presignedUrl(String key, Duration ttl) {
+        return Optional.empty();
+    }
+
+    /**
+     * Retorna o arquivo local do objeto, permitindo sendfile e leitura com acesso aleatório.
+     *
+     * @param key Chave do objeto
+     * @return Caminho local, ou vazio se o objeto não estiver em disco local
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Metadados de um objeto armazenado.
+     */
+    class StoredObject {
+        private final String key;
+        private final long size;
+        private final Instant lastModified;
+
+        public StoredObject(String key, long size, Instant lastModified) {
+            this.key = key;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        // Getters
+        public String getKey() { return key; }
+        public long getSize() { return size; }
+        public Instant getLastModified() { return lastModified; }
+    }
+}
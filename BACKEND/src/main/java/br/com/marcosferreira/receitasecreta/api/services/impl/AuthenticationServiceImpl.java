@@ -6,13 +6,15 @@ import br.com.marcosferreira.receitasecreta.api.dtos.response.UserResponse;
 import br.com.marcosferreira.receitasecreta.api.enums.UserRole;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
+import br.com.marcosferreira.receitasecreta.api.security.PasswordHashingService;
+import br.com.marcosferreira.receitasecreta.api.security.TokenRevocationService;
 import br.com.marcosferreira.receitasecreta.api.security.TokenService;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
 import br.com.marcosferreira.receitasecreta.api.services.AuthenticationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -25,6 +27,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     
     @Autowired
     private AuditService auditService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
 
     public AuthenticationServiceImpl(AuthenticationManager authenticationManager, UserRepository repository, TokenService tokenService) {
         this.authenticationManager = authenticationManager;
@@ -35,7 +46,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     public UserResponse login(UserAuthRequest data) {
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.login(), data.password());
-        var auth = authenticationManager.authenticate(usernamePassword);
+        // A verificação do BCrypt (e o rehash, se o custo mudou) roda no pool de hashing
+        var auth = passwordHashingService.execute(() -> authenticationManager.authenticate(usernamePassword));
         var user = (User) auth.getPrincipal();
         var token = tokenService.generateToken(user);
         
@@ -54,7 +66,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         if (repository.findByLogin(data.login()) != null) {
             throw new RuntimeException("Usuário já existe!");
         }
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.password());
+        String encryptedPassword = passwordHashingService.execute(() -> passwordEncoder.encode(data.password()));
         // Sempre define o role como USER no cadastro
         User newUser = new User(data.login(), encryptedPassword, data.email(), UserRole.USER);
         User savedUser = repository.save(newUser);
@@ -63,4 +75,11 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         auditService.auditPasswordChange(savedUser.getId(), "REGISTER", savedUser.getId());
     }
 
+    @Override
+    public void logout(String token) {
+        var decoded = tokenService.verifyToken(token)
+                .orElseThrow(() -> new RuntimeException("Token inválido ou expirado"));
+        tokenRevocationService.revokeToken(decoded);
+    }
+
 }
@@ -0,0 +1,220 @@
+package br.com.marcosferreira.receitasecreta.api.services.impl;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Assinatura de requisições no padrão AWS Signature Version 4.
+ *
+ * Usada pelo backend S3 para assinar cabeçalhos ({@code Authorization}) e gerar URLs
+ * pré-assinadas, sem depender do SDK da AWS. As URIs recebidas já devem estar com o
+ * caminho e a query codificados por {@link #uriEncode}.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+public class AwsSigV4Signer {
+
+    public static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    public static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    private static final DateTimeFormatter AMZ_DATE =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE_STAMP =
+        DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+    private final String service;
+
+    public AwsSigV4Signer(String accessKey, String secretKey, String region, String service) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+        this.service = service;
+    }
+
+    /**
+     * Assina uma requisição pelos cabeçalhos.
+     *
+     * @param method Método HTTP
+     * @param uri URI da requisição
+     * @param headers Cabeçalhos a assinar (o Host é incluído automaticamente)
+     * @param payloadHash SHA-256 do corpo em hexadecimal, ou {@link #UNSIGNED_PAYLOAD}
+     * @param now Instante da assinatura
+     * @return Cabeçalhos informados acrescidos de x-amz-date, x-amz-content-sha256 e Authorization
+     */
+    public Map<String, String> sign(String method, URI uri, Map<String, String> headers,
+                                    String payloadHash, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        String scope = scope(now);
+
+        Map<String, String> canonicalHeaders = new TreeMap<>();
+        canonicalHeaders.put("host", hostHeader(uri));
+        headers.forEach((name, value) -> canonicalHeaders.put(name.toLowerCase(Locale.ROOT), value.trim()));
+        canonicalHeaders.put("x-amz-content-sha256", payloadHash);
+        canonicalHeaders.put("x-amz-date", amzDate);
+        String signedHeaders = String.join(";", canonicalHeaders.keySet());
+
+        String canonicalRequest = method + "\n"
+            + canonicalPath(uri) + "\n"
+            + canonicalQuery(parseQuery(uri.getRawQuery())) + "\n"
+            + canonicalHeaders.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue() + "\n")
+                .collect(Collectors.joining()) + "\n"
+            + signedHeaders + "\n"
+            + payloadHash;
+
+        Map<String, String> signed = new LinkedHashMap<>(headers);
+        signed.put("x-amz-date", amzDate);
+        signed.put("x-amz-content-sha256", payloadHash);
+        signed.put("Authorization", ALGORITHM
+            + " Credential=" + accessKey + "/" + scope
+            + ", SignedHeaders=" + signedHeaders
+            + ", Signature=" + signature(canonicalRequest, amzDate, now));
+        return signed;
+    }
+
+    /**
+     * Gera uma URL pré-assinada (assinatura na query string).
+     *
+     * @param method Método HTTP permitido
+     * @param uri URI do objeto
+     * @param expires Validade da URL
+     * @param now Instante da assinatura
+     * @return URI com os parâmetros X-Amz-* e a assinatura
+     */
+    public URI presign(String method, URI uri, Duration expires, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+
+        Map<String, String> query = parseQuery(uri.getRawQuery());
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", uriEncode(accessKey + "/" + scope(now), true));
+        query.put("X-Amz-Date", amzDate);
+        query.put("X-Amz-Expires", String.valueOf(expires.getSeconds()));
+        query.put("X-Amz-SignedHeaders", "host");
+        String canonicalQuery = canonicalQuery(query);
+
+        String canonicalRequest = method + "\n"
+            + canonicalPath(uri) + "\n"
+            + canonicalQuery + "\n"
+            + "host:" + hostHeader(uri) + "\n\n"
+            + "host\n"
+            + UNSIGNED_PAYLOAD;
+
+        return URI.create(uri.getScheme() + "://" + uri.getRawAuthority() + canonicalPath(uri)
+            + "?" + canonicalQuery + "&X-Amz-Signature=" + signature(canonicalRequest, amzDate, now));
+    }
+
+    /**
+     * Codifica um valor conforme as regras do SigV4 (RFC 3986, apenas caracteres não
+     * reservados ficam sem codificação).
+     *
+     * @param value Valor a codificar
+     * @param encodeSlash Se a barra também deve ser codificada (false para caminhos)
+     * @return Valor codificado
+     */
+    public static String uriEncode(String value, boolean encodeSlash) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Calcula o SHA-256 em hexadecimal.
+     *
+     * @param data Conteúdo
+     * @return Hash em hexadecimal minúsculo
+     */
+    public static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    // Métodos privados de apoio
+
+    private String scope(Instant now) {
+        return DATE_STAMP.format(now) + "/" + region + "/" + service + "/aws4_request";
+    }
+
+    private String signature(String canonicalRequest, String amzDate, Instant now) {
+        String stringToSign = ALGORITHM + "\n"
+            + amzDate + "\n"
+            + scope(now) + "\n"
+            + sha256Hex(canonicalRequest.getBytes(StandardCharsets.UTF_8));
+
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), DATE_STAMP.format(now));
+        key = hmac(key, region);
+        key = hmac(key, service);
+        key = hmac(key, "aws4_request");
+        return HexFormat.of().formatHex(hmac(key, stringToSign));
+    }
+
+    private byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 indisponível", ex);
+        }
+    }
+
+    private String hostHeader(URI uri) {
+        return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+
+    private String canonicalPath(URI uri) {
+        String path = uri.getRawPath();
+        return path == null || path.isEmpty() ? "/" : path;
+    }
+
+    private Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new TreeMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals < 0) {
+                query.put(parameter, "");
+            } else {
+                query.put(parameter.substring(0, equals), parameter.substring(equals + 1));
+            }
+        }
+        return query;
+    }
+
+    private String canonicalQuery(Map<String, String> query) {
+        return new TreeMap<>(query).entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.joining("&"));
+    }
+}
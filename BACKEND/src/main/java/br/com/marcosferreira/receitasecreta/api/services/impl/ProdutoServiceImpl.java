@@ -2,7 +2,11 @@ package br.com.marcosferreira.receitasecreta.api.services.impl;
 
 import br.com.marcosferreira.receitasecreta.api.configs.AuthenticationUtils;
 import br.com.marcosferreira.receitasecreta.api.configs.CustomBeanUtils;
+import br.com.marcosferreira.receitasecreta.api.configs.KeysetCursor;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ProdutoRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ProdutoSugestaoResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.OrdemCursor;
 import br.com.marcosferreira.receitasecreta.api.exceptions.NoValidException;
 import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
 import br.com.marcosferreira.receitasecreta.api.exceptions.UnauthorizedException;
@@ -10,14 +14,21 @@ import br.com.marcosferreira.receitasecreta.api.models.ProdutoModel;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.ProdutoRepository;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
+import br.com.marcosferreira.receitasecreta.api.services.AutocompleteProdutosService;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
 import br.com.marcosferreira.receitasecreta.api.services.ProdutoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -30,6 +41,15 @@ public class ProdutoServiceImpl implements ProdutoService {
     
     @Autowired
     AuditService auditService;
+    
+    @Autowired
+    AutocompleteProdutosService autocompleteProdutosService;
+    
+    @Autowired
+    CustoReceitaService custoReceitaService;
+    
+    @Autowired
+    IndiceIngredientesService indiceIngredientesService;
 
     public ProdutoServiceImpl(ProdutoRepository produtoRepository) {
         this.produtoRepository = produtoRepository;
@@ -63,6 +83,7 @@ public class ProdutoServiceImpl implements ProdutoService {
         
         // Auditoria
         if (savedProduto != null && savedProduto.getProdutoId() != null) {
+            autocompleteProdutosService.registrar(savedProduto.getProdutoId(), savedProduto.getNome());
             auditService.auditProdutoChange(savedProduto.getProdutoId().toString(), "CREATE", currentUser.getId());
         }
         
@@ -81,6 +102,12 @@ public class ProdutoServiceImpl implements ProdutoService {
         return produtoModel;
     }
 
+    @Override
+    public List<ProdutoModel> findAllByProdutoIds(Collection<UUID> produtoIds) {
+        // Produtos inexistentes ficam de fora; cabe ao chamador tratar os IDs ausentes
+        return produtoRepository.findAllById(produtoIds);
+    }
+
     @Override
     public ProdutoModel findByNome(String nome) {
         ProdutoModel produtoModel = produtoRepository.findByNome(nome);
@@ -123,6 +150,9 @@ public class ProdutoServiceImpl implements ProdutoService {
         produtoModel.setDataAlteracao(LocalDateTime.now(ZoneId.of("UTC")));
         
         ProdutoModel updatedProduto = produtoRepository.save(produtoModel);
+        autocompleteProdutosService.registrar(produtoId, updatedProduto.getNome());
+        // Preço ou unidade podem ter mudado: recalcular as receitas que usam o produto
+        custoReceitaService.invalidarProduto(produtoId);
         
         // Auditoria
         auditService.auditProdutoChange(produtoId.toString(), "UPDATE", currentUser.getId());
@@ -134,6 +164,36 @@ public class ProdutoServiceImpl implements ProdutoService {
     public Page<ProdutoModel> findAll(Pageable pageable) {
         return produtoRepository.findAll(pageable);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProdutoModel> findAllPorCursor(String cursor, Integer size, OrdemCursor ordem) {
+        KeysetCursor posicao = KeysetCursor.decode(cursor, ordem.name());
+        int tamanho = KeysetCursor.tamanhoPagina(size);
+        // Um item a mais indica se há próxima página, sem COUNT
+        Pageable limite = PageRequest.ofSize(tamanho + 1);
+
+        List<ProdutoModel> linhas;
+        if (ordem == OrdemCursor.NOME) {
+            linhas = posicao == null
+                    ? produtoRepository.findPorNome(limite)
+                    : produtoRepository.findPorNomeApos(posicao.valor(), posicao.id(), limite);
+        } else {
+            linhas = posicao == null
+                    ? produtoRepository.findRecentes(limite)
+                    : produtoRepository.findRecentesApos(posicao.valorComoDataHora(), posicao.id(), limite);
+        }
+
+        return CursorPageResponse.of(linhas, tamanho, produto -> new KeysetCursor(
+                ordem.name(),
+                ordem == OrdemCursor.NOME ? produto.getNome() : produto.getCreatedAt().toString(),
+                produto.getProdutoId()).encode());
+    }
+    
+    @Override
+    public List<ProdutoSugestaoResponse> autocomplete(String termo, Integer limite) {
+        return autocompleteProdutosService.sugerir(termo, limite);
+    }
     
     @Override
     public void delete(UUID produtoId) {
@@ -151,8 +211,12 @@ public class ProdutoServiceImpl implements ProdutoService {
             throw new UnauthorizedException("Você não tem permissão para deletar este produto");
         }
         
-        // Deletar o produto
+        // Deletar o produto (os ingredientes de receitas que o usam saem em cascata)
         produtoRepository.deleteById(produtoId);
+        autocompleteProdutosService.remover(produtoId);
+        // A invalidação resolve as receitas pelo índice: deve ser registrada antes da remoção do produto
+        custoReceitaService.invalidarProduto(produtoId);
+        indiceIngredientesService.removerProduto(produtoId);
         
         // Auditoria
         auditService.auditProdutoChange(produtoId.toString(), "DELETE", currentUser.getId());
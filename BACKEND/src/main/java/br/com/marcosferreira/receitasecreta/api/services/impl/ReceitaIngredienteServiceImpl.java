@@ -2,10 +2,12 @@ package br.com.marcosferreira.receitasecreta.api.services.impl;
 
 
 
+import br.com.marcosferreira.receitasecreta.api.configs.KeysetCursor;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDeleteDto;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDeleteRecordDto;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDto;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
 import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaIngredienteResponse;
 import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
 import br.com.marcosferreira.receitasecreta.api.models.ProdutoModel;
@@ -13,34 +15,53 @@ import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteId;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
 import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
 import br.com.marcosferreira.receitasecreta.api.services.ProdutoService;
 import br.com.marcosferreira.receitasecreta.api.services.ReceitaIngredienteService;
 import br.com.marcosferreira.receitasecreta.api.services.ReceitaService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
 public class ReceitaIngredienteServiceImpl implements ReceitaIngredienteService {
 
+    private static final String ORDEM_CHAVE = "CHAVE";
+
     final ReceitaIngredienteRepository receitaIngredienteRepository;
     final ReceitaService receitaService;
     final ProdutoService produtoService;
+    final IndiceIngredientesService indiceIngredientesService;
+    final CustoReceitaService custoReceitaService;
 
-    public ReceitaIngredienteServiceImpl(ReceitaIngredienteRepository receitaIngredienteRepository, ReceitaService receitaService, ProdutoService produtoService) {
+    public ReceitaIngredienteServiceImpl(ReceitaIngredienteRepository receitaIngredienteRepository, ReceitaService receitaService, ProdutoService produtoService,
+                                         IndiceIngredientesService indiceIngredientesService, CustoReceitaService custoReceitaService) {
         this.receitaIngredienteRepository = receitaIngredienteRepository;
         this.receitaService = receitaService;
 
         this.produtoService = produtoService;
+        this.indiceIngredientesService = indiceIngredientesService;
+        this.custoReceitaService = custoReceitaService;
     }
 
     @Override
+    @Transactional
     public ReceitaIngredienteResponse save(ReceitaIngredienteDto receitaIngredienteDto) {
 
         ReceitaModel receitaModel = receitaService.findByReceitaId(receitaIngredienteDto.receitaId());
@@ -48,9 +69,15 @@ public class ReceitaIngredienteServiceImpl implements ReceitaIngredienteService
             throw new NotFoundException("Receita ID não encontrada");
         }
 
-        List<ReceitaIngredienteModel> ingredientesSalvos = new ArrayList<>();
         List<String> mensagensDeAviso = new ArrayList<>();
 
+        // Uma consulta para os ingredientes já cadastrados e outra para os produtos do lote inteiro
+        Set<UUID> produtoIds = idsDosProdutos(receitaIngredienteDto.ingredientes(), ReceitaIngredienteRecordDto::produtoId);
+        Set<UUID> cadastrados = new HashSet<>(buscarExistentes(receitaIngredienteDto.receitaId(), produtoIds).keySet());
+        Map<UUID, ProdutoModel> produtos = produtoIds.isEmpty() ? Map.of() : produtoService.findAllByProdutoIds(produtoIds).stream()
+                .collect(Collectors.toMap(ProdutoModel::getProdutoId, Function.identity()));
+
+        List<ReceitaIngredienteModel> novos = new ArrayList<>();
         for (ReceitaIngredienteRecordDto produtoRecordDto : receitaIngredienteDto.ingredientes()) {
             try {
 
@@ -64,76 +91,106 @@ public class ReceitaIngredienteServiceImpl implements ReceitaIngredienteService
                             + produtoRecordDto.produtoId());
                 }
 
-                ReceitaIngredienteId id = new ReceitaIngredienteId();
-                id.setReceitaId(receitaIngredienteDto.receitaId());
-                id.setIngredienteId(produtoRecordDto.produtoId());
-
-                ReceitaIngredienteModel ingredientereceita = receitaIngredienteRepository.findById(id).orElse(null);
-                if (ingredientereceita != null) {
+                if (cadastrados.contains(produtoRecordDto.produtoId())) {
                     mensagensDeAviso.add("ReceitaId + ProdutoId já existe no cadastro: " + produtoRecordDto.produtoId());
                     continue;
                 }
 
-                // Buscar o produto pelo ID
-                ProdutoModel produto = produtoService.findByProdutoId(produtoRecordDto.produtoId());
-                
+                ProdutoModel produto = produtos.get(produtoRecordDto.produtoId());
+                if (produto == null) {
+                    throw new NotFoundException("Erro: Produto não existe.");
+                }
+
+                ReceitaIngredienteId id = new ReceitaIngredienteId();
+                id.setReceitaId(receitaIngredienteDto.receitaId());
+                id.setIngredienteId(produtoRecordDto.produtoId());
+
                 ReceitaIngredienteModel receitaIngrediente = new ReceitaIngredienteModel();
                 receitaIngrediente.setId(id);
                 receitaIngrediente.setQuantidade(produtoRecordDto.quantidade());
                 receitaIngrediente.setUnidadeMedida(produtoRecordDto.unidadeMedida());
                 receitaIngrediente.setProduto(produto); // Associar o produto
-                
-                ReceitaIngredienteModel salvo = receitaIngredienteRepository.save(receitaIngrediente);
-                
-                ingredientesSalvos.add(salvo);
+
+                novos.add(receitaIngrediente);
+                // Repetições do mesmo produto no lote recebem o aviso de já cadastrado
+                cadastrados.add(produtoRecordDto.produtoId());
             } catch (Exception e) {
 
                 mensagensDeAviso.add("Erro com ID: " + produtoRecordDto.produtoId()
                         + ". Detalhes Save: " + e.getMessage());
             }
         }
+
+        // Um único INSERT para o lote; a chave cadastrada por uma requisição concorrente vira aviso
+        Set<UUID> inseridos = novos.isEmpty() ? Set.of()
+                : receitaIngredienteRepository.inserirSeAusentes(receitaIngredienteDto.receitaId(), novos);
+        List<ReceitaIngredienteModel> ingredientesSalvos = new ArrayList<>();
+        for (ReceitaIngredienteModel novo : novos) {
+            if (!inseridos.contains(novo.getProdutoId())) {
+                mensagensDeAviso.add("ReceitaId + ProdutoId já existe no cadastro: " + novo.getProdutoId());
+                continue;
+            }
+            ingredientesSalvos.add(novo);
+        }
+        ingredientesSalvos.forEach(salvo -> indiceIngredientesService.adicionar(salvo.getReceitaId(), salvo.getProdutoId()));
+        if (!ingredientesSalvos.isEmpty()) {
+            custoReceitaService.invalidarReceita(receitaIngredienteDto.receitaId());
+        }
+
         return new ReceitaIngredienteResponse(ingredientesSalvos,mensagensDeAviso);
     }
 
     @Override
+    @Transactional
     public ReceitaIngredienteResponse update(ReceitaIngredienteDto receitaIngredienteDto) {
 
         List<ReceitaIngredienteModel> ingredientesSalvos = new ArrayList<>();
         List<String> mensagensDeAviso = new ArrayList<>();
+        // Por produto, na ordem do lote: uma repetição do mesmo produto fica com os últimos valores
+        Map<UUID, ReceitaIngredienteModel> alterados = new LinkedHashMap<>();
+
+        Map<UUID, ReceitaIngredienteModel> existentes = buscarExistentes(receitaIngredienteDto.receitaId(),
+                idsDosProdutos(receitaIngredienteDto.ingredientes(), ReceitaIngredienteRecordDto::produtoId));
 
         for (ReceitaIngredienteRecordDto produtoRecordDto : receitaIngredienteDto.ingredientes()) {
             try {
-                ReceitaIngredienteId id = new ReceitaIngredienteId();
-                id.setReceitaId(receitaIngredienteDto.receitaId());
-                id.setIngredienteId(produtoRecordDto.produtoId());
-
-                ReceitaIngredienteModel ingredientereceita = receitaIngredienteRepository.findById(id).orElse(null);
+                ReceitaIngredienteModel ingredientereceita = existentes.get(produtoRecordDto.produtoId());
                 if (ingredientereceita == null) {
                     mensagensDeAviso.add("ReceitaId + ProdutoId Não existe no cadastro: " + produtoRecordDto.produtoId());
                     continue;
                 }
 
-
                 if (produtoRecordDto.quantidade() == null || produtoRecordDto.quantidade() <= 0) {
                     throw new IllegalArgumentException("A quantidade deve ser maior que zero para o produto com ID: "
                             + produtoRecordDto.produtoId());
-                }else{
-                    ingredientereceita.setQuantidade(produtoRecordDto.quantidade());
                 }
 
                 if (produtoRecordDto.unidadeMedida() == null) {
                     throw new IllegalArgumentException("A unidade de medida não pode ser nula para o produto com ID: "
                             + produtoRecordDto.produtoId());
-                }else {
-                    ingredientereceita.setUnidadeMedida(produtoRecordDto.unidadeMedida());
                 }
 
-                ingredientesSalvos.add(receitaIngredienteRepository.save(ingredientereceita));
+                // A entidade carregada não é alterada: os valores vão em uma cópia, gravada pelo UPDATE em lote
+                alterados.put(produtoRecordDto.produtoId(), comValores(ingredientereceita, produtoRecordDto));
             } catch (Exception e) {
                 mensagensDeAviso.add("Erro ao processar produto com ID: " + produtoRecordDto.produtoId()
                         + ". Detalhes Update: " + e.getMessage());
             }
         }
+
+        // Um único UPDATE para o lote; o ingrediente excluído depois da consulta vira aviso
+        Set<UUID> atualizados = alterados.isEmpty() ? Set.of()
+                : receitaIngredienteRepository.atualizarTodos(receitaIngredienteDto.receitaId(), new ArrayList<>(alterados.values()));
+        for (ReceitaIngredienteModel alterado : alterados.values()) {
+            if (!atualizados.contains(alterado.getProdutoId())) {
+                mensagensDeAviso.add("ReceitaId + ProdutoId Não existe no cadastro: " + alterado.getProdutoId());
+                continue;
+            }
+            ingredientesSalvos.add(alterado);
+        }
+        if (!ingredientesSalvos.isEmpty()) {
+            custoReceitaService.invalidarReceita(receitaIngredienteDto.receitaId());
+        }
         return new ReceitaIngredienteResponse(ingredientesSalvos, mensagensDeAviso);
     }
 
@@ -142,25 +199,28 @@ public class ReceitaIngredienteServiceImpl implements ReceitaIngredienteService
     public ReceitaIngredienteResponse delete(ReceitaIngredienteDeleteDto receitaIngredienteDeleteDto) {
         List<String> mensagensDeAviso = new ArrayList<>();
 
-        for (ReceitaIngredienteDeleteRecordDto produtoRecordDto : receitaIngredienteDeleteDto.ingredientes()) {
-            try {
-                ReceitaIngredienteId id = new ReceitaIngredienteId();
-                id.setReceitaId(receitaIngredienteDeleteDto.receitaId());
-                id.setIngredienteId(produtoRecordDto.produtoId());
+        UUID receitaId = receitaIngredienteDeleteDto.receitaId();
+        Set<UUID> existentes = new HashSet<>(buscarExistentes(receitaId,
+                idsDosProdutos(receitaIngredienteDeleteDto.ingredientes(), ReceitaIngredienteDeleteRecordDto::produtoId)).keySet());
 
-                if (receitaIngredienteRepository.existsById(id)) {
-                    receitaIngredienteRepository.deleteById(id);
-                    mensagensDeAviso.add("Ingrediente com ProdutoId: " + produtoRecordDto.produtoId() + " excluído com sucesso.");
-                } else {
-                    mensagensDeAviso.add("ReceitaId :" + receitaIngredienteDeleteDto.receitaId() +
-                            " ProdutoId : " + produtoRecordDto.produtoId() +
-                            "  Não existe no cadastro.");
-                }
-            } catch (Exception e) {
-                mensagensDeAviso.add("Erro ao processar produto com ID: " + produtoRecordDto.produtoId()
-                        + ". Detalhes Delete: " + e.getMessage());
+        Set<UUID> excluidos = new HashSet<>();
+        for (ReceitaIngredienteDeleteRecordDto produtoRecordDto : receitaIngredienteDeleteDto.ingredientes()) {
+            if (existentes.remove(produtoRecordDto.produtoId())) {
+                excluidos.add(produtoRecordDto.produtoId());
+                mensagensDeAviso.add("Ingrediente com ProdutoId: " + produtoRecordDto.produtoId() + " excluído com sucesso.");
+            } else {
+                mensagensDeAviso.add("ReceitaId :" + receitaId +
+                        " ProdutoId : " + produtoRecordDto.produtoId() +
+                        "  Não existe no cadastro.");
             }
         }
+
+        // Um único DELETE para todos os ingredientes encontrados
+        if (!excluidos.isEmpty()) {
+            receitaIngredienteRepository.deleteByReceitaIdAndProdutoIds(receitaId, excluidos);
+            excluidos.forEach(produtoId -> indiceIngredientesService.remover(receitaId, produtoId));
+            custoReceitaService.invalidarReceita(receitaId);
+        }
         return new ReceitaIngredienteResponse(null, mensagensDeAviso);
 
     }
@@ -170,9 +230,53 @@ public class ReceitaIngredienteServiceImpl implements ReceitaIngredienteService
         return receitaIngredienteRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ReceitaIngredienteModel> findAllPorCursor(String cursor, Integer size) {
+        // Ordem fixa pela chave primária: o valor do cursor é a receita e o desempate, o produto
+        KeysetCursor posicao = KeysetCursor.decode(cursor, ORDEM_CHAVE);
+        int tamanho = KeysetCursor.tamanhoPagina(size);
+        Pageable limite = PageRequest.ofSize(tamanho + 1);
+
+        List<ReceitaIngredienteModel> linhas = posicao == null
+                ? receitaIngredienteRepository.findPorChave(limite)
+                : receitaIngredienteRepository.findPorChaveApos(posicao.valorComoUuid(), posicao.id(), limite);
+
+        return CursorPageResponse.of(linhas, tamanho, ingrediente -> new KeysetCursor(
+                ORDEM_CHAVE,
+                ingrediente.getId().getReceitaId().toString(),
+                ingrediente.getId().getIngredienteId()).encode());
+    }
+
     @Override
     public List<ReceitaIngredienteModel> findByReceitaId(UUID receitaId) {
         return receitaIngredienteRepository.findByReceitaId(receitaId);
     }
 
+    // Métodos privados de apoio
+
+    private <T> Set<UUID> idsDosProdutos(List<T> itens, Function<T, UUID> produtoId) {
+        return itens.stream()
+                .map(produtoId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private ReceitaIngredienteModel comValores(ReceitaIngredienteModel existente, ReceitaIngredienteRecordDto valores) {
+        ReceitaIngredienteModel alterado = new ReceitaIngredienteModel();
+        alterado.setId(existente.getId());
+        alterado.setProduto(existente.getProduto());
+        alterado.setQuantidade(valores.quantidade());
+        alterado.setUnidadeMedida(valores.unidadeMedida());
+        return alterado;
+    }
+
+    private Map<UUID, ReceitaIngredienteModel> buscarExistentes(UUID receitaId, Set<UUID> produtoIds) {
+        if (receitaId == null || produtoIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return receitaIngredienteRepository.findByReceitaIdAndProdutoIds(receitaId, produtoIds).stream()
+                .collect(Collectors.toMap(ReceitaIngredienteModel::getProdutoId, Function.identity()));
+    }
+
 }
@@ -2,27 +2,52 @@ package br.com.marcosferreira.receitasecreta.api.services.impl;
 
 import br.com.marcosferreira.receitasecreta.api.configs.AuthenticationUtils;
 import br.com.marcosferreira.receitasecreta.api.configs.CustomBeanUtils;
+import br.com.marcosferreira.receitasecreta.api.configs.KeysetCursor;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaBuscaResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCardResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCompatibilidadeResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.OrdemCursor;
 import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
 import br.com.marcosferreira.receitasecreta.api.exceptions.UnauthorizedException;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService.Compatibilidade;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaImagemService;
 import br.com.marcosferreira.receitasecreta.api.services.ReceitaService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ReceitaServiceImpl implements ReceitaService {
 
+    // Limite de termos da busca textual, para conter o custo de consultas muito longas
+    private static final int MAX_TERMOS_BUSCA = 8;
+
+    // Ingredientes ausentes aceitos por padrão na busca por ingredientes
+    private static final int MAX_FALTANTES_PADRAO = 2;
+
     @Autowired
     ReceitaRepository receitaRepository;
     
@@ -31,6 +56,15 @@ public class ReceitaServiceImpl implements ReceitaService {
     
     @Autowired
     AuditService auditService;
+    
+    @Autowired
+    ReceitaImagemService receitaImagemService;
+    
+    @Autowired
+    IndiceIngredientesService indiceIngredientesService;
+    
+    @Autowired
+    CustoReceitaService custoReceitaService;
 
     public ReceitaServiceImpl(ReceitaRepository receitaRepository) {
         this.receitaRepository = receitaRepository;
@@ -111,6 +145,8 @@ public class ReceitaServiceImpl implements ReceitaService {
         receitaModel.setDataAlteracao(LocalDateTime.now(ZoneId.of("UTC")));
         
         ReceitaModel updatedReceita = receitaRepository.save(receitaModel);
+        // O rendimento define o custo por porção
+        custoReceitaService.invalidarReceita(receitaId);
         
         // Auditoria
         auditService.auditReceitaChange(receitaId.toString(), "UPDATE", currentUser.getId());
@@ -124,6 +160,103 @@ public class ReceitaServiceImpl implements ReceitaService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ReceitaModel> findAllPorCursor(String cursor, Integer size, OrdemCursor ordem) {
+        KeysetCursor posicao = KeysetCursor.decode(cursor, ordem.name());
+        int tamanho = KeysetCursor.tamanhoPagina(size);
+        // Um item a mais indica se há próxima página, sem COUNT
+        Pageable limite = PageRequest.ofSize(tamanho + 1);
+        
+        List<ReceitaModel> linhas;
+        if (ordem == OrdemCursor.NOME) {
+            linhas = posicao == null
+                ? receitaRepository.findPorNome(limite)
+                : receitaRepository.findPorNomeApos(posicao.valor(), posicao.id(), limite);
+        } else {
+            linhas = posicao == null
+                ? receitaRepository.findRecentes(limite)
+                : receitaRepository.findRecentesApos(posicao.valorComoDataHora(), posicao.id(), limite);
+        }
+        
+        return CursorPageResponse.of(linhas, tamanho, receita -> new KeysetCursor(
+            ordem.name(),
+            ordem == OrdemCursor.NOME ? receita.getNomeReceita() : receita.getCreatedAt().toString(),
+            receita.getReceitaId()).encode());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReceitaCardResponse> findCards(Pageable pageable) {
+        return receitaRepository.findCards(pageable).map(card -> {
+            String caminho = card.getCaminhoImagemPrincipal();
+            return new ReceitaCardResponse(
+                card.getReceitaId(),
+                card.getNomeReceita(),
+                card.getCategoria(),
+                card.getDificuldade(),
+                card.getTempoPreparo(),
+                caminho != null ? receitaImagemService.buildImageUrl(caminho) : null,
+                caminho != null ? receitaImagemService.buildThumbnailUrl(caminho, card.getTipoMimeImagemPrincipal()) : null);
+        });
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReceitaBuscaResponse> buscar(String termo, Pageable pageable) {
+        String consulta = montarConsultaPrefixo(termo);
+        // A ordem é sempre pela relevância; a ordenação pedida pelo cliente é ignorada
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (consulta.isEmpty()) {
+            return Page.empty(pagina);
+        }
+        
+        return receitaRepository.buscar(consulta, pagina).map(resultado -> new ReceitaBuscaResponse(
+            resultado.getReceitaId(),
+            resultado.getNomeReceita(),
+            resultado.getCategoria(),
+            resultado.getDificuldade(),
+            resultado.getTempoPreparo(),
+            resultado.getRelevancia() != null ? resultado.getRelevancia() : 0f,
+            resultado.getNomeDestacado(),
+            resultado.getTrecho()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReceitaCompatibilidadeResponse> findPorIngredientes(Set<UUID> produtoIds, Integer maxFaltantes, Integer limite) {
+        if (produtoIds == null || produtoIds.isEmpty()) {
+            return List.of();
+        }
+        int faltantes = maxFaltantes == null || maxFaltantes < 0 ? MAX_FALTANTES_PADRAO : maxFaltantes;
+        
+        List<Compatibilidade> compativeis = indiceIngredientesService.buscar(produtoIds, faltantes, KeysetCursor.tamanhoPagina(limite));
+        if (compativeis.isEmpty()) {
+            return List.of();
+        }
+        
+        // Nome e categoria em uma única consulta; receitas excluídas após a busca no índice são descartadas
+        Map<UUID, ReceitaModel> receitas = receitaRepository.findAllById(
+                compativeis.stream().map(Compatibilidade::getReceitaId).toList())
+            .stream()
+            .collect(Collectors.toMap(ReceitaModel::getReceitaId, Function.identity()));
+        
+        return compativeis.stream()
+            .filter(compativel -> receitas.containsKey(compativel.getReceitaId()))
+            .map(compativel -> {
+                ReceitaModel receita = receitas.get(compativel.getReceitaId());
+                return new ReceitaCompatibilidadeResponse(
+                    receita.getReceitaId(),
+                    receita.getNomeReceita(),
+                    receita.getCategoria(),
+                    compativel.getTotalIngredientes(),
+                    compativel.getIngredientesEncontrados(),
+                    compativel.getIngredientesFaltantes());
+            })
+            .toList();
+    }
+    
+    @Override
+    @Transactional
     public void delete(UUID receitaId) {
         User currentUser = authUtils.getCurrentUser();
         
@@ -133,10 +266,32 @@ public class ReceitaServiceImpl implements ReceitaService {
             throw new NotFoundException("Receita não encontrada");
         }
         
+        // Excluir as imagens pelo serviço, para liberar os arquivos físicos (a cascata do banco não os remove)
+        receitaImagemService.excluirImagensDaReceita(receitaId);
+        
         // Deletar a receita
         receitaRepository.deleteById(receitaId);
+        indiceIngredientesService.removerReceita(receitaId);
+        custoReceitaService.invalidarReceita(receitaId);
         
         // Auditoria
         auditService.auditReceitaChange(receitaId.toString(), "DELETE", currentUser.getId());
     }
+    
+    // Métodos privados de apoio
+    
+    /**
+     * Converte o texto digitado em uma tsquery de prefixos ("bolo choc" vira "bolo:* & choc:*").
+     * Só letras e dígitos são mantidos, o que impede a injeção de operadores da tsquery.
+     */
+    private String montarConsultaPrefixo(String termo) {
+        if (termo == null) {
+            return "";
+        }
+        return Arrays.stream(termo.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(parte -> !parte.isEmpty())
+            .limit(MAX_TERMOS_BUSCA)
+            .map(parte -> parte + ":*")
+            .collect(Collectors.joining(" & "));
+    }
 }
@@ -0,0 +1,304 @@
+package br.com.marcosferreira.receitasecreta.api.services.impl;
+
+import br.com.marcosferreira.receitasecreta.api.services.StorageBackend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Backend de armazenamento compatível com S3 (AWS S3, MinIO e similares).
+ *
+ * As requisições são assinadas com SigV4 e enviadas pelo {@link HttpClient} do JDK.
+ * Arquivos até o tamanho de parte são enviados com um único PUT; os maiores usam upload
+ * multipart, com cada parte lida do arquivo local em streaming. Leituras usam o cabeçalho
+ * Range e URLs pré-assinadas permitem que os clientes baixem as imagens direto do bucket.
+ *
+ * Ativado com {@code app.storage.tipo=s3}.
+ *
+ * @author Sistema
+ * @version 1.0
+ * @since 2025-01-15
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.tipo", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3StorageBackend.class);
+
+    // Menor tamanho de parte aceito pelo S3 (exceto a última)
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+
+    private final URI endpoint;
+    private final String bucket;
+    private final String prefix;
+    private final boolean pathStyle;
+    private final long partSize;
+    private final AwsSigV4Signer signer;
+    private final HttpClient httpClient;
+
+    public S3StorageBackend(@Value("${app.storage.s3.endpoint}") String endpoint,
+                            @Value("${app.storage.s3.region:us-east-1}") String region,
+                            @Value("${app.storage.s3.bucket}") String bucket,
+                            @Value("${app.storage.s3.access-key}") String accessKey,
+                            @Value("${app.storage.s3.secret-key}") String secretKey,
+                            @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+                            @Value("${app.storage.s3.prefix:}") String prefix,
+                            @Value("${app.storage.s3.part-size-mb:8}") int partSizeMb) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.bucket = bucket;
+        this.prefix = prefix == null || prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + "/";
+        this.pathStyle = pathStyle;
+        this.partSize = Math.max(MIN_PART_SIZE, partSizeMb * 1024L * 1024L);
+        this.signer = new AwsSigV4Signer(accessKey, secretKey, region, "s3");
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        logger.info("Armazenamento de imagens em bucket S3: {} ({})", bucket, this.endpoint);
+    }
+
+    @Override
+    public void save(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        if (size <= partSize) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put(HttpHeaders.CONTENT_TYPE, contentType);
+            send("PUT", objectUri(key, null), headers, HttpRequest.BodyPublishers.ofFile(source),
+                HttpResponse.BodyHandlers.discarding(), 200);
+            return;
+        }
+        saveMultipart(key, source, size, contentType);
+    }
+
+    @Override
+    public InputStream openRange(String key, long offset, long length) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (offset > 0 || length >= 0) {
+            headers.put(HttpHeaders.RANGE, "bytes=" + offset + "-" + (length >= 0 ? String.valueOf(offset + length - 1) : ""));
+        }
+        HttpResponse<InputStream> response = execute("GET", objectUri(key, null), headers,
+            HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() == 404) {
+            response.body().close();
+            throw new NoSuchFileException(key);
+        }
+        if (response.statusCode() != 200 && response.statusCode() != 206) {
+            String body = new String(response.body().readAllBytes(), StandardCharsets.UTF_8);
+            throw new IOException("Erro ao ler objeto " + key + ": HTTP " + response.statusCode() + " " + body);
+        }
+        return response.body();
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        // O S3 responde 204 mesmo para objetos inexistentes
+        if (!exists(key)) {
+            return false;
+        }
+        send("DELETE", objectUri(key, null), Map.of(), HttpRequest.BodyPublishers.noBody(),
+            HttpResponse.BodyHandlers.discarding(), 204);
+        return true;
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return stat(key).isPresent();
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        HttpResponse<Void> response = execute("HEAD", objectUri(key, null), Map.of(),
+            HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Erro ao consultar objeto " + key + ": HTTP " + response.statusCode());
+        }
+        long size = response.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(0L);
+        Instant lastModified = response.headers().firstValue(HttpHeaders.LAST_MODIFIED)
+            .map(this::parseHttpDate)
+            .orElse(Instant.EPOCH);
+        return Optional.of(new StoredObject(key, size, lastModified));
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key, Duration ttl) {
+        return Optional.of(signer.presign("GET", objectUri(key, null), ttl, Instant.now()));
+    }
+
+    // Métodos privados de apoio
+
+    private void saveMultipart(String key, Path source, long size, String contentType) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(HttpHeaders.CONTENT_TYPE, contentType);
+        String initiated = send("POST", objectUri(key, "uploads="), headers, HttpRequest.BodyPublishers.noBody(),
+            HttpResponse.BodyHandlers.ofString(), 200);
+        Matcher matcher = UPLOAD_ID.matcher(initiated);
+        if (!matcher.find()) {
+            throw new IOException("Resposta sem UploadId ao iniciar upload multipart de " + key);
+        }
+        String uploadId = matcher.group(1);
+        String uploadIdParam = "uploadId=" + AwsSigV4Signer.uriEncode(uploadId, true);
+
+        try {
+            List<String> etags = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                HttpResponse<Void> response = execute("PUT",
+                    objectUri(key, "partNumber=" + partNumber + "&" + uploadIdParam), Map.of(),
+                    filePart(source, offset, length), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    throw new IOException("Erro no envio da parte " + partNumber + " de " + key
+                        + ": HTTP " + response.statusCode());
+                }
+                etags.add(response.headers().firstValue(HttpHeaders.ETAG)
+                    .orElseThrow(() -> new IOException("Parte enviada sem ETag")));
+            }
+
+            StringBuilder complete = new StringBuilder("<CompleteMultipartUpload>");
+            for (int i = 0; i < etags.size(); i++) {
+                complete.append("<Part><PartNumber>").append(i + 1).append("</PartNumber><ETag>")
+                    .append(etags.get(i)).append("</ETag></Part>");
+            }
+            complete.append("</CompleteMultipartUpload>");
+            byte[] body = complete.toString().getBytes(StandardCharsets.UTF_8);
+
+            String result = send("POST", objectUri(key, uploadIdParam), Map.of(HttpHeaders.CONTENT_TYPE, "application/xml"),
+                HttpRequest.BodyPublishers.ofByteArray(body), HttpResponse.BodyHandlers.ofString(), 200);
+            // O S3 pode responder 200 com um erro no corpo
+            if (result.contains("<Error>")) {
+                throw new IOException("Erro ao concluir upload multipart de " + key + ": " + result);
+            }
+            logger.debug("Upload multipart concluído: {} ({} partes)", key, etags.size());
+        } catch (IOException | RuntimeException ex) {
+            abortMultipart(key, uploadIdParam);
+            throw ex;
+        }
+    }
+
+    private void abortMultipart(String key, String uploadIdParam) {
+        try {
+            execute("DELETE", objectUri(key, uploadIdParam), Map.of(), HttpRequest.BodyPublishers.noBody(),
+                HttpResponse.BodyHandlers.discarding());
+        } catch (IOException ex) {
+            logger.warn("Não foi possível cancelar o upload multipart de {}", key, ex);
+        }
+    }
+
+    /**
+     * Corpo de uma parte lido do arquivo sob demanda, com tamanho conhecido.
+     */
+    private HttpRequest.BodyPublisher filePart(Path source, long offset, long length) {
+        return HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(() -> {
+            try {
+                FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+                channel.position(offset);
+                return new BufferedInputStream(Channels.newInputStream(channel)) {
+                    private long remaining = length;
+
+                    @Override
+                    public synchronized int read(byte[] buffer, int off, int len) throws IOException {
+                        if (remaining <= 0) {
+                            return -1;
+                        }
+                        int read = super.read(buffer, off, (int) Math.min(len, remaining));
+                        if (read > 0) {
+                            remaining -= read;
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public synchronized int read() throws IOException {
+                        if (remaining <= 0) {
+                            return -1;
+                        }
+                        remaining--;
+                        return super.read();
+                    }
+                };
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }), length);
+    }
+
+    private URI objectUri(String key, String query) {
+        String path = AwsSigV4Signer.uriEncode(prefix + key, false);
+        String base = pathStyle
+            ? endpoint + "/" + bucket + "/" + path
+            : endpoint.getScheme() + "://" + bucket + "." + endpoint.getRawAuthority() + "/" + path;
+        return URI.create(query == null ? base : base + "?" + query);
+    }
+
+    private <T> T send(String method, URI uri, Map<String, String> headers, HttpRequest.BodyPublisher body,
+                       HttpResponse.BodyHandler<T> handler, int expectedStatus) throws IOException {
+        HttpResponse<T> response = execute(method, uri, headers, body, handler);
+        if (response.statusCode() != expectedStatus) {
+            Object detail = response.body() instanceof String text ? text : "";
+            throw new IOException("Erro na requisição " + method + " " + uri.getRawPath()
+                + ": HTTP " + response.statusCode() + " " + detail);
+        }
+        return response.body();
+    }
+
+    private <T> HttpResponse<T> execute(String method, URI uri, Map<String, String> headers,
+                                        HttpRequest.BodyPublisher body, HttpResponse.BodyHandler<T> handler)
+            throws IOException {
+        Map<String, String> signed = signer.sign(method, uri, headers, AwsSigV4Signer.UNSIGNED_PAYLOAD, Instant.now());
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofMinutes(2))
+            .method(method, body);
+        signed.forEach(request::header);
+        try {
+            return httpClient.send(request.build(), handler);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Requisição ao armazenamento interrompida", ex);
+        }
+    }
+
+    private Instant parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException ex) {
+            return Instant.EPOCH;
+        }
+    }
+}
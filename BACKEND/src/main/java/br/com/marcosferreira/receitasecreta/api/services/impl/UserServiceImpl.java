@@ -4,6 +4,7 @@ import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
 import br.com.marcosferreira.receitasecreta.api.exceptions.UnauthorizedException;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
+import br.com.marcosferreira.receitasecreta.api.security.PrincipalCache;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
 import br.com.marcosferreira.receitasecreta.api.services.UserService;
 import br.com.marcosferreira.receitasecreta.api.configs.AuthenticationUtils;
@@ -22,6 +23,9 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     private AuditService auditService;
+    
+    @Autowired
+    private PrincipalCache principalCache;
 
     public UserServiceImpl(UserRepository repository) {
         this.repository = repository;
@@ -55,6 +59,7 @@ public class UserServiceImpl implements UserService {
         
         // Deletar o usuário
         repository.deleteById(userId);
+        principalCache.invalidateUser(userToDelete.getLogin());
         
         // Auditoria
         auditService.auditPasswordChange(userId, "DELETE", currentUser.getId());
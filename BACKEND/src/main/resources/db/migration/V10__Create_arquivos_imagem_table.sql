@@ -0,0 +1,27 @@
+-- Migração V10: Armazenamento de imagens endereçado por conteúdo
+-- Autor: Sistema
+-- Descrição: Cada arquivo físico é identificado pelo SHA-256 do conteúdo e armazenado uma única vez;
+--            as imagens das receitas passam a referenciá-lo com contagem de referências
+
+CREATE TABLE arquivos_imagem (
+    hash_sha256 CHAR(64) PRIMARY KEY,
+    caminho_arquivo VARCHAR(500) NOT NULL,
+    tipo_mime VARCHAR(100) NOT NULL,
+    tamanho_bytes BIGINT NOT NULL,
+    referencias INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_arquivos_imagem_caminho UNIQUE (caminho_arquivo),
+    CONSTRAINT chk_arquivos_imagem_referencias CHECK (referencias >= 0),
+    CONSTRAINT chk_arquivos_imagem_tamanho CHECK (tamanho_bytes > 0)
+);
+
+ALTER TABLE receita_imagens ADD COLUMN hash_conteudo CHAR(64);
+
+CREATE INDEX idx_receita_imagens_hash_conteudo ON receita_imagens(hash_conteudo);
+
+COMMENT ON TABLE arquivos_imagem IS 'Arquivos físicos de imagens, armazenados uma única vez por conteúdo';
+COMMENT ON COLUMN arquivos_imagem.hash_sha256 IS 'SHA-256 do conteúdo, também usado como nome do arquivo';
+COMMENT ON COLUMN arquivos_imagem.referencias IS 'Quantidade de registros em receita_imagens que usam o arquivo';
+COMMENT ON COLUMN receita_imagens.hash_conteudo IS 'SHA-256 do arquivo em arquivos_imagem (nulo para imagens anteriores à deduplicação)';
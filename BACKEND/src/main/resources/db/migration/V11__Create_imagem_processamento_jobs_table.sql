@@ -0,0 +1,42 @@
+-- Migração V11: Fila de pós-processamento de imagens
+-- Autor: Sistema
+-- Descrição: Jobs duráveis processados fora da requisição de upload (geração de variantes etc.)
+--            e status de processamento em receita_imagens
+
+ALTER TABLE receita_imagens ADD COLUMN status_processamento VARCHAR(20) NOT NULL DEFAULT 'READY';
+
+ALTER TABLE receita_imagens ADD CONSTRAINT chk_receita_imagens_status_processamento
+    CHECK (status_processamento IN ('PENDING', 'READY', 'FAILED'));
+
+CREATE INDEX idx_receita_imagens_status_processamento ON receita_imagens(status_processamento);
+
+CREATE TABLE imagem_processamento_jobs (
+    job_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    imagem_id UUID NOT NULL,
+    tipo VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    disponivel_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    iniciado_em TIMESTAMP,
+    ultimo_erro TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_imagem_processamento_jobs_imagem
+        FOREIGN KEY (imagem_id) REFERENCES receita_imagens(imagem_id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT chk_imagem_processamento_jobs_status
+        CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED')),
+
+    CONSTRAINT chk_imagem_processamento_jobs_tentativas
+        CHECK (tentativas >= 0)
+);
+
+CREATE INDEX idx_imagem_processamento_jobs_fila ON imagem_processamento_jobs(status, disponivel_em);
+CREATE INDEX idx_imagem_processamento_jobs_imagem_id ON imagem_processamento_jobs(imagem_id);
+
+COMMENT ON TABLE imagem_processamento_jobs IS 'Fila durável de pós-processamento de imagens, consumida com FOR UPDATE SKIP LOCKED';
+COMMENT ON COLUMN imagem_processamento_jobs.disponivel_em IS 'Data a partir da qual o job pode ser reservado (usada no intervalo entre tentativas)';
+COMMENT ON COLUMN imagem_processamento_jobs.iniciado_em IS 'Início da execução atual; jobs em execução há muito tempo voltam para a fila';
+COMMENT ON COLUMN receita_imagens.status_processamento IS 'PENDING enquanto o pós-processamento não terminou, READY quando concluído, FAILED se esgotou as tentativas';
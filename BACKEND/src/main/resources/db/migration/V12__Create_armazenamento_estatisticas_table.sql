@@ -0,0 +1,20 @@
+-- Migração V12: Estatísticas incrementais do armazenamento de imagens
+-- Autor: Sistema
+-- Descrição: Contadores de quantidade e bytes mantidos a cada gravação e exclusão, substituindo
+--            varreduras do disco e agregações da tabela de imagens; recalculados pela reconciliação
+
+CREATE TABLE armazenamento_estatisticas (
+    escopo VARCHAR(20) NOT NULL,
+    chave VARCHAR(100) NOT NULL,
+    quantidade BIGINT NOT NULL DEFAULT 0,
+    total_bytes BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_armazenamento_estatisticas PRIMARY KEY (escopo, chave),
+    CONSTRAINT chk_armazenamento_estatisticas_escopo CHECK (escopo IN ('TOTAL', 'DIA', 'RECEITA', 'TIPO_MIME')),
+    CONSTRAINT chk_armazenamento_estatisticas_valores CHECK (quantidade >= 0 AND total_bytes >= 0)
+);
+
+COMMENT ON TABLE armazenamento_estatisticas IS 'Contadores de uso do armazenamento de imagens';
+COMMENT ON COLUMN armazenamento_estatisticas.escopo IS 'TOTAL e DIA contam arquivos físicos; RECEITA e TIPO_MIME contam imagens cadastradas';
+COMMENT ON COLUMN armazenamento_estatisticas.chave IS 'Diretório do dia (yyyy/MM/dd), ID da receita, tipo MIME ou * para o total';
@@ -0,0 +1,11 @@
+-- Migração V13: Otimização (recompressão) das imagens enviadas
+-- Autor: Sistema
+-- Descrição: Tamanho do arquivo enviado antes da recompressão; tamanho_bytes passa a
+--            refletir o arquivo otimizado efetivamente armazenado e servido
+
+ALTER TABLE receita_imagens ADD COLUMN tamanho_original_bytes BIGINT;
+
+ALTER TABLE receita_imagens ADD CONSTRAINT chk_receita_imagens_tamanho_original
+    CHECK (tamanho_original_bytes IS NULL OR tamanho_original_bytes > 0);
+
+COMMENT ON COLUMN receita_imagens.tamanho_original_bytes IS 'Tamanho do arquivo enviado, preenchido quando a imagem foi recomprimida (NULL se armazenada como enviada)';
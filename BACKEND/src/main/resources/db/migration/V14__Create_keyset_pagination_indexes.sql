@@ -0,0 +1,17 @@
+-- Migração V14: Índices da paginação por cursor (keyset)
+-- Autor: Sistema
+-- Descrição: Índices compostos (chave de ordenação + UUID de desempate) usados pelo
+--            predicado de busca da paginação por cursor de receitas e produtos.
+--            Ingredientes usam a própria chave primária (receita_id, produto_id).
+
+CREATE INDEX IF NOT EXISTS idx_receitas_created_at_keyset ON tb_receitas(created_at, receita_id);
+CREATE INDEX IF NOT EXISTS idx_receitas_nome_keyset ON tb_receitas(nomereceita, receita_id);
+
+CREATE INDEX IF NOT EXISTS idx_produtos_created_at_keyset ON tb_produtos(created_at, produto_id);
+CREATE INDEX IF NOT EXISTS idx_produtos_nome_keyset ON tb_produtos(nome, produto_id);
+
+-- Os índices simples de V5/V6 passam a ser prefixos dos compostos
+DROP INDEX IF EXISTS idx_receitas_created_at;
+DROP INDEX IF EXISTS idx_receitas_nome;
+DROP INDEX IF EXISTS idx_produtos_created_at;
+DROP INDEX IF EXISTS idx_produtos_nome;
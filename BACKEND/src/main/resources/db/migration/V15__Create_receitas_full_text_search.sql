@@ -0,0 +1,32 @@
+-- Migração V15: Busca textual de receitas
+-- Autor: Sistema
+-- Descrição: Configuração de busca em português sem acentos (unaccent + stemmer português),
+--            coluna tsvector gerada com pesos por campo e índice GIN usado pela busca
+--            de receitas (GET /receitas/busca).
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- Mesma configuração do português, removendo os acentos antes do stemmer,
+-- para que "açúcar", "acucar" e "Açucar" gerem o mesmo lexema
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'receitas_pt') THEN
+        CREATE TEXT SEARCH CONFIGURATION receitas_pt (COPY = pg_catalog.portuguese);
+        ALTER TEXT SEARCH CONFIGURATION receitas_pt
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END
+$$;
+
+-- Pesos da relevância: nome (A) > tags (B) > notas (C) > modo de preparo (D)
+ALTER TABLE tb_receitas ADD COLUMN IF NOT EXISTS busca_documento tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('receitas_pt', coalesce(nomereceita, '')), 'A') ||
+        setweight(to_tsvector('receitas_pt', coalesce(tags, '')), 'B') ||
+        setweight(to_tsvector('receitas_pt', coalesce(notas, '')), 'C') ||
+        setweight(to_tsvector('receitas_pt', coalesce(modopreparo, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_receitas_busca ON tb_receitas USING GIN (busca_documento);
+
+COMMENT ON COLUMN tb_receitas.busca_documento IS 'Documento de busca textual (nome, tags, notas e modo de preparo), mantido pelo banco';
@@ -0,0 +1,23 @@
+-- Migração V16: Revogação de tokens JWT
+-- Autor: Sistema
+-- Descrição: Tokens revogados individualmente (logout), identificados pelo jti, e a marca
+--            "tokens emitidos antes de" por usuário (troca de senha). As colunas revoked_at
+--            e updated_at alimentam a sincronização incremental entre as instâncias.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    user_login VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+CREATE TABLE IF NOT EXISTS user_token_revocations (
+    user_login VARCHAR(255) PRIMARY KEY,
+    revoked_before TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_token_revocations_updated_at ON user_token_revocations(updated_at);
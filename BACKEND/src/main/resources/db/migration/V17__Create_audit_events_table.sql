@@ -0,0 +1,29 @@
+-- Migração V17: Eventos de auditoria
+-- Autor: Sistema
+-- Descrição: Eventos gravados em lote pelo AuditEventWriter (alterações de receitas e produtos,
+--            trocas de senha e acessos negados). A tabela é particionada por mês em occurred_at:
+--            consultas por período leem só as partições do intervalo e os meses antigos podem ser
+--            descartados com DROP da partição. As partições dos meses seguintes são criadas pela
+--            aplicação; a partição padrão recebe o que cair fora delas.
+
+CREATE TABLE IF NOT EXISTS audit_events (
+    id UUID NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    action VARCHAR(50),
+    resource VARCHAR(255),
+    user_id VARCHAR(255),
+    detail VARCHAR(255),
+
+    CONSTRAINT pk_audit_events PRIMARY KEY (id, occurred_at),
+    CONSTRAINT chk_audit_events_event_type CHECK (event_type IN ('RECEITA', 'PRODUTO', 'PASSWORD_CHANGE', 'UNAUTHORIZED_ACCESS'))
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE IF NOT EXISTS audit_events_default PARTITION OF audit_events DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_audit_events_user ON audit_events(user_id, event_type, action);
+CREATE INDEX IF NOT EXISTS idx_audit_events_occurred_at ON audit_events(occurred_at);
+
+COMMENT ON TABLE audit_events IS 'Eventos de auditoria, particionados por mês';
+COMMENT ON COLUMN audit_events.resource IS 'ID da receita, do produto ou do usuário, ou o recurso do acesso negado';
+COMMENT ON COLUMN audit_events.user_id IS 'Usuário que executou a ação';
@@ -0,0 +1,36 @@
+-- Migração V9: Criação da tabela de variantes (thumbnails) das imagens de receitas
+-- Autor: Sistema
+-- Descrição: Registra as versões redimensionadas geradas a partir de cada imagem original
+
+CREATE TABLE receita_imagem_variantes (
+    variante_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    imagem_id UUID NOT NULL,
+    largura_alvo INTEGER NOT NULL,
+    caminho_arquivo VARCHAR(500) NOT NULL,
+    tipo_mime VARCHAR(100) NOT NULL,
+    tamanho_bytes BIGINT NOT NULL,
+    largura INTEGER NOT NULL,
+    altura INTEGER NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_receita_imagem_variantes_imagem
+        FOREIGN KEY (imagem_id) REFERENCES receita_imagens(imagem_id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT uk_receita_imagem_variantes_largura
+        UNIQUE (imagem_id, largura_alvo),
+
+    CONSTRAINT chk_variante_largura_alvo_positiva
+        CHECK (largura_alvo > 0),
+
+    CONSTRAINT chk_variante_tamanho_positivo
+        CHECK (tamanho_bytes > 0)
+);
+
+CREATE INDEX idx_receita_imagem_variantes_imagem_id ON receita_imagem_variantes(imagem_id);
+
+COMMENT ON TABLE receita_imagem_variantes IS 'Versões redimensionadas (thumbnails/responsivas) das imagens de receitas';
+COMMENT ON COLUMN receita_imagem_variantes.largura_alvo IS 'Maior lado (em pixels) solicitado para a variante (ex: 160, 480, 1024)';
+COMMENT ON COLUMN receita_imagem_variantes.caminho_arquivo IS 'Caminho relativo da variante, no mesmo diretório do arquivo original';
+COMMENT ON COLUMN receita_imagem_variantes.largura IS 'Largura real da variante em pixels';
+COMMENT ON COLUMN receita_imagem_variantes.altura IS 'Altura real da variante em pixels';
@@ -6,6 +6,9 @@ import br.com.marcosferreira.receitasecreta.api.enums.CategoriaReceita;
 import br.com.marcosferreira.receitasecreta.api.enums.Dificuldade;
 import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaDetalheService;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaDetalheService.DetalheSerializado;
 import br.com.marcosferreira.receitasecreta.api.services.ReceitaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -21,6 +24,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.beans.BeanUtils;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -51,6 +57,12 @@ class ReceitaControllerTest {
     @Mock
     private ReceitaService receitaService;
 
+    @Mock
+    private ReceitaDetalheService receitaDetalheService;
+
+    @Mock
+    private CustoReceitaService custoReceitaService;
+
     @InjectMocks
     private ReceitaController receitaController;
 
@@ -206,6 +218,48 @@ class ReceitaControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /receitas/{id}/detalhes - Detalhes da Receita")
+    class DetalhesReceita {
+
+        private final DetalheSerializado detalhes =
+            new DetalheSerializado("{\"receita\":{}}".getBytes(), "\"0123456789abcdef\"");
+
+        @Test
+        @DisplayName("Deve retornar o JSON dos detalhes com ETag")
+        void deveRetornarDetalhesComEtag() {
+            // Arrange
+            when(receitaDetalheService.buscarDetalhesSerializados(receitaId)).thenReturn(detalhes);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/receitas/" + receitaId + "/detalhes");
+
+            // Act
+            ResponseEntity<byte[]> response = receitaController.getDetalhes(receitaId,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isEqualTo("\"0123456789abcdef\"");
+            assertThat(response.getBody()).isEqualTo(detalhes.getJson());
+        }
+
+        @Test
+        @DisplayName("Deve retornar 304 sem corpo quando o ETag não mudou")
+        void deveRetornarNotModifiedQuandoEtagIgual() {
+            // Arrange
+            when(receitaDetalheService.buscarDetalhesSerializados(receitaId)).thenReturn(detalhes);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/receitas/" + receitaId + "/detalhes");
+            request.addHeader("If-None-Match", "\"0123456789abcdef\"");
+
+            // Act
+            ResponseEntity<byte[]> response = receitaController.getDetalhes(receitaId,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+        }
+    }
+
     @Nested
     @DisplayName("PUT /receitas/{id} - Atualizar Receita")
     class AtualizarReceita {
@@ -0,0 +1,182 @@
+package br.com.marcosferreira.receitasecreta.api.unit.security;
+
+import br.com.marcosferreira.receitasecreta.api.security.AuthRateLimitFilter;
+import br.com.marcosferreira.receitasecreta.api.security.InMemoryRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para AuthRateLimitFilter.
+ * Testa os limites por IP e por login, a resposta 429 e a preservação do corpo para o controller.
+ */
+@DisplayName("AuthRateLimitFilter Tests")
+class AuthRateLimitFilterTest {
+
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AuthRateLimitFilter(new InMemoryRateLimiter(), new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "loginPerIp", 3);
+        ReflectionTestUtils.setField(filter, "loginPerLogin", 2);
+        ReflectionTestUtils.setField(filter, "loginWindowSeconds", 60L);
+        ReflectionTestUtils.setField(filter, "registerPerIp", 1);
+        ReflectionTestUtils.setField(filter, "forgotPasswordPerIp", 1);
+        ReflectionTestUtils.setField(filter, "resetPasswordPerIp", 1);
+        ReflectionTestUtils.setField(filter, "hourlyWindowSeconds", 3600L);
+    }
+
+    private MockHttpServletRequest requisicao(String path, String ip, String corpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/receitasecreta" + path);
+        request.setContextPath("/receitasecreta");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        if (corpo != null) {
+            request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse login(String login, String ip) throws Exception {
+        return executar(requisicao("/auth/login", ip, "{\"login\":\"" + login + "\",\"password\":\"x\"}"), new MockFilterChain());
+    }
+
+    @Test
+    @DisplayName("Deve limitar as tentativas de login por login, mesmo vindas de IPs diferentes")
+    void deveLimitarPorLogin() throws Exception {
+        // Act
+        MockHttpServletResponse primeira = login("maria", "10.0.0.1");
+        MockHttpServletResponse segunda = login("Maria", "10.0.0.2");
+        MockHttpServletResponse terceira = login("maria", "10.0.0.3");
+
+        // Assert
+        assertThat(primeira.getStatus()).isEqualTo(200);
+        assertThat(segunda.getStatus()).isEqualTo(200);
+        assertThat(terceira.getStatus()).isEqualTo(429);
+        assertThat(terceira.getHeader("Retry-After")).isNotNull();
+        assertThat(terceira.getContentAsString()).contains("Muitas tentativas");
+        assertThat(login("joao", "10.0.0.3").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Deve limitar as tentativas de login por IP")
+    void deveLimitarPorIp() throws Exception {
+        // Act & Assert
+        assertThat(login("a", "10.0.0.9").getStatus()).isEqualTo(200);
+        assertThat(login("b", "10.0.0.9").getStatus()).isEqualTo(200);
+        assertThat(login("c", "10.0.0.9").getStatus()).isEqualTo(200);
+        assertThat(login("d", "10.0.0.9").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Deve repassar ao controller o corpo completo já lido pelo filtro")
+    void devePreservarCorpo() throws Exception {
+        // Arrange
+        String corpo = "{\"login\":\"maria\",\"password\":\"segredo\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        executar(requisicao("/auth/login", "10.0.0.1", corpo), chain);
+
+        // Assert
+        ServletRequest repassada = chain.getRequest();
+        assertThat(new String(repassada.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(corpo);
+    }
+
+    @Test
+    @DisplayName("Deve delegar a leitura assíncrona do corpo ao stream original")
+    void deveDelegarLeituraAssincrona() throws Exception {
+        // Arrange
+        String corpo = "{\"login\":\"maria\",\"password\":\"segredo\"}";
+        ByteArrayInputStream bytes = new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8));
+        AtomicReference<ReadListener> registrado = new AtomicReference<>();
+        ServletInputStream original = new ServletInputStream() {
+            @Override
+            public int read() {
+                return bytes.read();
+            }
+
+            @Override
+            public boolean isFinished() {
+                return bytes.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                registrado.set(listener);
+            }
+        };
+        HttpServletRequestWrapper request = new HttpServletRequestWrapper(requisicao("/auth/login", "10.0.0.1", null)) {
+            @Override
+            public ServletInputStream getInputStream() {
+                return original;
+            }
+        };
+        ReadListener listener = new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+            }
+
+            @Override
+            public void onAllDataRead() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        ServletInputStream repassado = chain.getRequest().getInputStream();
+        repassado.setReadListener(listener);
+
+        // Assert
+        assertThat(registrado.get()).isSameAs(listener);
+        assertThat(repassado.isReady()).isTrue();
+        assertThat(repassado.isFinished()).isFalse();
+        assertThat(new String(repassado.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(corpo);
+        assertThat(repassado.isFinished()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve limitar a recuperação de senha por IP e ignorar os demais endpoints")
+    void deveLimitarRecuperacaoEIgnorarOutrosEndpoints() throws Exception {
+        // Act & Assert
+        String corpo = "{\"email\":\"maria@email.com\"}";
+        assertThat(executar(requisicao("/auth/forgot-password", "10.0.0.1", corpo), new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(executar(requisicao("/auth/forgot-password", "10.0.0.1", corpo), new MockFilterChain()).getStatus()).isEqualTo(429);
+        for (int i = 0; i < 5; i++) {
+            assertThat(executar(requisicao("/receitas", "10.0.0.1", null), new MockFilterChain()).getStatus()).isEqualTo(200);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.marcosferreira.receitasecreta.api.unit.security;
+
+import br.com.marcosferreira.receitasecreta.api.security.InMemoryRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para InMemoryRateLimiter.
+ * Testa o limite dentro da janela, o peso da janela anterior, o Retry-After e o descarte das chaves antigas.
+ */
+@DisplayName("InMemoryRateLimiter Tests")
+class InMemoryRateLimiterTest {
+
+    private static final Duration JANELA = Duration.ofSeconds(60);
+
+    private RelogioManual relogio;
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        // Início exato de uma janela de 60 segundos
+        relogio = new RelogioManual(Instant.ofEpochSecond(60_000));
+        rateLimiter = new InMemoryRateLimiter(relogio);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar até o limite e recusar a tentativa seguinte com o tempo de espera")
+    void deveRecusarAcimaDoLimite() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("login:user:maria", 3, JANELA)).isZero();
+        }
+        long retryAfter = rateLimiter.tryAcquire("login:user:maria", 3, JANELA);
+
+        // Assert
+        assertThat(retryAfter).isPositive().isLessThanOrEqualTo(120);
+        assertThat(rateLimiter.tryAcquire("login:user:joao", 3, JANELA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve considerar as tentativas da janela anterior proporcionalmente ao tempo decorrido")
+    void deveConsiderarJanelaAnterior() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire("ip:10.0.0.1", 4, JANELA);
+        }
+
+        // Act & Assert
+        // Início da janela seguinte: a anterior ainda pesa quase inteira
+        relogio.avancar(Duration.ofSeconds(61));
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.1", 4, JANELA)).isPositive();
+        // Passada metade da janela, metade das tentativas anteriores ainda conta: sobram duas
+        relogio.avancar(Duration.ofSeconds(29));
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.1", 4, JANELA)).isZero();
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.1", 4, JANELA)).isZero();
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.1", 4, JANELA)).isPositive();
+        // Duas janelas depois, nada mais conta
+        relogio.avancar(Duration.ofSeconds(120));
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.1", 4, JANELA)).isZero();
+    }
+
+    @Test
+    @DisplayName("O tempo de espera informado deve bastar para a tentativa ser aceita")
+    void deveAceitarDepoisDoRetryAfter() {
+        // Arrange
+        relogio.avancar(Duration.ofSeconds(20));
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("ip:10.0.0.2", 5, JANELA);
+        }
+        long retryAfter = rateLimiter.tryAcquire("ip:10.0.0.2", 5, JANELA);
+
+        // Act
+        relogio.avancar(Duration.ofSeconds(retryAfter));
+
+        // Assert
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.2", 5, JANELA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve ultrapassar o limite com tentativas concorrentes")
+    void deveRespeitarLimiteComConcorrencia() {
+        // Arrange
+        AtomicInteger aceitas = new AtomicInteger();
+
+        // Act
+        CompletableFuture.allOf(IntStream.range(0, 8)
+            .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (rateLimiter.tryAcquire("login:user:maria", 50, JANELA) == 0) {
+                        aceitas.incrementAndGet();
+                    }
+                }
+            }))
+            .toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        assertThat(aceitas.get()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Deve descartar as chaves sem tentativas nas duas últimas janelas")
+    void deveDescartarChavesAntigas() {
+        // Arrange
+        rateLimiter.tryAcquire("ip:10.0.0.1", 5, JANELA);
+        relogio.avancar(Duration.ofSeconds(61));
+        rateLimiter.tryAcquire("ip:10.0.0.2", 5, JANELA);
+
+        // Act
+        relogio.avancar(Duration.ofSeconds(60));
+        rateLimiter.removeExpired();
+
+        // Assert
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    private static final class RelogioManual extends Clock {
+        private Instant agora;
+
+        private RelogioManual(Instant agora) {
+            this.agora = agora;
+        }
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
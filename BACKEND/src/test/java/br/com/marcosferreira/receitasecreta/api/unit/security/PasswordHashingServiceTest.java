@@ -0,0 +1,130 @@
+package br.com.marcosferreira.receitasecreta.api.unit.security;
+
+import br.com.marcosferreira.receitasecreta.api.exceptions.TooManyRequestsException;
+import br.com.marcosferreira.receitasecreta.api.security.PasswordHashingService;
+import br.com.marcosferreira.receitasecreta.api.security.SecurityConfigurations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para PasswordHashingService.
+ * Testa a recusa com a fila cheia, a propagação de exceções, as métricas e a política de custo do BCrypt.
+ */
+@DisplayName("PasswordHashingService Tests")
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 1);
+        passwordHashingService.init();
+    }
+
+    @AfterEach
+    void encerrar() {
+        passwordHashingService.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Execução")
+    class ExecucaoTests {
+
+        @Test
+        @DisplayName("Deve executar fora da thread da requisição e registrar as métricas")
+        void deveExecutarNoPoolERegistrarMetricas() {
+            // Act
+            String thread = passwordHashingService.execute(() -> Thread.currentThread().getName());
+
+            // Assert
+            assertThat(thread).startsWith("password-hashing-");
+            assertThat(passwordHashingService.getStatistics())
+                .containsEntry("completed", 1L)
+                .containsEntry("rejected", 0L)
+                .containsEntry("queueCapacity", 1);
+        }
+
+        @Test
+        @DisplayName("Deve recusar com TooManyRequestsException quando o pool e a fila estiverem ocupados")
+        void deveRecusarQuandoSaturado() throws Exception {
+            // Arrange
+            CountDownLatch iniciou = new CountDownLatch(1);
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Object> ocupando = CompletableFuture.supplyAsync(() -> passwordHashingService.execute(() -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                return null;
+            }));
+            assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Object> naFila = CompletableFuture.supplyAsync(() -> passwordHashingService.execute(() -> null));
+            while (!Integer.valueOf(1).equals(passwordHashingService.getStatistics().get("queueDepth"))) {
+                Thread.onSpinWait();
+            }
+
+            // Act & Assert
+            assertThatThrownBy(() -> passwordHashingService.execute(() -> "recusado"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(ex -> assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds()).isPositive());
+            assertThat(passwordHashingService.getStatistics()).containsEntry("rejected", 1L);
+
+            liberar.countDown();
+            ocupando.get(5, TimeUnit.SECONDS);
+            naFila.get(5, TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("Deve propagar a exceção original da operação")
+        void devePropagarExcecaoOriginal() {
+            // Act & Assert
+            assertThatThrownBy(() -> passwordHashingService.execute(() -> {
+                throw new IllegalArgumentException("senha inválida");
+            }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("senha inválida");
+        }
+    }
+
+    @Nested
+    @DisplayName("Política de custo")
+    class PoliticaCustoTests {
+
+        @Test
+        @DisplayName("Deve pedir rehash quando o custo do hash gravado for diferente do configurado")
+        void devePedirRehashQuandoCustoMudar() {
+            // Arrange
+            PasswordEncoder encoder = new SecurityConfigurations(null).passwordEncoder(5);
+            String custoMenor = new BCryptPasswordEncoder(4).encode("senha");
+            String custoMaior = new BCryptPasswordEncoder(6).encode("senha");
+            String mesmoCusto = encoder.encode("senha");
+
+            // Act & Assert
+            assertThat(encoder.upgradeEncoding(custoMenor)).isTrue();
+            assertThat(encoder.upgradeEncoding(custoMaior)).isTrue();
+            assertThat(encoder.upgradeEncoding(mesmoCusto)).isFalse();
+            assertThat(encoder.matches("senha", custoMaior)).isTrue();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.marcosferreira.receitasecreta.api.unit.security;
+
+import br.com.marcosferreira.receitasecreta.api.enums.UserRole;
+import br.com.marcosferreira.receitasecreta.api.models.User;
+import br.com.marcosferreira.receitasecreta.api.security.PrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para PrincipalCache.
+ * Testa a expiração junto com o token, a invalidação por usuário e o limite de entradas.
+ */
+@DisplayName("PrincipalCache Tests")
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private User maria;
+    private User joao;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(2);
+        maria = usuario("maria");
+        joao = usuario("joao");
+    }
+
+    private User usuario(String login) {
+        User user = new User();
+        user.setId(login + "-id");
+        user.setLogin(login);
+        user.setRole(UserRole.USER);
+        return user;
+    }
+
+    private Instant emUmaHora() {
+        return Instant.now().plusSeconds(3600);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o usuário guardado para o mesmo token até a expiração")
+    void deveRetornarUsuarioAteExpirar() {
+        // Arrange
+        principalCache.put("token-valido", maria, emUmaHora(), principalCache.currentGeneration());
+        principalCache.put("token-expirado", joao, Instant.now().minusSeconds(1), principalCache.currentGeneration());
+
+        // Act & Assert
+        assertThat(principalCache.get("token-valido")).isSameAs(maria);
+        assertThat(principalCache.get("outro-token")).isNull();
+        assertThat(principalCache.get("token-expirado")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve remover as entradas do usuário invalidado")
+    void deveInvalidarPorUsuario() {
+        // Arrange
+        principalCache.put("token-maria", maria, emUmaHora(), principalCache.currentGeneration());
+        principalCache.put("token-joao", joao, emUmaHora(), principalCache.currentGeneration());
+
+        // Act
+        principalCache.invalidateUser("maria");
+
+        // Assert
+        assertThat(principalCache.get("token-maria")).isNull();
+        assertThat(principalCache.get("token-joao")).isSameAs(joao);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar usuário lido antes de uma invalidação concorrente")
+    void naoDeveGuardarUsuarioObsoleto() {
+        // Arrange
+        long geracao = principalCache.currentGeneration();
+        principalCache.invalidateUser("maria");
+
+        // Act
+        principalCache.put("token-maria", maria, emUmaHora(), geracao);
+
+        // Assert
+        assertThat(principalCache.get("token-maria")).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve ultrapassar o limite de entradas")
+    void deveRespeitarLimiteDeEntradas() {
+        // Arrange
+        principalCache.put("token-1", maria, emUmaHora(), principalCache.currentGeneration());
+        principalCache.put("token-2", joao, emUmaHora(), principalCache.currentGeneration());
+
+        // Act
+        principalCache.put("token-3", usuario("ana"), emUmaHora(), principalCache.currentGeneration());
+
+        // Assert
+        assertThat(principalCache.get("token-3")).isNull();
+        assertThat(principalCache.get("token-1")).isSameAs(maria);
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.marcosferreira.receitasecreta.api.unit.security;
+
+import br.com.marcosferreira.receitasecreta.api.security.RedisRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para RedisRateLimiter.
+ * O script é executado por um substituto em memória que reproduz os comandos GET, INCR e PEXPIRE.
+ */
+@DisplayName("RedisRateLimiter Tests")
+class RedisRateLimiterTest {
+
+    private static final Duration JANELA = Duration.ofSeconds(60);
+
+    private final Map<String, Long> redis = new HashMap<>();
+    private final Map<String, Long> expiracoes = new HashMap<>();
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+    }
+
+    private RedisRateLimiter limitadorEm(Instant agora) {
+        return new RedisRateLimiter(redisTemplate, Clock.fixed(agora, ZoneOffset.UTC));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void usarSubstitutoEmMemoria() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenAnswer(this::executarScript);
+    }
+
+    // Mesma lógica do script Lua do RedisRateLimiter
+    private List<Long> executarScript(InvocationOnMock invocation) {
+        List<String> keys = invocation.getArgument(1);
+        Object[] args = invocation.getArguments();
+        long limite = Long.parseLong((String) args[2]);
+        long janela = Long.parseLong((String) args[3]);
+        long trechoAnterior = Long.parseLong((String) args[4]);
+        long atual = redis.getOrDefault(keys.get(0), 0L);
+        long anterior = redis.getOrDefault(keys.get(1), 0L);
+        if (anterior * trechoAnterior + (atual + 1) * janela > limite * janela) {
+            return List.of(0L, anterior, atual);
+        }
+        redis.put(keys.get(0), atual + 1);
+        expiracoes.put(keys.get(0), Long.parseLong((String) args[5]));
+        return List.of(1L, anterior, atual + 1);
+    }
+
+    @Test
+    @DisplayName("Deve contar por janela no Redis e recusar acima do limite")
+    void deveRecusarAcimaDoLimite() {
+        // Arrange
+        usarSubstitutoEmMemoria();
+        RedisRateLimiter rateLimiter = limitadorEm(Instant.ofEpochSecond(60_030));
+
+        // Act
+        long primeira = rateLimiter.tryAcquire("login:user:maria", 2, JANELA);
+        long segunda = rateLimiter.tryAcquire("login:user:maria", 2, JANELA);
+        long terceira = rateLimiter.tryAcquire("login:user:maria", 2, JANELA);
+
+        // Assert
+        assertThat(primeira).isZero();
+        assertThat(segunda).isZero();
+        assertThat(terceira).isEqualTo(60);
+        assertThat(redis).containsEntry("rate-limit:login:user:maria:1000", 2L);
+        assertThat(expiracoes).containsEntry("rate-limit:login:user:maria:1000", 120_000L);
+    }
+
+    @Test
+    @DisplayName("Deve somar a janela anterior gravada por outra instância")
+    void deveConsiderarJanelaAnterior() {
+        // Arrange
+        usarSubstitutoEmMemoria();
+        redis.put("rate-limit:ip:10.0.0.1:999", 5L);
+
+        // Act & Assert
+        // 15 segundos na janela: 3/4 da anterior ainda contam
+        assertThat(limitadorEm(Instant.ofEpochSecond(60_015)).tryAcquire("ip:10.0.0.1", 4, JANELA)).isPositive();
+        // 45 segundos na janela: só 1/4 da anterior
+        assertThat(limitadorEm(Instant.ofEpochSecond(60_045)).tryAcquire("ip:10.0.0.1", 4, JANELA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a tentativa quando o Redis estiver indisponível")
+    @SuppressWarnings("unchecked")
+    void deveAceitarComRedisIndisponivel() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new RedisConnectionFailureException("sem conexão"));
+
+        // Act & Assert
+        assertThat(limitadorEm(Instant.now()).tryAcquire("ip:10.0.0.1", 1, JANELA)).isZero();
+    }
+}
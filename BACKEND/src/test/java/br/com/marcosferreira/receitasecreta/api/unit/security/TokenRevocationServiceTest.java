@@ -0,0 +1,193 @@
+package br.com.marcosferreira.receitasecreta.api.unit.security;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.enums.UserRole;
+import br.com.marcosferreira.receitasecreta.api.models.RevokedToken;
+import br.com.marcosferreira.receitasecreta.api.models.User;
+import br.com.marcosferreira.receitasecreta.api.models.UserTokenRevocation;
+import br.com.marcosferreira.receitasecreta.api.repositories.RevokedTokenRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.UserTokenRevocationRepository;
+import br.com.marcosferreira.receitasecreta.api.security.PrincipalCache;
+import br.com.marcosferreira.receitasecreta.api.security.TokenRevocationService;
+import br.com.marcosferreira.receitasecreta.api.security.TokenService;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para TokenRevocationService.
+ * Testa a revogação por jti e por usuário, a consulta ao banco só nos acertos do filtro e a
+ * sincronização com as revogações de outras instâncias.
+ */
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest extends BaseUnitTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    private final TokenService tokenService = new TokenService("segredo-de-teste");
+
+    @Override
+    protected void setupCommonMocks() {
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedTokens", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.01);
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of());
+        when(userTokenRevocationRepository.findAll()).thenReturn(List.of());
+        tokenRevocationService.rebuild();
+    }
+
+    private DecodedJWT token(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setRole(UserRole.USER);
+        return tokenService.verifyToken(tokenService.generateToken(user)).orElseThrow();
+    }
+
+    private DecodedJWT tokenEmitidoEm(String login, Instant emissao) {
+        return JWT.decode(JWT.create()
+            .withSubject(login)
+            .withJWTId(UUID.randomUUID().toString())
+            .withIssuedAt(emissao)
+            .withExpiresAt(emissao.plusSeconds(7200))
+            .sign(Algorithm.HMAC256("segredo-de-teste")));
+    }
+
+    @Nested
+    @DisplayName("Verificação")
+    class VerificacaoTests {
+
+        @Test
+        @DisplayName("Não deve consultar o banco para tokens fora do filtro")
+        void naoDeveConsultarBancoParaTokenNaoRevogado() {
+            // Arrange
+            DecodedJWT token = token("maria");
+
+            // Act
+            boolean revogado = tokenRevocationService.isRevoked(token);
+
+            // Assert
+            assertThat(revogado).isFalse();
+            verify(revokedTokenRepository, never()).existsById(any());
+        }
+
+        @Test
+        @DisplayName("Deve recusar o token revogado no logout confirmando no banco")
+        void deveRecusarTokenRevogado() {
+            // Arrange
+            DecodedJWT revogado = token("maria");
+            DecodedJWT outro = token("maria");
+            when(revokedTokenRepository.existsById(revogado.getId())).thenReturn(true);
+
+            // Act
+            tokenRevocationService.revokeToken(revogado);
+
+            // Assert
+            verify(revokedTokenRepository).save(any(RevokedToken.class));
+            verify(principalCache).invalidateUser("maria");
+            assertThat(tokenRevocationService.isRevoked(revogado)).isTrue();
+            assertThat(tokenRevocationService.isRevoked(outro)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve recusar os tokens emitidos antes da revogação do usuário")
+        void deveRecusarTokensAnterioresDoUsuario() {
+            // Arrange
+            DecodedJWT antigo = tokenEmitidoEm("maria", Instant.now().minusSeconds(60));
+            DecodedJWT deOutroUsuario = tokenEmitidoEm("joao", Instant.now().minusSeconds(60));
+            DecodedJWT novo = tokenEmitidoEm("maria", Instant.now().plusSeconds(60));
+
+            // Act
+            tokenRevocationService.revokeAllForUser("maria");
+
+            // Assert
+            assertThat(tokenRevocationService.isRevoked(antigo)).isTrue();
+            assertThat(tokenRevocationService.isRevoked(novo)).isFalse();
+            assertThat(tokenRevocationService.isRevoked(deOutroUsuario)).isFalse();
+            verify(principalCache).invalidateUser("maria");
+        }
+        @Test
+        @DisplayName("Deve aceitar o token emitido no mesmo segundo da revogação do usuário")
+        void deveAceitarTokenEmitidoNoMesmoSegundo() {
+            // Act
+            tokenRevocationService.revokeAllForUser("maria");
+
+            // Assert
+            ArgumentCaptor<UserTokenRevocation> captor = ArgumentCaptor.forClass(UserTokenRevocation.class);
+            verify(userTokenRevocationRepository).save(captor.capture());
+            Instant marca = captor.getValue().getRevokedBefore();
+            assertThat(marca.getNano()).isZero();
+            assertThat(tokenRevocationService.isRevoked(tokenEmitidoEm("maria", marca))).isFalse();
+            assertThat(tokenRevocationService.isRevoked(tokenEmitidoEm("maria", marca.minusSeconds(1)))).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Sincronização")
+    class SincronizacaoTests {
+
+        @Test
+        @DisplayName("Deve aplicar as revogações gravadas por outras instâncias")
+        void deveAplicarRevogacoesDeOutrasInstancias() {
+            // Arrange
+            DecodedJWT revogado = token("maria");
+            DecodedJWT antigoJoao = token("joao");
+            Instant agora = Instant.now().plusSeconds(1);
+            when(revokedTokenRepository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                new RevokedToken(revogado.getId(), "maria", revogado.getExpiresAtAsInstant(), agora)));
+            when(userTokenRevocationRepository.findByUpdatedAtAfter(any())).thenReturn(List.of(
+                new UserTokenRevocation("joao", agora, agora)));
+            when(revokedTokenRepository.existsById(revogado.getId())).thenReturn(true);
+
+            // Act
+            tokenRevocationService.sync();
+            tokenRevocationService.sync();
+
+            // Assert
+            assertThat(tokenRevocationService.isRevoked(revogado)).isTrue();
+            assertThat(tokenRevocationService.isRevoked(antigoJoao)).isTrue();
+            // A segunda leitura devolve as mesmas linhas, já conhecidas
+            verify(principalCache, times(1)).invalidateUser("maria");
+            verify(principalCache, times(1)).invalidateUser("joao");
+        }
+
+        @Test
+        @DisplayName("Deve carregar no filtro os tokens revogados ainda válidos na reconstrução")
+        void deveCarregarRevogadosNaReconstrucao() {
+            // Arrange
+            DecodedJWT revogado = token("maria");
+            when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of(revogado.getId()));
+            when(revokedTokenRepository.existsById(revogado.getId())).thenReturn(true);
+
+            // Act
+            tokenRevocationService.rebuild();
+
+            // Assert
+            assertThat(tokenRevocationService.isRevoked(revogado)).isTrue();
+            verify(revokedTokenRepository, atLeastOnce()).deleteByExpiresAtBefore(any());
+        }
+    }
+}
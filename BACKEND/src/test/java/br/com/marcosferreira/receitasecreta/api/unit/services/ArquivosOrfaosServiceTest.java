@@ -0,0 +1,156 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.services.ArquivosOrfaosService;
+import br.com.marcosferreira.receitasecreta.api.services.ArquivosOrfaosService.ResultadoColeta;
+import br.com.marcosferreira.receitasecreta.api.services.EstatisticasArmazenamentoService;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageCacheService;
+import br.com.marcosferreira.receitasecreta.api.services.ResolucaoImagemCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ArquivosOrfaosService.
+ * Testa a detecção de órfãos por intercalação, a quarentena e o expurgo.
+ */
+@DisplayName("ArquivosOrfaosService Tests")
+class ArquivosOrfaosServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ReceitaImagemRepository receitaImagemRepository;
+
+    @Mock
+    private EstatisticasArmazenamentoService estatisticasArmazenamentoService;
+
+    @Mock
+    private ImageCacheService imageCacheService;
+
+    @Mock
+    private ResolucaoImagemCache resolucaoImagemCache;
+
+    @InjectMocks
+    private ArquivosOrfaosService arquivosOrfaosService;
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+    private Path imagens;
+
+    @Override
+    protected void setupCommonMocks() {
+        fileStorageService = new FileStorageService(uploadDir.toString());
+        imagens = fileStorageService.getImageStorageLocation();
+        ReflectionTestUtils.setField(arquivosOrfaosService, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(arquivosOrfaosService, "diretoriosPorExecucao", 30);
+        ReflectionTestUtils.setField(arquivosOrfaosService, "idadeMinimaHoras", 24L);
+        ReflectionTestUtils.setField(arquivosOrfaosService, "retencaoQuarentenaHoras", 168L);
+    }
+
+    private Path criarArquivo(String caminho, int tamanho, Duration idade) throws IOException {
+        Path arquivo = imagens.resolve(caminho);
+        Files.createDirectories(arquivo.getParent());
+        Files.write(arquivo, new byte[tamanho]);
+        Files.setLastModifiedTime(arquivo, FileTime.from(Instant.now().minus(idade)));
+        return arquivo;
+    }
+
+    @Nested
+    @DisplayName("Quarentena")
+    class QuarentenaTests {
+
+        @Test
+        @DisplayName("Deve mover para a quarentena somente os arquivos antigos sem referência")
+        void deveMoverOrfaosAntigos() throws IOException {
+            // Arrange
+            Duration antigo = Duration.ofDays(2);
+            criarArquivo("2025/01/15/a.jpg", 100, antigo);
+            criarArquivo("2025/01/15/a_w160.jpg", 10, antigo);
+            criarArquivo("2025/01/15/b.jpg", 200, antigo);
+            criarArquivo("2025/01/15/c.jpg", 300, Duration.ofMinutes(5));
+            criarArquivo("2025/01/15/.upload-1.tmp", 50, antigo);
+            when(receitaImagemRepository.findCaminhosReferenciadosPorPrefixo("2025/01/15/"))
+                .thenReturn(List.of("2025/01/15/a.jpg", "2025/01/15/a_w160.jpg"));
+
+            // Act
+            ResultadoColeta resultado = arquivosOrfaosService.executar();
+
+            // Assert
+            assertThat(resultado.getArquivosVerificados()).isEqualTo(5);
+            assertThat(resultado.getOrfaosEmQuarentena()).isEqualTo(2);
+            assertThat(resultado.getBytesEmQuarentena()).isEqualTo(250);
+            assertThat(imagens.resolve("2025/01/15/a.jpg")).exists();
+            assertThat(imagens.resolve("2025/01/15/c.jpg")).exists();
+            assertThat(imagens.resolve("2025/01/15/b.jpg")).doesNotExist();
+            assertThat(uploadDir.resolve("receitas/quarentena/2025/01/15/b.jpg")).exists();
+            verify(receitaImagemRepository, times(1)).findCaminhosReferenciadosPorPrefixo(anyString());
+            verify(estatisticasArmazenamentoService).removerArquivos(Map.of("2025/01/15/b.jpg", 200L));
+            verify(resolucaoImagemCache).invalidar(Set.of("2025/01/15/b.jpg"));
+        }
+
+        @Test
+        @DisplayName("Deve expurgar a quarentena vencida e informar os bytes recuperados")
+        void deveExpurgarQuarentenaVencida() throws IOException {
+            // Arrange
+            Path quarentena = uploadDir.resolve("receitas/quarentena/2025/01/10");
+            Files.createDirectories(quarentena);
+            Path vencido = Files.write(quarentena.resolve("x.jpg"), new byte[400]);
+            Files.setLastModifiedTime(vencido, FileTime.from(Instant.now().minus(Duration.ofDays(8))));
+            Path recente = Files.write(quarentena.resolve("y.jpg"), new byte[70]);
+
+            // Act
+            ResultadoColeta resultado = arquivosOrfaosService.executar();
+
+            // Assert
+            assertThat(resultado.getArquivosExpurgados()).isEqualTo(1);
+            assertThat(resultado.getBytesRecuperados()).isEqualTo(400);
+            assertThat(vencido).doesNotExist();
+            assertThat(recente).exists();
+        }
+    }
+
+    @Nested
+    @DisplayName("Execução incremental")
+    class IncrementalTests {
+
+        @Test
+        @DisplayName("Deve continuar do último diretório verificado e recomeçar ao final da árvore")
+        void deveRetomarDoCursor() throws IOException {
+            // Arrange: raiz, 2025, 2025/01, 2025/01/15 e 2025/01/16
+            ReflectionTestUtils.setField(arquivosOrfaosService, "diretoriosPorExecucao", 3);
+            criarArquivo("2025/01/15/a.jpg", 10, Duration.ZERO);
+            criarArquivo("2025/01/16/b.jpg", 10, Duration.ZERO);
+
+            // Act
+            int primeira = arquivosOrfaosService.executar().getDiretoriosVerificados();
+            int segunda = arquivosOrfaosService.executar().getDiretoriosVerificados();
+            int terceira = arquivosOrfaosService.executar().getDiretoriosVerificados();
+
+            // Assert
+            assertThat(primeira).isEqualTo(3);
+            assertThat(segunda).isEqualTo(2);
+            assertThat(terceira).isEqualTo(3);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.AuditEventWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para AuditEventWriter.
+ * Testa a gravação em lote fora da thread da requisição, o descarte com o buffer cheio e as falhas de gravação.
+ */
+@DisplayName("AuditEventWriter Tests")
+class AuditEventWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditEventWriter auditEventWriter;
+
+    // Lotes recebidos pelo JdbcTemplate, copiados porque a lista é reutilizada pela thread de gravação
+    private final List<List<Object>> lotes = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        auditEventWriter = new AuditEventWriter();
+        ReflectionTestUtils.setField(auditEventWriter, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(auditEventWriter, "bufferCapacity", 4);
+        ReflectionTestUtils.setField(auditEventWriter, "batchSize", 2);
+        ReflectionTestUtils.setField(auditEventWriter, "flushMs", 10L);
+    }
+
+    @AfterEach
+    void encerrar() {
+        auditEventWriter.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registrarLotes(CountDownLatch liberar) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                threads.add(Thread.currentThread().getName());
+                lotes.add(new ArrayList<>((Collection<Object>) invocation.getArgument(1)));
+                liberar.await(5, TimeUnit.SECONDS);
+                return new int[0][];
+            });
+    }
+
+    private void aguardarGravados(long quantidade) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Long.valueOf(quantidade).equals(auditEventWriter.getStatistics().get("written")) && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar os eventos em lote na thread de gravação")
+    void deveGravarEmLote() {
+        // Arrange
+        registrarLotes(new CountDownLatch(0));
+        auditEventWriter.init();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertThat(auditEventWriter.enqueue("RECEITA", "receita-" + i, "CREATE", "user-1", null)).isTrue();
+        }
+        aguardarGravados(3);
+
+        // Assert
+        assertThat(lotes.stream().mapToInt(List::size).sum()).isEqualTo(3);
+        assertThat(lotes).allSatisfy(lote -> assertThat(lote.size()).isLessThanOrEqualTo(2));
+        assertThat(threads).allSatisfy(thread -> assertThat(thread).startsWith("audit-writer-"));
+        assertThat(auditEventWriter.getStatistics())
+            .containsEntry("enqueued", 3L)
+            .containsEntry("written", 3L)
+            .containsEntry("dropped", 0L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar os eventos quando o buffer estiver cheio, sem bloquear")
+    void deveDescartarComBufferCheio() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        registrarLotes(liberar);
+        auditEventWriter.init();
+        auditEventWriter.enqueue("PRODUTO", "produto-0", "CREATE", "user-1", null);
+        // A thread de gravação fica presa no primeiro lote
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lotes.isEmpty() && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        int aceitos = 0;
+        for (int i = 1; i <= 6; i++) {
+            if (auditEventWriter.enqueue("PRODUTO", "produto-" + i, "CREATE", "user-1", null)) {
+                aceitos++;
+            }
+        }
+
+        // Assert
+        assertThat(aceitos).isEqualTo(4);
+        assertThat(auditEventWriter.getStatistics())
+            .containsEntry("dropped", 2L)
+            .containsEntry("queueDepth", 4);
+
+        liberar.countDown();
+        aguardarGravados(5);
+        assertThat(auditEventWriter.getStatistics()).containsEntry("written", 5L);
+    }
+
+    @Test
+    @DisplayName("Deve contar como falha o lote recusado pelo banco e seguir gravando")
+    @SuppressWarnings("unchecked")
+    void deveContarFalhaDeGravacao() throws Exception {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("banco indisponível"))
+            .thenReturn(new int[0][]);
+        auditEventWriter.init();
+
+        // Act
+        auditEventWriter.enqueue("UNAUTHORIZED_ACCESS", "RECEITA_1", "UPDATE", "user-2", null);
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Long.valueOf(1).equals(auditEventWriter.getStatistics().get("failed")) && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+        auditEventWriter.enqueue("PASSWORD_CHANGE", "user-2", "RESET", "admin-1", "PASSWORD_RESET");
+        aguardarGravados(1);
+
+        // Assert
+        assertThat(auditEventWriter.getStatistics())
+            .containsEntry("failed", 1L)
+            .containsEntry("written", 1L);
+    }
+
+    @Test
+    @DisplayName("Deve preencher todas as colunas do insert")
+    @SuppressWarnings("unchecked")
+    void devePreencherColunas() throws Exception {
+        // Arrange
+        List<ParameterizedPreparedStatementSetter<Object>> setters = new CopyOnWriteArrayList<>();
+        List<Object> eventos = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                eventos.addAll((Collection<Object>) invocation.getArgument(1));
+                setters.add(invocation.getArgument(3));
+                return new int[0][];
+            });
+        auditEventWriter.init();
+
+        // Act
+        auditEventWriter.enqueue("PASSWORD_CHANGE", "user-2", "RESET", "admin-1", "PASSWORD_RESET");
+        aguardarGravados(1);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setters.get(0).setValues(ps, eventos.get(0));
+
+        // Assert
+        verify(ps).setObject(eq(1), any(UUID.class));
+        verify(ps).setTimestamp(eq(2), any(Timestamp.class));
+        verify(ps).setString(3, "PASSWORD_CHANGE");
+        verify(ps).setString(4, "RESET");
+        verify(ps).setString(5, "user-2");
+        verify(ps).setString(6, "admin-1");
+        verify(ps).setString(7, "PASSWORD_RESET");
+    }
+}
@@ -6,6 +6,8 @@ import br.com.marcosferreira.receitasecreta.api.dtos.response.UserResponse;
 import br.com.marcosferreira.receitasecreta.api.enums.UserRole;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
+import br.com.marcosferreira.receitasecreta.api.security.PasswordHashingService;
+import br.com.marcosferreira.receitasecreta.api.security.TokenRevocationService;
 import br.com.marcosferreira.receitasecreta.api.security.TokenService;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
 import br.com.marcosferreira.receitasecreta.api.services.impl.AuthenticationServiceImpl;
@@ -22,6 +24,10 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,6 +35,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -50,6 +57,9 @@ class AuthenticationServiceImplTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private Authentication authentication;
 
@@ -63,6 +73,18 @@ class AuthenticationServiceImplTest {
             java.lang.reflect.Field auditServiceField = AuthenticationServiceImpl.class.getDeclaredField("auditService");
             auditServiceField.setAccessible(true);
             auditServiceField.set(authenticationService, auditService);
+
+            java.lang.reflect.Field revocationField = AuthenticationServiceImpl.class.getDeclaredField("tokenRevocationService");
+            revocationField.setAccessible(true);
+            revocationField.set(authenticationService, tokenRevocationService);
+
+            // Pool de hashing real, com uma thread, para exercitar a execução fora da thread do teste
+            PasswordHashingService passwordHashingService = new PasswordHashingService();
+            ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+            ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 4);
+            passwordHashingService.init();
+            ReflectionTestUtils.setField(authenticationService, "passwordHashingService", passwordHashingService);
+            ReflectionTestUtils.setField(authenticationService, "passwordEncoder", new BCryptPasswordEncoder(4));
         } catch (Exception e) {
             throw new RuntimeException("Erro ao injetar AuditService", e);
         }
@@ -291,4 +313,36 @@ class AuthenticationServiceImplTest {
             verify(auditService, never()).auditPasswordChange(anyString(), anyString(), anyString());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Logout Tests")
+    class LogoutTests {
+
+        @Test
+        @DisplayName("Deve revogar o token informado no logout")
+        void deveRevogarTokenNoLogout() {
+            // Arrange
+            DecodedJWT decoded = mock(DecodedJWT.class);
+            when(tokenService.verifyToken(mockToken)).thenReturn(Optional.of(decoded));
+
+            // Act
+            authenticationService.logout(mockToken);
+
+            // Assert
+            verify(tokenRevocationService).revokeToken(decoded);
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção no logout com token inválido")
+        void deveLancarExcecaoNoLogoutComTokenInvalido() {
+            // Arrange
+            when(tokenService.verifyToken(mockToken)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThatThrownBy(() -> authenticationService.logout(mockToken))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Token inválido ou expirado");
+            verify(tokenRevocationService, never()).revokeToken(any());
+        }
+    }
+}
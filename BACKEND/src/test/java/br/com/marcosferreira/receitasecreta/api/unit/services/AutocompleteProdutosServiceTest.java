@@ -0,0 +1,155 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ProdutoSugestaoResponse;
+import br.com.marcosferreira.receitasecreta.api.repositories.ProdutoNomeProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ProdutoRepository;
+import br.com.marcosferreira.receitasecreta.api.services.AutocompleteProdutosService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para AutocompleteProdutosService.
+ * Testa as sugestões por prefixo, sem acentos e com tolerância a erros de digitação.
+ */
+@DisplayName("AutocompleteProdutosService Tests")
+class AutocompleteProdutosServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @InjectMocks
+    private AutocompleteProdutosService autocompleteProdutosService;
+
+    private final UUID acucar = UUID.randomUUID();
+    private final UUID acucarMascavo = UUID.randomUUID();
+    private final UUID leiteCondensado = UUID.randomUUID();
+    private final UUID chocolate = UUID.randomUUID();
+
+    @Override
+    protected void setupCommonMocks() {
+        List<ProdutoNomeProjection> produtos = new ArrayList<>();
+        produtos.add(produto(acucar, "Açúcar"));
+        produtos.add(produto(acucarMascavo, "Açúcar Mascavo"));
+        produtos.add(produto(leiteCondensado, "Leite Condensado"));
+        produtos.add(produto(chocolate, "Chocolate em pó"));
+        when(produtoRepository.findAllNomes()).thenReturn(produtos);
+        autocompleteProdutosService.reconstruir();
+    }
+
+    private ProdutoNomeProjection produto(UUID produtoId, String nome) {
+        return new ProdutoNomeProjection() {
+            public UUID getProdutoId() { return produtoId; }
+            public String getNome() { return nome; }
+        };
+    }
+
+    @Nested
+    @DisplayName("Sugestões")
+    class SugestoesTests {
+
+        @Test
+        @DisplayName("Deve sugerir por prefixo sem acentos, nomes mais curtos primeiro")
+        void deveSugerirPorPrefixoSemAcentos() {
+            // Act
+            List<ProdutoSugestaoResponse> sugestoes = autocompleteProdutosService.sugerir("acu", null);
+
+            // Assert
+            assertThat(sugestoes).extracting(ProdutoSugestaoResponse::produtoId)
+                .containsExactly(acucar, acucarMascavo);
+            assertThat(sugestoes.get(0).nome()).isEqualTo("Açúcar");
+            assertThat(sugestoes.get(0).distancia()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve encontrar pelo início de qualquer palavra do nome")
+        void deveEncontrarPorPalavraDoMeio() {
+            // Act & Assert
+            assertThat(autocompleteProdutosService.sugerir("cond", 5))
+                .extracting(ProdutoSugestaoResponse::produtoId)
+                .containsExactly(leiteCondensado);
+            assertThat(autocompleteProdutosService.sugerir("Açúcar Masc", 5))
+                .extracting(ProdutoSugestaoResponse::produtoId)
+                .containsExactly(acucarMascavo);
+        }
+
+        @Test
+        @DisplayName("Deve tolerar erros de digitação conforme o tamanho do texto")
+        void deveTolerarErrosDeDigitacao() {
+            // Act
+            List<ProdutoSugestaoResponse> umErro = autocompleteProdutosService.sugerir("chco", null);
+            List<ProdutoSugestaoResponse> doisErros = autocompleteProdutosService.sugerir("chcolatte", null);
+
+            // Assert
+            assertThat(umErro).extracting(ProdutoSugestaoResponse::produtoId).containsExactly(chocolate);
+            assertThat(umErro.get(0).distancia()).isEqualTo(1);
+            assertThat(doisErros).extracting(ProdutoSugestaoResponse::produtoId).containsExactly(chocolate);
+            assertThat(doisErros.get(0).distancia()).isEqualTo(2);
+            assertThat(autocompleteProdutosService.sugerir("xo", null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Manutenção")
+    class ManutencaoTests {
+
+        @Test
+        @DisplayName("Deve refletir produtos criados, renomeados e excluídos sem consultar o banco")
+        void deveRefletirAlteracoes() {
+            // Arrange
+            UUID farinha = UUID.randomUUID();
+
+            // Act
+            autocompleteProdutosService.registrar(farinha, "Farinha de Trigo");
+            autocompleteProdutosService.registrar(chocolate, "Cacau em pó");
+            autocompleteProdutosService.remover(leiteCondensado);
+
+            // Assert
+            assertThat(autocompleteProdutosService.sugerir("trigo", null))
+                .extracting(ProdutoSugestaoResponse::produtoId).containsExactly(farinha);
+            assertThat(autocompleteProdutosService.sugerir("cacau", null))
+                .extracting(ProdutoSugestaoResponse::produtoId).containsExactly(chocolate);
+            assertThat(autocompleteProdutosService.sugerir("choc", null)).isEmpty();
+            assertThat(autocompleteProdutosService.sugerir("cond", null)).isEmpty();
+            verify(produtoRepository, times(1)).findAllNomes();
+        }
+
+        @Test
+        @DisplayName("Deve promover a próxima sugestão do ramo quando uma das melhores for removida")
+        void devePromoverProximaSugestao() {
+            // Arrange
+            List<UUID> arroz = new ArrayList<>();
+            for (int i = 1; i <= 12; i++) {
+                UUID produtoId = UUID.randomUUID();
+                arroz.add(produtoId);
+                autocompleteProdutosService.registrar(produtoId, "Arroz " + i);
+            }
+            List<ProdutoSugestaoResponse> antes = autocompleteProdutosService.sugerir("arroz", null);
+
+            // Act
+            autocompleteProdutosService.remover(arroz.get(0));
+
+            // Assert
+            assertThat(antes).extracting(ProdutoSugestaoResponse::produtoId)
+                .contains(arroz.get(0)).doesNotContain(arroz.get(10));
+            assertThat(autocompleteProdutosService.sugerir("arroz", null))
+                .extracting(ProdutoSugestaoResponse::produtoId)
+                .hasSize(AutocompleteProdutosService.MAX_SUGESTOES)
+                .doesNotContain(arroz.get(0))
+                .contains(arroz.get(10));
+            assertThat(autocompleteProdutosService.sugerir("acu", null))
+                .extracting(ProdutoSugestaoResponse::produtoId)
+                .containsExactly(acucar, acucarMascavo);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CustoReceitaResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.RecalculoCustosResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.UnidadeMedida;
+import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
+import br.com.marcosferreira.receitasecreta.api.repositories.IngredienteCustoProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRendimentoProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CustoReceitaService.
+ * Testa a conversão de unidades no custo, o cache com invalidação e o recálculo completo.
+ */
+@DisplayName("CustoReceitaService Tests")
+class CustoReceitaServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ReceitaRepository receitaRepository;
+
+    @Mock
+    private ReceitaIngredienteRepository receitaIngredienteRepository;
+
+    @Mock
+    private IndiceIngredientesService indiceIngredientesService;
+
+    @InjectMocks
+    private CustoReceitaService custoReceitaService;
+
+    private final UUID bolo = UUID.randomUUID();
+    private final UUID farinha = UUID.randomUUID();
+    private final UUID leite = UUID.randomUUID();
+    private final UUID ovo = UUID.randomUUID();
+
+    @Override
+    protected void setupCommonMocks() {
+        ReflectionTestUtils.setField(custoReceitaService, "paralelismo", 2);
+        custoReceitaService.init();
+    }
+
+    @AfterEach
+    void encerrar() {
+        custoReceitaService.shutdown();
+    }
+
+    private IngredienteCustoProjection ingrediente(UUID receitaId, UUID produtoId, int quantidade, UnidadeMedida unidade,
+                                                   String custoPorUnidade, UnidadeMedida unidadeProduto) {
+        return new Ingrediente(receitaId, produtoId, "Produto " + produtoId, quantidade, unidade,
+            custoPorUnidade != null ? new BigDecimal(custoPorUnidade) : null, unidadeProduto);
+    }
+
+    private void prepararBolo(String rendimento) {
+        when(receitaRepository.findRendimentoByReceitaId(bolo)).thenReturn(new Rendimento(bolo, rendimento));
+        when(receitaIngredienteRepository.findParaCustoByReceitaId(bolo)).thenReturn(List.of(
+            // 500 g de farinha a 8,00 o quilo = 4,00
+            ingrediente(bolo, farinha, 500, UnidadeMedida.GRAMA, "8.00", UnidadeMedida.KILO),
+            // 2 xícaras de leite (480 ml) a 5,00 o litro = 2,40
+            ingrediente(bolo, leite, 2, UnidadeMedida.XICARA, "5.00", UnidadeMedida.LITRO)));
+    }
+
+    @Nested
+    @DisplayName("Cálculo do custo")
+    class CalculoTests {
+
+        @Test
+        @DisplayName("Deve converter as quantidades para a unidade do preço e dividir pelas porções")
+        void deveCalcularCustoComConversao() {
+            // Arrange
+            prepararBolo("8 porções");
+
+            // Act
+            CustoReceitaResponse custo = custoReceitaService.calcularCusto(bolo);
+
+            // Assert
+            assertThat(custo.custoTotal()).isEqualByComparingTo("6.40");
+            assertThat(custo.porcoes()).isEqualTo(8);
+            assertThat(custo.custoPorPorcao()).isEqualByComparingTo("0.80");
+            assertThat(custo.completo()).isTrue();
+            assertThat(custo.ingredientes()).extracting(item -> item.custo().toPlainString())
+                .containsExactly("4.00", "2.40");
+        }
+
+        @Test
+        @DisplayName("Deve marcar o custo como incompleto quando a unidade não for conversível")
+        void deveMarcarIncompletoComUnidadeIncompativel() {
+            // Arrange
+            when(receitaRepository.findRendimentoByReceitaId(bolo)).thenReturn(new Rendimento(bolo, "Serve bem"));
+            when(receitaIngredienteRepository.findParaCustoByReceitaId(bolo)).thenReturn(List.of(
+                ingrediente(bolo, farinha, 500, UnidadeMedida.GRAMA, "8.00", UnidadeMedida.KILO),
+                ingrediente(bolo, ovo, 3, UnidadeMedida.UNIDADE, "12.00", UnidadeMedida.KILO)));
+
+            // Act
+            CustoReceitaResponse custo = custoReceitaService.calcularCusto(bolo);
+
+            // Assert
+            assertThat(custo.completo()).isFalse();
+            assertThat(custo.custoTotal()).isEqualByComparingTo("4.00");
+            assertThat(custo.ingredientes().get(1).custo()).isNull();
+            assertThat(custo.porcoes()).isNull();
+            assertThat(custo.custoPorPorcao()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve lançar NotFoundException quando a receita não existir")
+        void deveLancarNotFoundQuandoReceitaNaoExistir() {
+            // Arrange
+            when(receitaRepository.findRendimentoByReceitaId(bolo)).thenReturn(null);
+
+            // Act & Assert
+            assertThatThrownBy(() -> custoReceitaService.calcularCusto(bolo))
+                .isInstanceOf(NotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Deve reutilizar o custo calculado até a receita ser invalidada")
+        void deveUsarCacheAteInvalidarReceita() {
+            // Arrange
+            prepararBolo("8 porções");
+
+            // Act
+            CustoReceitaResponse primeira = custoReceitaService.calcularCusto(bolo);
+            CustoReceitaResponse repetida = custoReceitaService.calcularCusto(bolo);
+            custoReceitaService.invalidarReceita(bolo);
+            custoReceitaService.calcularCusto(bolo);
+
+            // Assert
+            assertThat(repetida).isSameAs(primeira);
+            verify(receitaIngredienteRepository, times(2)).findParaCustoByReceitaId(bolo);
+        }
+
+        @Test
+        @DisplayName("Deve invalidar as receitas que usam o produto alterado")
+        void deveInvalidarPeloProduto() {
+            // Arrange
+            prepararBolo("8 porções");
+            when(indiceIngredientesService.receitasComProduto(farinha)).thenReturn(List.of(bolo));
+            custoReceitaService.calcularCusto(bolo);
+
+            // Act
+            custoReceitaService.invalidarProduto(farinha);
+            custoReceitaService.calcularCusto(bolo);
+
+            // Assert
+            verify(receitaIngredienteRepository, times(2)).findParaCustoByReceitaId(bolo);
+        }
+    }
+
+    @Nested
+    @DisplayName("Recálculo completo")
+    class RecalculoTests {
+
+        @Test
+        @DisplayName("Deve recalcular todas as receitas com uma consulta e preencher o cache")
+        void deveRecalcularTodas() {
+            // Arrange
+            UUID omelete = UUID.randomUUID();
+            when(receitaRepository.findAllRendimentos()).thenReturn(List.of(
+                new Rendimento(bolo, "8 porções"), new Rendimento(omelete, "1 porção")));
+            when(receitaIngredienteRepository.findAllParaCusto()).thenReturn(List.of(
+                ingrediente(bolo, farinha, 500, UnidadeMedida.GRAMA, "8.00", UnidadeMedida.KILO),
+                ingrediente(omelete, ovo, 3, UnidadeMedida.UNIDADE, "0.75", UnidadeMedida.UNIDADE)));
+
+            // Act
+            RecalculoCustosResponse resultado = custoReceitaService.recalcularTodos();
+            CustoReceitaResponse custoOmelete = custoReceitaService.calcularCusto(omelete);
+
+            // Assert
+            assertThat(resultado.receitas()).isEqualTo(2);
+            assertThat(resultado.ingredientes()).isEqualTo(2);
+            assertThat(custoOmelete.custoTotal()).isEqualByComparingTo("2.25");
+            assertThat(custoReceitaService.calcularCusto(bolo).custoPorPorcao()).isEqualByComparingTo("0.50");
+            verify(receitaRepository, never()).findRendimentoByReceitaId(any());
+        }
+    }
+
+    private record Rendimento(UUID receitaId, String rendimento) implements ReceitaRendimentoProjection {
+        @Override public UUID getReceitaId() { return receitaId; }
+        @Override public String getRendimento() { return rendimento; }
+    }
+
+    private record Ingrediente(UUID receitaId, UUID produtoId, String nome, Integer quantidade, UnidadeMedida unidadeMedida,
+                               BigDecimal custoPorUnidade, UnidadeMedida unidadeProduto) implements IngredienteCustoProjection {
+        @Override public UUID getReceitaId() { return receitaId; }
+        @Override public UUID getProdutoId() { return produtoId; }
+        @Override public String getNome() { return nome; }
+        @Override public Integer getQuantidade() { return quantidade; }
+        @Override public UnidadeMedida getUnidadeMedida() { return unidadeMedida; }
+        @Override public BigDecimal getCustoPorUnidade() { return custoPorUnidade; }
+        @Override public UnidadeMedida getUnidadeProduto() { return unidadeProduto; }
+    }
+}
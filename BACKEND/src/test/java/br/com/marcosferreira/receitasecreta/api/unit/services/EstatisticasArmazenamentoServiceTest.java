@@ -0,0 +1,194 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.enums.EscopoEstatisticaArmazenamento;
+import br.com.marcosferreira.receitasecreta.api.models.EstatisticaArmazenamentoModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.EstatisticaArmazenamentoRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.services.EstatisticasArmazenamentoService;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para EstatisticasArmazenamentoService.
+ * Testa a atualização incremental dos contadores e a reconciliação.
+ */
+@DisplayName("EstatisticasArmazenamentoService Tests")
+class EstatisticasArmazenamentoServiceTest extends BaseUnitTest {
+
+    @Mock
+    private EstatisticaArmazenamentoRepository estatisticaRepository;
+
+    @Mock
+    private ReceitaImagemRepository receitaImagemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EstatisticasArmazenamentoService estatisticasService;
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+
+    @Override
+    protected void setupCommonMocks() {
+        fileStorageService = new FileStorageService(uploadDir.toString());
+        ReflectionTestUtils.setField(estatisticasService, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(estatisticasService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(estatisticasService, "transacaoContadores", new TransactionTemplate(transactionManager));
+    }
+
+    private ReceitaImagemModel criarImagem(UUID receitaId, String tipoMime, long tamanho) {
+        ReceitaModel receita = new ReceitaModel();
+        receita.setReceitaId(receitaId);
+        ReceitaImagemModel imagem = new ReceitaImagemModel();
+        imagem.setReceita(receita);
+        imagem.setTipoMime(tipoMime);
+        imagem.setTamanhoBytes(tamanho);
+        return imagem;
+    }
+
+    @Nested
+    @DisplayName("Atualização incremental")
+    class AtualizacaoTests {
+
+        @Test
+        @DisplayName("Deve agrupar os arquivos por dia e atualizar o total com um UPSERT por chave")
+        void deveAgruparArquivosPorDia() {
+            // Arrange
+            Map<String, Long> arquivos = new LinkedHashMap<>();
+            arquivos.put("2025/01/15/a.jpg", 1000L);
+            arquivos.put("2025/01/15/a_w160.jpg", 200L);
+            arquivos.put("2025/01/16/b.png", 500L);
+
+            // Act
+            estatisticasService.registrarArquivos(arquivos);
+
+            // Assert
+            verify(estatisticaRepository).acumular("DIA", "2025/01/15", 2L, 1200L);
+            verify(estatisticaRepository).acumular("DIA", "2025/01/16", 1L, 500L);
+            verify(estatisticaRepository).acumular("TOTAL", "*", 3L, 1700L);
+            verifyNoMoreInteractions(estatisticaRepository);
+        }
+
+        @Test
+        @DisplayName("Deve descontar a imagem excluída da receita e do tipo MIME")
+        void deveDescontarImagemExcluida() {
+            // Arrange
+            UUID receitaId = UUID.randomUUID();
+
+            // Act
+            estatisticasService.removerImagem(criarImagem(receitaId, "image/webp", 4096L));
+
+            // Assert
+            verify(estatisticaRepository).acumular("RECEITA", receitaId.toString(), -1L, -4096L);
+            verify(estatisticaRepository).acumular("TIPO_MIME", "image/webp", -1L, -4096L);
+        }
+
+        @Test
+        @DisplayName("Deve atualizar os contadores globais só após o commit e o da receita na transação")
+        void deveAtualizarContadoresGlobaisAposCommit() {
+            // Arrange
+            UUID receitaId = UUID.randomUUID();
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                estatisticasService.registrarArquivos(Map.of("2025/01/15/a.jpg", 1000L));
+                estatisticasService.registrarImagens(List.of(criarImagem(receitaId, "image/jpeg", 1000L)));
+
+                // Assert
+                verify(estatisticaRepository).acumular("RECEITA", receitaId.toString(), 1L, 1000L);
+                verifyNoMoreInteractions(estatisticaRepository);
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+                verify(estatisticaRepository).acumular("DIA", "2025/01/15", 1L, 1000L);
+                verify(estatisticaRepository).acumular("TOTAL", "*", 1L, 1000L);
+                verify(estatisticaRepository).acumular("TIPO_MIME", "image/jpeg", 1L, 1000L);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Não deve acessar o banco quando não houver arquivos")
+        void naoDeveAcumularListaVazia() {
+            // Act
+            estatisticasService.removerArquivos(Map.of());
+
+            // Assert
+            verifyNoInteractions(estatisticaRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconciliação")
+    class ReconciliacaoTests {
+
+        @Test
+        @DisplayName("Deve recalcular os contadores a partir do disco e do banco, ignorando temporários")
+        void deveRecalcularContadores() throws IOException {
+            // Arrange
+            Path imagens = fileStorageService.getImageStorageLocation();
+            Files.createDirectories(imagens.resolve("2025/01/15"));
+            Files.createDirectories(imagens.resolve("2025/01/16"));
+            Files.write(imagens.resolve("2025/01/15/a.jpg"), new byte[100]);
+            Files.write(imagens.resolve("2025/01/15/a_w160.jpg"), new byte[20]);
+            Files.write(imagens.resolve("2025/01/16/b.png"), new byte[50]);
+            Files.write(imagens.resolve("2025/01/16/.upload-123.tmp"), new byte[999]);
+
+            UUID receitaId = UUID.randomUUID();
+            when(receitaImagemRepository.getEstatisticasPorReceita())
+                .thenReturn(List.<Object[]>of(new Object[]{receitaId, 2L, 150L}));
+            when(receitaImagemRepository.getEstatisticasPorTipoMime())
+                .thenReturn(List.<Object[]>of(new Object[]{"image/jpeg", 1L, 100L}, new Object[]{"image/png", 1L, 50L}));
+
+            // Act
+            estatisticasService.reconciliar();
+
+            // Assert
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<EstatisticaArmazenamentoModel>> contadores = ArgumentCaptor.forClass(List.class);
+            verify(estatisticaRepository).deleteAllInBatch();
+            verify(estatisticaRepository).saveAll(contadores.capture());
+            assertThat(contadores.getValue())
+                .extracting(c -> c.getId().getEscopo(), c -> c.getId().getChave(),
+                    EstatisticaArmazenamentoModel::getQuantidade, EstatisticaArmazenamentoModel::getTotalBytes)
+                .containsExactlyInAnyOrder(
+                    tuple(EscopoEstatisticaArmazenamento.DIA, "2025/01/15", 2L, 120L),
+                    tuple(EscopoEstatisticaArmazenamento.DIA, "2025/01/16", 1L, 50L),
+                    tuple(EscopoEstatisticaArmazenamento.TOTAL, "*", 3L, 170L),
+                    tuple(EscopoEstatisticaArmazenamento.RECEITA, receitaId.toString(), 2L, 150L),
+                    tuple(EscopoEstatisticaArmazenamento.TIPO_MIME, "image/jpeg", 1L, 100L),
+                    tuple(EscopoEstatisticaArmazenamento.TIPO_MIME, "image/png", 1L, 50L));
+        }
+    }
+}
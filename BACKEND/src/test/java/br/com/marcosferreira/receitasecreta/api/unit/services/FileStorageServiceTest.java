@@ -0,0 +1,157 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.FileInfo;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService.StagedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FileStorageService Tests")
+class FileStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString());
+        ReflectionTestUtils.setField(fileStorageService, "maxFileSize", 10485760L);
+        ReflectionTestUtils.setField(fileStorageService, "allowedExtensions", "jpg,jpeg,png,webp,gif");
+    }
+
+    private long contarArquivos() throws IOException {
+        try (Stream<Path> arquivos = Files.walk(fileStorageService.getImageStorageLocation())) {
+            return arquivos.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private byte[] criarPng(int largura, int altura) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private FileInfo salvar(MockMultipartFile file) throws IOException {
+        try (StagedImage staged = fileStorageService.stageImage(file)) {
+            return fileStorageService.commitStagedImage(staged);
+        }
+    }
+
+    @Nested
+    @DisplayName("Armazenamento endereçado por conteúdo")
+    class ArmazenamentoPorConteudoTests {
+
+        @Test
+        @DisplayName("Deve nomear o arquivo pelo SHA-256 do conteúdo")
+        void deveNomearPeloHash() throws Exception {
+            // Arrange
+            byte[] conteudo = criarPng(40, 30);
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+            MockMultipartFile file = new MockMultipartFile("arquivo", "bolo.png", "image/png", conteudo);
+
+            // Act
+            FileInfo info = salvar(file);
+
+            // Assert
+            assertThat(info.getSha256()).isEqualTo(hash);
+            assertThat(info.getFilename()).isEqualTo(hash + ".png");
+            assertThat(info.getRelativePath()).endsWith("/" + hash + ".png");
+            assertThat(info.getSize()).isEqualTo(conteudo.length);
+            assertThat(Files.readAllBytes(fileStorageService.resolveImagePath(info.getRelativePath()))).isEqualTo(conteudo);
+        }
+
+        @Test
+        @DisplayName("Deve manter uma única cópia para conteúdos idênticos")
+        void deveManterUmaUnicaCopia() throws Exception {
+            // Arrange
+            byte[] conteudo = criarPng(40, 30);
+            MockMultipartFile primeiro = new MockMultipartFile("arquivo", "a.png", "image/png", conteudo);
+            MockMultipartFile segundo = new MockMultipartFile("arquivo", "b.png", "image/png", conteudo);
+
+            // Act
+            FileInfo info1 = salvar(primeiro);
+            FileInfo info2 = salvar(segundo);
+
+            // Assert
+            assertThat(info2.getRelativePath()).isEqualTo(info1.getRelativePath());
+            assertThat(contarArquivos()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar conteúdo acima do tamanho máximo sem deixar arquivos")
+        void deveRejeitarConteudoAcimaDoMaximo() throws Exception {
+            // Arrange
+            byte[] conteudo = criarPng(40, 30);
+            ReflectionTestUtils.setField(fileStorageService, "maxFileSize", (long) conteudo.length - 1);
+            MockMultipartFile file = new MockMultipartFile("arquivo", "a.png", "image/png", conteudo);
+
+            // Act & Assert
+            assertThatThrownBy(() -> salvar(file)).isInstanceOf(IllegalArgumentException.class);
+            assertThat(contarArquivos()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Gravação em passada única")
+    class GravacaoEmPassadaUnicaTests {
+
+        @Test
+        @DisplayName("Deve inspecionar o conteúdo enquanto grava o temporário")
+        void deveInspecionarDuranteGravacao() throws Exception {
+            // Arrange
+            byte[] conteudo = criarPng(120, 80);
+            MockMultipartFile file = new MockMultipartFile("arquivo", "foto.png", "image/png", conteudo);
+
+            // Act
+            FileInfo info;
+            try (StagedImage staged = fileStorageService.stageImage(file)) {
+                assertThat(staged.getInspection().getMimeType()).isEqualTo("image/png");
+                assertThat(staged.getInspection().getWidth()).isEqualTo(120);
+                assertThat(staged.getInspection().getHeight()).isEqualTo(80);
+                assertThat(staged.getSize()).isEqualTo(conteudo.length);
+                info = fileStorageService.commitStagedImage(staged);
+            }
+
+            // Assert
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+            assertThat(info.getFilename()).isEqualTo(hash + ".png");
+            assertThat(Files.readAllBytes(fileStorageService.resolveImagePath(info.getRelativePath()))).isEqualTo(conteudo);
+            assertThat(contarArquivos()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve remover o temporário quando o upload não for confirmado")
+        void deveRemoverTemporarioNaoConfirmado() throws Exception {
+            // Arrange
+            MockMultipartFile file = new MockMultipartFile("arquivo", "foto.png", "image/png", criarPng(120, 80));
+
+            // Act
+            try (StagedImage staged = fileStorageService.stageImage(file)) {
+                assertThat(Files.exists(staged.getTempFile())).isTrue();
+            }
+
+            // Assert
+            assertThat(contarArquivos()).isZero();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileValidationService;
+import br.com.marcosferreira.receitasecreta.api.services.FileValidationService.ValidationResult;
+import br.com.marcosferreira.receitasecreta.api.services.ImageStreamInspector;
+import br.com.marcosferreira.receitasecreta.api.services.ImageStreamInspector.ImageInspection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FileValidationService Tests")
+class FileValidationServiceTest {
+
+    private FileValidationService fileValidationService;
+
+    @BeforeEach
+    void setUp() {
+        fileValidationService = new FileValidationService();
+        ReflectionTestUtils.setField(fileValidationService, "maxFileSize", 10485760L);
+        ReflectionTestUtils.setField(fileValidationService, "minFileSize", 1L);
+        ReflectionTestUtils.setField(fileValidationService, "maxImageWidth", 4096);
+        ReflectionTestUtils.setField(fileValidationService, "maxImageHeight", 4096);
+        ReflectionTestUtils.setField(fileValidationService, "minImageWidth", 50);
+        ReflectionTestUtils.setField(fileValidationService, "minImageHeight", 50);
+        ReflectionTestUtils.setField(fileValidationService, "allowedMimeTypes", "image/jpeg,image/png,image/webp,image/gif");
+        ReflectionTestUtils.setField(fileValidationService, "allowedExtensions", "jpg,jpeg,png,webp,gif");
+    }
+
+    private byte[] gerarImagem(String formato, int largura, int altura) throws IOException {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(imagem, formato, output);
+        return output.toByteArray();
+    }
+
+    private String sha256(byte[] conteudo) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+    }
+
+    @Nested
+    @DisplayName("Inspeção em passada única")
+    class InspecaoTests {
+
+        @Test
+        @DisplayName("Deve extrair tipo, dimensões e hash de um JPEG")
+        void deveInspecionarJpeg() throws Exception {
+            // Arrange
+            byte[] conteudo = gerarImagem("jpeg", 640, 480);
+
+            // Act
+            ImageInspection inspection = fileValidationService.inspect(new ByteArrayInputStream(conteudo));
+
+            // Assert
+            assertThat(inspection.getMimeType()).isEqualTo("image/jpeg");
+            assertThat(inspection.getWidth()).isEqualTo(640);
+            assertThat(inspection.getHeight()).isEqualTo(480);
+            assertThat(inspection.getSize()).isEqualTo(conteudo.length);
+            assertThat(inspection.getSha256()).isEqualTo(sha256(conteudo));
+            assertThat(inspection.isIntact()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve produzir o mesmo resultado independentemente do tamanho dos blocos")
+        void deveSerIndependenteDoTamanhoDosBlocos() throws Exception {
+            // Arrange
+            byte[] conteudo = gerarImagem("jpeg", 300, 200);
+            ImageStreamInspector inspector = new ImageStreamInspector();
+
+            // Act
+            for (int i = 0; i < conteudo.length; i++) {
+                inspector.update(conteudo, i, 1);
+            }
+            ImageInspection inspection = inspector.finish();
+
+            // Assert
+            assertThat(inspection.getWidth()).isEqualTo(300);
+            assertThat(inspection.getHeight()).isEqualTo(200);
+            assertThat(inspection.getSha256()).isEqualTo(sha256(conteudo));
+            assertThat(inspection.isIntact()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve extrair dimensões de PNG e GIF")
+        void deveInspecionarPngEGif() throws Exception {
+            // Act
+            ImageInspection png = fileValidationService.inspect(new ByteArrayInputStream(gerarImagem("png", 120, 90)));
+            ImageInspection gif = fileValidationService.inspect(new ByteArrayInputStream(gerarImagem("gif", 70, 60)));
+
+            // Assert
+            assertThat(png.getMimeType()).isEqualTo("image/png");
+            assertThat(png.getDimensions().toString()).isEqualTo("120x90");
+            assertThat(png.isIntact()).isTrue();
+            assertThat(gif.getMimeType()).isEqualTo("image/gif");
+            assertThat(gif.getDimensions().toString()).isEqualTo("70x60");
+            assertThat(gif.isIntact()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve extrair dimensões do cabeçalho VP8X de um WebP")
+        void deveInspecionarWebp() throws Exception {
+            // Arrange
+            byte[] conteudo = new byte[40];
+            System.arraycopy("RIFF".getBytes(StandardCharsets.US_ASCII), 0, conteudo, 0, 4);
+            conteudo[4] = 32; // tamanho RIFF = 40 - 8
+            System.arraycopy("WEBPVP8X".getBytes(StandardCharsets.US_ASCII), 0, conteudo, 8, 8);
+            conteudo[16] = 10; // tamanho do bloco VP8X
+            conteudo[24] = (byte) 799; // largura - 1 = 799 (0x031F)
+            conteudo[25] = 0x03;
+            conteudo[27] = (byte) 599; // altura - 1 = 599 (0x0257)
+            conteudo[28] = 0x02;
+
+            // Act
+            ImageInspection inspection = fileValidationService.inspect(new ByteArrayInputStream(conteudo));
+
+            // Assert
+            assertThat(inspection.getMimeType()).isEqualTo("image/webp");
+            assertThat(inspection.getWidth()).isEqualTo(800);
+            assertThat(inspection.getHeight()).isEqualTo(600);
+            assertThat(inspection.isIntact()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve detectar JPEG truncado")
+        void deveDetectarJpegTruncado() throws Exception {
+            // Arrange
+            byte[] conteudo = gerarImagem("jpeg", 640, 480);
+            byte[] truncado = Arrays.copyOf(conteudo, conteudo.length - 100);
+
+            // Act
+            ImageInspection inspection = fileValidationService.inspect(new ByteArrayInputStream(truncado));
+
+            // Assert
+            assertThat(inspection.getMimeType()).isEqualTo("image/jpeg");
+            assertThat(inspection.isIntact()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Validação de arquivos de imagem")
+    class ValidacaoTests {
+
+        @Test
+        @DisplayName("Deve aceitar imagem válida e disponibilizar a inspeção")
+        void deveAceitarImagemValida() throws Exception {
+            // Arrange
+            byte[] conteudo = gerarImagem("png", 200, 100);
+            MockMultipartFile file = new MockMultipartFile("arquivo", "foto.png", "image/png", conteudo);
+
+            // Act
+            ValidationResult result = fileValidationService.validateImageFile(file);
+
+            // Assert
+            assertThat(result.isValid()).isTrue();
+            assertThat(result.getInspection()).isNotNull();
+            assertThat(result.getInspection().getWidth()).isEqualTo(200);
+            assertThat(result.getInspection().getSha256()).isEqualTo(sha256(conteudo));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar arquivo cujo conteúdo não corresponde ao tipo declarado")
+        void deveRejeitarTipoDivergente() throws Exception {
+            // Arrange
+            byte[] conteudo = gerarImagem("png", 200, 100);
+            MockMultipartFile file = new MockMultipartFile("arquivo", "foto.jpg", "image/jpeg", conteudo);
+
+            // Act
+            ValidationResult result = fileValidationService.validateImageFile(file);
+
+            // Assert
+            assertThat(result.isValid()).isFalse();
+            assertThat(result.getErrorMessage()).contains("não corresponde ao tipo declarado");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar imagem abaixo das dimensões mínimas")
+        void deveRejeitarImagemPequena() throws Exception {
+            // Arrange
+            MockMultipartFile file = new MockMultipartFile("arquivo", "foto.gif", "image/gif", gerarImagem("gif", 20, 20));
+
+            // Act
+            ValidationResult result = fileValidationService.validateImageFile(file);
+
+            // Assert
+            assertThat(result.isValid()).isFalse();
+            assertThat(result.getErrorMessage()).contains("Imagem muito pequena");
+        }
+    }
+}
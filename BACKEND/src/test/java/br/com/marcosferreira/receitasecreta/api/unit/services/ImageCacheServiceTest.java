@@ -0,0 +1,139 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.ImageCacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ImageCacheService Tests")
+class ImageCacheServiceTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path dir;
+
+    private Path criarArquivo(String nome, int tamanho) throws IOException {
+        byte[] conteudo = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            conteudo[i] = (byte) (i % 251);
+        }
+        return Files.write(dir.resolve(nome), conteudo);
+    }
+
+    private ByteBuffer carregar(ImageCacheService cache, Path arquivo) throws IOException {
+        return cache.getOrLoad(arquivo.getFileName().toString(), arquivo,
+            Files.size(arquivo), Files.getLastModifiedTime(arquivo).toMillis());
+    }
+
+    @Nested
+    @DisplayName("Acertos e ausências")
+    class AcertosTests {
+
+        @Test
+        @DisplayName("Deve carregar na primeira leitura e servir da memória nas seguintes")
+        void deveContarAcertosEAusencias() throws IOException {
+            // Arrange
+            ImageCacheService cache = new ImageCacheService(true, 1, 512);
+            Path arquivo = criarArquivo("a.jpg", 10 * KB);
+
+            // Act
+            ByteBuffer primeiro = carregar(cache, arquivo);
+            ByteBuffer segundo = carregar(cache, arquivo);
+
+            // Assert
+            byte[] lido = new byte[segundo.remaining()];
+            segundo.get(lido);
+            assertThat(lido).isEqualTo(Files.readAllBytes(arquivo));
+            assertThat(primeiro.isDirect()).isTrue();
+            Map<String, Object> stats = cache.getStatistics();
+            assertThat(stats.get("misses")).isEqualTo(1L);
+            assertThat(stats.get("hits")).isEqualTo(1L);
+            assertThat(stats.get("bytes")).isEqualTo((long) 10 * KB);
+        }
+
+        @Test
+        @DisplayName("Deve recarregar quando o arquivo em disco mudar")
+        void deveRecarregarArquivoAlterado() throws IOException {
+            // Arrange
+            ImageCacheService cache = new ImageCacheService(true, 1, 512);
+            Path arquivo = criarArquivo("a.jpg", 10 * KB);
+            carregar(cache, arquivo);
+
+            // Act
+            criarArquivo("a.jpg", 12 * KB);
+            ByteBuffer atualizado = carregar(cache, arquivo);
+
+            // Assert
+            assertThat(atualizado.remaining()).isEqualTo(12 * KB);
+            assertThat(cache.getStatistics().get("misses")).isEqualTo(2L);
+            assertThat(cache.getStatistics().get("bytes")).isEqualTo((long) 12 * KB);
+        }
+
+        @Test
+        @DisplayName("Deve remover a entrada ao invalidar")
+        void deveInvalidar() throws IOException {
+            // Arrange
+            ImageCacheService cache = new ImageCacheService(true, 1, 512);
+            Path arquivo = criarArquivo("a.jpg", 10 * KB);
+            carregar(cache, arquivo);
+
+            // Act
+            cache.invalidate("a.jpg");
+            carregar(cache, arquivo);
+
+            // Assert
+            assertThat(cache.getStatistics().get("misses")).isEqualTo(2L);
+            assertThat(cache.getStatistics().get("entries")).isEqualTo(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Limites e remoção")
+    class LimitesTests {
+
+        @Test
+        @DisplayName("Deve remover as entradas menos usadas ao exceder o orçamento de bytes")
+        void deveRemoverMenosUsadas() throws IOException {
+            // Arrange: orçamento de 1 MB com arquivos de 400 KB
+            ImageCacheService cache = new ImageCacheService(true, 1, 512);
+            Path a = criarArquivo("a.jpg", 400 * KB);
+            Path b = criarArquivo("b.jpg", 400 * KB);
+            Path c = criarArquivo("c.jpg", 400 * KB);
+
+            // Act
+            carregar(cache, a);
+            carregar(cache, b);
+            carregar(cache, a); // "a" passa a ser o mais recente
+            carregar(cache, c); // remove "b"
+            carregar(cache, a);
+
+            // Assert
+            Map<String, Object> stats = cache.getStatistics();
+            assertThat(stats.get("evictions")).isEqualTo(1L);
+            assertThat(stats.get("entries")).isEqualTo(2L);
+            assertThat(stats.get("hits")).isEqualTo(2L);
+            assertThat((long) stats.get("bytes")).isLessThanOrEqualTo(1024L * KB);
+        }
+
+        @Test
+        @DisplayName("Não deve aceitar arquivos maiores que o limite por entrada nem operar desabilitado")
+        void deveRespeitarLimites() {
+            ImageCacheService cache = new ImageCacheService(true, 1, 512);
+            assertThat(cache.isCacheable(512L * KB)).isTrue();
+            assertThat(cache.isCacheable(512L * KB + 1)).isFalse();
+
+            ImageCacheService desabilitado = new ImageCacheService(false, 64, 1024);
+            assertThat(desabilitado.isCacheable(10)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageOptimizerService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageOptimizerService.OptimizedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ImageOptimizerService Tests")
+class ImageOptimizerServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+    private ImageOptimizerService imageOptimizerService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString());
+        imageOptimizerService = new ImageOptimizerService();
+        ReflectionTestUtils.setField(imageOptimizerService, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(imageOptimizerService, "enabled", true);
+        ReflectionTestUtils.setField(imageOptimizerService, "qualidadeJpeg", 0.8f);
+        ReflectionTestUtils.setField(imageOptimizerService, "economiaMinimaPercentual", 10);
+    }
+
+    private BufferedImage criarImagemComRuido(int largura, int altura) {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < altura; y++) {
+            for (int x = 0; x < largura; x++) {
+                imagem.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return imagem;
+    }
+
+    private byte[] codificarJpeg(BufferedImage imagem, float qualidade) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(saida)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(qualidade);
+            writer.write(null, new IIOImage(imagem, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * Insere um segmento APP1 (EXIF) com a tag de orientação logo após o SOI.
+     */
+    private byte[] inserirOrientacaoExif(byte[] jpeg, int orientacao) {
+        ByteBuffer tiff = ByteBuffer.allocate(26);
+        tiff.put("MM".getBytes(StandardCharsets.US_ASCII)).putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientacao).putShort((short) 0);
+        tiff.putInt(0);
+
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        int tamanhoSegmento = 2 + exif.length + tiff.capacity();
+        ByteBuffer resultado = ByteBuffer.allocate(jpeg.length + 2 + tamanhoSegmento);
+        resultado.put(jpeg, 0, 2);
+        resultado.put((byte) 0xFF).put((byte) 0xE1).putShort((short) tamanhoSegmento);
+        resultado.put(exif).put(tiff.array());
+        resultado.put(jpeg, 2, jpeg.length - 2);
+        return resultado.array();
+    }
+
+    /**
+     * Insere um chunk ancilar logo após o IHDR (assinatura de 8 bytes + IHDR de 25 bytes).
+     */
+    private byte[] inserirChunkPng(byte[] png, String tipo, byte[] dados) {
+        CRC32 crc = new CRC32();
+        crc.update(tipo.getBytes(StandardCharsets.US_ASCII));
+        crc.update(dados);
+        ByteBuffer resultado = ByteBuffer.allocate(png.length + 12 + dados.length);
+        resultado.put(png, 0, 33);
+        resultado.putInt(dados.length).put(tipo.getBytes(StandardCharsets.US_ASCII)).put(dados).putInt((int) crc.getValue());
+        resultado.put(png, 33, png.length - 33);
+        return resultado.array();
+    }
+
+    private String gravar(String caminhoRelativo, byte[] conteudo) throws IOException {
+        Path destino = fileStorageService.resolveImagePath(caminhoRelativo);
+        Files.createDirectories(destino.getParent());
+        Files.write(destino, conteudo);
+        return caminhoRelativo;
+    }
+
+    @Nested
+    @DisplayName("Recompressão")
+    class RecompressaoTests {
+
+        @Test
+        @DisplayName("Deve recomprimir o JPEG, aplicar a orientação EXIF e preservar o original")
+        void deveRecomprimirJpeg() throws IOException {
+            // Arrange
+            byte[] original = inserirOrientacaoExif(codificarJpeg(criarImagemComRuido(400, 200), 1.0f), 6);
+            String caminho = gravar("2025/01/15/foto.jpg", original);
+
+            // Act
+            OptimizedImage otimizada = imageOptimizerService.optimize(caminho, "image/jpeg");
+
+            // Assert
+            assertThat(otimizada).isNotNull();
+            assertThat(otimizada.getRelativePath()).isEqualTo("2025/01/15/foto_o.jpg");
+            assertThat(otimizada.getOriginalSize()).isEqualTo(original.length);
+            assertThat(otimizada.getSize()).isLessThan(original.length);
+            assertThat(otimizada.getWidth()).isEqualTo(200);
+            assertThat(otimizada.getHeight()).isEqualTo(400);
+
+            Path arquivo = fileStorageService.resolveImagePath(otimizada.getRelativePath());
+            assertThat(Files.size(arquivo)).isEqualTo(otimizada.getSize());
+            BufferedImage lida = ImageIO.read(arquivo.toFile());
+            assertThat(lida.getWidth()).isEqualTo(200);
+            assertThat(lida.getHeight()).isEqualTo(400);
+            assertThat(new String(Files.readAllBytes(arquivo), StandardCharsets.ISO_8859_1)).doesNotContain("Exif");
+            assertThat(Files.readAllBytes(fileStorageService.resolveImagePath(caminho))).isEqualTo(original);
+        }
+
+        @Test
+        @DisplayName("Deve descartar o resultado quando a economia for menor que o mínimo e não houver metadados")
+        void deveDescartarSemEconomiaSuficiente() throws IOException {
+            // Arrange
+            String caminho = gravar("2025/01/15/foto.jpg", codificarJpeg(criarImagemComRuido(200, 200), 0.5f));
+
+            // Act
+            OptimizedImage otimizada = imageOptimizerService.optimize(caminho, "image/jpeg");
+
+            // Assert
+            assertThat(otimizada).isNull();
+            assertThat(fileStorageService.resolveImagePath("2025/01/15/foto_o.jpg")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Deve remover o EXIF sem recodificar quando a economia for menor que o mínimo")
+        void deveRemoverExifSemEconomiaSuficiente() throws IOException {
+            // Arrange
+            byte[] semExif = codificarJpeg(criarImagemComRuido(200, 200), 0.5f);
+            byte[] original = inserirOrientacaoExif(semExif, 1);
+            String caminho = gravar("2025/01/15/foto.jpg", original);
+
+            // Act
+            OptimizedImage otimizada = imageOptimizerService.optimize(caminho, "image/jpeg");
+
+            // Assert
+            assertThat(otimizada).isNotNull();
+            Path arquivo = fileStorageService.resolveImagePath(otimizada.getRelativePath());
+            assertThat(Files.readAllBytes(arquivo)).isEqualTo(semExif);
+            assertThat(otimizada.getSize()).isEqualTo(semExif.length);
+            assertThat(Files.readAllBytes(fileStorageService.resolveImagePath(caminho))).isEqualTo(original);
+        }
+
+        @Test
+        @DisplayName("Deve manter a versão recodificada e girada quando a foto depender da orientação EXIF")
+        void deveManterRecodificadaComOrientacao() throws IOException {
+            // Arrange
+            String caminho = gravar("2025/01/15/foto.jpg",
+                inserirOrientacaoExif(codificarJpeg(criarImagemComRuido(200, 100), 0.5f), 6));
+
+            // Act
+            OptimizedImage otimizada = imageOptimizerService.optimize(caminho, "image/jpeg");
+
+            // Assert
+            assertThat(otimizada).isNotNull();
+            Path arquivo = fileStorageService.resolveImagePath(otimizada.getRelativePath());
+            BufferedImage lida = ImageIO.read(arquivo.toFile());
+            assertThat(lida.getWidth()).isEqualTo(100);
+            assertThat(lida.getHeight()).isEqualTo(200);
+            assertThat(new String(Files.readAllBytes(arquivo), StandardCharsets.ISO_8859_1)).doesNotContain("Exif");
+        }
+
+        @Test
+        @DisplayName("Deve remover os chunks de texto do PNG quando a economia for menor que o mínimo")
+        void deveRemoverTextoDoPng() throws IOException {
+            // Arrange
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            ImageIO.write(criarImagemComRuido(120, 120), "png", saida);
+            byte[] semTexto = saida.toByteArray();
+            byte[] original = inserirChunkPng(semTexto, "tEXt", "Author\0Maria".getBytes(StandardCharsets.ISO_8859_1));
+            String caminho = gravar("2025/01/15/foto.png", original);
+
+            // Act
+            OptimizedImage otimizada = imageOptimizerService.optimize(caminho, "image/png");
+
+            // Assert
+            assertThat(otimizada).isNotNull();
+            Path arquivo = fileStorageService.resolveImagePath(otimizada.getRelativePath());
+            assertThat(new String(Files.readAllBytes(arquivo), StandardCharsets.ISO_8859_1)).doesNotContain("tEXt");
+            BufferedImage lida = ImageIO.read(arquivo.toFile());
+            assertThat(lida.getWidth()).isEqualTo(120);
+        }
+
+        @Test
+        @DisplayName("Não deve otimizar tipos sem suporte")
+        void naoDeveOtimizarTiposSemSuporte() throws IOException {
+            // Act & Assert
+            assertThat(imageOptimizerService.supports("image/webp")).isFalse();
+            assertThat(imageOptimizerService.optimize("2025/01/15/foto.webp", "image/webp")).isNull();
+        }
+    }
+}
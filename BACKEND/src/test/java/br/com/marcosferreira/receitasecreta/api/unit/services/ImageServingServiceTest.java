@@ -0,0 +1,201 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageCacheService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageServingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ImageServingService Tests")
+class ImageServingServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String CAMINHO_HASH = "2025/01/15/" + HASH + ".jpg";
+    private static final String CAMINHO_LEGADO = "2025/01/15/20250115_101010_ab12cd34.png";
+    private static final byte[] CONTEUDO = "0123456789abcdefghij".getBytes();
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageServingService imageServingService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileStorageService fileStorageService = new FileStorageService(uploadDir.toString());
+        imageServingService = new ImageServingService();
+        ReflectionTestUtils.setField(imageServingService, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(imageServingService, "imageCacheService", new ImageCacheService(false, 64, 1024));
+        ReflectionTestUtils.setField(imageServingService, "defaultMaxAge", 3600L);
+        ReflectionTestUtils.setField(imageServingService, "sendfileMinSize", 49152L);
+
+        for (String caminho : new String[]{CAMINHO_HASH, CAMINHO_LEGADO}) {
+            Path arquivo = fileStorageService.resolveImagePath(caminho);
+            Files.createDirectories(arquivo.getParent());
+            Files.write(arquivo, CONTEUDO);
+            Files.setLastModifiedTime(arquivo, FileTime.from(Instant.parse("2025-01-15T10:00:00Z")));
+        }
+    }
+
+    private MockHttpServletResponse servir(String caminho, MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageServingService.serve(caminho, true, request, response);
+        return response;
+    }
+
+    @Nested
+    @DisplayName("Respostas completas e cache")
+    class RespostaCompletaTests {
+
+        @Test
+        @DisplayName("Deve servir arquivo endereçado por conteúdo com ETag do hash e cache imutável")
+        void deveServirArquivoComCacheImutavel() throws IOException {
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_HASH, new MockHttpServletRequest("GET", "/"));
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getContentAsByteArray()).isEqualTo(CONTEUDO);
+            assertThat(response.getContentType()).isEqualTo("image/jpeg");
+            assertThat(response.getHeader("ETag")).isEqualTo("\"" + HASH + "\"");
+            assertThat(response.getHeader("Cache-Control")).contains("immutable");
+            assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+            assertThat(response.getDateHeader("Last-Modified")).isEqualTo(Instant.parse("2025-01-15T10:00:00Z").toEpochMilli());
+        }
+
+        @Test
+        @DisplayName("Deve usar ETag de tamanho e data e cache curto para arquivos legados")
+        void deveUsarEtagDeTamanhoEData() throws IOException {
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_LEGADO, new MockHttpServletRequest("GET", "/"));
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader("ETag")).startsWith("\"14-");
+            assertThat(response.getHeader("Cache-Control")).isEqualTo("public, max-age=3600");
+        }
+
+        @Test
+        @DisplayName("Deve retornar 404 para arquivo inexistente ou fora do diretório")
+        void deveRetornar404() throws IOException {
+            assertThat(servir("2025/01/15/inexistente.jpg", new MockHttpServletRequest("GET", "/")).getStatus())
+                .isEqualTo(404);
+            assertThat(servir("../../segredo.txt", new MockHttpServletRequest("GET", "/")).getStatus())
+                .isEqualTo(404);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET condicional")
+    class GetCondicionalTests {
+
+        @Test
+        @DisplayName("Deve retornar 304 quando o ETag corresponder")
+        void deveRetornar304PorEtag() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+            request.addHeader("If-None-Match", "\"outro\", W/\"" + HASH + "\"");
+
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_HASH, request);
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(304);
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve retornar 304 quando não houver modificação desde a data informada")
+        void deveRetornar304PorData() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+            request.addHeader("If-Modified-Since", Instant.parse("2025-01-15T10:00:00Z").toEpochMilli());
+
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_LEGADO, request);
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(304);
+        }
+    }
+
+    @Nested
+    @DisplayName("Requisições parciais")
+    class RangeTests {
+
+        @Test
+        @DisplayName("Deve servir o intervalo solicitado com 206")
+        void deveServirIntervalo() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+            request.addHeader("Range", "bytes=5-9");
+
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_HASH, request);
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(206);
+            assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 5-9/20");
+            assertThat(response.getContentAsString()).isEqualTo("56789");
+        }
+
+        @Test
+        @DisplayName("Deve servir o sufixo solicitado")
+        void deveServirSufixo() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+            request.addHeader("Range", "bytes=-3");
+
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_HASH, request);
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(206);
+            assertThat(response.getContentAsString()).isEqualTo("hij");
+        }
+
+        @Test
+        @DisplayName("Deve retornar 416 para intervalo fora do arquivo")
+        void deveRetornar416() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+            request.addHeader("Range", "bytes=50-60");
+
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_HASH, request);
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(416);
+            assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */20");
+        }
+
+        @Test
+        @DisplayName("Deve ignorar o Range quando o If-Range não corresponder")
+        void deveIgnorarRangeComIfRangeDivergente() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+            request.addHeader("Range", "bytes=0-1");
+            request.addHeader("If-Range", "\"outro\"");
+
+            // Act
+            MockHttpServletResponse response = servir(CAMINHO_HASH, request);
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getContentAsByteArray()).isEqualTo(CONTEUDO);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageVariantService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageVariantService.VariantInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ImageVariantService Tests")
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(uploadDir.toString());
+        imageVariantService = new ImageVariantService();
+        ReflectionTestUtils.setField(imageVariantService, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(imageVariantService, "larguras", "160,480,1024");
+        ReflectionTestUtils.setField(imageVariantService, "qualidadeJpeg", 0.8f);
+    }
+
+    private String criarImagem(String caminhoRelativo, String formato, int largura, int altura) throws IOException {
+        Path destino = fileStorageService.resolveImagePath(caminhoRelativo);
+        Files.createDirectories(destino.getParent());
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        ImageIO.write(imagem, formato, destino.toFile());
+        return caminhoRelativo;
+    }
+
+    /**
+     * Grava um JPEG com um segmento APP1 (EXIF) contendo a tag de orientação logo após o SOI.
+     */
+    private String criarJpegComOrientacao(String caminhoRelativo, int largura, int altura, int orientacao) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB), "jpeg", saida);
+        byte[] jpeg = saida.toByteArray();
+
+        ByteBuffer tiff = ByteBuffer.allocate(26);
+        tiff.put("MM".getBytes(StandardCharsets.US_ASCII)).putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientacao).putShort((short) 0);
+        tiff.putInt(0);
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        int tamanhoSegmento = 2 + exif.length + tiff.capacity();
+        ByteBuffer conteudo = ByteBuffer.allocate(jpeg.length + 2 + tamanhoSegmento);
+        conteudo.put(jpeg, 0, 2);
+        conteudo.put((byte) 0xFF).put((byte) 0xE1).putShort((short) tamanhoSegmento);
+        conteudo.put(exif).put(tiff.array());
+        conteudo.put(jpeg, 2, jpeg.length - 2);
+
+        Path destino = fileStorageService.resolveImagePath(caminhoRelativo);
+        Files.createDirectories(destino.getParent());
+        Files.write(destino, conteudo.array());
+        return caminhoRelativo;
+    }
+
+    @Nested
+    @DisplayName("Geração de variantes")
+    class GerarVariantesTests {
+
+        @Test
+        @DisplayName("Deve gerar todas as variantes respeitando o maior lado e a proporção")
+        void deveGerarTodasAsVariantes() throws IOException {
+            // Arrange
+            String caminho = criarImagem("2025/01/15/foto.jpg", "jpeg", 2000, 1000);
+
+            // Act
+            List<VariantInfo> variantes = imageVariantService.generateVariants(caminho, "image/jpeg");
+
+            // Assert
+            assertThat(variantes).extracting(VariantInfo::getTargetWidth).containsExactly(160, 480, 1024);
+            assertThat(variantes).extracting(VariantInfo::getRelativePath).containsExactly(
+                "2025/01/15/foto_w160.jpg", "2025/01/15/foto_w480.jpg", "2025/01/15/foto_w1024.jpg");
+
+            VariantInfo thumbnail = variantes.get(0);
+            assertThat(thumbnail.getWidth()).isEqualTo(160);
+            assertThat(thumbnail.getHeight()).isEqualTo(80);
+            assertThat(thumbnail.getContentType()).isEqualTo("image/jpeg");
+
+            for (VariantInfo variante : variantes) {
+                Path arquivo = fileStorageService.resolveImagePath(variante.getRelativePath());
+                assertThat(arquivo).exists();
+                assertThat(Files.size(arquivo)).isEqualTo(variante.getSize());
+                BufferedImage lida = ImageIO.read(arquivo.toFile());
+                assertThat(Math.max(lida.getWidth(), lida.getHeight())).isEqualTo(variante.getTargetWidth());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve aplicar a orientação EXIF do original antes de redimensionar")
+        void deveAplicarOrientacaoExif() throws IOException {
+            // Arrange
+            String caminho = criarJpegComOrientacao("2025/01/15/retrato.jpg", 2000, 1000, 6);
+
+            // Act
+            List<VariantInfo> variantes = imageVariantService.generateVariants(caminho, "image/jpeg");
+
+            // Assert
+            assertThat(variantes).extracting(VariantInfo::getTargetWidth).containsExactly(160, 480, 1024);
+            for (VariantInfo variante : variantes) {
+                assertThat(variante.getHeight()).isEqualTo(variante.getTargetWidth());
+                assertThat(variante.getWidth()).isEqualTo(variante.getTargetWidth() / 2);
+                BufferedImage lida = ImageIO.read(fileStorageService.resolveImagePath(variante.getRelativePath()).toFile());
+                assertThat(lida.getWidth()).isEqualTo(variante.getWidth());
+                assertThat(lida.getHeight()).isEqualTo(variante.getHeight());
+            }
+        }
+
+        @Test
+        @DisplayName("Não deve ampliar imagens menores que a largura alvo")
+        void naoDeveAmpliarImagensPequenas() throws IOException {
+            // Arrange
+            String caminho = criarImagem("2025/01/15/pequena.png", "png", 300, 200);
+
+            // Act
+            List<VariantInfo> variantes = imageVariantService.generateVariants(caminho, "image/png");
+
+            // Assert
+            assertThat(variantes).extracting(VariantInfo::getTargetWidth).containsExactly(160);
+            assertThat(variantes.get(0).getRelativePath()).isEqualTo("2025/01/15/pequena_w160.png");
+            assertThat(variantes.get(0).getContentType()).isEqualTo("image/png");
+        }
+
+        @Test
+        @DisplayName("Não deve gerar variantes para formatos sem suporte")
+        void naoDeveGerarVariantesParaWebp() throws IOException {
+            // Act
+            List<VariantInfo> variantes = imageVariantService.generateVariants("2025/01/15/foto.webp", "image/webp");
+
+            // Assert
+            assertThat(variantes).isEmpty();
+            assertThat(imageVariantService.supportsVariants("image/webp")).isFalse();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.enums.StatusProcessamentoImagem;
+import br.com.marcosferreira.receitasecreta.api.enums.TipoJobImagem;
+import br.com.marcosferreira.receitasecreta.api.models.ArquivoImagemModel;
+import br.com.marcosferreira.receitasecreta.api.models.ImagemProcessamentoJobModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.ArquivoImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ImagemProcessamentoJobRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemVarianteRepository;
+import br.com.marcosferreira.receitasecreta.api.services.EstatisticasArmazenamentoService;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageOptimizerService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageOptimizerService.OptimizedImage;
+import br.com.marcosferreira.receitasecreta.api.services.ImageVariantService;
+import br.com.marcosferreira.receitasecreta.api.services.ResolucaoImagemCache;
+import br.com.marcosferreira.receitasecreta.api.services.ImageVariantService.VariantInfo;
+import br.com.marcosferreira.receitasecreta.api.services.ImagemProcessamentoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ImagemProcessamentoService.
+ * Testa a execução dos jobs da fila de pós-processamento e a política de novas tentativas.
+ */
+@DisplayName("ImagemProcessamentoService Tests")
+class ImagemProcessamentoServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ImagemProcessamentoJobRepository jobRepository;
+
+    @Mock
+    private ReceitaImagemRepository receitaImagemRepository;
+
+    @Mock
+    private ReceitaImagemVarianteRepository receitaImagemVarianteRepository;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private EstatisticasArmazenamentoService estatisticasArmazenamentoService;
+
+    @Mock
+    private ArquivoImagemRepository arquivoImagemRepository;
+
+    @Mock
+    private ImageOptimizerService imageOptimizerService;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ResolucaoImagemCache resolucaoImagemCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ImagemProcessamentoService imagemProcessamentoService;
+
+    private ReceitaImagemModel imagem;
+
+    @Override
+    protected void setupCommonMocks() {
+        ReflectionTestUtils.setField(imagemProcessamentoService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(imagemProcessamentoService, "maxTentativas", 3);
+        ReflectionTestUtils.setField(imagemProcessamentoService, "intervaloTentativasMs", 1000L);
+
+        imagem = new ReceitaImagemModel();
+        imagem.setImagemId(UUID.randomUUID());
+        imagem.setCaminhoArquivo("2025/01/15/" + "a".repeat(64) + ".jpg");
+        imagem.setTipoMime("image/jpeg");
+        imagem.setStatusProcessamento(StatusProcessamentoImagem.PENDING);
+    }
+
+    private ImagemProcessamentoJobModel criarJob(int tentativas) {
+        return criarJob(TipoJobImagem.GERAR_VARIANTES, tentativas);
+    }
+
+    private ImagemProcessamentoJobModel criarJob(TipoJobImagem tipo, int tentativas) {
+        ImagemProcessamentoJobModel job = new ImagemProcessamentoJobModel(imagem, tipo);
+        job.setJobId(UUID.randomUUID());
+        job.setTentativas(tentativas);
+        return job;
+    }
+
+    private void stubEnfileiramento() {
+        when(jobRepository.save(any(ImagemProcessamentoJobModel.class))).thenAnswer(invocation -> {
+            ImagemProcessamentoJobModel novo = invocation.getArgument(0);
+            novo.setJobId(UUID.randomUUID());
+            return novo;
+        });
+    }
+
+    @Nested
+    @DisplayName("Execução com sucesso")
+    class SucessoTests {
+
+        @Test
+        @DisplayName("Deve registrar as variantes, marcar a imagem como READY e concluir o job")
+        void deveConcluirJob() throws IOException {
+            // Arrange
+            ImagemProcessamentoJobModel job = criarJob(1);
+            when(imageVariantService.generateVariants(imagem.getCaminhoArquivo(), "image/jpeg")).thenReturn(List.of(
+                new VariantInfo(160, "2025/01/15/" + "a".repeat(64) + "_w160.jpg", "image/jpeg", 1200L, 160, 120)));
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert
+            verify(receitaImagemVarianteRepository).deleteByImagemId(imagem.getImagemId());
+            verify(receitaImagemVarianteRepository).saveAll(argThat(variantes -> variantes.iterator().hasNext()));
+            verify(receitaImagemRepository).updateStatusProcessamento(imagem.getImagemId(), StatusProcessamentoImagem.READY);
+            verify(resolucaoImagemCache).invalidar(List.of(imagem.getCaminhoArquivo()));
+            verify(jobRepository).concluir(job.getJobId());
+            verify(jobRepository, never()).reagendar(any(), any(), anyString());
+            verify(estatisticasArmazenamentoService).registrarArquivos(
+                Map.of("2025/01/15/" + "a".repeat(64) + "_w160.jpg", 1200L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Otimização")
+    class OtimizacaoTests {
+
+        private final String hash = "a".repeat(64);
+        private final String caminhoOtimizado = "2025/01/15/" + hash + "_o.jpg";
+
+        @Test
+        @DisplayName("Deve apontar as imagens para o arquivo otimizado, manter o original e enfileirar as variantes")
+        void deveAplicarOtimizacao() throws IOException {
+            // Arrange
+            imagem.setHashConteudo(hash);
+            imagem.setTamanhoBytes(5000L);
+            String caminhoOriginal = imagem.getCaminhoArquivo();
+            ImagemProcessamentoJobModel job = criarJob(TipoJobImagem.OTIMIZAR, 1);
+            when(arquivoImagemRepository.findById(hash)).thenReturn(Optional.of(
+                new ArquivoImagemModel(hash, caminhoOriginal, "image/jpeg", 5000L)));
+            when(imageOptimizerService.supports("image/jpeg")).thenReturn(true);
+            when(fileStorageService.isOptimizedPath(caminhoOriginal)).thenReturn(false);
+            when(imageOptimizerService.optimize(caminhoOriginal, "image/jpeg"))
+                .thenReturn(new OptimizedImage(caminhoOtimizado, 5000L, 1500L, 800, 600));
+            when(arquivoImagemRepository.atualizarArquivo(hash, caminhoOriginal, caminhoOtimizado, 1500L)).thenReturn(1);
+            when(receitaImagemRepository.findByHashConteudo(hash)).thenReturn(List.of(imagem));
+            stubEnfileiramento();
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert
+            assertThat(imagem.getCaminhoArquivo()).isEqualTo(caminhoOtimizado);
+            assertThat(imagem.getTamanhoBytes()).isEqualTo(1500L);
+            assertThat(imagem.getTamanhoOriginalBytes()).isEqualTo(5000L);
+            verify(estatisticasArmazenamentoService).registrarArquivos(Map.of(caminhoOtimizado, 1500L));
+            // As URLs entregues no upload apontam para o original: ele fica para a coleta de órfãos
+            verify(fileStorageService, never()).deleteFile(anyString());
+            verify(estatisticasArmazenamentoService, never()).removerArquivos(any());
+            verify(jobRepository).save(argThat(novo -> novo.getTipo() == TipoJobImagem.GERAR_VARIANTES));
+            verify(jobRepository).concluir(job.getJobId());
+        }
+
+        @Test
+        @DisplayName("Não deve trocar o arquivo quando o conteúdo tiver sido alterado durante a otimização")
+        void naoDeveTrocarArquivoAlteradoConcorrentemente() throws IOException {
+            // Arrange
+            imagem.setHashConteudo(hash);
+            String caminhoOriginal = imagem.getCaminhoArquivo();
+            ImagemProcessamentoJobModel job = criarJob(TipoJobImagem.OTIMIZAR, 1);
+            when(arquivoImagemRepository.findById(hash)).thenReturn(Optional.of(
+                new ArquivoImagemModel(hash, caminhoOriginal, "image/jpeg", 5000L)));
+            when(imageOptimizerService.supports("image/jpeg")).thenReturn(true);
+            when(fileStorageService.isOptimizedPath(caminhoOriginal)).thenReturn(false);
+            when(imageOptimizerService.optimize(caminhoOriginal, "image/jpeg"))
+                .thenReturn(new OptimizedImage(caminhoOtimizado, 5000L, 1500L, 800, 600));
+            when(arquivoImagemRepository.atualizarArquivo(hash, caminhoOriginal, caminhoOtimizado, 1500L)).thenReturn(0);
+            stubEnfileiramento();
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert
+            assertThat(imagem.getCaminhoArquivo()).isEqualTo(caminhoOriginal);
+            verify(receitaImagemRepository, never()).saveAll(any());
+            verify(estatisticasArmazenamentoService, never()).registrarArquivos(any());
+            verify(jobRepository).save(argThat(novo -> novo.getTipo() == TipoJobImagem.GERAR_VARIANTES));
+            verify(jobRepository).concluir(job.getJobId());
+        }
+
+        @Test
+        @DisplayName("Não deve recomprimir conteúdo já otimizado pelo job de outra imagem")
+        void naoDeveRecomprimirConteudoOtimizado() throws IOException {
+            // Arrange
+            imagem.setHashConteudo(hash);
+            imagem.setCaminhoArquivo(caminhoOtimizado);
+            ImagemProcessamentoJobModel job = criarJob(TipoJobImagem.OTIMIZAR, 1);
+            when(arquivoImagemRepository.findById(hash)).thenReturn(Optional.of(
+                new ArquivoImagemModel(hash, caminhoOtimizado, "image/jpeg", 1500L)));
+            when(imageOptimizerService.supports("image/jpeg")).thenReturn(true);
+            when(fileStorageService.isOptimizedPath(caminhoOtimizado)).thenReturn(true);
+            stubEnfileiramento();
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert
+            verify(imageOptimizerService, never()).optimize(anyString(), anyString());
+            verify(fileStorageService, never()).deleteFile(anyString());
+            verify(jobRepository).save(argThat(novo -> novo.getTipo() == TipoJobImagem.GERAR_VARIANTES));
+            verify(jobRepository).concluir(job.getJobId());
+        }
+
+        @Test
+        @DisplayName("Deve seguir para as variantes sem marcar a imagem como FAILED quando a otimização falhar")
+        void deveSeguirParaVariantesQuandoOtimizacaoFalhar() throws IOException {
+            // Arrange
+            ImagemProcessamentoJobModel job = criarJob(TipoJobImagem.OTIMIZAR, 3);
+            when(imageOptimizerService.supports("image/jpeg")).thenReturn(true);
+            when(imageOptimizerService.optimize(anyString(), anyString())).thenThrow(new IOException("JPEG inválido"));
+            stubEnfileiramento();
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert
+            verify(jobRepository).marcarFalha(job.getJobId(), "JPEG inválido");
+            verify(jobRepository).save(argThat(novo -> novo.getTipo() == TipoJobImagem.GERAR_VARIANTES));
+            verify(receitaImagemRepository, never()).updateStatusProcessamento(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Falhas e novas tentativas")
+    class FalhaTests {
+
+        @Test
+        @DisplayName("Deve reagendar o job com intervalo crescente enquanto houver tentativas")
+        void deveReagendarJob() throws IOException {
+            // Arrange
+            ImagemProcessamentoJobModel job = criarJob(2);
+            when(imageVariantService.generateVariants(anyString(), anyString())).thenThrow(new IOException("disco cheio"));
+            LocalDateTime antes = LocalDateTime.now();
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert: segunda tentativa espera 2x o intervalo base
+            ArgumentCaptor<LocalDateTime> disponivelEm = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(jobRepository).reagendar(eq(job.getJobId()), disponivelEm.capture(), eq("disco cheio"));
+            assertThat(disponivelEm.getValue()).isAfterOrEqualTo(antes.plusSeconds(2));
+            verify(receitaImagemRepository, never()).updateStatusProcessamento(any(), any());
+            verify(jobRepository, never()).marcarFalha(any(), anyString());
+        }
+
+        @Test
+        @DisplayName("Deve marcar job e imagem como FAILED na última tentativa")
+        void deveFalharNaUltimaTentativa() throws IOException {
+            // Arrange
+            ImagemProcessamentoJobModel job = criarJob(3);
+            when(imageVariantService.generateVariants(anyString(), anyString())).thenThrow(new IOException("arquivo corrompido"));
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert
+            verify(jobRepository).marcarFalha(job.getJobId(), "arquivo corrompido");
+            verify(receitaImagemRepository).updateStatusProcessamento(imagem.getImagemId(), StatusProcessamentoImagem.FAILED);
+            verify(jobRepository, never()).reagendar(any(), any(), anyString());
+        }
+
+        @Test
+        @DisplayName("Não deve executar job recuperado que já esgotou as tentativas")
+        void naoDeveExecutarJobEsgotado() throws IOException {
+            // Arrange
+            ImagemProcessamentoJobModel job = criarJob(4);
+
+            // Act
+            imagemProcessamentoService.executar(job);
+
+            // Assert
+            verify(imageVariantService, never()).generateVariants(anyString(), anyString());
+            verify(jobRepository).marcarFalha(job.getJobId(), "Tentativas esgotadas");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteId;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService.Compatibilidade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para IndiceIngredientesService.
+ * Testa a busca por cobertura de ingredientes e a manutenção incremental do índice.
+ */
+@DisplayName("IndiceIngredientesService Tests")
+class IndiceIngredientesServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ReceitaIngredienteRepository receitaIngredienteRepository;
+
+    @InjectMocks
+    private IndiceIngredientesService indiceIngredientesService;
+
+    private final UUID farinha = UUID.randomUUID();
+    private final UUID ovo = UUID.randomUUID();
+    private final UUID leite = UUID.randomUUID();
+    private final UUID chocolate = UUID.randomUUID();
+
+    private final UUID panqueca = UUID.randomUUID();
+    private final UUID boloChocolate = UUID.randomUUID();
+    private final UUID omelete = UUID.randomUUID();
+
+    private final List<ReceitaIngredienteId> ingredientes = new ArrayList<>();
+
+    @Override
+    protected void setupCommonMocks() {
+        ingrediente(panqueca, farinha);
+        ingrediente(panqueca, ovo);
+        ingrediente(panqueca, leite);
+        ingrediente(boloChocolate, farinha);
+        ingrediente(boloChocolate, ovo);
+        ingrediente(boloChocolate, leite);
+        ingrediente(boloChocolate, chocolate);
+        ingrediente(omelete, ovo);
+        when(receitaIngredienteRepository.findAllIds()).thenReturn(ingredientes);
+        indiceIngredientesService.reconstruir();
+    }
+
+    private void ingrediente(UUID receitaId, UUID produtoId) {
+        ReceitaIngredienteId id = new ReceitaIngredienteId();
+        id.setReceitaId(receitaId);
+        id.setIngredienteId(produtoId);
+        ingredientes.add(id);
+    }
+
+    @Nested
+    @DisplayName("Busca por ingredientes")
+    class BuscaTests {
+
+        @Test
+        @DisplayName("Deve ordenar pelas receitas completas e depois pelas que faltam menos ingredientes")
+        void deveOrdenarPorIngredientesFaltantes() {
+            // Act
+            List<Compatibilidade> resultado = indiceIngredientesService.buscar(Set.of(farinha, ovo, leite), 2, 10);
+
+            // Assert
+            assertThat(resultado).extracting(Compatibilidade::getReceitaId)
+                .containsExactly(panqueca, omelete, boloChocolate);
+            assertThat(resultado.get(0).getIngredientesEncontrados()).isEqualTo(3);
+            assertThat(resultado.get(0).getIngredientesFaltantes()).isZero();
+            assertThat(resultado.get(2).getTotalIngredientes()).isEqualTo(4);
+            assertThat(resultado.get(2).getIngredientesFaltantes()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve descartar receitas acima do máximo de faltantes e respeitar o limite")
+        void deveAplicarMaximoDeFaltantesELimite() {
+            // Act
+            List<Compatibilidade> semFaltantes = indiceIngredientesService.buscar(Set.of(ovo), 0, 10);
+            List<Compatibilidade> limitado = indiceIngredientesService.buscar(Set.of(ovo), 3, 2);
+
+            // Assert
+            assertThat(semFaltantes).extracting(Compatibilidade::getReceitaId).containsExactly(omelete);
+            assertThat(limitado).hasSize(2);
+            assertThat(indiceIngredientesService.buscar(Set.of(UUID.randomUUID()), 2, 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Manutenção incremental")
+    class ManutencaoTests {
+
+        @Test
+        @DisplayName("Deve refletir ingredientes incluídos e removidos sem reconstruir")
+        void deveAtualizarIngredientes() {
+            // Act
+            indiceIngredientesService.adicionar(omelete, leite);
+            indiceIngredientesService.remover(boloChocolate, chocolate);
+
+            // Assert
+            List<Compatibilidade> resultado = indiceIngredientesService.buscar(Set.of(farinha, ovo, leite), 0, 10);
+            assertThat(resultado).extracting(Compatibilidade::getReceitaId)
+                .containsExactlyInAnyOrder(panqueca, boloChocolate, omelete);
+            verify(receitaIngredienteRepository, times(1)).findAllIds();
+        }
+
+        @Test
+        @DisplayName("Deve remover todos os ingredientes de uma receita excluída")
+        void deveRemoverReceita() {
+            // Act
+            indiceIngredientesService.removerReceita(panqueca);
+
+            // Assert
+            assertThat(indiceIngredientesService.buscar(Set.of(farinha, ovo, leite), 2, 10))
+                .extracting(Compatibilidade::getReceitaId)
+                .containsExactly(omelete, boloChocolate);
+        }
+
+        @Test
+        @DisplayName("Deve remover um produto excluído e descontá-lo do total das receitas")
+        void deveRemoverProduto() {
+            // Act
+            indiceIngredientesService.removerProduto(chocolate);
+
+            // Assert
+            assertThat(indiceIngredientesService.receitasComProduto(chocolate)).isEmpty();
+            List<Compatibilidade> resultado = indiceIngredientesService.buscar(Set.of(farinha, ovo, leite), 0, 10);
+            assertThat(resultado).extracting(Compatibilidade::getReceitaId)
+                .containsExactlyInAnyOrder(panqueca, boloChocolate, omelete);
+            assertThat(resultado).filteredOn(c -> c.getReceitaId().equals(boloChocolate))
+                .extracting(Compatibilidade::getTotalIngredientes)
+                .containsExactly(3);
+        }
+    }
+}
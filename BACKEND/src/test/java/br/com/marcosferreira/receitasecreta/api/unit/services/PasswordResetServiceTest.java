@@ -1,9 +1,13 @@
 package br.com.marcosferreira.receitasecreta.api.unit.services;
 
+import br.com.marcosferreira.receitasecreta.api.exceptions.TooManyRequestsException;
 import br.com.marcosferreira.receitasecreta.api.models.PasswordResetToken;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.PasswordResetTokenRepository;
 import br.com.marcosferreira.receitasecreta.api.repositories.UserRepository;
+import br.com.marcosferreira.receitasecreta.api.security.PasswordHashingService;
+import br.com.marcosferreira.receitasecreta.api.security.RateLimiter;
+import br.com.marcosferreira.receitasecreta.api.security.TokenRevocationService;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
 import br.com.marcosferreira.receitasecreta.api.services.EmailService;
 import br.com.marcosferreira.receitasecreta.api.services.PasswordResetService;
@@ -15,15 +19,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -48,6 +57,18 @@ class PasswordResetServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Spy
+    private PasswordHashingService passwordHashingService = new PasswordHashingService();
+
     @InjectMocks
     private PasswordResetService passwordResetService;
 
@@ -59,6 +80,9 @@ class PasswordResetServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 4);
+        passwordHashingService.init();
 
         userEmail = "test@email.com";
         userLogin = "testuser";
@@ -86,7 +110,7 @@ class PasswordResetServiceTest {
         void deveSolicitarResetDeSenhaComSucesso() {
             // Arrange
             when(userRepository.findByEmail(userEmail)).thenReturn(mockUser);
-            when(tokenRepository.countByUserLoginAndCreatedAtAfter(eq(userLogin), any(LocalDateTime.class)))
+            when(rateLimiter.tryAcquire(eq("forgot-password:user:" + userLogin), eq(3), any(Duration.class)))
                 .thenReturn(0L);
             doNothing().when(tokenRepository).deleteByUserLoginAndUsedFalse(userLogin);
             when(tokenRepository.save(any(PasswordResetToken.class))).thenReturn(mockToken);
@@ -97,7 +121,7 @@ class PasswordResetServiceTest {
 
             // Assert
             verify(userRepository).findByEmail(userEmail);
-            verify(tokenRepository).countByUserLoginAndCreatedAtAfter(eq(userLogin), any(LocalDateTime.class));
+            verify(rateLimiter).tryAcquire(eq("forgot-password:user:" + userLogin), eq(3), any(Duration.class));
             verify(tokenRepository).deleteByUserLoginAndUsedFalse(userLogin);
             verify(tokenRepository).save(any(PasswordResetToken.class));
             verify(emailService).sendPasswordResetEmail(eq(userEmail), anyString());
@@ -114,7 +138,7 @@ class PasswordResetServiceTest {
 
             // Assert
             verify(userRepository).findByEmail(userEmail);
-            verify(tokenRepository, never()).countByUserLoginAndCreatedAtAfter(anyString(), any(LocalDateTime.class));
+            verify(rateLimiter, never()).tryAcquire(anyString(), anyInt(), any(Duration.class));
             verify(tokenRepository, never()).save(any(PasswordResetToken.class));
             verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString());
         }
@@ -124,16 +148,16 @@ class PasswordResetServiceTest {
         void deveLancarExcecaoQuandoExcederLimiteDeTentativas() {
             // Arrange
             when(userRepository.findByEmail(userEmail)).thenReturn(mockUser);
-            when(tokenRepository.countByUserLoginAndCreatedAtAfter(eq(userLogin), any(LocalDateTime.class)))
-                .thenReturn(3L); // MAX_ATTEMPTS_PER_HOUR = 3
+            when(rateLimiter.tryAcquire(eq("forgot-password:user:" + userLogin), eq(3), any(Duration.class)))
+                .thenReturn(1800L); // MAX_ATTEMPTS_PER_HOUR = 3 já atingido
 
             // Act & Assert
             assertThatThrownBy(() -> passwordResetService.requestPasswordReset(userEmail))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(TooManyRequestsException.class)
                 .hasMessage("Muitas tentativas de recuperação. Tente novamente em 1 hora.");
 
             verify(userRepository).findByEmail(userEmail);
-            verify(tokenRepository).countByUserLoginAndCreatedAtAfter(eq(userLogin), any(LocalDateTime.class));
+            verify(rateLimiter).tryAcquire(eq("forgot-password:user:" + userLogin), eq(3), any(Duration.class));
             verify(tokenRepository, never()).save(any(PasswordResetToken.class));
             verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString());
         }
@@ -143,7 +167,7 @@ class PasswordResetServiceTest {
         void deveInvalidarTokensAnterioresAntesDeCriarNovo() {
             // Arrange
             when(userRepository.findByEmail(userEmail)).thenReturn(mockUser);
-            when(tokenRepository.countByUserLoginAndCreatedAtAfter(eq(userLogin), any(LocalDateTime.class)))
+            when(rateLimiter.tryAcquire(eq("forgot-password:user:" + userLogin), eq(3), any(Duration.class)))
                 .thenReturn(0L);
             doNothing().when(tokenRepository).deleteByUserLoginAndUsedFalse(userLogin);
             when(tokenRepository.save(any(PasswordResetToken.class))).thenReturn(mockToken);
@@ -223,7 +247,7 @@ class PasswordResetServiceTest {
             when(userRepository.findByLogin(userLogin)).thenReturn(mockUser);
             when(userRepository.save(any(User.class))).thenReturn(mockUser);
             when(tokenRepository.save(any(PasswordResetToken.class))).thenReturn(mockToken);
-            doNothing().when(auditService).auditPasswordChange(anyString(), eq("RESET"), eq("PASSWORD_RESET"));
+            doNothing().when(auditService).auditPasswordChange(anyString(), eq("RESET"), anyString());
 
             // Act
             passwordResetService.resetPassword(resetToken, newPassword);
@@ -233,7 +257,8 @@ class PasswordResetServiceTest {
             verify(userRepository).findByLogin(userLogin);
             verify(userRepository).save(any(User.class));
             verify(tokenRepository).save(any(PasswordResetToken.class));
-            verify(auditService).auditPasswordChange(mockUser.getId(), "RESET", "PASSWORD_RESET");
+            verify(auditService).auditPasswordChange(mockUser.getId(), "RESET", mockUser.getId());
+            verify(tokenRevocationService).revokeAllForUser(userLogin);
             
             // Verificar se o token foi marcado como usado
             assertThat(mockToken.isUsed()).isTrue();
@@ -255,7 +280,7 @@ class PasswordResetServiceTest {
                 return savedUser;
             });
             when(tokenRepository.save(any(PasswordResetToken.class))).thenReturn(mockToken);
-            doNothing().when(auditService).auditPasswordChange(anyString(), eq("RESET"), eq("PASSWORD_RESET"));
+            doNothing().when(auditService).auditPasswordChange(anyString(), eq("RESET"), anyString());
 
             // Act
             passwordResetService.resetPassword(resetToken, newPassword);
@@ -333,13 +358,13 @@ class PasswordResetServiceTest {
             when(userRepository.findByLogin(userLogin)).thenReturn(mockUser);
             when(userRepository.save(any(User.class))).thenReturn(mockUser);
             when(tokenRepository.save(any(PasswordResetToken.class))).thenReturn(mockToken);
-            doNothing().when(auditService).auditPasswordChange(anyString(), eq("RESET"), eq("PASSWORD_RESET"));
+            doNothing().when(auditService).auditPasswordChange(anyString(), eq("RESET"), anyString());
 
             // Act
             passwordResetService.resetPassword(resetToken, newPassword);
 
             // Assert
-            verify(auditService, times(1)).auditPasswordChange(mockUser.getId(), "RESET", "PASSWORD_RESET");
+            verify(auditService, times(1)).auditPasswordChange(mockUser.getId(), "RESET", mockUser.getId());
         }
     }
 
@@ -370,7 +395,7 @@ class PasswordResetServiceTest {
         void deveLancarExcecaoQuandoEmailServiceFalha() {
             // Arrange
             when(userRepository.findByEmail(userEmail)).thenReturn(mockUser);
-            when(tokenRepository.countByUserLoginAndCreatedAtAfter(eq(userLogin), any(LocalDateTime.class)))
+            when(rateLimiter.tryAcquire(eq("forgot-password:user:" + userLogin), eq(3), any(Duration.class)))
                 .thenReturn(0L);
             doNothing().when(tokenRepository).deleteByUserLoginAndUsedFalse(userLogin);
             when(tokenRepository.save(any(PasswordResetToken.class))).thenReturn(mockToken);
@@ -388,7 +413,7 @@ class PasswordResetServiceTest {
         void deveLancarExcecaoQuandoTokenRepositoryFalhaNoSave() {
             // Arrange
             when(userRepository.findByEmail(userEmail)).thenReturn(mockUser);
-            when(tokenRepository.countByUserLoginAndCreatedAtAfter(eq(userLogin), any(LocalDateTime.class)))
+            when(rateLimiter.tryAcquire(eq("forgot-password:user:" + userLogin), eq(3), any(Duration.class)))
                 .thenReturn(0L);
             doNothing().when(tokenRepository).deleteByUserLoginAndUsedFalse(userLogin);
             when(tokenRepository.save(any(PasswordResetToken.class)))
@@ -9,11 +9,15 @@ import br.com.marcosferreira.receitasecreta.api.models.ProdutoModel;
 import br.com.marcosferreira.receitasecreta.api.models.User;
 import br.com.marcosferreira.receitasecreta.api.repositories.ProdutoRepository;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
+import br.com.marcosferreira.receitasecreta.api.services.AutocompleteProdutosService;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
 import br.com.marcosferreira.receitasecreta.api.services.impl.ProdutoServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -50,6 +54,15 @@ class ProdutoServiceImplTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private AutocompleteProdutosService autocompleteProdutosService;
+
+    @Mock
+    private CustoReceitaService custoReceitaService;
+
+    @Mock
+    private IndiceIngredientesService indiceIngredientesService;
+
     private ProdutoServiceImpl produtoService;
 
     private User mockUser;
@@ -73,6 +86,18 @@ class ProdutoServiceImplTest {
         java.lang.reflect.Field auditServiceField = ProdutoServiceImpl.class.getDeclaredField("auditService");
         auditServiceField.setAccessible(true);
          auditServiceField.set(produtoService, auditService);
+
+        java.lang.reflect.Field autocompleteField = ProdutoServiceImpl.class.getDeclaredField("autocompleteProdutosService");
+        autocompleteField.setAccessible(true);
+        autocompleteField.set(produtoService, autocompleteProdutosService);
+
+        java.lang.reflect.Field custoField = ProdutoServiceImpl.class.getDeclaredField("custoReceitaService");
+        custoField.setAccessible(true);
+        custoField.set(produtoService, custoReceitaService);
+
+        java.lang.reflect.Field indiceField = ProdutoServiceImpl.class.getDeclaredField("indiceIngredientesService");
+        indiceField.setAccessible(true);
+        indiceField.set(produtoService, indiceIngredientesService);
          
          produtoId = UUID.randomUUID();
         userId = "test-user-id";
@@ -220,6 +245,25 @@ class ProdutoServiceImplTest {
         verify(produtoRepository).findByNome(nome);
     }
 
+    @Test
+    @DisplayName("Should invalidate costs before removing deleted produto from ingredient index")
+    void shouldInvalidateCostsBeforeRemovingFromIndexOnDelete() {
+        // Given
+        when(authUtils.getCurrentUser()).thenReturn(mockUser);
+        when(produtoRepository.findByProdutoId(produtoId)).thenReturn(mockProduto);
+
+        // When
+        produtoService.delete(produtoId);
+
+        // Then
+        InOrder ordem = inOrder(produtoRepository, custoReceitaService, indiceIngredientesService);
+        ordem.verify(produtoRepository).deleteById(produtoId);
+        ordem.verify(custoReceitaService).invalidarProduto(produtoId);
+        ordem.verify(indiceIngredientesService).removerProduto(produtoId);
+        verify(autocompleteProdutosService).remover(produtoId);
+        verify(auditService).auditProdutoChange(produtoId.toString(), "DELETE", userId);
+    }
+
     @Test
     @DisplayName("Should update produto successfully")
     void shouldUpdateProdutoSuccessfully() {
@@ -249,6 +293,8 @@ class ProdutoServiceImplTest {
         verify(produtoRepository).findByProdutoId(produtoId);
         verify(produtoRepository).findByNome(updateDto.nome());
         verify(produtoRepository).save(any(ProdutoModel.class));
+        verify(autocompleteProdutosService).registrar(produtoId, mockProduto.getNome());
+        verify(custoReceitaService).invalidarProduto(produtoId);
         verify(auditService).auditProdutoChange(eq(produtoId.toString()), eq("UPDATE"), anyString());
     }
 
@@ -0,0 +1,160 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.dtos.ReceitaImagemResponseDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaDetalheResponse;
+import br.com.marcosferreira.receitasecreta.api.exceptions.NotFoundException;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaDetalheService;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaDetalheService.DetalheSerializado;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaImagemService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ReceitaDetalheService.
+ * Testa a montagem da página de detalhes e o ETag calculado sobre o conteúdo.
+ */
+@DisplayName("ReceitaDetalheService Tests")
+class ReceitaDetalheServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ReceitaRepository receitaRepository;
+
+    @Mock
+    private ReceitaIngredienteRepository receitaIngredienteRepository;
+
+    @Mock
+    private ReceitaImagemService receitaImagemService;
+
+    @InjectMocks
+    private ReceitaDetalheService receitaDetalheService;
+
+    private UUID receitaId;
+    private ReceitaModel receita;
+
+    @Override
+    protected void setupCommonMocks() {
+        ReflectionTestUtils.setField(receitaDetalheService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(receitaDetalheService, "paralelismo", 2);
+        receitaDetalheService.init();
+
+        receitaId = UUID.randomUUID();
+        receita = new ReceitaModel();
+        receita.setReceitaId(receitaId);
+        receita.setNomeReceita("Bolo de Chocolate");
+    }
+
+    @AfterEach
+    void encerrar() {
+        receitaDetalheService.shutdown();
+    }
+
+    private ReceitaImagemResponseDto criarImagem(boolean principal, long tamanho) {
+        ReceitaImagemResponseDto imagem = new ReceitaImagemResponseDto();
+        imagem.setImagemId(UUID.randomUUID());
+        imagem.setReceitaId(receitaId);
+        imagem.setEhPrincipal(principal);
+        imagem.setTamanhoBytes(tamanho);
+        return imagem;
+    }
+
+    @Nested
+    @DisplayName("Montagem dos detalhes")
+    class BuscarDetalhesTests {
+
+        @Test
+        @DisplayName("Deve reunir receita, ingredientes, imagens, imagem principal e estatísticas")
+        void deveReunirDetalhes() {
+            // Arrange
+            ReceitaImagemResponseDto capa = criarImagem(true, 3000L);
+            ReceitaImagemResponseDto outra = criarImagem(false, 1000L);
+            List<ReceitaIngredienteModel> ingredientes = List.of(new ReceitaIngredienteModel());
+            when(receitaRepository.findByReceitaId(receitaId)).thenReturn(receita);
+            when(receitaIngredienteRepository.findByReceitaId(receitaId)).thenReturn(ingredientes);
+            when(receitaImagemService.listarTodasImagensPorReceita(receitaId)).thenReturn(List.of(outra, capa));
+            when(receitaImagemService.getMaxImagensPerReceita()).thenReturn(10);
+
+            // Act
+            ReceitaDetalheResponse detalhes = receitaDetalheService.buscarDetalhes(receitaId);
+
+            // Assert
+            assertThat(detalhes.receita()).isSameAs(receita);
+            assertThat(detalhes.ingredientes()).isEqualTo(ingredientes);
+            assertThat(detalhes.imagens()).containsExactly(outra, capa);
+            assertThat(detalhes.imagemPrincipal()).isSameAs(capa);
+            assertThat(detalhes.estatisticasImagens().getTotalImagens()).isEqualTo(2);
+            assertThat(detalhes.estatisticasImagens().getTamanhoTotalBytes()).isEqualTo(4000L);
+            assertThat(detalhes.estatisticasImagens().getLimiteMaximo()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Deve lançar NotFoundException quando a receita não existir")
+        void deveLancarNotFoundQuandoReceitaNaoExistir() {
+            // Arrange
+            when(receitaRepository.findByReceitaId(receitaId)).thenReturn(null);
+            when(receitaIngredienteRepository.findByReceitaId(receitaId)).thenReturn(List.of());
+            when(receitaImagemService.listarTodasImagensPorReceita(receitaId)).thenReturn(List.of());
+
+            // Act & Assert
+            assertThatThrownBy(() -> receitaDetalheService.buscarDetalhes(receitaId))
+                .isInstanceOf(NotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Deve propagar a exceção original de uma das consultas")
+        void devePropagarExcecaoDaConsulta() {
+            // Arrange
+            when(receitaRepository.findByReceitaId(receitaId)).thenReturn(receita);
+            when(receitaIngredienteRepository.findByReceitaId(receitaId)).thenThrow(new IllegalStateException("falha no banco"));
+            when(receitaImagemService.listarTodasImagensPorReceita(receitaId)).thenReturn(List.of());
+
+            // Act & Assert
+            assertThatThrownBy(() -> receitaDetalheService.buscarDetalhes(receitaId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("falha no banco");
+        }
+    }
+
+    @Nested
+    @DisplayName("ETag")
+    class EtagTests {
+
+        @Test
+        @DisplayName("Deve gerar o mesmo ETag para o mesmo conteúdo e outro quando o conteúdo mudar")
+        void deveGerarEtagPeloConteudo() {
+            // Arrange
+            when(receitaRepository.findByReceitaId(receitaId)).thenReturn(receita);
+            when(receitaIngredienteRepository.findByReceitaId(receitaId)).thenReturn(List.of());
+            when(receitaImagemService.listarTodasImagensPorReceita(receitaId)).thenReturn(List.of());
+
+            // Act
+            DetalheSerializado primeira = receitaDetalheService.buscarDetalhesSerializados(receitaId);
+            DetalheSerializado repetida = receitaDetalheService.buscarDetalhesSerializados(receitaId);
+            receita.setNomeReceita("Bolo de Cenoura");
+            DetalheSerializado alterada = receitaDetalheService.buscarDetalhesSerializados(receitaId);
+
+            // Assert
+            assertThat(primeira.getEtag()).matches("\"[0-9a-f]{32}\"");
+            assertThat(repetida.getEtag()).isEqualTo(primeira.getEtag());
+            assertThat(alterada.getEtag()).isNotEqualTo(primeira.getEtag());
+            assertThat(new String(alterada.getJson())).contains("Bolo de Cenoura");
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.dtos.ReceitaImagemLoteResponseDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.ReceitaImagemLoteResponseDto.ResultadoArquivo;
+import br.com.marcosferreira.receitasecreta.api.enums.TipoJobImagem;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaImagemModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.ArquivoImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaImagemVarianteRepository;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
+import br.com.marcosferreira.receitasecreta.api.services.EstatisticasArmazenamentoService;
+import br.com.marcosferreira.receitasecreta.api.services.FileStorageService;
+import br.com.marcosferreira.receitasecreta.api.services.FileValidationService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageCacheService;
+import br.com.marcosferreira.receitasecreta.api.services.ImageVariantService;
+import br.com.marcosferreira.receitasecreta.api.services.ImagemProcessamentoService;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaImagemService;
+import br.com.marcosferreira.receitasecreta.api.services.ResolucaoImagemCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ReceitaImagemService.
+ * Testa o upload de imagens em lote.
+ */
+@DisplayName("ReceitaImagemService Tests")
+class ReceitaImagemServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ReceitaRepository receitaRepository;
+
+    @Mock
+    private ReceitaImagemRepository receitaImagemRepository;
+
+    @Mock
+    private ArquivoImagemRepository arquivoImagemRepository;
+
+    @Mock
+    private ReceitaImagemVarianteRepository receitaImagemVarianteRepository;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private ImagemProcessamentoService imagemProcessamentoService;
+
+    @Mock
+    private EstatisticasArmazenamentoService estatisticasArmazenamentoService;
+
+    @Mock
+    private ImageCacheService imageCacheService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReceitaImagemService receitaImagemService;
+
+    @TempDir
+    Path uploadDir;
+
+    private UUID receitaId;
+    private ReceitaModel receita;
+
+    @Override
+    protected void setupCommonMocks() {
+        FileStorageService fileStorageService = new FileStorageService(uploadDir.toString());
+        ReflectionTestUtils.setField(fileStorageService, "maxFileSize", 10485760L);
+        ReflectionTestUtils.setField(fileStorageService, "allowedExtensions", "jpg,jpeg,png,webp,gif");
+
+        FileValidationService fileValidationService = new FileValidationService();
+        ReflectionTestUtils.setField(fileValidationService, "maxFileSize", 10485760L);
+        ReflectionTestUtils.setField(fileValidationService, "minFileSize", 1L);
+        ReflectionTestUtils.setField(fileValidationService, "maxImageWidth", 4096);
+        ReflectionTestUtils.setField(fileValidationService, "maxImageHeight", 4096);
+        ReflectionTestUtils.setField(fileValidationService, "minImageWidth", 50);
+        ReflectionTestUtils.setField(fileValidationService, "minImageHeight", 50);
+        ReflectionTestUtils.setField(fileValidationService, "allowedMimeTypes", "image/jpeg,image/png,image/webp,image/gif");
+        ReflectionTestUtils.setField(fileValidationService, "allowedExtensions", "jpg,jpeg,png,webp,gif");
+
+        ReflectionTestUtils.setField(receitaImagemService, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(receitaImagemService, "fileValidationService", fileValidationService);
+        ReflectionTestUtils.setField(receitaImagemService, "resolucaoImagemCache", new ResolucaoImagemCache(300, 100));
+        ReflectionTestUtils.setField(receitaImagemService, "maxImagensPerReceita", 10);
+        ReflectionTestUtils.setField(receitaImagemService, "maxArquivosPorLote", 10);
+        ReflectionTestUtils.setField(receitaImagemService, "paralelismoLote", 2);
+        ReflectionTestUtils.setField(receitaImagemService, "baseUrl", "http://localhost:8082");
+        receitaImagemService.init();
+
+        receitaId = UUID.randomUUID();
+        receita = new ReceitaModel();
+        receita.setReceitaId(receitaId);
+        receita.setNomeReceita("Bolo de cenoura");
+    }
+
+    @AfterEach
+    void encerrar() {
+        receitaImagemService.shutdown();
+    }
+
+    private MockMultipartFile criarPng(String nome, Color cor) throws IOException {
+        BufferedImage imagem = new BufferedImage(200, 150, BufferedImage.TYPE_INT_RGB);
+        imagem.setRGB(0, 0, cor.getRGB());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", output);
+        return new MockMultipartFile("arquivos", nome, "image/png", output.toByteArray());
+    }
+
+    @Nested
+    @DisplayName("Upload em lote")
+    class UploadEmLoteTests {
+
+        @Test
+        @DisplayName("Deve salvar os arquivos válidos em um único lote e informar as falhas por arquivo")
+        void deveSalvarValidosEInformarFalhas() throws IOException {
+            // Arrange
+            List<MultipartFile> arquivos = List.of(
+                criarPng("a.png", Color.RED),
+                new MockMultipartFile("arquivos", "b.png", "image/png", "não é imagem".getBytes()),
+                criarPng("c.png", Color.BLUE));
+            when(receitaRepository.findById(receitaId)).thenReturn(Optional.of(receita));
+            when(estatisticasArmazenamentoService.contarImagens(receitaId)).thenReturn(0L);
+            when(receitaImagemRepository.findMaxOrdemExibicaoByReceitaId(receitaId)).thenReturn(null);
+            when(receitaImagemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(imageVariantService.getLargurasArray()).thenReturn(new int[0]);
+
+            // Act
+            ReceitaImagemLoteResponseDto response = receitaImagemService.uploadImagensEmLote(receitaId, arquivos);
+
+            // Assert
+            List<ResultadoArquivo> resultados = response.getResultados();
+            assertThat(response.getTotalSucesso()).isEqualTo(2);
+            assertThat(resultados).extracting(ResultadoArquivo::isSucesso).containsExactly(true, false, true);
+            assertThat(resultados.get(1).getErro()).startsWith("Arquivo inválido");
+            assertThat(resultados.get(0).getImagem().getOrdemExibicao()).isEqualTo(1);
+            assertThat(resultados.get(0).getImagem().getEhPrincipal()).isTrue();
+            assertThat(resultados.get(2).getImagem().getOrdemExibicao()).isEqualTo(2);
+            assertThat(resultados.get(2).getImagem().getEhPrincipal()).isFalse();
+
+            verify(receitaImagemRepository, times(1)).saveAll(any());
+            verify(receitaImagemRepository, never()).save(any(ReceitaImagemModel.class));
+            // Uma única transação, aberta depois da preparação dos arquivos
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(receitaImagemRepository, times(1)).findMaxOrdemExibicaoByReceitaId(receitaId);
+            verify(arquivoImagemRepository, times(2)).registrarOuIncrementar(any(), any(), eq("image/png"), any());
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ReceitaImagemModel>> pendentes = ArgumentCaptor.forClass(List.class);
+            verify(imagemProcessamentoService).enfileirarTodos(pendentes.capture(), eq(TipoJobImagem.OTIMIZAR));
+            assertThat(pendentes.getValue()).hasSize(2);
+
+            verify(estatisticasArmazenamentoService).registrarArquivos(argThat(gravados -> gravados.size() == 2));
+            verify(estatisticasArmazenamentoService).registrarImagens(argThat(imagens -> imagens.size() == 2));
+        }
+
+        @Test
+        @DisplayName("Deve recusar os arquivos que excedem o limite de imagens da receita")
+        void deveRespeitarLimiteDaReceita() throws IOException {
+            // Arrange
+            ReflectionTestUtils.setField(receitaImagemService, "maxImagensPerReceita", 3);
+            List<MultipartFile> arquivos = List.of(criarPng("a.png", Color.RED), criarPng("b.png", Color.GREEN));
+            when(receitaRepository.findById(receitaId)).thenReturn(Optional.of(receita));
+            when(estatisticasArmazenamentoService.contarImagens(receitaId)).thenReturn(2L);
+            when(receitaImagemRepository.findMaxOrdemExibicaoByReceitaId(receitaId)).thenReturn(2);
+            when(receitaImagemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(imageVariantService.getLargurasArray()).thenReturn(new int[0]);
+
+            // Act
+            ReceitaImagemLoteResponseDto response = receitaImagemService.uploadImagensEmLote(receitaId, arquivos);
+
+            // Assert
+            assertThat(response.getResultados()).extracting(ResultadoArquivo::isSucesso).containsExactly(true, false);
+            assertThat(response.getResultados().get(0).getImagem().getOrdemExibicao()).isEqualTo(3);
+            assertThat(response.getResultados().get(1).getErro()).contains("Limite máximo de 3 imagens");
+        }
+    }
+
+    @Nested
+    @DisplayName("Exclusão de imagens")
+    class ExclusaoTests {
+
+        @AfterEach
+        void limparSincronizacao() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve excluir os arquivos somente após o commit da transação")
+        void deveExcluirArquivosAposCommit() throws IOException {
+            // Arrange
+            String caminho = "2025/01/15/abc123.jpg";
+            Path arquivo = uploadDir.resolve("receitas").resolve("imagens").resolve(caminho);
+            Files.createDirectories(arquivo.getParent());
+            Files.write(arquivo, new byte[] {1, 2, 3});
+
+            ReceitaImagemModel imagem = new ReceitaImagemModel();
+            imagem.setImagemId(UUID.randomUUID());
+            imagem.setReceita(receita);
+            imagem.setCaminhoArquivo(caminho);
+            imagem.setTamanhoBytes(3L);
+            imagem.setHashConteudo("abc123");
+            when(receitaImagemRepository.findByReceitaIdOrderByOrdemExibicao(receitaId)).thenReturn(List.of(imagem));
+            when(arquivoImagemRepository.excluirSemReferencias("abc123")).thenReturn(1);
+            TransactionSynchronizationManager.initSynchronization();
+
+            // Act
+            receitaImagemService.excluirImagensDaReceita(receitaId);
+
+            // Assert
+            assertThat(arquivo).exists();
+            verifyNoInteractions(imageCacheService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            assertThat(arquivo).doesNotExist();
+            verify(imageCacheService).invalidate(caminho);
+            verify(estatisticasArmazenamentoService).removerArquivos(Map.of(caminho, 3L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolução do seletor de largura")
+    class ResolverCaminhoArquivoTests {
+
+        private final String caminhoOriginal = "2025/01/15/abc123.jpg";
+
+        private void criarArquivo(String caminho) throws IOException {
+            Path arquivo = uploadDir.resolve("receitas").resolve("imagens").resolve(caminho);
+            Files.createDirectories(arquivo.getParent());
+            Files.write(arquivo, new byte[] {1});
+        }
+
+        @Test
+        @DisplayName("Deve servir a menor variante que atende a largura sem consultar o banco")
+        void deveResolverVariantePeloNome() throws IOException {
+            // Arrange
+            criarArquivo(caminhoOriginal);
+            criarArquivo("2025/01/15/abc123_w480.jpg");
+            when(imageVariantService.getLargurasArray()).thenReturn(new int[] {160, 480, 1024});
+
+            // Act
+            String caminho = receitaImagemService.resolverCaminhoArquivo(caminhoOriginal, 200);
+
+            // Assert
+            assertThat(caminho).isEqualTo("2025/01/15/abc123_w480.jpg");
+            verifyNoInteractions(receitaImagemRepository);
+        }
+
+        @Test
+        @DisplayName("Deve servir as variantes e o arquivo otimizado pelo nome entregue no upload")
+        void deveResolverPeloArquivoOtimizado() throws IOException {
+            // Arrange
+            criarArquivo("2025/01/15/abc123_o.jpg");
+            criarArquivo("2025/01/15/abc123_o_w160.jpg");
+            when(imageVariantService.getLargurasArray()).thenReturn(new int[] {160, 480});
+
+            // Act & Assert
+            assertThat(receitaImagemService.resolverCaminhoArquivo(caminhoOriginal, 160))
+                .isEqualTo("2025/01/15/abc123_o_w160.jpg");
+            assertThat(receitaImagemService.resolverCaminhoArquivo(caminhoOriginal, 480))
+                .isEqualTo("2025/01/15/abc123_o.jpg");
+            assertThat(receitaImagemService.resolverCaminhoArquivo(caminhoOriginal, null))
+                .isEqualTo("2025/01/15/abc123_o.jpg");
+        }
+
+        @Test
+        @DisplayName("Deve reutilizar a resolução sem consultar o armazenamento até a invalidação")
+        void deveReutilizarResolucaoAteInvalidacao() throws IOException {
+            // Arrange
+            criarArquivo(caminhoOriginal);
+            when(imageVariantService.getLargurasArray()).thenReturn(new int[] {160, 480});
+            ResolucaoImagemCache cache = (ResolucaoImagemCache) ReflectionTestUtils.getField(receitaImagemService, "resolucaoImagemCache");
+
+            // Act
+            String antes = receitaImagemService.resolverCaminhoArquivo(caminhoOriginal, 100);
+            criarArquivo("2025/01/15/abc123_w160.jpg");
+            String emCache = receitaImagemService.resolverCaminhoArquivo(caminhoOriginal, 160);
+            cache.invalidar(List.of(caminhoOriginal));
+            String depois = receitaImagemService.resolverCaminhoArquivo(caminhoOriginal, 120);
+
+            // Assert
+            assertThat(antes).isEqualTo(caminhoOriginal);
+            // 100 e 160 levam à mesma largura alvo e compartilham a entrada
+            assertThat(emCache).isEqualTo(caminhoOriginal);
+            assertThat(depois).isEqualTo("2025/01/15/abc123_w160.jpg");
+        }
+
+        @Test
+        @DisplayName("Deve servir o próprio arquivo quando o formato não tem variantes")
+        void deveIgnorarFormatoSemVariantes() throws IOException {
+            // Arrange
+            criarArquivo("2025/01/15/abc123.webp");
+
+            // Act
+            String caminho = receitaImagemService.resolverCaminhoArquivo("2025/01/15/abc123.webp", 160);
+
+            // Assert
+            assertThat(caminho).isEqualTo("2025/01/15/abc123.webp");
+            verify(imageVariantService, never()).getLargurasArray();
+        }
+    }
+}
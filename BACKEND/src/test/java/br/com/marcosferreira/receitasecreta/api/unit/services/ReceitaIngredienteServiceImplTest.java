@@ -0,0 +1,236 @@
+package br.com.marcosferreira.receitasecreta.api.unit.services;
+
+import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
+import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDeleteDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDeleteRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaIngredienteRecordDto;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaIngredienteResponse;
+import br.com.marcosferreira.receitasecreta.api.enums.UnidadeMedida;
+import br.com.marcosferreira.receitasecreta.api.models.ProdutoModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteId;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaIngredienteModel;
+import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaIngredienteRepository;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
+import br.com.marcosferreira.receitasecreta.api.services.ProdutoService;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.impl.ReceitaIngredienteServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ReceitaIngredienteServiceImpl.
+ * Testa as operações em lote: consultas únicas por lote e avisos por item.
+ */
+@DisplayName("ReceitaIngredienteServiceImpl Tests")
+class ReceitaIngredienteServiceImplTest extends BaseUnitTest {
+
+    @Mock
+    private ReceitaIngredienteRepository receitaIngredienteRepository;
+
+    @Mock
+    private ReceitaService receitaService;
+
+    @Mock
+    private ProdutoService produtoService;
+
+    @Mock
+    private IndiceIngredientesService indiceIngredientesService;
+
+    @Mock
+    private CustoReceitaService custoReceitaService;
+
+    private ReceitaIngredienteServiceImpl receitaIngredienteService;
+
+    private final UUID receitaId = UUID.randomUUID();
+    private final UUID farinhaId = UUID.randomUUID();
+    private final UUID ovoId = UUID.randomUUID();
+    private final UUID leiteId = UUID.randomUUID();
+
+    @Override
+    protected void setupCommonMocks() {
+        // Dependências finais do construtor: criado aqui para usar os mocks do teste em execução
+        receitaIngredienteService = new ReceitaIngredienteServiceImpl(
+            receitaIngredienteRepository, receitaService, produtoService, indiceIngredientesService, custoReceitaService);
+    }
+
+    private ReceitaIngredienteModel ingrediente(UUID produtoId, int quantidade) {
+        ReceitaIngredienteId id = new ReceitaIngredienteId();
+        id.setReceitaId(receitaId);
+        id.setIngredienteId(produtoId);
+        ReceitaIngredienteModel ingrediente = new ReceitaIngredienteModel();
+        ingrediente.setId(id);
+        ingrediente.setQuantidade(quantidade);
+        ingrediente.setUnidadeMedida(UnidadeMedida.XICARA);
+        return ingrediente;
+    }
+
+    private ProdutoModel produto(UUID produtoId) {
+        ProdutoModel produto = new ProdutoModel();
+        produto.setProdutoId(produtoId);
+        return produto;
+    }
+
+    @Nested
+    @DisplayName("Inclusão em lote")
+    class SalvarTests {
+
+        @Test
+        @DisplayName("Deve carregar existentes e produtos uma vez e inserir só os novos")
+        void deveSalvarEmLote() {
+            // Arrange
+            UUID inexistente = UUID.randomUUID();
+            ReceitaIngredienteDto dto = new ReceitaIngredienteDto(receitaId, List.of(
+                new ReceitaIngredienteRecordDto(farinhaId, 2, UnidadeMedida.XICARA),
+                new ReceitaIngredienteRecordDto(ovoId, 3, UnidadeMedida.UNIDADE),
+                new ReceitaIngredienteRecordDto(leiteId, 0, UnidadeMedida.XICARA),
+                new ReceitaIngredienteRecordDto(inexistente, 1, UnidadeMedida.GRAMA),
+                new ReceitaIngredienteRecordDto(farinhaId, 1, UnidadeMedida.XICARA)));
+            when(receitaService.findByReceitaId(receitaId)).thenReturn(new ReceitaModel());
+            when(receitaIngredienteRepository.findByReceitaIdAndProdutoIds(eq(receitaId), anyCollection()))
+                .thenReturn(List.of(ingrediente(ovoId, 1)));
+            when(produtoService.findAllByProdutoIds(Set.of(farinhaId, ovoId, leiteId, inexistente)))
+                .thenReturn(List.of(produto(farinhaId), produto(ovoId), produto(leiteId)));
+            when(receitaIngredienteRepository.inserirSeAusentes(eq(receitaId), anyList())).thenReturn(Set.of(farinhaId));
+
+            // Act
+            ReceitaIngredienteResponse response = receitaIngredienteService.save(dto);
+
+            // Assert
+            assertThat(response.ingredientesSalvos()).extracting(ReceitaIngredienteModel::getProdutoId).containsExactly(farinhaId);
+            assertThat(response.mensagensDeAviso()).containsExactly(
+                "ReceitaId + ProdutoId já existe no cadastro: " + ovoId,
+                "Erro com ID: " + leiteId + ". Detalhes Save: A quantidade deve ser maior que zero para o produto com ID: " + leiteId,
+                "Erro com ID: " + inexistente + ". Detalhes Save: Erro: Produto não existe.",
+                "ReceitaId + ProdutoId já existe no cadastro: " + farinhaId);
+            verify(receitaIngredienteRepository, times(1)).findByReceitaIdAndProdutoIds(eq(receitaId), anyCollection());
+            verify(receitaIngredienteRepository, times(1)).inserirSeAusentes(eq(receitaId), argThat(novos ->
+                novos.size() == 1 && novos.get(0).getProdutoId().equals(farinhaId) && novos.get(0).getQuantidade() == 2));
+            verify(receitaIngredienteRepository, never()).saveAll(anyList());
+            verify(indiceIngredientesService).adicionar(receitaId, farinhaId);
+            verify(custoReceitaService).invalidarReceita(receitaId);
+        }
+
+        @Test
+        @DisplayName("Deve avisar a chave cadastrada por uma requisição concorrente sem falhar o lote")
+        void deveAvisarConflitoDeChave() {
+            // Arrange
+            ReceitaIngredienteDto dto = new ReceitaIngredienteDto(receitaId, List.of(
+                new ReceitaIngredienteRecordDto(farinhaId, 2, UnidadeMedida.XICARA),
+                new ReceitaIngredienteRecordDto(ovoId, 3, UnidadeMedida.UNIDADE)));
+            when(receitaService.findByReceitaId(receitaId)).thenReturn(new ReceitaModel());
+            when(produtoService.findAllByProdutoIds(Set.of(farinhaId, ovoId)))
+                .thenReturn(List.of(produto(farinhaId), produto(ovoId)));
+            when(receitaIngredienteRepository.inserirSeAusentes(eq(receitaId), anyList())).thenReturn(Set.of(ovoId));
+
+            // Act
+            ReceitaIngredienteResponse response = receitaIngredienteService.save(dto);
+
+            // Assert
+            assertThat(response.ingredientesSalvos()).extracting(ReceitaIngredienteModel::getProdutoId).containsExactly(ovoId);
+            assertThat(response.mensagensDeAviso()).containsExactly("ReceitaId + ProdutoId já existe no cadastro: " + farinhaId);
+            verify(indiceIngredientesService, never()).adicionar(receitaId, farinhaId);
+            verify(indiceIngredientesService).adicionar(receitaId, ovoId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Alteração em lote")
+    class AtualizarTests {
+
+        @Test
+        @DisplayName("Deve alterar só os itens válidos, sem modificar a entidade de um item rejeitado")
+        void deveAtualizarEmLote() {
+            // Arrange
+            ReceitaIngredienteModel farinha = ingrediente(farinhaId, 2);
+            ReceitaIngredienteModel ovo = ingrediente(ovoId, 3);
+            ReceitaIngredienteDto dto = new ReceitaIngredienteDto(receitaId, List.of(
+                new ReceitaIngredienteRecordDto(farinhaId, 5, UnidadeMedida.COLHER),
+                new ReceitaIngredienteRecordDto(ovoId, 4, null),
+                new ReceitaIngredienteRecordDto(leiteId, 1, UnidadeMedida.XICARA)));
+            when(receitaIngredienteRepository.findByReceitaIdAndProdutoIds(eq(receitaId), anyCollection()))
+                .thenReturn(List.of(farinha, ovo));
+
+            when(receitaIngredienteRepository.atualizarTodos(eq(receitaId), anyList())).thenReturn(Set.of(farinhaId));
+
+            // Act
+            ReceitaIngredienteResponse response = receitaIngredienteService.update(dto);
+
+            // Assert
+            assertThat(response.ingredientesSalvos()).singleElement().satisfies(alterado -> {
+                assertThat(alterado.getProdutoId()).isEqualTo(farinhaId);
+                assertThat(alterado.getQuantidade()).isEqualTo(5);
+                assertThat(alterado.getUnidadeMedida()).isEqualTo(UnidadeMedida.COLHER);
+            });
+            // As entidades carregadas não são alteradas: nada é gravado no flush do commit
+            assertThat(farinha.getQuantidade()).isEqualTo(2);
+            assertThat(ovo.getQuantidade()).isEqualTo(3);
+            verify(receitaIngredienteRepository, times(1)).atualizarTodos(eq(receitaId), argThat(alterados ->
+                alterados.size() == 1 && alterados.get(0).getProdutoId().equals(farinhaId)
+                    && alterados.get(0).getUnidadeMedida() == UnidadeMedida.COLHER));
+            assertThat(response.mensagensDeAviso()).hasSize(2);
+            assertThat(response.mensagensDeAviso().get(1)).isEqualTo("ReceitaId + ProdutoId Não existe no cadastro: " + leiteId);
+        }
+
+        @Test
+        @DisplayName("Deve avisar o ingrediente excluído por uma requisição concorrente")
+        void deveAvisarIngredienteExcluidoConcorrentemente() {
+            // Arrange
+            ReceitaIngredienteDto dto = new ReceitaIngredienteDto(receitaId, List.of(
+                new ReceitaIngredienteRecordDto(farinhaId, 5, UnidadeMedida.COLHER)));
+            when(receitaIngredienteRepository.findByReceitaIdAndProdutoIds(eq(receitaId), anyCollection()))
+                .thenReturn(List.of(ingrediente(farinhaId, 2)));
+            when(receitaIngredienteRepository.atualizarTodos(eq(receitaId), anyList())).thenReturn(Set.of());
+
+            // Act
+            ReceitaIngredienteResponse response = receitaIngredienteService.update(dto);
+
+            // Assert
+            assertThat(response.ingredientesSalvos()).isEmpty();
+            assertThat(response.mensagensDeAviso()).containsExactly("ReceitaId + ProdutoId Não existe no cadastro: " + farinhaId);
+            verify(custoReceitaService, never()).invalidarReceita(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Exclusão em lote")
+    class ExcluirTests {
+
+        @Test
+        @DisplayName("Deve excluir os existentes em um único DELETE e avisar os inexistentes")
+        void deveExcluirEmLote() {
+            // Arrange
+            ReceitaIngredienteDeleteDto dto = new ReceitaIngredienteDeleteDto(receitaId, List.of(
+                new ReceitaIngredienteDeleteRecordDto(farinhaId),
+                new ReceitaIngredienteDeleteRecordDto(leiteId)));
+            when(receitaIngredienteRepository.findByReceitaIdAndProdutoIds(eq(receitaId), anyCollection()))
+                .thenReturn(List.of(ingrediente(farinhaId, 2)));
+
+            // Act
+            ReceitaIngredienteResponse response = receitaIngredienteService.delete(dto);
+
+            // Assert
+            assertThat(response.mensagensDeAviso()).containsExactly(
+                "Ingrediente com ProdutoId: " + farinhaId + " excluído com sucesso.",
+                "ReceitaId :" + receitaId + " ProdutoId : " + leiteId + "  Não existe no cadastro.");
+            verify(receitaIngredienteRepository).deleteByReceitaIdAndProdutoIds(receitaId, Set.of(farinhaId));
+            verify(receitaIngredienteRepository, never()).deleteById(any());
+            verify(indiceIngredientesService).remover(receitaId, farinhaId);
+            verify(custoReceitaService).invalidarReceita(receitaId);
+        }
+    }
+}
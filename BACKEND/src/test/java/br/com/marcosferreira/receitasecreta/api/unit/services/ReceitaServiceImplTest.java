@@ -2,13 +2,26 @@ package br.com.marcosferreira.receitasecreta.api.unit.services;
 
 import br.com.marcosferreira.receitasecreta.api.BaseUnitTest;
 import br.com.marcosferreira.receitasecreta.api.dtos.request.ReceitaRecordDto;
+import br.com.marcosferreira.receitasecreta.api.configs.KeysetCursor;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.CursorPageResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaBuscaResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCardResponse;
+import br.com.marcosferreira.receitasecreta.api.dtos.response.ReceitaCompatibilidadeResponse;
 import br.com.marcosferreira.receitasecreta.api.enums.CategoriaReceita;
 import br.com.marcosferreira.receitasecreta.api.enums.Dificuldade;
+import br.com.marcosferreira.receitasecreta.api.enums.OrdemCursor;
+import br.com.marcosferreira.receitasecreta.api.exceptions.InvalidCursorException;
 import br.com.marcosferreira.receitasecreta.api.models.ReceitaModel;
 import br.com.marcosferreira.receitasecreta.api.models.User;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaBuscaProjection;
+import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaCardProjection;
 import br.com.marcosferreira.receitasecreta.api.repositories.ReceitaRepository;
 import br.com.marcosferreira.receitasecreta.api.configs.AuthenticationUtils;
 import br.com.marcosferreira.receitasecreta.api.services.AuditService;
+import br.com.marcosferreira.receitasecreta.api.services.CustoReceitaService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService;
+import br.com.marcosferreira.receitasecreta.api.services.IndiceIngredientesService.Compatibilidade;
+import br.com.marcosferreira.receitasecreta.api.services.ReceitaImagemService;
 import br.com.marcosferreira.receitasecreta.api.services.impl.ReceitaServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,12 +33,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -50,6 +65,15 @@ class ReceitaServiceImplTest extends BaseUnitTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private ReceitaImagemService receitaImagemService;
+
+    @Mock
+    private IndiceIngredientesService indiceIngredientesService;
+
+    @Mock
+    private CustoReceitaService custoReceitaService;
+
     @InjectMocks
     private ReceitaServiceImpl receitaService;
 
@@ -301,6 +325,44 @@ class ReceitaServiceImplTest extends BaseUnitTest {
 
             verify(receitaRepository).findAll(eq(pageable));
         }
+
+        @Test
+        @DisplayName("Deve montar os cards com as URLs da imagem principal")
+        void deveMontarCardsComUrlsDaImagemPrincipal() {
+            // Arrange
+            ReceitaCardProjection comImagem = criarCard(receitaId, "Bolo de Chocolate", "2025/01/15/capa.jpg", "image/jpeg");
+            ReceitaCardProjection semImagem = criarCard(UUID.randomUUID(), "Torta de Limão", null, null);
+            Pageable pageable = PageRequest.of(0, 10);
+            when(receitaRepository.findCards(eq(pageable))).thenReturn(new PageImpl<>(List.of(comImagem, semImagem)));
+            when(receitaImagemService.buildImageUrl("2025/01/15/capa.jpg")).thenReturn("http://host/capa.jpg");
+            when(receitaImagemService.buildThumbnailUrl("2025/01/15/capa.jpg", "image/jpeg")).thenReturn("http://host/capa.jpg?w=160");
+
+            // Act
+            Page<ReceitaCardResponse> resultado = receitaService.findCards(pageable);
+
+            // Assert
+            assertThat(resultado.getContent()).hasSize(2);
+            ReceitaCardResponse card = resultado.getContent().get(0);
+            assertThat(card.receitaId()).isEqualTo(receitaId);
+            assertThat(card.nomeReceita()).isEqualTo("Bolo de Chocolate");
+            assertThat(card.categoria()).isEqualTo(CategoriaReceita.SOBREMESA);
+            assertThat(card.urlImagemPrincipal()).isEqualTo("http://host/capa.jpg");
+            assertThat(card.urlThumbnail()).isEqualTo("http://host/capa.jpg?w=160");
+            assertThat(resultado.getContent().get(1).urlImagemPrincipal()).isNull();
+            assertThat(resultado.getContent().get(1).urlThumbnail()).isNull();
+        }
+
+        private ReceitaCardProjection criarCard(UUID id, String nome, String caminho, String tipoMime) {
+            return new ReceitaCardProjection() {
+                public UUID getReceitaId() { return id; }
+                public String getNomeReceita() { return nome; }
+                public CategoriaReceita getCategoria() { return CategoriaReceita.SOBREMESA; }
+                public Dificuldade getDificuldade() { return Dificuldade.FACIL; }
+                public String getTempoPreparo() { return "1 hora"; }
+                public String getCaminhoImagemPrincipal() { return caminho; }
+                public String getTipoMimeImagemPrincipal() { return tipoMime; }
+            };
+        }
     }
 
     @Nested
@@ -322,7 +384,9 @@ class ReceitaServiceImplTest extends BaseUnitTest {
             // Assert
             verify(receitaRepository).findByReceitaId(receitaId);
             verify(authenticationUtils).getCurrentUser();
+            verify(receitaImagemService).excluirImagensDaReceita(receitaId);
             verify(receitaRepository).deleteById(receitaId);
+            verify(indiceIngredientesService).removerReceita(receitaId);
             verify(auditService).auditReceitaChange(any(String.class), eq("DELETE"), eq(userId));
         }
 
@@ -429,4 +493,145 @@ class ReceitaServiceImplTest extends BaseUnitTest {
             inOrder.verify(auditService).auditReceitaChange(any(String.class), eq("UPDATE"), eq(userId));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Paginação por cursor")
+    class PaginacaoPorCursor {
+
+        private ReceitaModel criarReceita(String nome, LocalDateTime createdAt) {
+            ReceitaModel nova = new ReceitaModel();
+            nova.setReceitaId(UUID.randomUUID());
+            nova.setNomeReceita(nome);
+            nova.setCreatedAt(createdAt);
+            return nova;
+        }
+
+        @Test
+        @DisplayName("Deve entregar a primeira página sem COUNT e com o cursor do último item")
+        void deveEntregarPrimeiraPaginaComCursor() {
+            // Arrange
+            LocalDateTime agora = LocalDateTime.of(2025, 1, 15, 10, 30, 15, 123456000);
+            ReceitaModel primeira = criarReceita("Bolo", agora);
+            ReceitaModel segunda = criarReceita("Torta", agora.minusMinutes(1));
+            ReceitaModel excedente = criarReceita("Pudim", agora.minusMinutes(2));
+            when(receitaRepository.findRecentes(PageRequest.ofSize(3))).thenReturn(List.of(primeira, segunda, excedente));
+
+            // Act
+            CursorPageResponse<ReceitaModel> pagina = receitaService.findAllPorCursor("", 2, OrdemCursor.RECENTES);
+
+            // Assert
+            assertThat(pagina.content()).containsExactly(primeira, segunda);
+            assertThat(pagina.hasNext()).isTrue();
+            KeysetCursor cursor = KeysetCursor.decode(pagina.nextCursor(), "RECENTES");
+            assertThat(cursor.id()).isEqualTo(segunda.getReceitaId());
+            assertThat(cursor.valorComoDataHora()).isEqualTo(segunda.getCreatedAt());
+            verify(receitaRepository, never()).findAll(any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Deve buscar a página seguinte a partir do cursor e encerrar sem próximo cursor")
+        void deveBuscarPaginaSeguinte() {
+            // Arrange
+            UUID ultimoId = UUID.randomUUID();
+            String token = new KeysetCursor("NOME", "Bolo: de fubá", ultimoId).encode();
+            ReceitaModel seguinte = criarReceita("Torta", LocalDateTime.now());
+            when(receitaRepository.findPorNomeApos("Bolo: de fubá", ultimoId, PageRequest.ofSize(21))).thenReturn(List.of(seguinte));
+
+            // Act
+            CursorPageResponse<ReceitaModel> pagina = receitaService.findAllPorCursor(token, null, OrdemCursor.NOME);
+
+            // Assert
+            assertThat(pagina.content()).containsExactly(seguinte);
+            assertThat(pagina.size()).isEqualTo(KeysetCursor.TAMANHO_PADRAO);
+            assertThat(pagina.hasNext()).isFalse();
+            assertThat(pagina.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cursor malformado ou de outra ordenação")
+        void deveRejeitarCursorInvalido() {
+            // Arrange
+            String tokenDeNome = new KeysetCursor("NOME", "Bolo", UUID.randomUUID()).encode();
+
+            // Act & Assert
+            assertThatThrownBy(() -> receitaService.findAllPorCursor("não-é-base64!", 10, OrdemCursor.RECENTES))
+                .isInstanceOf(InvalidCursorException.class);
+            assertThatThrownBy(() -> receitaService.findAllPorCursor(tokenDeNome, 10, OrdemCursor.RECENTES))
+                .isInstanceOf(InvalidCursorException.class);
+            verifyNoInteractions(receitaRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Busca textual")
+    class BuscaTextual {
+
+        @Test
+        @DisplayName("Deve montar a consulta de prefixos e ordenar sempre pela relevância")
+        void deveMontarConsultaDePrefixos() {
+            // Arrange
+            ReceitaBuscaProjection resultado = new ReceitaBuscaProjection() {
+                public UUID getReceitaId() { return receitaId; }
+                public String getNomeReceita() { return "Bolo de Chocolate"; }
+                public CategoriaReceita getCategoria() { return CategoriaReceita.BOLO; }
+                public Dificuldade getDificuldade() { return Dificuldade.FACIL; }
+                public String getTempoPreparo() { return "1 hora"; }
+                public Float getRelevancia() { return 0.8f; }
+                public String getNomeDestacado() { return "<mark>Bolo</mark> de <mark>Chocolate</mark>"; }
+                public String getTrecho() { return "derreta o <mark>chocolate</mark>"; }
+            };
+            Pageable pedido = PageRequest.of(1, 5, Sort.by("nomeReceita"));
+            when(receitaRepository.buscar("bolo:* & choc:* & açúcar:*", PageRequest.of(1, 5)))
+                .thenReturn(new PageImpl<>(List.of(resultado)));
+
+            // Act
+            Page<ReceitaBuscaResponse> pagina = receitaService.buscar("  Bolo choc' | açúcar!:* ", pedido);
+
+            // Assert
+            assertThat(pagina.getContent()).hasSize(1);
+            ReceitaBuscaResponse item = pagina.getContent().get(0);
+            assertThat(item.receitaId()).isEqualTo(receitaId);
+            assertThat(item.relevancia()).isEqualTo(0.8f);
+            assertThat(item.nomeDestacado()).isEqualTo("<mark>Bolo</mark> de <mark>Chocolate</mark>");
+            assertThat(item.trecho()).contains("<mark>chocolate</mark>");
+        }
+
+        @Test
+        @DisplayName("Deve devolver página vazia sem consultar o banco quando não houver termos")
+        void deveDevolverPaginaVaziaSemTermos() {
+            // Act
+            Page<ReceitaBuscaResponse> pagina = receitaService.buscar(" &|! ", PageRequest.of(0, 10));
+
+            // Assert
+            assertThat(pagina.getContent()).isEmpty();
+            verifyNoInteractions(receitaRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Busca por ingredientes")
+    class BuscaPorIngredientes {
+
+        @Test
+        @DisplayName("Deve completar os resultados do índice e descartar receitas já excluídas")
+        void deveCompletarResultadosDoIndice() {
+            // Arrange
+            UUID produtoId = UUID.randomUUID();
+            UUID excluida = UUID.randomUUID();
+            when(indiceIngredientesService.buscar(Set.of(produtoId), 2, KeysetCursor.TAMANHO_PADRAO)).thenReturn(List.of(
+                new Compatibilidade(receitaId, 3, 3, 0),
+                new Compatibilidade(excluida, 2, 1, 1)));
+            when(receitaRepository.findAllById(List.of(receitaId, excluida))).thenReturn(List.of(receita));
+
+            // Act
+            List<ReceitaCompatibilidadeResponse> resultado = receitaService.findPorIngredientes(Set.of(produtoId), null, null);
+
+            // Assert
+            assertThat(resultado).hasSize(1);
+            assertThat(resultado.get(0).receitaId()).isEqualTo(receitaId);
+            assertThat(resultado.get(0).nomeReceita()).isEqualTo("Bolo de Chocolate");
+            assertThat(resultado.get(0).ingredientesEncontrados()).isEqualTo(3);
+            assertThat(resultado.get(0).ingredientesFaltantes()).isZero();
+        }
+    }
+}